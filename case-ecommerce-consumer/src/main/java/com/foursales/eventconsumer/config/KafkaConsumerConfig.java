@@ -7,10 +7,12 @@ import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
@@ -23,9 +25,14 @@ import java.util.Map;
 @Configuration
 public class KafkaConsumerConfig {
 
+    private static final String PARKED_SUFFIX = ".parked";
+
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${app.dlq.max-poll-records:500}")
+    private int dlqMaxPollRecords;
+
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -63,4 +70,56 @@ public class KafkaConsumerConfig {
 
         return factory;
     }
+
+    /**
+     * BATCH LISTENER for DLQ topics: whole poll delivered at once, persisted with one JDBC batch
+     * and acknowledged once.
+     *
+     * - Bounded backoff, then the recoverer decides: a record the database rejected
+     *   (BatchListenerFailedException with its index) is parked on {topic}.parked for manual
+     *   inspection and ingestion moves on; any other failure (database down) makes the recoverer
+     *   throw, so the batch is re-seeked and retried again and DLQ records are never dropped
+     * - Not published to *.dlq.dlq: parked records are never reprocessed automatically
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> dlqBatchListenerContainerFactory(
+            KafkaTemplate<String, Object> kafkaTemplate) {
+        Map<String, Object> props = new HashMap<>(consumerFactory().getConfigurationProperties());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "ecommerce-dlq-group");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, dlqMaxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(
+                dlqParkingRecoverer(new DeadLetterPublishingRecoverer(kafkaTemplate,
+                        (record, ex) -> new TopicPartition(record.topic() + PARKED_SUFFIX, -1))),
+                new FixedBackOff(5000L, 5L)));
+
+        factory.setConcurrency(3);
+
+        return factory;
+    }
+
+    static ConsumerRecordRecoverer dlqParkingRecoverer(ConsumerRecordRecoverer parking) {
+        return (record, ex) -> {
+            if (!isRejectedByDatabase(ex)) {
+                throw new IllegalStateException("DLQ batch not stored yet, retrying", ex);
+            }
+            log.error("Parking DLQ event rejected by the database on {} - Topic: {}, Partition: {}, Offset: {}",
+                    record.topic() + PARKED_SUFFIX, record.topic(), record.partition(), record.offset());
+            parking.accept(record, ex);
+        };
+    }
+
+    private static boolean isRejectedByDatabase(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
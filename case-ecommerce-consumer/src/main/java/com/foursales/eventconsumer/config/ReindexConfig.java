@@ -0,0 +1,26 @@
+package com.foursales.eventconsumer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ReindexConfig {
+
+    @Value("${app.reindex.parallelism:4}")
+    private int parallelism;
+
+    // BOUNDED POOL: One thread per keyset slice, so a reindex never holds more than
+    // `parallelism` Hikari connections and leaves the rest of the pool to the Kafka listeners
+    @Bean(name = "reindexExecutor")
+    public ThreadPoolTaskExecutor reindexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism);
+        executor.setThreadNamePrefix("reindex-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,28 @@
+package com.foursales.eventconsumer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ReprocessorConfig {
+
+    @Value("${app.reprocessor.max-parallelism:4}")
+    private int maxParallelism;
+
+    // BOUNDED POOL: Caps DLQ reprocessing workers (and their DB connections) regardless of backlog size
+    // CallerRunsPolicy: The scheduler thread absorbs overflow instead of dropping work
+    @Bean(name = "reprocessorExecutor")
+    public ThreadPoolTaskExecutor reprocessorExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxParallelism);
+        executor.setMaxPoolSize(maxParallelism);
+        executor.setQueueCapacity(maxParallelism);
+        executor.setThreadNamePrefix("dlq-reprocessor-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,84 @@
+package com.foursales.eventconsumer.controller;
+
+import com.foursales.eventconsumer.dto.ReindexJobStatus;
+import com.foursales.eventconsumer.exception.AdminAccessDeniedException;
+import com.foursales.eventconsumer.exception.ReindexInProgressException;
+import com.foursales.eventconsumer.service.CatalogReindexService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * Admin endpoints to rebuild the products search index from MySQL
+ * The job runs in the background; poll /status for progress and throughput
+ *
+ * - Every request must carry the X-Admin-Token header matching app.reindex.admin-token;
+ *   while no token is configured the endpoints answer 403 to everyone
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/admin/reindex")
+public class ReindexAdminController {
+
+    static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final CatalogReindexService catalogReindexService;
+    private final byte[] adminToken;
+
+    public ReindexAdminController(CatalogReindexService catalogReindexService,
+            @Value("${app.reindex.admin-token:}") String adminToken) {
+        this.catalogReindexService = catalogReindexService;
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @PostMapping
+    public ResponseEntity<ReindexJobStatus> startReindex(
+            @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token) {
+        requireAdminToken(token);
+        log.warn("Catalogue reindex requested via admin endpoint");
+        return ResponseEntity.accepted().body(catalogReindexService.startReindex());
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<ReindexJobStatus> getStatus(
+            @RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token) {
+        requireAdminToken(token);
+        return catalogReindexService.getCurrentStatus()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @ExceptionHandler(ReindexInProgressException.class)
+    public ResponseEntity<Map<String, Object>> handleReindexInProgress(ReindexInProgressException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "status", "CONFLICT",
+                "message", ex.getMessage()));
+    }
+
+    @ExceptionHandler(AdminAccessDeniedException.class)
+    public ResponseEntity<Map<String, Object>> handleAdminAccessDenied(AdminAccessDeniedException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                "status", "FORBIDDEN",
+                "message", ex.getMessage()));
+    }
+
+    // CONSTANT TIME: MessageDigest.isEqual does not leak how many leading bytes matched
+    private void requireAdminToken(String token) {
+        if (adminToken.length == 0 || token == null
+                || !MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("Rejected admin reindex request without a valid {} header", ADMIN_TOKEN_HEADER);
+            throw new AdminAccessDeniedException();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.foursales.eventconsumer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a catalogue reindex job (MySQL -> versioned Elasticsearch index)
+ * Returned by the reindex admin endpoints for progress and throughput monitoring
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReindexJobStatus {
+
+    private String targetIndex;
+    private String status; // RUNNING, COMPLETED, FAILED
+    private int slices;
+    private long totalProducts;
+    private long indexedProducts;
+    private long catchUpProducts;
+    private double progressPercent;
+    private double docsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+}
@@ -11,6 +11,8 @@ import org.springframework.data.elasticsearch.annotations.DateFormat;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -28,10 +30,13 @@ public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     @org.springframework.data.annotation.Id
+    @Field(type = FieldType.Keyword)
     private UUID id;
 
     @Column(nullable = false)
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = "suggest", type = FieldType.Search_As_You_Type))
     private String name;
 
     @Column(nullable = false, length = 500)
@@ -0,0 +1,8 @@
+package com.foursales.eventconsumer.exception;
+
+public class AdminAccessDeniedException extends RuntimeException {
+
+    public AdminAccessDeniedException() {
+        super("A valid admin token is required");
+    }
+}
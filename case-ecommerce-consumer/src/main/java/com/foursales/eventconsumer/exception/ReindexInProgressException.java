@@ -0,0 +1,8 @@
+package com.foursales.eventconsumer.exception;
+
+public class ReindexInProgressException extends RuntimeException {
+
+    public ReindexInProgressException(String targetIndex) {
+        super("A catalogue reindex is already running into index: " + targetIndex);
+    }
+}
@@ -1,101 +1,126 @@
 package com.foursales.eventconsumer.kafka;
 
 import com.foursales.eventconsumer.entity.FailedEvent;
-import com.foursales.eventconsumer.repository.jpa.FailedEventRepository;
+import com.foursales.eventconsumer.repository.jdbc.FailedEventJdbcRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class DeadLetterQueueConsumer {
 
-    private final FailedEventRepository failedEventRepository;
-
-    @KafkaListener(topics = "order.paid.dlq", groupId = "ecommerce-dlq-group", containerFactory = "kafkaListenerContainerFactory")
-    public void handleOrderPaidDLQ(
-            @Payload String orderJson,
-            @Header(value = KafkaHeaders.RECEIVED_KEY, required = false) String key,
-            @Header(value = KafkaHeaders.EXCEPTION_MESSAGE, required = false) String exceptionMessage,
-            @Header(value = KafkaHeaders.EXCEPTION_STACKTRACE, required = false) String stackTrace,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
+    private static final String DLQ_SUFFIX = ".dlq";
+
+    private final FailedEventJdbcRepository failedEventJdbcRepository;
+
+    /**
+     * BATCH INGESTION: Persists the whole poll with one JDBC batch insert and acknowledges once.
+     * If the insert fails nothing is acknowledged and the container redelivers the batch.
+     * A row the database rejects (constraint, data too long) is located by inserting the batch one
+     * record at a time and reported with BatchListenerFailedException, so the error handler commits
+     * the records before it and parks that record instead of retrying the whole batch forever.
+     */
+    @KafkaListener(topics = {"order.paid.dlq", "product.sync.dlq"}, groupId = "ecommerce-dlq-group",
+            containerFactory = "dlqBatchListenerContainerFactory")
+    public void handleDlqBatch(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        if (records.isEmpty()) {
+            return;
+        }
 
         try {
-            log.error("Order event sent to DLQ - Partition: {}, Offset: {}", partition, offset);
-            log.debug("Order JSON: {}", orderJson);
-
-            FailedEvent failedEvent = FailedEvent.builder()
-                    .originalTopic("order.paid")
-                    .eventKey(key)
-                    .eventPayload(orderJson)
-                    .exceptionMessage(truncateMessage(exceptionMessage, 1000))
-                    .stackTrace(truncateMessage(stackTrace, 5000))
-                    .status(FailedEvent.FailedEventStatus.PENDING)
-                    .retryCount(0)
-                    .maxRetries(10)
-                    .build();
-
-            failedEvent.calculateNextRetryTime();
-            failedEventRepository.save(failedEvent);
-
-            log.info("Failed order event stored for automatic reprocessing. Will retry at: {}",
-                    failedEvent.getNextRetryAt());
-
+            LocalDateTime now = LocalDateTime.now();
+            List<FailedEvent> failedEvents = records.stream()
+                    .map(record -> toFailedEvent(record, now))
+                    .toList();
+
+            try {
+                failedEventJdbcRepository.batchInsert(failedEvents);
+            } catch (DataIntegrityViolationException e) {
+                insertOneByOne(records, failedEvents);
+            }
             acknowledgment.acknowledge();
 
+            Map<String, Long> countByTopic = failedEvents.stream()
+                    .collect(Collectors.groupingBy(FailedEvent::getOriginalTopic, Collectors.counting()));
+            log.error("Stored {} DLQ events for automatic reprocessing {}. Will retry at: {}",
+                    failedEvents.size(), countByTopic, failedEvents.get(0).getNextRetryAt());
+
+        } catch (BatchListenerFailedException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Failed to store DLQ event in database", e);
-            throw new RuntimeException("Failed to process DLQ event", e);
+            log.error("Failed to store batch of {} DLQ events in database", records.size(), e);
+            throw new RuntimeException("Failed to process DLQ batch", e);
         }
     }
 
-    @KafkaListener(topics = "product.sync.dlq", groupId = "ecommerce-dlq-group", containerFactory = "kafkaListenerContainerFactory")
-    public void handleProductSyncDLQ(
-            @Payload String productJson,
-            @Header(value = KafkaHeaders.RECEIVED_KEY, required = false) String key,
-            @Header(value = KafkaHeaders.EXCEPTION_MESSAGE, required = false) String exceptionMessage,
-            @Header(value = KafkaHeaders.EXCEPTION_STACKTRACE, required = false) String stackTrace,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-            @Header(KafkaHeaders.OFFSET) long offset,
-            Acknowledgment acknowledgment) {
+    // Same transaction per record as the batch: rows before the rejected one stay stored
+    private void insertOneByOne(List<ConsumerRecord<String, String>> records, List<FailedEvent> failedEvents) {
+        for (int i = 0; i < failedEvents.size(); i++) {
+            try {
+                failedEventJdbcRepository.batchInsert(List.of(failedEvents.get(i)));
+            } catch (DataIntegrityViolationException e) {
+                ConsumerRecord<String, String> record = records.get(i);
+                log.error("DLQ event rejected by the database - Topic: {}, Partition: {}, Offset: {}: {}",
+                        record.topic(), record.partition(), record.offset(), e.getMessage());
+                throw new BatchListenerFailedException("DLQ event rejected by the database", e, i);
+            }
+        }
+    }
 
-        try {
-            log.error("Product sync event sent to DLQ - Partition: {}, Offset: {}", partition, offset);
-            log.debug("Product JSON: {}", productJson);
-
-            FailedEvent failedEvent = FailedEvent.builder()
-                    .originalTopic("product.sync")
-                    .eventKey(key)
-                    .eventPayload(productJson)
-                    .exceptionMessage(truncateMessage(exceptionMessage, 1000))
-                    .stackTrace(truncateMessage(stackTrace, 5000))
-                    .status(FailedEvent.FailedEventStatus.PENDING)
-                    .retryCount(0)
-                    .maxRetries(10)
-                    .build();
-
-            failedEvent.calculateNextRetryTime();
-            failedEventRepository.save(failedEvent);
-
-            log.info("Failed product sync event stored for automatic reprocessing. Will retry at: {}",
-                    failedEvent.getNextRetryAt());
+    private FailedEvent toFailedEvent(ConsumerRecord<String, String> record, LocalDateTime now) {
+        log.debug("DLQ event - Topic: {}, Partition: {}, Offset: {}, Payload: {}",
+                record.topic(), record.partition(), record.offset(), record.value());
+
+        FailedEvent failedEvent = FailedEvent.builder()
+                .id(UUID.randomUUID())
+                .originalTopic(originalTopic(record.topic()))
+                .eventKey(record.key())
+                .eventPayload(record.value())
+                .exceptionMessage(truncateMessage(
+                        headerValue(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE, KafkaHeaders.EXCEPTION_MESSAGE), 1000))
+                .stackTrace(truncateMessage(
+                        headerValue(record, KafkaHeaders.DLT_EXCEPTION_STACKTRACE, KafkaHeaders.EXCEPTION_STACKTRACE), 5000))
+                .status(FailedEvent.FailedEventStatus.PENDING)
+                .retryCount(0)
+                .maxRetries(10)
+                .createdAt(now)
+                .build();
+
+        failedEvent.calculateNextRetryTime();
+        return failedEvent;
+    }
 
-            acknowledgment.acknowledge();
+    private String originalTopic(String dlqTopic) {
+        return dlqTopic.endsWith(DLQ_SUFFIX)
+                ? dlqTopic.substring(0, dlqTopic.length() - DLQ_SUFFIX.length())
+                : dlqTopic;
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to store DLQ event in database", e);
-            throw new RuntimeException("Failed to process DLQ event", e);
+    // DeadLetterPublishingRecoverer writes kafka_dlt-* headers; plain exception headers kept as fallback
+    private String headerValue(ConsumerRecord<String, String> record, String name, String fallbackName) {
+        Header header = record.headers().lastHeader(name);
+        if (header == null) {
+            header = record.headers().lastHeader(fallbackName);
         }
+        return header != null && header.value() != null
+                ? new String(header.value(), StandardCharsets.UTF_8)
+                : null;
     }
 
     private String truncateMessage(String message, int maxLength) {
@@ -107,4 +132,4 @@ public class DeadLetterQueueConsumer {
         }
         return message.substring(0, maxLength - 3) + "...";
     }
-}
\ No newline at end of file
+}
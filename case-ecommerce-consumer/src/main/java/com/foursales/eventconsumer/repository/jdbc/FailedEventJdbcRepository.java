@@ -0,0 +1,45 @@
+package com.foursales.eventconsumer.repository.jdbc;
+
+import com.foursales.eventconsumer.entity.FailedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC batch persistence for DLQ ingestion.
+ * Ids and timestamps are assigned in Java, so the whole batch goes out as a single JDBC batch
+ * (rewritten by the MySQL driver into multi-row INSERTs via rewriteBatchedStatements=true)
+ * instead of one JPA persist and commit per record.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FailedEventJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO failed_events " +
+            "(id, original_topic, event_key, event_payload, exception_message, stack_trace, " +
+            "status, retry_count, max_retries, next_retry_at, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void batchInsert(List<FailedEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.getId().toString());
+            ps.setString(2, event.getOriginalTopic());
+            ps.setString(3, event.getEventKey());
+            ps.setString(4, event.getEventPayload());
+            ps.setString(5, event.getExceptionMessage());
+            ps.setString(6, event.getStackTrace());
+            ps.setString(7, event.getStatus().name());
+            ps.setInt(8, event.getRetryCount());
+            ps.setInt(9, event.getMaxRetries());
+            ps.setTimestamp(10, event.getNextRetryAt() != null ? Timestamp.valueOf(event.getNextRetryAt()) : null);
+            ps.setTimestamp(11, Timestamp.valueOf(event.getCreatedAt()));
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.foursales.eventconsumer.repository.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Additive upserts into product_sales_sketch.
+ * Each flush adds its counters to the hour's rows, so several consumer instances (and restarts)
+ * can write the same hour without coordinating: merging exact counts is a sum.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductSalesJdbcRepository {
+
+    private static final String UPSERT_SQL = "INSERT INTO product_sales_sketch " +
+            "(bucket_start, product_id, units) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE units = units + VALUES(units)";
+
+    private static final String DELETE_BEFORE_SQL = "DELETE FROM product_sales_sketch WHERE bucket_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void addCounts(LocalDateTime bucketStart, List<ProductUnits> counts) {
+        Timestamp bucket = Timestamp.valueOf(bucketStart);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, counts, counts.size(), (ps, count) -> {
+            ps.setTimestamp(1, bucket);
+            ps.setBytes(2, toBytes(count.productId()));
+            ps.setLong(3, count.units());
+        });
+    }
+
+    @Transactional
+    public int deleteBucketsBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update(DELETE_BEFORE_SQL, Timestamp.valueOf(cutoff));
+    }
+
+    // Same layout Hibernate uses for UUID ids in BINARY(16) columns
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    public record ProductUnits(UUID productId, long units) {
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,6 +22,59 @@ public interface FailedEventRepository extends JpaRepository<FailedEvent, UUID>
                      "ORDER BY fe.nextRetryAt ASC")
        List<FailedEvent> findEventsReadyForRetry(@Param("now") LocalDateTime now, Pageable pageable);
 
+       /**
+        * Chunk claim for multi-instance reprocessing (MySQL 8+).
+        * SKIP LOCKED: rows locked by another instance's claim are skipped instead of waited on,
+        * so concurrent instances always receive disjoint chunks.
+        */
+       @Query(value = "SELECT * FROM failed_events " +
+                     "WHERE status = 'PENDING' " +
+                     "AND next_retry_at <= :now " +
+                     "ORDER BY next_retry_at ASC " +
+                     "LIMIT :limit " +
+                     "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+       List<FailedEvent> claimEventsReadyForRetry(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+       @Modifying(clearAutomatically = true)
+       @Query(value = "UPDATE failed_events " +
+                     "SET status = 'RETRYING', last_retry_at = :now " +
+                     "WHERE id IN (:ids)", nativeQuery = true)
+       int markAsRetrying(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+       @Modifying(clearAutomatically = true)
+       @Query(value = "UPDATE failed_events " +
+                     "SET status = 'PROCESSED', processed_at = :now, next_retry_at = NULL, processing_notes = :notes " +
+                     "WHERE id IN (:ids)", nativeQuery = true)
+       int markAsProcessed(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now,
+                     @Param("notes") String notes);
+
+       /**
+        * Bulk retry failure with the same exponential backoff as {@link FailedEvent#incrementRetryCount()}.
+        * MySQL evaluates SET assignments left to right, so next_retry_at and status see the incremented retry_count.
+        */
+       @Modifying(clearAutomatically = true)
+       @Query(value = "UPDATE failed_events " +
+                     "SET retry_count = retry_count + 1, " +
+                     "last_retry_at = :now, " +
+                     "next_retry_at = DATE_ADD(:now, INTERVAL LEAST(POW(2, retry_count), 60) MINUTE), " +
+                     "processing_notes = CASE WHEN retry_count >= max_retries " +
+                     "THEN 'Max retries reached. Manual intervention required.' ELSE processing_notes END, " +
+                     "status = CASE WHEN retry_count >= max_retries THEN 'MAX_RETRIES_REACHED' ELSE 'PENDING' END " +
+                     "WHERE id IN (:ids)", nativeQuery = true)
+       int markForRetry(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+       @Modifying(clearAutomatically = true)
+       @Query(value = "UPDATE failed_events " +
+                     "SET status = 'PENDING', next_retry_at = :nextRetryAt " +
+                     "WHERE id IN (:ids)", nativeQuery = true)
+       int deferRetry(@Param("ids") Collection<String> ids, @Param("nextRetryAt") LocalDateTime nextRetryAt);
+
+       @Modifying(clearAutomatically = true)
+       @Query(value = "UPDATE failed_events " +
+                     "SET status = 'FAILED', next_retry_at = NULL, processing_notes = :notes " +
+                     "WHERE id IN (:ids)", nativeQuery = true)
+       int markAsFailed(@Param("ids") Collection<String> ids, @Param("notes") String notes);
+
        @Modifying
        @Query("DELETE FROM FailedEvent fe " +
                      "WHERE fe.status = 'PROCESSED' " +
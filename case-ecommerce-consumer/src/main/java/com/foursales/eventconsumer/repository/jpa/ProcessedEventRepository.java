@@ -1,11 +1,63 @@
 package com.foursales.eventconsumer.repository.jpa;
 
 import com.foursales.eventconsumer.entity.ProcessedEvent;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, Long> {
 
     boolean existsByEventId(String eventId);
+
+    /**
+     * Records a successfully processed event; returns 0 when the event id is already recorded
+     * (e.g. processed concurrently by another instance) instead of failing the transaction
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO processed_events " +
+            "(event_id, event_type, aggregate_id, processed_at, status) " +
+            "VALUES (:eventId, :eventType, :aggregateId, :processedAt, 'SUCCESS')", nativeQuery = true)
+    int insertSuccessIfAbsent(@Param("eventId") String eventId,
+            @Param("eventType") String eventType,
+            @Param("aggregateId") String aggregateId,
+            @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Keyset page of event ids processed since the given instant (dedupe filter warm-up)
+     */
+    @Query("SELECT p.id AS id, p.eventId AS eventId FROM ProcessedEvent p " +
+            "WHERE p.processedAt >= :since AND p.id > :afterId " +
+            "ORDER BY p.id ASC")
+    List<EventIdView> findEventIdsProcessedSince(@Param("since") LocalDateTime since,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    /**
+     * Bounded delete of one time bucket; runs on idx_processed_at and keeps each
+     * transaction (and its undo log / row locks) small
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM processed_events " +
+            "WHERE processed_at < :cutoff " +
+            "ORDER BY processed_at " +
+            "LIMIT :limit", nativeQuery = true)
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query("SELECT MIN(p.processedAt) FROM ProcessedEvent p")
+    LocalDateTime findOldestProcessedAt();
+
+    interface EventIdView {
+        Long getId();
+
+        String getEventId();
+    }
 }
@@ -2,12 +2,15 @@ package com.foursales.eventconsumer.repository.jpa;
 
 import com.foursales.eventconsumer.entity.Product;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,4 +27,29 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM Product p WHERE p.id = :id")
     Optional<Product> findByIdForUpdate(@Param("id") UUID id);
-}
\ No newline at end of file
+
+    /**
+     * KEYSET PAGINATION: Reads the next page of a primary-key slice (afterId, upperId]
+     * Seeks directly on the PK index instead of scanning OFFSET rows, so every page
+     * costs the same regardless of how deep the reindex job is.
+     */
+    @Query("SELECT p FROM Product p " +
+            "WHERE p.id > :afterId AND p.id <= :upperId " +
+            "ORDER BY p.id ASC")
+    List<Product> findKeysetSlice(@Param("afterId") UUID afterId,
+            @Param("upperId") UUID upperId,
+            Pageable pageable);
+
+    /**
+     * Same as {@link #findKeysetSlice} restricted to rows changed since the given instant.
+     * Used by the reindex catch-up pass for writes that happened during the bulk load.
+     */
+    @Query("SELECT p FROM Product p " +
+            "WHERE p.id > :afterId AND p.id <= :upperId " +
+            "AND p.updatedAt >= :since " +
+            "ORDER BY p.id ASC")
+    List<Product> findKeysetSliceUpdatedSince(@Param("afterId") UUID afterId,
+            @Param("upperId") UUID upperId,
+            @Param("since") LocalDateTime since,
+            Pageable pageable);
+}
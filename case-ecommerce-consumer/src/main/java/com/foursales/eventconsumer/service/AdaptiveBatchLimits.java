@@ -0,0 +1,58 @@
+package com.foursales.eventconsumer.service;
+
+/**
+ * AIMD controller for DLQ reprocessing throughput
+ * Clean batches double the batch size and add one worker (up to the configured maximums),
+ * batches above the failure threshold halve both, and an open circuit resets to the initial limits.
+ */
+class AdaptiveBatchLimits {
+
+    private final int initialBatchSize;
+    private final int maxBatchSize;
+    private final int initialParallelism;
+    private final int maxParallelism;
+    private final double failureRateThreshold;
+
+    private int batchSize;
+    private int parallelism;
+
+    AdaptiveBatchLimits(int initialBatchSize, int maxBatchSize,
+            int initialParallelism, int maxParallelism,
+            double failureRateThreshold) {
+        this.initialBatchSize = Math.max(1, initialBatchSize);
+        this.maxBatchSize = Math.max(this.initialBatchSize, maxBatchSize);
+        this.initialParallelism = Math.max(1, initialParallelism);
+        this.maxParallelism = Math.max(this.initialParallelism, maxParallelism);
+        this.failureRateThreshold = failureRateThreshold;
+        this.batchSize = this.initialBatchSize;
+        this.parallelism = this.initialParallelism;
+    }
+
+    synchronized int batchSize() {
+        return batchSize;
+    }
+
+    synchronized int parallelism() {
+        return parallelism;
+    }
+
+    synchronized void onBatchCompleted(int succeeded, int failed) {
+        int total = succeeded + failed;
+        if (total == 0) {
+            return;
+        }
+
+        if (failed == 0) {
+            batchSize = Math.min(batchSize * 2, maxBatchSize);
+            parallelism = Math.min(parallelism + 1, maxParallelism);
+        } else if ((double) failed / total >= failureRateThreshold) {
+            batchSize = Math.max(batchSize / 2, initialBatchSize);
+            parallelism = Math.max(parallelism / 2, initialParallelism);
+        }
+    }
+
+    synchronized void onCircuitOpen() {
+        batchSize = initialBatchSize;
+        parallelism = initialParallelism;
+    }
+}
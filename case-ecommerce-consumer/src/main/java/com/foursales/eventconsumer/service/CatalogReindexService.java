@@ -0,0 +1,340 @@
+package com.foursales.eventconsumer.service;
+
+import com.foursales.eventconsumer.dto.ReindexJobStatus;
+import com.foursales.eventconsumer.entity.Product;
+import com.foursales.eventconsumer.exception.ReindexInProgressException;
+import com.foursales.eventconsumer.repository.jpa.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rebuilds the products search index from MySQL without downtime.
+ *
+ * The UUID key space is split into contiguous slices that are loaded in parallel with
+ * keyset pagination and bulk requests into a fresh versioned index (products_v{timestamp}).
+ * Once every slice is done, a catch-up pass re-indexes rows updated during the load and the
+ * "products" alias is atomically moved to the new index, so searches never see a partial catalogue.
+ * Products deleted while the job runs are reported by ProductSyncService (their DELETED event only
+ * reaches the index behind the alias) and removed from the new index before and after the swap.
+ */
+@Service
+@Slf4j
+public class CatalogReindexService {
+
+    static final String PRODUCTS_ALIAS = "products";
+    static final String INDEX_PREFIX = "products_v";
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+    private static final UUID MAX_UUID = new UUID(-1L, -1L);
+    private static final int MAX_SLICES = 256;
+    private static final long LOW_BITS_MASK = 0x00FFFFFFFFFFFFFFL;
+    // Absorbs clock skew between the instances that write updated_at and this job
+    private static final Duration CATCH_UP_SAFETY_MARGIN = Duration.ofMinutes(1);
+
+    private final ProductRepository productRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final TaskExecutor reindexExecutor;
+    private final int parallelism;
+    private final int pageSize;
+    private final boolean deleteOldIndices;
+
+    private final AtomicReference<ReindexJob> currentJob = new AtomicReference<>();
+
+    public CatalogReindexService(ProductRepository productRepository,
+            ElasticsearchOperations elasticsearchOperations,
+            @Qualifier("reindexExecutor") TaskExecutor reindexExecutor,
+            @Value("${app.reindex.parallelism:4}") int parallelism,
+            @Value("${app.reindex.page-size:500}") int pageSize,
+            @Value("${app.reindex.delete-old-indices:true}") boolean deleteOldIndices) {
+        this.productRepository = productRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.reindexExecutor = reindexExecutor;
+        this.parallelism = Math.max(1, Math.min(parallelism, MAX_SLICES));
+        this.pageSize = Math.max(1, pageSize);
+        this.deleteOldIndices = deleteOldIndices;
+    }
+
+    /**
+     * Starts a reindex job in the background and returns its initial status.
+     *
+     * @throws ReindexInProgressException if another job is still running
+     */
+    public ReindexJobStatus startReindex() {
+        ReindexJob previous = currentJob.get();
+        if (previous != null && previous.isRunning()) {
+            throw new ReindexInProgressException(previous.targetIndex);
+        }
+
+        ReindexJob job = new ReindexJob(INDEX_PREFIX + System.currentTimeMillis(), parallelism);
+        if (!currentJob.compareAndSet(previous, job)) {
+            throw new ReindexInProgressException(currentJob.get().targetIndex);
+        }
+
+        try {
+            job.totalProducts = productRepository.count();
+            createTargetIndex(job.targetIndex);
+        } catch (Exception e) {
+            job.fail(e);
+            throw e;
+        }
+
+        log.info("Starting catalogue reindex into {} - {} products across {} slices",
+                job.targetIndex, job.totalProducts, parallelism);
+
+        List<CompletableFuture<Void>> slices = new ArrayList<>();
+        for (SliceBounds bounds : computeSliceBounds(parallelism)) {
+            slices.add(CompletableFuture.runAsync(
+                    () -> loadSlice(job, bounds, null, job.indexed), reindexExecutor));
+        }
+
+        CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new))
+                .thenRun(() -> finishJob(job))
+                .exceptionally(ex -> {
+                    job.fail(ex);
+                    return null;
+                });
+
+        return job.toStatus();
+    }
+
+    /**
+     * Records a product deleted from the catalogue so a running job drops it from its target index.
+     * No-op when no job is running.
+     */
+    public void recordDeletion(UUID productId) {
+        ReindexJob job = currentJob.get();
+        if (job != null && job.isRunning()) {
+            job.deletedIds.add(productId);
+        }
+    }
+
+    public Optional<ReindexJobStatus> getCurrentStatus() {
+        return Optional.ofNullable(currentJob.get()).map(ReindexJob::toStatus);
+    }
+
+    private void finishJob(ReindexJob job) {
+        LocalDateTime since = job.startedAt.minus(CATCH_UP_SAFETY_MARGIN);
+        loadSlice(job, new SliceBounds(MIN_UUID, MAX_UUID), since, job.caughtUp);
+        applyDeletions(job);
+
+        elasticsearchOperations.indexOps(IndexCoordinates.of(job.targetIndex)).refresh();
+        Set<String> previousIndices = swapAlias(job.targetIndex);
+        // Deletes consumed between the pass above and the swap only reached the old index
+        applyDeletions(job);
+
+        if (deleteOldIndices) {
+            previousIndices.stream()
+                    .filter(index -> !index.equals(job.targetIndex))
+                    .forEach(index -> {
+                        elasticsearchOperations.indexOps(IndexCoordinates.of(index)).delete();
+                        log.info("Deleted previous products index {}", index);
+                    });
+        }
+
+        job.complete();
+        log.info("Catalogue reindex into {} completed - {} indexed, {} caught up, {} removed, {} docs/s",
+                job.targetIndex, job.indexed.get(), job.caughtUp.get(), job.removed.get(), job.docsPerSecond());
+    }
+
+    // Catch-up only re-reads rows that still exist, so deletes during the load are replayed here
+    private void applyDeletions(ReindexJob job) {
+        IndexCoordinates target = IndexCoordinates.of(job.targetIndex);
+        for (UUID productId : List.copyOf(job.deletedIds)) {
+            elasticsearchOperations.delete(productId.toString(), target);
+            job.deletedIds.remove(productId);
+            job.removed.incrementAndGet();
+        }
+    }
+
+    // KEYSET LOOP: Each page seeks past the last id of the previous one, never OFFSET
+    private void loadSlice(ReindexJob job, SliceBounds bounds, LocalDateTime updatedSince, AtomicLong counter) {
+        IndexCoordinates target = IndexCoordinates.of(job.targetIndex);
+        PageRequest page = PageRequest.of(0, pageSize);
+        UUID cursor = bounds.afterExclusive();
+
+        while (true) {
+            List<Product> products = updatedSince == null
+                    ? productRepository.findKeysetSlice(cursor, bounds.upperInclusive(), page)
+                    : productRepository.findKeysetSliceUpdatedSince(cursor, bounds.upperInclusive(), updatedSince, page);
+
+            if (products.isEmpty()) {
+                return;
+            }
+
+            elasticsearchOperations.save(products, target);
+            counter.addAndGet(products.size());
+
+            if (products.size() < pageSize) {
+                return;
+            }
+            cursor = products.get(products.size() - 1).getId();
+        }
+    }
+
+    private void createTargetIndex(String targetIndex) {
+        IndexOperations indexOps = elasticsearchOperations.indexOps(IndexCoordinates.of(targetIndex));
+        indexOps.create(indexOps.createSettings(Product.class), indexOps.createMapping(Product.class));
+    }
+
+    /**
+     * Points the alias at the new index and detaches it from the old ones in a single request.
+     * A legacy concrete index named "products" (created before aliases were used) is removed in
+     * the same request, since an alias cannot share its name with an index.
+     *
+     * @return indices that were behind the alias before the swap
+     */
+    private Set<String> swapAlias(String targetIndex) {
+        IndexOperations aliasOps = elasticsearchOperations.indexOps(IndexCoordinates.of(PRODUCTS_ALIAS));
+        Set<String> previousIndices = findIndicesBehindAlias(aliasOps);
+
+        AliasActions actions = new AliasActions(new AliasAction.Add(AliasActionParameters.builder()
+                .withIndices(targetIndex)
+                .withAliases(PRODUCTS_ALIAS)
+                .build()));
+
+        if (previousIndices.isEmpty() && aliasOps.exists()) {
+            log.warn("Replacing concrete index '{}' with an alias", PRODUCTS_ALIAS);
+            actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder()
+                    .withIndices(PRODUCTS_ALIAS)
+                    .build()));
+        }
+
+        for (String index : previousIndices) {
+            actions.add(new AliasAction.Remove(AliasActionParameters.builder()
+                    .withIndices(index)
+                    .withAliases(PRODUCTS_ALIAS)
+                    .build()));
+        }
+
+        elasticsearchOperations.indexOps(IndexCoordinates.of(targetIndex)).alias(actions);
+        log.info("Alias '{}' now points to {} (previous: {})", PRODUCTS_ALIAS, targetIndex, previousIndices);
+        return previousIndices;
+    }
+
+    private Set<String> findIndicesBehindAlias(IndexOperations aliasOps) {
+        try {
+            return aliasOps.getAliases(PRODUCTS_ALIAS).keySet();
+        } catch (Exception e) {
+            log.debug("Alias '{}' not found: {}", PRODUCTS_ALIAS, e.getMessage());
+            return Collections.emptySet();
+        }
+    }
+
+    /**
+     * Splits the UUID key space into contiguous (afterExclusive, upperInclusive] ranges on the
+     * first byte. UUIDs are stored as big-endian BINARY(16), so MySQL orders them the same way
+     * and each slice maps to an independent primary-key range scan.
+     */
+    static List<SliceBounds> computeSliceBounds(int slices) {
+        List<SliceBounds> bounds = new ArrayList<>(slices);
+        for (int i = 0; i < slices; i++) {
+            int lowerByte = i * MAX_SLICES / slices;
+            int nextByte = (i + 1) * MAX_SLICES / slices;
+
+            UUID afterExclusive = lowerByte == 0 ? MIN_UUID : lastUuidWithFirstByte(lowerByte - 1);
+            UUID upperInclusive = nextByte == MAX_SLICES ? MAX_UUID : lastUuidWithFirstByte(nextByte - 1);
+            bounds.add(new SliceBounds(afterExclusive, upperInclusive));
+        }
+        return bounds;
+    }
+
+    private static UUID lastUuidWithFirstByte(int firstByte) {
+        return new UUID(((long) firstByte << 56) | LOW_BITS_MASK, -1L);
+    }
+
+    record SliceBounds(UUID afterExclusive, UUID upperInclusive) {
+    }
+
+    private static final class ReindexJob {
+
+        private final String targetIndex;
+        private final int slices;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong indexed = new AtomicLong();
+        private final AtomicLong caughtUp = new AtomicLong();
+        private final AtomicLong removed = new AtomicLong();
+        private final Set<UUID> deletedIds = ConcurrentHashMap.newKeySet();
+        private volatile long totalProducts;
+        private volatile String status = "RUNNING";
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedNanos;
+        private volatile String errorMessage;
+
+        private ReindexJob(String targetIndex, int slices) {
+            this.targetIndex = targetIndex;
+            this.slices = slices;
+        }
+
+        private boolean isRunning() {
+            return "RUNNING".equals(status);
+        }
+
+        private void complete() {
+            finish("COMPLETED");
+        }
+
+        private void fail(Throwable error) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            errorMessage = cause.getMessage();
+            finish("FAILED");
+            log.error("Catalogue reindex into {} failed", targetIndex, cause);
+        }
+
+        private void finish(String finalStatus) {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        private double docsPerSecond() {
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            double seconds = (end - startNanos) / 1_000_000_000.0;
+            return seconds > 0 ? Math.round(indexed.get() / seconds * 10) / 10.0 : 0.0;
+        }
+
+        private ReindexJobStatus toStatus() {
+            long done = indexed.get();
+            double progress = totalProducts > 0
+                    ? Math.min(100.0, Math.round(done * 1000.0 / totalProducts) / 10.0)
+                    : (isRunning() ? 0.0 : 100.0);
+
+            return ReindexJobStatus.builder()
+                    .targetIndex(targetIndex)
+                    .status(status)
+                    .slices(slices)
+                    .totalProducts(totalProducts)
+                    .indexedProducts(done)
+                    .catchUpProducts(caughtUp.get())
+                    .progressPercent(progress)
+                    .docsPerSecond(docsPerSecond())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .errorMessage(errorMessage)
+                    .build();
+        }
+    }
+}
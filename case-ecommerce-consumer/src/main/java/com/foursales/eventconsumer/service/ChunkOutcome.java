@@ -0,0 +1,34 @@
+package com.foursales.eventconsumer.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of reprocessing a claimed chunk of failed events, grouped by the bulk update each id needs
+ * One instance per worker lane; lanes are merged before the chunk is completed
+ */
+class ChunkOutcome {
+
+    final List<String> processed = new ArrayList<>();
+    final List<String> superseded = new ArrayList<>();
+    final List<String> retry = new ArrayList<>();
+    final List<String> deferred = new ArrayList<>();
+    final List<String> failed = new ArrayList<>();
+
+    int succeededCount() {
+        return processed.size() + superseded.size();
+    }
+
+    int failedCount() {
+        return retry.size() + failed.size();
+    }
+
+    ChunkOutcome merge(ChunkOutcome other) {
+        processed.addAll(other.processed);
+        superseded.addAll(other.superseded);
+        retry.addAll(other.retry);
+        deferred.addAll(other.deferred);
+        failed.addAll(other.failed);
+        return this;
+    }
+}
@@ -0,0 +1,163 @@
+package com.foursales.eventconsumer.service;
+
+import com.foursales.eventconsumer.repository.jpa.ProcessedEventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Layered idempotency check in front of processed_events.
+ *
+ * 1. Recent-ids LRU: exact answer for ids seen lately (redeliveries after rebalance/retry).
+ * 2. Rotating Bloom filter: a negative is definitive for events newer than the filter's coverage,
+ *    so the common "never processed" case skips the database entirely.
+ * 3. Database: only when the filter says "maybe seen", for events older than its coverage,
+ *    or before the filter has been warmed up from processed_events.
+ *
+ * The unique index on processed_events.event_id remains the final guard.
+ */
+@Service
+@Slf4j
+public class EventDeduplicationService {
+
+    private static final int WARM_UP_PAGE_SIZE = 5000;
+    // Producer and consumer clocks differ; widen the coverage check accordingly
+    private static final Duration CLOCK_SKEW_MARGIN = Duration.ofMinutes(5);
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final Cache<String, Boolean> recentEventIds;
+    private final RotatingBloomFilter bloomFilter;
+    private final Duration rotationInterval;
+
+    private volatile boolean warmedUp = false;
+
+    private final AtomicLong recentHits = new AtomicLong();
+    private final AtomicLong filterNegatives = new AtomicLong();
+    private final AtomicLong databaseLookups = new AtomicLong();
+
+    public EventDeduplicationService(ProcessedEventRepository processedEventRepository,
+            @Value("${app.dedup.recent-ids-size:10000}") long recentIdsSize,
+            @Value("${app.dedup.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${app.dedup.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.dedup.rotation-interval-hours:12}") long rotationIntervalHours) {
+        this.processedEventRepository = processedEventRepository;
+        this.recentEventIds = Caffeine.newBuilder()
+                .maximumSize(recentIdsSize)
+                .build();
+        this.rotationInterval = Duration.ofHours(rotationIntervalHours);
+        this.bloomFilter = new RotatingBloomFilter(expectedInsertions, falsePositiveRate,
+                LocalDateTime.now().minus(rotationInterval));
+    }
+
+    /**
+     * @param eventId        idempotency key of the event
+     * @param eventTimestamp when the event was produced; null forces a database lookup
+     */
+    public boolean isDuplicate(String eventId, LocalDateTime eventTimestamp) {
+        if (eventId == null) {
+            return false;
+        }
+
+        if (recentEventIds.getIfPresent(eventId) != null) {
+            recentHits.incrementAndGet();
+            return true;
+        }
+
+        if (isCoveredByFilter(eventTimestamp) && !bloomFilter.mightContain(eventId)) {
+            filterNegatives.incrementAndGet();
+            return false;
+        }
+
+        databaseLookups.incrementAndGet();
+        boolean exists = processedEventRepository.existsByEventId(eventId);
+        if (exists) {
+            recentEventIds.put(eventId, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    /**
+     * Records a successfully processed event. Inside a transaction the id is only remembered
+     * after commit, so a rollback can never make the LRU report a false duplicate.
+     */
+    public void markProcessed(String eventId) {
+        if (eventId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(eventId);
+                }
+            });
+        } else {
+            remember(eventId);
+        }
+    }
+
+    /**
+     * Loads ids processed within the first generation's coverage window. Until this finishes
+     * every check falls through to the database, so startup never yields false negatives.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime since = bloomFilter.coverageStart();
+        long loaded = 0;
+        Long afterId = 0L;
+
+        try {
+            while (true) {
+                List<ProcessedEventRepository.EventIdView> page = processedEventRepository
+                        .findEventIdsProcessedSince(since, afterId, PageRequest.of(0, WARM_UP_PAGE_SIZE));
+                if (page.isEmpty()) {
+                    break;
+                }
+                page.forEach(view -> bloomFilter.put(view.getEventId()));
+                loaded += page.size();
+                afterId = page.get(page.size() - 1).getId();
+            }
+            warmedUp = true;
+            log.info("Dedupe filter warmed up with {} event ids processed since {} ({} bits, {} hashes)",
+                    loaded, since, bloomFilter.bitCount(), bloomFilter.hashCount());
+        } catch (Exception e) {
+            log.error("Failed to warm up dedupe filter. Falling back to database lookups", e);
+        }
+    }
+
+    @Scheduled(fixedDelay = 3600000, initialDelay = 3600000)
+    public void rotateFilterIfDue() {
+        if (bloomFilter.currentGenerationStart().plus(rotationInterval).isAfter(LocalDateTime.now())) {
+            return;
+        }
+
+        bloomFilter.rotate();
+        log.info("Dedupe filter rotated. Coverage since {} - recent hits: {}, filter negatives: {}, db lookups: {}",
+                bloomFilter.coverageStart(), recentHits.get(), filterNegatives.get(), databaseLookups.get());
+    }
+
+    private boolean isCoveredByFilter(LocalDateTime eventTimestamp) {
+        return warmedUp
+                && eventTimestamp != null
+                && !eventTimestamp.minus(CLOCK_SKEW_MARGIN).isBefore(bloomFilter.coverageStart());
+    }
+
+    private void remember(String eventId) {
+        recentEventIds.put(eventId, Boolean.TRUE);
+        bloomFilter.put(eventId);
+    }
+}
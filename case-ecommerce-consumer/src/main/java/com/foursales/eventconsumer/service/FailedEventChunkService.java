@@ -0,0 +1,79 @@
+package com.foursales.eventconsumer.service;
+
+import com.foursales.eventconsumer.entity.FailedEvent;
+import com.foursales.eventconsumer.repository.jpa.FailedEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional boundaries of DLQ reprocessing, kept in a separate bean so calls from
+ * FailedEventReprocessor go through the Spring proxy.
+ *
+ * A chunk is claimed in one transaction and completed in another, each with a constant number
+ * of bulk statements. Downstream calls run between the two in their own transactions, so a
+ * single failing event cannot roll back the bookkeeping of the whole chunk.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FailedEventChunkService {
+
+    static final String REPROCESSED_NOTES = "Successfully reprocessed from DLQ";
+    static final String SUPERSEDED_NOTES = "Superseded by a newer event for the same product";
+    static final String UNKNOWN_TOPIC_NOTES = "Unknown topic for reprocessing";
+    private static final long CIRCUIT_OPEN_RETRY_DELAY_MINUTES = 1;
+
+    private final FailedEventRepository failedEventRepository;
+
+    /**
+     * Claims up to {@code limit} due events for this instance.
+     * Rows are selected FOR UPDATE SKIP LOCKED and flipped to RETRYING in the same transaction,
+     * so other instances neither block on nor re-claim them after commit. Claims abandoned by
+     * a crashed instance are released by the stuck-event monitor.
+     */
+    @Transactional
+    public List<FailedEvent> claimChunk(LocalDateTime now, int limit) {
+        List<FailedEvent> events = failedEventRepository.claimEventsReadyForRetry(now, limit);
+        if (events.isEmpty()) {
+            return events;
+        }
+
+        failedEventRepository.markAsRetrying(events.stream().map(e -> e.getId().toString()).toList(), now);
+        events.forEach(event -> {
+            event.setStatus(FailedEvent.FailedEventStatus.RETRYING);
+            event.setLastRetryAt(now);
+        });
+
+        log.debug("Claimed {} failed events for reprocessing", events.size());
+        return events;
+    }
+
+    @Transactional
+    public void completeChunk(ChunkOutcome outcome, LocalDateTime now) {
+        if (!outcome.processed.isEmpty()) {
+            failedEventRepository.markAsProcessed(outcome.processed, now, REPROCESSED_NOTES);
+        }
+        if (!outcome.superseded.isEmpty()) {
+            failedEventRepository.markAsProcessed(outcome.superseded, now, SUPERSEDED_NOTES);
+        }
+        if (!outcome.retry.isEmpty()) {
+            failedEventRepository.markForRetry(outcome.retry, now);
+        }
+        if (!outcome.deferred.isEmpty()) {
+            // Short-circuited calls never reached the downstream: do not burn a retry attempt
+            failedEventRepository.deferRetry(outcome.deferred, now.plusMinutes(CIRCUIT_OPEN_RETRY_DELAY_MINUTES));
+        }
+        if (!outcome.failed.isEmpty()) {
+            failedEventRepository.markAsFailed(outcome.failed, UNKNOWN_TOPIC_NOTES);
+        }
+
+        log.info("Completed DLQ chunk - processed: {}, superseded: {}, retry: {}, deferred: {}, failed: {}",
+                outcome.processed.size(), outcome.superseded.size(), outcome.retry.size(),
+                outcome.deferred.size(), outcome.failed.size());
+    }
+}
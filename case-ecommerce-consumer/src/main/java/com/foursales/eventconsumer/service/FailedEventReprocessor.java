@@ -5,129 +5,249 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foursales.eventconsumer.dto.ProductSyncEvent;
 import com.foursales.eventconsumer.entity.FailedEvent;
 import com.foursales.eventconsumer.repository.jpa.FailedEventRepository;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class FailedEventReprocessor {
 
+    private static final String CIRCUIT_BREAKER_NAME = "eventReprocessor";
+    private static final String DLQ_SUFFIX = ".dlq";
+
     private final FailedEventRepository failedEventRepository;
+    private final FailedEventChunkService failedEventChunkService;
     private final StockUpdateService stockUpdateService;
     private final ProductSyncService productSyncService;
     private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final TaskExecutor reprocessorExecutor;
+    private final AdaptiveBatchLimits limits;
+    private final long maxRunMillis;
 
-    private static final int BATCH_SIZE = 10;
+    public FailedEventReprocessor(FailedEventRepository failedEventRepository,
+            FailedEventChunkService failedEventChunkService,
+            StockUpdateService stockUpdateService,
+            ProductSyncService productSyncService,
+            ObjectMapper objectMapper,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            @Qualifier("reprocessorExecutor") TaskExecutor reprocessorExecutor,
+            @Value("${app.reprocessor.initial-batch-size:10}") int initialBatchSize,
+            @Value("${app.reprocessor.max-batch-size:500}") int maxBatchSize,
+            @Value("${app.reprocessor.initial-parallelism:1}") int initialParallelism,
+            @Value("${app.reprocessor.max-parallelism:4}") int maxParallelism,
+            @Value("${app.reprocessor.failure-rate-threshold:0.2}") double failureRateThreshold,
+            @Value("${app.reprocessor.max-run-millis:90000}") long maxRunMillis) {
+        this.failedEventRepository = failedEventRepository;
+        this.failedEventChunkService = failedEventChunkService;
+        this.stockUpdateService = stockUpdateService;
+        this.productSyncService = productSyncService;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+        this.reprocessorExecutor = reprocessorExecutor;
+        this.limits = new AdaptiveBatchLimits(initialBatchSize, maxBatchSize,
+                initialParallelism, maxParallelism, failureRateThreshold);
+        this.maxRunMillis = maxRunMillis;
+    }
 
+    /**
+     * ADAPTIVE DRAIN: Keeps claiming chunks while the backlog lasts and the run budget allows.
+     * Batch size and parallelism grow after clean chunks and shrink on failures, so a large
+     * backlog drains quickly once the downstream recovers without hammering it while it is down.
+     * Chunks are claimed with SKIP LOCKED, so several consumer instances share the backlog safely.
+     */
     @Scheduled(fixedDelay = 120000, initialDelay = 60000)
     public void reprocessFailedEvents() {
-        LocalDateTime now = LocalDateTime.now();
+        long deadline = System.currentTimeMillis() + maxRunMillis;
 
-        List<FailedEvent> eventsToRetry = failedEventRepository.findEventsReadyForRetry(
-                now,
-                PageRequest.of(0, BATCH_SIZE));
+        while (true) {
+            if (isCircuitOpen()) {
+                limits.onCircuitOpen();
+                log.warn("Circuit breaker {} is OPEN. Backing off DLQ reprocessing until next run", CIRCUIT_BREAKER_NAME);
+                return;
+            }
 
-        if (eventsToRetry.isEmpty()) {
-            log.debug("No failed events ready for reprocessing");
-            return;
-        }
+            int batchSize = limits.batchSize();
+            LocalDateTime now = LocalDateTime.now();
+            List<FailedEvent> chunk = failedEventChunkService.claimChunk(now, batchSize);
 
-        log.info("Found {} failed events ready for reprocessing", eventsToRetry.size());
+            if (chunk.isEmpty()) {
+                log.debug("No failed events ready for reprocessing");
+                return;
+            }
 
-        for (FailedEvent event : eventsToRetry) {
-            try {
-                processEventInTransaction(event, now);
-            } catch (Exception e) {
-                log.error(" Failed to reprocess event {}: {}", event.getId(), e.getMessage());
+            int parallelism = limits.parallelism();
+            log.info("Claimed {} failed events for reprocessing (batch size {}, parallelism {})",
+                    chunk.size(), batchSize, parallelism);
+
+            ChunkOutcome outcome = processChunk(chunk, parallelism);
+            failedEventChunkService.completeChunk(outcome, LocalDateTime.now());
+            limits.onBatchCompleted(outcome.succeededCount(), outcome.failedCount());
+
+            if (chunk.size() < batchSize || System.currentTimeMillis() >= deadline) {
+                return;
             }
         }
     }
 
-    @Transactional
-    protected void processEventInTransaction(FailedEvent event, LocalDateTime now) {
-        event.setStatus(FailedEvent.FailedEventStatus.RETRYING);
-        event.setLastRetryAt(now);
-        failedEventRepository.save(event);
+    /**
+     * Groups the chunk by topic into retry units and spreads them over up to {@code parallelism} lanes.
+     * Contiguous lanes keep events of the same topic together, as live consumers see them.
+     */
+    private ChunkOutcome processChunk(List<FailedEvent> events, int parallelism) {
+        List<List<FailedEvent>> units = groupIntoUnits(events);
+        int lanes = Math.min(parallelism, units.size());
+        int laneSize = (units.size() + lanes - 1) / lanes;
+
+        List<CompletableFuture<ChunkOutcome>> futures = new ArrayList<>(lanes);
+        for (int start = 0; start < units.size(); start += laneSize) {
+            List<List<FailedEvent>> lane = units.subList(start, Math.min(start + laneSize, units.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> processLane(lane), reprocessorExecutor));
+        }
+
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .reduce(new ChunkOutcome(), ChunkOutcome::merge);
+    }
+
+    private ChunkOutcome processLane(List<List<FailedEvent>> units) {
+        ChunkOutcome outcome = new ChunkOutcome();
+
+        for (List<FailedEvent> unit : units) {
+            FailedEvent latest = unit.get(unit.size() - 1);
+            List<String> target = isCircuitOpen()
+                    ? outcome.deferred // Released back to PENDING and picked up once the circuit closes
+                    : targetList(outcome, reprocessEvent(latest));
+
+            target.add(latest.getId().toString());
+            List<String> supersededTarget = target == outcome.processed ? outcome.superseded : target;
+            unit.subList(0, unit.size() - 1).forEach(event -> supersededTarget.add(event.getId().toString()));
+        }
+        return outcome;
+    }
+
+    private List<String> targetList(ChunkOutcome outcome, EventOutcome eventOutcome) {
+        return switch (eventOutcome) {
+            case PROCESSED -> outcome.processed;
+            case RETRY -> outcome.retry;
+            case DEFERRED -> outcome.deferred;
+            case FAILED -> outcome.failed;
+        };
+    }
+
+    /**
+     * Retry unit = events that collapse into a single downstream call.
+     * product.sync re-reads the product from MySQL, so only the latest event per product needs
+     * to run; older ones share its outcome. order.paid events are always their own unit.
+     */
+    private List<List<FailedEvent>> groupIntoUnits(List<FailedEvent> events) {
+        Map<String, Map<String, List<FailedEvent>>> byTopic = new LinkedHashMap<>();
+
+        for (FailedEvent event : events) {
+            String topic = baseTopic(event.getOriginalTopic());
+            String unitKey = "product.sync".equals(topic) ? productSyncKey(event) : event.getId().toString();
+
+            byTopic.computeIfAbsent(topic, t -> new LinkedHashMap<>())
+                    .computeIfAbsent(unitKey, k -> new ArrayList<>())
+                    .add(event);
+        }
 
+        List<List<FailedEvent>> units = new ArrayList<>();
+        byTopic.values().forEach(topicUnits -> topicUnits.values().forEach(unit -> {
+            unit.sort(Comparator.comparing(FailedEvent::getCreatedAt,
+                    Comparator.nullsFirst(Comparator.naturalOrder())));
+            units.add(unit);
+        }));
+        return units;
+    }
+
+    private String productSyncKey(FailedEvent event) {
         try {
-            boolean success = reprocessEvent(event);
+            ProductSyncEvent productEvent = objectMapper.readValue(event.getEventPayload(), ProductSyncEvent.class);
+            if (productEvent != null && productEvent.getProductId() != null) {
+                return productEvent.getProductId().toString();
+            }
+        } catch (Exception e) {
+            log.debug("Could not read productId from failed event {}: {}", event.getId(), e.getMessage());
+        }
+        return event.getId().toString();
+    }
 
-            if (success) {
-                event.markAsProcessed("Successfully reprocessed after " + event.getRetryCount() + " retries");
+    // Decorated programmatically so the breaker records every downstream call and its state drives the back-off
+    private EventOutcome reprocessEvent(FailedEvent event) {
+        try {
+            EventOutcome outcome = circuitBreaker.executeCallable(() -> dispatchEvent(event));
+            if (outcome == EventOutcome.PROCESSED) {
                 log.info("Successfully reprocessed event {} from topic {} after {} retries",
                         event.getId(), event.getOriginalTopic(), event.getRetryCount());
-            } else {
-                handleRetryFailure(event);
             }
-
+            return outcome;
+        } catch (CallNotPermittedException e) {
+            log.warn("Circuit breaker OPEN for event reprocessor. Event {} will be retried later", event.getId());
+            return EventOutcome.DEFERRED;
         } catch (Exception e) {
             log.error(" Error reprocessing event {}: {}", event.getId(), e.getMessage(), e);
-            handleRetryFailure(event);
+            if (event.getRetryCount() + 1 >= event.getMaxRetries()) {
+                log.error("🚨 Event {} reached maximum retries ({}). Manual intervention required.",
+                        event.getId(), event.getMaxRetries());
+            }
+            return EventOutcome.RETRY;
         }
-
-        failedEventRepository.save(event);
     }
 
-    @CircuitBreaker(name = "eventReprocessor", fallbackMethod = "reprocessEventFallback")
-    private boolean reprocessEvent(FailedEvent event) throws Exception {
+    private EventOutcome dispatchEvent(FailedEvent event) throws Exception {
         log.debug("Attempting to reprocess event {} from topic {}",
                 event.getId(), event.getOriginalTopic());
 
-        switch (event.getOriginalTopic()) {
-            case "order.paid", "order.paid.dlq" -> {
+        switch (baseTopic(event.getOriginalTopic())) {
+            case "order.paid" -> {
                 JsonNode orderNode = objectMapper.readTree(event.getEventPayload());
                 String orderIdStr = orderNode.get("id").asText();
                 UUID orderUuid = UUID.fromString(orderIdStr);
 
                 stockUpdateService.updateProductStock(orderUuid);
-                return true;
+                return EventOutcome.PROCESSED;
             }
-            case "product.sync", "product.sync.dlq" -> {
+            case "product.sync" -> {
                 ProductSyncEvent productEvent = objectMapper.readValue(
                         event.getEventPayload(),
                         ProductSyncEvent.class);
                 productSyncService.processProductSyncEvent(productEvent);
-                return true;
+                return EventOutcome.PROCESSED;
             }
             default -> {
                 log.warn("Unknown topic for reprocessing: {}", event.getOriginalTopic());
-                event.markAsFailed("Unknown topic: " + event.getOriginalTopic());
-                return false;
+                return EventOutcome.FAILED;
             }
         }
     }
 
-    @SuppressWarnings("unused") // Used by Resilience4j via reflection
-    private boolean reprocessEventFallback(FailedEvent event, Exception ex) {
-        log.warn("Circuit breaker OPEN for event reprocessor. Event {} will be retried later. Error: {}",
-                event.getId(), ex.getMessage());
-        return false;
+    private boolean isCircuitOpen() {
+        return circuitBreaker.getState() == CircuitBreaker.State.OPEN
+                || circuitBreaker.getState() == CircuitBreaker.State.FORCED_OPEN;
     }
 
-    private void handleRetryFailure(FailedEvent event) {
-        event.incrementRetryCount();
-
-        if (event.getRetryCount() >= event.getMaxRetries()) {
-            log.error("🚨 Event {} reached maximum retries ({}). Manual intervention required.",
-                    event.getId(), event.getMaxRetries());
-            event.setStatus(FailedEvent.FailedEventStatus.MAX_RETRIES_REACHED);
-            event.setProcessingNotes("Max retries reached. Manual intervention required.");
-        } else {
-            event.setStatus(FailedEvent.FailedEventStatus.PENDING);
-            log.info("Event {} will be retried at {} (attempt {}/{})",
-                    event.getId(), event.getNextRetryAt(),
-                    event.getRetryCount() + 1, event.getMaxRetries());
-        }
+    private static String baseTopic(String topic) {
+        return topic != null && topic.endsWith(DLQ_SUFFIX)
+                ? topic.substring(0, topic.length() - DLQ_SUFFIX.length())
+                : String.valueOf(topic);
     }
 
     @Scheduled(cron = "0 0 3 * * *")
@@ -156,4 +276,11 @@ public class FailedEventReprocessor {
             }
         }
     }
-}
\ No newline at end of file
+
+    private enum EventOutcome {
+        PROCESSED,
+        RETRY,
+        DEFERRED,
+        FAILED
+    }
+}
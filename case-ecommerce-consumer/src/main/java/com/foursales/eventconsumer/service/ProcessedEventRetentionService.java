@@ -0,0 +1,80 @@
+package com.foursales.eventconsumer.service;
+
+import com.foursales.eventconsumer.repository.jpa.ProcessedEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Retention policy for processed_events.
+ *
+ * Rows older than the retention period are purged one day-sized time bucket at a time, oldest
+ * first, in bounded DELETE batches on idx_processed_at. Native MySQL RANGE partitioning would
+ * require processed_at in every unique key and drop the global unique index on event_id that
+ * backs idempotency, so buckets are enforced by the purge instead of by the table layout.
+ */
+@Service
+@Slf4j
+public class ProcessedEventRetentionService {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final long retentionDays;
+    private final int purgeBatchSize;
+
+    public ProcessedEventRetentionService(ProcessedEventRepository processedEventRepository,
+            @Value("${app.processed-events.retention-days:7}") long retentionDays,
+            @Value("${app.processed-events.purge-batch-size:5000}") int purgeBatchSize,
+            @Value("${app.dedup.rotation-interval-hours:12}") long rotationIntervalHours) {
+        this.processedEventRepository = processedEventRepository;
+        this.purgeBatchSize = Math.max(1, purgeBatchSize);
+
+        // Ids must outlive the dedupe filter window (two generations), or old redeliveries would pass unnoticed
+        long minimumDays = Math.max(1, (2 * rotationIntervalHours + 23) / 24);
+        if (retentionDays < minimumDays) {
+            log.warn("processed_events retention of {} days is shorter than the dedupe window. Using {} days",
+                    retentionDays, minimumDays);
+        }
+        this.retentionDays = Math.max(retentionDays, minimumDays);
+    }
+
+    @Scheduled(cron = "${app.processed-events.purge-cron:0 30 3 * * *}")
+    public void purgeExpiredEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        LocalDateTime oldest = processedEventRepository.findOldestProcessedAt();
+
+        if (oldest == null || !oldest.isBefore(cutoff)) {
+            log.debug("No processed events older than {}", cutoff);
+            return;
+        }
+
+        long totalDeleted = 0;
+        LocalDateTime bucketEnd = oldest.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+
+        while (true) {
+            LocalDateTime end = bucketEnd.isBefore(cutoff) ? bucketEnd : cutoff;
+            totalDeleted += purgeBucket(end);
+
+            if (!end.isBefore(cutoff)) {
+                break;
+            }
+            bucketEnd = bucketEnd.plusDays(1);
+        }
+
+        log.info("Purged {} processed events older than {} ({} days retention)", totalDeleted, cutoff, retentionDays);
+    }
+
+    // Each DELETE runs in its own short transaction (see repository), so locks never span a whole bucket
+    private long purgeBucket(LocalDateTime bucketEnd) {
+        long deleted = 0;
+        int batch;
+        do {
+            batch = processedEventRepository.deleteProcessedBefore(bucketEnd, purgeBatchSize);
+            deleted += batch;
+        } while (batch == purgeBatchSize);
+        return deleted;
+    }
+}
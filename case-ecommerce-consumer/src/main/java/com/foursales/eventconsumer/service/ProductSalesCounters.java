@@ -0,0 +1,54 @@
+package com.foursales.eventconsumer.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Units sold per product with a fixed number of counters.
+ * A tracked product is incremented in place and a new one takes a free counter. A full instance
+ * refuses new products instead of replacing a counter, so its counts are always exact: the
+ * caller writes it out and continues in a fresh instance. Thread-safe.
+ */
+class ProductSalesCounters {
+
+    private final int capacity;
+    private final Map<UUID, Long> units;
+
+    ProductSalesCounters(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.units = new HashMap<>(this.capacity * 2);
+    }
+
+    /**
+     * @return false, with nothing counted, if the product is new and every counter is taken
+     */
+    synchronized boolean add(UUID product, long quantity) {
+        Long current = units.get(product);
+        if (current == null && units.size() >= capacity) {
+            return false;
+        }
+        units.put(product, current != null ? current + quantity : quantity);
+        return true;
+    }
+
+    /**
+     * Counted products, most units first
+     */
+    synchronized List<Count> counts() {
+        List<Count> counts = new ArrayList<>(units.size());
+        units.forEach((product, count) -> counts.add(new Count(product, count)));
+        counts.sort(Comparator.comparingLong(Count::units).reversed());
+        return counts;
+    }
+
+    synchronized int size() {
+        return units.size();
+    }
+
+    record Count(UUID product, long units) {
+    }
+}
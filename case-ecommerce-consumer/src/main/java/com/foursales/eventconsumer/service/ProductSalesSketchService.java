@@ -0,0 +1,124 @@
+package com.foursales.eventconsumer.service;
+
+import com.foursales.eventconsumer.repository.jdbc.ProductSalesJdbcRepository;
+import com.foursales.eventconsumer.repository.jdbc.ProductSalesJdbcRepository.ProductUnits;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Best-seller counters feeding the top-products report.
+ *
+ * Units sold are counted per payment hour in bounded ProductSalesCounters and added to
+ * product_sales_sketch on every flush, after which the hour starts empty. Memory is capped at
+ * `capacity` counters per pending hour whatever the size of the catalogue: when a new product
+ * arrives on a full hour, that hour is written out right away and counting continues in fresh
+ * counters. Counters are never replaced, so the stored units are exact.
+ */
+@Service
+@Slf4j
+public class ProductSalesSketchService {
+
+    private final ProductSalesJdbcRepository productSalesRepository;
+    private final int capacity;
+    private final long retentionDays;
+    private final ConcurrentMap<LocalDateTime, ProductSalesCounters> pending = new ConcurrentHashMap<>();
+    // Writes that failed, retried as they are on the next flush. Sales are recorded after the stock
+    // transaction commits, so nothing new arrives while the database is down
+    private final Queue<HourCounts> failed = new ConcurrentLinkedQueue<>();
+
+    public ProductSalesSketchService(ProductSalesJdbcRepository productSalesRepository,
+            @Value("${app.product-sales.sketch-capacity:500}") int capacity,
+            @Value("${app.product-sales.retention-days:31}") long retentionDays) {
+        this.productSalesRepository = productSalesRepository;
+        this.capacity = capacity;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * @param paidAt payment time of the order (bucketed by hour); now if unknown
+     */
+    public void record(LocalDateTime paidAt, UUID productId, long quantity) {
+        LocalDateTime bucket = (paidAt != null ? paidAt : LocalDateTime.now()).truncatedTo(ChronoUnit.HOURS);
+        List<ProductSalesCounters> full = new ArrayList<>(1);
+        // compute() is atomic per key, so no increment lands on counters flush() or a spill already took
+        pending.compute(bucket, (key, counters) -> {
+            ProductSalesCounters target = counters != null ? counters : new ProductSalesCounters(capacity);
+            if (!target.add(productId, quantity)) {
+                full.add(target);
+                target = new ProductSalesCounters(capacity);
+                target.add(productId, quantity);
+            }
+            return target;
+        });
+        // SPILL: written outside compute() so the database call holds no map lock
+        if (!full.isEmpty()) {
+            write(new HourCounts(bucket, toUnits(full.get(0))));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.product-sales.flush-interval-ms:60000}")
+    public void flush() {
+        for (int retries = failed.size(); retries > 0; retries--) {
+            HourCounts counts = failed.poll();
+            if (counts == null) {
+                break;
+            }
+            write(counts);
+        }
+
+        for (LocalDateTime bucket : List.copyOf(pending.keySet())) {
+            ProductSalesCounters counters = pending.remove(bucket);
+            if (counters != null) {
+                write(new HourCounts(bucket, toUnits(counters)));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Scheduled(cron = "${app.product-sales.purge-cron:0 45 3 * * *}")
+    public void purgeExpiredBuckets() {
+        LocalDateTime cutoff = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusDays(retentionDays);
+        int deleted = productSalesRepository.deleteBucketsBefore(cutoff);
+        log.info("Purged {} product sales rows older than {}", deleted, cutoff);
+    }
+
+    int pendingBuckets() {
+        return pending.size() + failed.size();
+    }
+
+    private void write(HourCounts counts) {
+        try {
+            productSalesRepository.addCounts(counts.bucket(), counts.units());
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush product sales for {}: {}", counts.bucket(), e.getMessage());
+            failed.add(counts);
+        }
+    }
+
+    private static List<ProductUnits> toUnits(ProductSalesCounters counters) {
+        return counters.counts().stream()
+                .map(count -> new ProductUnits(count.product(), count.units()))
+                .toList();
+    }
+
+    private record HourCounts(LocalDateTime bucket, List<ProductUnits> units) {
+    }
+}
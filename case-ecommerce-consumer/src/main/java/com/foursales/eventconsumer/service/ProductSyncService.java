@@ -24,11 +24,13 @@ public class ProductSyncService {
     private final ProductElasticsearchRepository productSearchRepository;
     private final ProcessedEventRepository processedEventRepository;
     private final ElasticsearchOperations elasticsearchOperations;
+    private final EventDeduplicationService eventDeduplicationService;
+    private final CatalogReindexService catalogReindexService;
 
     // ISOLATED TRANSACTION: Prevents race conditions when multiple events arrive for different products
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void processProductSyncEvent(ProductSyncEvent event) {
-        if (processedEventRepository.existsByEventId(event.getEventId())) {
+        if (eventDeduplicationService.isDuplicate(event.getEventId(), event.getEventTimestamp())) {
             log.warn("Event {} already processed. Skipping reprocessing.", event.getEventId());
             return;
         }
@@ -43,7 +45,7 @@ public class ProductSyncService {
                 }
             }
 
-            markEventAsProcessed(event, "SUCCESS", null);
+            markEventAsSucceeded(event);
             log.info("Successfully processed {} event for product: {}",
                     event.getEventType(), event.getProductId());
 
@@ -73,6 +75,8 @@ public class ProductSyncService {
     }
 
     private void deleteProductFromElasticsearch(ProductSyncEvent event) {
+        // REINDEX: The delete below only reaches the index behind the alias, not one being rebuilt
+        catalogReindexService.recordDeletion(event.getProductId());
         try {
             productSearchRepository.deleteById(event.getProductId());
             log.debug("Product deleted from Elasticsearch - ID: {}", event.getProductId());
@@ -81,6 +85,20 @@ public class ProductSyncService {
         }
     }
 
+    // INSERT IGNORE: a concurrent duplicate (e.g. after a partition rebalance) must not roll back the sync
+    private void markEventAsSucceeded(ProductSyncEvent event) {
+        int inserted = processedEventRepository.insertSuccessIfAbsent(
+                event.getEventId(),
+                event.getEventType(),
+                event.getProductId().toString(),
+                LocalDateTime.now());
+
+        if (inserted == 0) {
+            log.warn("Event {} was already recorded as processed by another consumer", event.getEventId());
+        }
+        eventDeduplicationService.markProcessed(event.getEventId());
+    }
+
     private void markEventAsProcessed(ProductSyncEvent event, String status, String errorMessage) {
         ProcessedEvent processedEvent = ProcessedEvent.builder()
                 .eventId(event.getEventId())
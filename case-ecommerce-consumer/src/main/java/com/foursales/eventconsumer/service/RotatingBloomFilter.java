@@ -0,0 +1,128 @@
+package com.foursales.eventconsumer.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Two-generation Bloom filter over event ids.
+ * Lookups check both generations; inserts go to the current one. Each rotation drops the
+ * previous generation, so memory stays constant while the filter always remembers at least
+ * one full rotation interval. Thread-safe: bits live in an AtomicLongArray and rotation
+ * swaps volatile references.
+ */
+class RotatingBloomFilter {
+
+    private final int bitCount;
+    private final int hashCount;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    /**
+     * @param initialCoverageStart start of the period the caller will load into the first generation
+     */
+    RotatingBloomFilter(long expectedInsertions, double falsePositiveRate, LocalDateTime initialCoverageStart) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Math.max(bits, 64), Integer.MAX_VALUE - 63);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.current = new Generation(bitCount, initialCoverageStart);
+        this.previous = null;
+    }
+
+    boolean mightContain(String value) {
+        long[] hashes = hash(value);
+        Generation prev = previous;
+        return current.mightContain(hashes, hashCount) || (prev != null && prev.mightContain(hashes, hashCount));
+    }
+
+    void put(String value) {
+        current.put(hash(value), hashCount);
+    }
+
+    synchronized void rotate() {
+        previous = current;
+        current = new Generation(bitCount, LocalDateTime.now());
+    }
+
+    /**
+     * Start of the period whose ids are guaranteed to be in the filter (if they were put)
+     */
+    LocalDateTime coverageStart() {
+        Generation prev = previous;
+        return prev != null ? prev.createdAt : current.createdAt;
+    }
+
+    LocalDateTime currentGenerationStart() {
+        return current.createdAt;
+    }
+
+    int bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    // 64-bit FNV-1a + splitmix64 finaliser -> two independent hashes for double hashing (Kirsch-Mitzenmacher)
+    private static long[] hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        long h1 = mix(h);
+        long h2 = mix(h1 ^ 0x9e3779b97f4a7c15L) | 1L;
+        return new long[]{h1, h2};
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Generation {
+
+        private final AtomicLongArray words;
+        private final int bitCount;
+        private final LocalDateTime createdAt;
+
+        private Generation(int bitCount, LocalDateTime createdAt) {
+            this.words = new AtomicLongArray((bitCount + 63) / 64);
+            this.bitCount = bitCount;
+            this.createdAt = createdAt;
+        }
+
+        private boolean mightContain(long[] hashes, int hashCount) {
+            for (int i = 0; i < hashCount; i++) {
+                int bit = index(hashes, i);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long[] hashes, int hashCount) {
+            for (int i = 0; i < hashCount; i++) {
+                int bit = index(hashes, i);
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long currentWord;
+                do {
+                    currentWord = words.get(word);
+                    if ((currentWord & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, currentWord, currentWord | mask));
+            }
+        }
+
+        private int index(long[] hashes, int i) {
+            return (int) Math.floorMod(hashes[0] + i * hashes[1], (long) bitCount);
+        }
+    }
+}
@@ -15,8 +15,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -29,6 +32,7 @@ public class StockUpdateService {
     private final ProductRepository productRepository;
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final ProductSalesSketchService productSalesSketchService;
     
     // PESSIMISTIC LOCKING: Prevents race condition when concurrent orders reduce same product stock
     public void updateProductStock(UUID orderId) {
@@ -71,10 +75,30 @@ public class StockUpdateService {
 
         order.markStockAsUpdated();
         orderRepository.save(order);
+        recordSalesAfterCommit(order);
 
         log.info("Stock updated successfully for all products in order: {}", orderId);
     }
 
+    // BEST SELLERS: Counted only after commit; a rolled-back attempt is redelivered and must not count twice
+    private void recordSalesAfterCommit(Order order) {
+        LocalDateTime paidAt = order.getPaymentDate();
+        List<OrderItem> items = List.copyOf(order.getItems());
+        Runnable record = () -> items.forEach(item ->
+                productSalesSketchService.record(paidAt, item.getProduct().getId(), item.getQuantity()));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record.run();
+                }
+            });
+        } else {
+            record.run();
+        }
+    }
+
     private void publishProductSyncEvent(Product product) {
         try {
             ProductSyncEvent event = ProductSyncEvent.builder()
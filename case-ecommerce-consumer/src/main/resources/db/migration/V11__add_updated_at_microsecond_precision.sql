@@ -0,0 +1,8 @@
+-- updated_at is the version behind HTTP ETags (id + updated_at) on GET product/order by id
+-- With second precision two updates in the same second would keep the ETag and clients would get a stale 304
+
+ALTER TABLE products
+    MODIFY COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+ALTER TABLE orders
+    MODIFY COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
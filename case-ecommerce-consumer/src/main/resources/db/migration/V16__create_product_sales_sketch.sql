@@ -0,0 +1,24 @@
+-- Flyway Migration V16: Hourly best-seller counters
+-- The consumer counts units per product in bounded in-memory Space-Saving sketches as paid orders
+-- update stock, and periodically adds them to the payment hour here, so top-products reports
+-- group a bounded number of rows per hour instead of order_items
+
+CREATE TABLE product_sales_sketch (
+    bucket_start DATETIME NOT NULL,
+    product_id BINARY(16) NOT NULL,
+    units BIGINT NOT NULL DEFAULT 0,
+    max_error BIGINT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (bucket_start, product_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT='Estimated units sold per product and payment hour (Space-Saving counters, max_error bounds the overcount)';
+
+-- Backfill the last 31 days from orders whose stock the consumer already updated (exact counts)
+INSERT INTO product_sales_sketch (bucket_start, product_id, units, max_error)
+SELECT DATE_FORMAT(o.payment_date, '%Y-%m-%d %H:00:00'), i.product_id, SUM(i.quantity), 0
+FROM orders o
+JOIN order_items i ON i.order_id = o.id
+WHERE o.status = 'PAGO'
+  AND o.stock_updated = TRUE
+  AND o.payment_date >= NOW() - INTERVAL 31 DAY
+GROUP BY DATE_FORMAT(o.payment_date, '%Y-%m-%d %H:00:00'), i.product_id;
@@ -0,0 +1,16 @@
+-- Flyway Migration V17: Distinct-buyer sketches
+-- One HyperLogLog (4096 one-byte registers) per payment day, overall and per product category.
+-- Unique buyers over any date range are the register-wise maximum of its days, so the report
+-- reads one small row per day instead of COUNT(DISTINCT user_id) over orders and order_items.
+-- No backfill: registers are computed in the application, counting starts with this release
+
+CREATE TABLE buyer_sketch (
+    dimension VARCHAR(16) NOT NULL,
+    sketch_date DATE NOT NULL,
+    dimension_key VARCHAR(50) NOT NULL,
+    registers VARBINARY(4096) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    PRIMARY KEY (dimension, sketch_date, dimension_key)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT='HyperLogLog registers of paying users per day (ALL) and per day and category (CATEGORY)';
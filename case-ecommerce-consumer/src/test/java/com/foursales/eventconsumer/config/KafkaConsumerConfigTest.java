@@ -0,0 +1,51 @@
+package com.foursales.eventconsumer.config;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaConsumerConfigTest {
+
+    @Mock
+    private ConsumerRecordRecoverer parking;
+
+    private final ConsumerRecord<String, String> record =
+            new ConsumerRecord<>("order.paid.dlq", 0, 42L, "order-key", "{}");
+
+    @Test
+    @DisplayName("Should park DLQ record rejected by the database")
+    void shouldParkRecordRejectedByDatabase() {
+        Exception rejected = new ListenerExecutionFailedException("Listener failed",
+                new BatchListenerFailedException("DLQ event rejected by the database",
+                        new DataIntegrityViolationException("Data too long"), 0));
+
+        KafkaConsumerConfig.dlqParkingRecoverer(parking).accept(record, rejected);
+
+        verify(parking).accept(record, rejected);
+    }
+
+    @Test
+    @DisplayName("Should keep retrying DLQ batch while the database is unavailable")
+    void shouldNotParkWhenDatabaseUnavailable() {
+        Exception unavailable = new ListenerExecutionFailedException("Listener failed",
+                new RuntimeException("Failed to process DLQ batch",
+                        new DataAccessResourceFailureException("connection refused")));
+
+        assertThatThrownBy(() -> KafkaConsumerConfig.dlqParkingRecoverer(parking).accept(record, unavailable))
+                .isInstanceOf(IllegalStateException.class);
+        verify(parking, never()).accept(any(), any());
+    }
+}
@@ -0,0 +1,51 @@
+package com.foursales.eventconsumer.controller;
+
+import com.foursales.eventconsumer.dto.ReindexJobStatus;
+import com.foursales.eventconsumer.exception.AdminAccessDeniedException;
+import com.foursales.eventconsumer.service.CatalogReindexService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReindexAdminControllerTest {
+
+    @Mock
+    private CatalogReindexService catalogReindexService;
+
+    @Test
+    @DisplayName("Should start reindex when the admin token matches")
+    void shouldStartReindexWithValidToken() {
+        ReindexAdminController controller = new ReindexAdminController(catalogReindexService, "s3cret");
+        when(catalogReindexService.startReindex()).thenReturn(ReindexJobStatus.builder().status("RUNNING").build());
+
+        assertThat(controller.startReindex("s3cret").getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+    }
+
+    @Test
+    @DisplayName("Should reject reindex with a missing or wrong admin token")
+    void shouldRejectReindexWithInvalidToken() {
+        ReindexAdminController controller = new ReindexAdminController(catalogReindexService, "s3cret");
+
+        assertThatThrownBy(() -> controller.startReindex(null)).isInstanceOf(AdminAccessDeniedException.class);
+        assertThatThrownBy(() -> controller.startReindex("guess")).isInstanceOf(AdminAccessDeniedException.class);
+        verifyNoInteractions(catalogReindexService);
+    }
+
+    @Test
+    @DisplayName("Should reject every request while no admin token is configured")
+    void shouldRejectEveryRequestWithoutConfiguredToken() {
+        ReindexAdminController controller = new ReindexAdminController(catalogReindexService, "");
+
+        assertThatThrownBy(() -> controller.startReindex("")).isInstanceOf(AdminAccessDeniedException.class);
+        assertThatThrownBy(() -> controller.getStatus("")).isInstanceOf(AdminAccessDeniedException.class);
+        verifyNoInteractions(catalogReindexService);
+    }
+}
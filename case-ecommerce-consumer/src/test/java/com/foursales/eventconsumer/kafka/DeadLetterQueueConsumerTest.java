@@ -1,7 +1,8 @@
 package com.foursales.eventconsumer.kafka;
 
 import com.foursales.eventconsumer.entity.FailedEvent;
-import com.foursales.eventconsumer.repository.jpa.FailedEventRepository;
+import com.foursales.eventconsumer.repository.jdbc.FailedEventJdbcRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,19 +11,26 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DeadLetterQueueConsumerTest {
 
     @Mock
-    private FailedEventRepository failedEventRepository;
+    private FailedEventJdbcRepository failedEventJdbcRepository;
 
     @Mock
     private Acknowledgment acknowledgment;
@@ -48,59 +56,60 @@ class DeadLetterQueueConsumerTest {
     @Test
     @DisplayName("Should successfully handle order paid DLQ event")
     void shouldSuccessfullyHandleOrderPaidDlqEvent() {
-        ArgumentCaptor<FailedEvent> failedEventCaptor = ArgumentCaptor.forClass(FailedEvent.class);
+        deadLetterQueueConsumer.handleDlqBatch(
+                List.of(dlqRecord("order.paid.dlq", "order-key", orderJson, exceptionMessage, stackTrace)),
+                acknowledgment);
 
-        deadLetterQueueConsumer.handleOrderPaidDLQ(
-                orderJson, "order-key", exceptionMessage, stackTrace, 0, 100L, acknowledgment
-        );
-
-        verify(failedEventRepository).save(failedEventCaptor.capture());
-        verify(acknowledgment).acknowledge();
-
-        FailedEvent capturedEvent = failedEventCaptor.getValue();
+        FailedEvent capturedEvent = capturedEvents().get(0);
         assertEquals("order.paid", capturedEvent.getOriginalTopic());
+        assertEquals("order-key", capturedEvent.getEventKey());
         assertEquals(orderJson, capturedEvent.getEventPayload());
         assertEquals(exceptionMessage, capturedEvent.getExceptionMessage());
+        assertEquals(stackTrace, capturedEvent.getStackTrace());
         assertEquals(FailedEvent.FailedEventStatus.PENDING, capturedEvent.getStatus());
         assertEquals(0, capturedEvent.getRetryCount());
         assertNotNull(capturedEvent.getNextRetryAt());
+        verify(acknowledgment).acknowledge();
     }
 
     @Test
     @DisplayName("Should successfully handle product sync DLQ event")
     void shouldSuccessfullyHandleProductSyncDlqEvent() {
-        ArgumentCaptor<FailedEvent> failedEventCaptor = ArgumentCaptor.forClass(FailedEvent.class);
-
-        deadLetterQueueConsumer.handleProductSyncDLQ(
-                productJson, "product-key", exceptionMessage, stackTrace, 0, 100L, acknowledgment
-        );
-
-        verify(failedEventRepository).save(failedEventCaptor.capture());
-        verify(acknowledgment).acknowledge();
+        deadLetterQueueConsumer.handleDlqBatch(
+                List.of(dlqRecord("product.sync.dlq", "product-key", productJson, exceptionMessage, stackTrace)),
+                acknowledgment);
 
-        FailedEvent capturedEvent = failedEventCaptor.getValue();
+        FailedEvent capturedEvent = capturedEvents().get(0);
         assertEquals("product.sync", capturedEvent.getOriginalTopic());
         assertEquals(productJson, capturedEvent.getEventPayload());
-        assertEquals(exceptionMessage, capturedEvent.getExceptionMessage());
-        assertEquals(FailedEvent.FailedEventStatus.PENDING, capturedEvent.getStatus());
-        assertEquals(0, capturedEvent.getRetryCount());
-        assertNotNull(capturedEvent.getNextRetryAt());
+        verify(acknowledgment).acknowledge();
     }
 
     @Test
-    @DisplayName("Should store event with correct initial values for order DLQ")
-    void shouldStoreEventWithCorrectInitialValuesForOrderDlq() {
-        ArgumentCaptor<FailedEvent> failedEventCaptor = ArgumentCaptor.forClass(FailedEvent.class);
-
-        deadLetterQueueConsumer.handleOrderPaidDLQ(
-                orderJson, "test-key", exceptionMessage, stackTrace, 0, 100L, acknowledgment
-        );
+    @DisplayName("Should persist mixed batch with one insert and one acknowledgment")
+    void shouldPersistMixedBatchWithOneInsertAndOneAck() {
+        deadLetterQueueConsumer.handleDlqBatch(List.of(
+                dlqRecord("order.paid.dlq", "k1", orderJson, exceptionMessage, stackTrace),
+                dlqRecord("product.sync.dlq", "k2", productJson, exceptionMessage, stackTrace),
+                dlqRecord("order.paid.dlq", "k3", orderJson, exceptionMessage, stackTrace)), acknowledgment);
 
-        verify(failedEventRepository).save(failedEventCaptor.capture());
+        List<FailedEvent> events = capturedEvents();
+        assertEquals(3, events.size());
+        assertEquals(3, events.stream().map(FailedEvent::getId).distinct().count());
+        verify(failedEventJdbcRepository, times(1)).batchInsert(anyList());
+        verify(acknowledgment, times(1)).acknowledge();
+    }
 
-        FailedEvent capturedEvent = failedEventCaptor.getValue();
-        assertEquals("order.paid", capturedEvent.getOriginalTopic());
-        assertEquals("test-key", capturedEvent.getEventKey());
+    @Test
+    @DisplayName("Should store event with correct initial values for order DLQ")
+    void shouldStoreEventWithCorrectInitialValues() {
+        deadLetterQueueConsumer.handleDlqBatch(
+                List.of(dlqRecord("order.paid.dlq", "order-key", orderJson, exceptionMessage, stackTrace)),
+                acknowledgment);
+
+        FailedEvent capturedEvent = capturedEvents().get(0);
+        assertNotNull(capturedEvent.getId());
+        assertNotNull(capturedEvent.getCreatedAt());
         assertEquals(0, capturedEvent.getRetryCount());
         assertEquals(10, capturedEvent.getMaxRetries());
         assertEquals(FailedEvent.FailedEventStatus.PENDING, capturedEvent.getStatus());
@@ -109,16 +118,13 @@ class DeadLetterQueueConsumerTest {
     @Test
     @DisplayName("Should truncate long exception message")
     void shouldTruncateLongExceptionMessage() {
-        String longMessage = "x".repeat(1500);
-        ArgumentCaptor<FailedEvent> failedEventCaptor = ArgumentCaptor.forClass(FailedEvent.class);
+        String longMessage = "A".repeat(2000);
 
-        deadLetterQueueConsumer.handleOrderPaidDLQ(
-                orderJson, "key", longMessage, stackTrace, 0, 100L, acknowledgment
-        );
+        deadLetterQueueConsumer.handleDlqBatch(
+                List.of(dlqRecord("order.paid.dlq", "order-key", orderJson, longMessage, stackTrace)),
+                acknowledgment);
 
-        verify(failedEventRepository).save(failedEventCaptor.capture());
-
-        FailedEvent capturedEvent = failedEventCaptor.getValue();
+        FailedEvent capturedEvent = capturedEvents().get(0);
         assertEquals(1000, capturedEvent.getExceptionMessage().length());
         assertTrue(capturedEvent.getExceptionMessage().endsWith("..."));
     }
@@ -126,153 +132,123 @@ class DeadLetterQueueConsumerTest {
     @Test
     @DisplayName("Should truncate long stack trace")
     void shouldTruncateLongStackTrace() {
-        String longStackTrace = "x".repeat(6000);
-        ArgumentCaptor<FailedEvent> failedEventCaptor = ArgumentCaptor.forClass(FailedEvent.class);
-
-        deadLetterQueueConsumer.handleOrderPaidDLQ(
-                orderJson, "key", exceptionMessage, longStackTrace, 0, 100L, acknowledgment
-        );
+        String longStackTrace = "B".repeat(10000);
 
-        verify(failedEventRepository).save(failedEventCaptor.capture());
+        deadLetterQueueConsumer.handleDlqBatch(
+                List.of(dlqRecord("product.sync.dlq", "product-key", productJson, exceptionMessage, longStackTrace)),
+                acknowledgment);
 
-        FailedEvent capturedEvent = failedEventCaptor.getValue();
+        FailedEvent capturedEvent = capturedEvents().get(0);
         assertEquals(5000, capturedEvent.getStackTrace().length());
         assertTrue(capturedEvent.getStackTrace().endsWith("..."));
     }
 
     @Test
-    @DisplayName("Should handle null exception message")
-    void shouldHandleNullExceptionMessage() {
-        ArgumentCaptor<FailedEvent> failedEventCaptor = ArgumentCaptor.forClass(FailedEvent.class);
-
-        deadLetterQueueConsumer.handleOrderPaidDLQ(
-                orderJson, "key", null, stackTrace, 0, 100L, acknowledgment
-        );
+    @DisplayName("Should handle missing exception headers")
+    void shouldHandleMissingExceptionHeaders() {
+        deadLetterQueueConsumer.handleDlqBatch(
+                List.of(dlqRecord("order.paid.dlq", "order-key", orderJson, null, null)),
+                acknowledgment);
 
-        verify(failedEventRepository).save(failedEventCaptor.capture());
-
-        FailedEvent capturedEvent = failedEventCaptor.getValue();
+        FailedEvent capturedEvent = capturedEvents().get(0);
         assertNull(capturedEvent.getExceptionMessage());
-    }
-
-    @Test
-    @DisplayName("Should handle null stack trace")
-    void shouldHandleNullStackTrace() {
-        ArgumentCaptor<FailedEvent> failedEventCaptor = ArgumentCaptor.forClass(FailedEvent.class);
-
-        deadLetterQueueConsumer.handleOrderPaidDLQ(
-                orderJson, "key", exceptionMessage, null, 0, 100L, acknowledgment
-        );
-
-        verify(failedEventRepository).save(failedEventCaptor.capture());
-
-        FailedEvent capturedEvent = failedEventCaptor.getValue();
         assertNull(capturedEvent.getStackTrace());
+        verify(acknowledgment).acknowledge();
     }
 
     @Test
     @DisplayName("Should handle null event key")
     void shouldHandleNullEventKey() {
-        ArgumentCaptor<FailedEvent> failedEventCaptor = ArgumentCaptor.forClass(FailedEvent.class);
-
-        deadLetterQueueConsumer.handleOrderPaidDLQ(
-                orderJson, null, exceptionMessage, stackTrace, 0, 100L, acknowledgment
-        );
-
-        verify(failedEventRepository).save(failedEventCaptor.capture());
-
-        FailedEvent capturedEvent = failedEventCaptor.getValue();
-        assertNull(capturedEvent.getEventKey());
-    }
-
-    @Test
-    @DisplayName("Should acknowledge after successfully storing order DLQ event")
-    void shouldAcknowledgeAfterSuccessfullyStoringOrderDlqEvent() {
-        deadLetterQueueConsumer.handleOrderPaidDLQ(
-                orderJson, "key", exceptionMessage, stackTrace, 0, 100L, acknowledgment
-        );
-
-        verify(acknowledgment).acknowledge();
-    }
-
-    @Test
-    @DisplayName("Should acknowledge after successfully storing product DLQ event")
-    void shouldAcknowledgeAfterSuccessfullyStoringProductDlqEvent() {
-        deadLetterQueueConsumer.handleProductSyncDLQ(
-                productJson, "key", exceptionMessage, stackTrace, 0, 100L, acknowledgment
-        );
+        deadLetterQueueConsumer.handleDlqBatch(
+                List.of(dlqRecord("order.paid.dlq", null, orderJson, exceptionMessage, stackTrace)),
+                acknowledgment);
 
+        assertNull(capturedEvents().get(0).getEventKey());
         verify(acknowledgment).acknowledge();
     }
 
     @Test
-    @DisplayName("Should throw exception when repository save fails for order DLQ")
-    void shouldThrowExceptionWhenRepositorySaveFailsForOrderDlq() {
-        when(failedEventRepository.save(any(FailedEvent.class)))
-                .thenThrow(new RuntimeException("Database error"));
+    @DisplayName("Should fall back to plain exception headers when DLT headers are absent")
+    void shouldFallBackToPlainExceptionHeaders() {
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("order.paid.dlq", 0, 0L, "order-key", orderJson);
+        record.headers().add(KafkaHeaders.EXCEPTION_MESSAGE, exceptionMessage.getBytes(StandardCharsets.UTF_8));
 
-        assertThrows(RuntimeException.class, () ->
-                deadLetterQueueConsumer.handleOrderPaidDLQ(
-                        orderJson, "key", exceptionMessage, stackTrace, 0, 100L, acknowledgment
-                )
-        );
+        deadLetterQueueConsumer.handleDlqBatch(List.of(record), acknowledgment);
 
-        verify(acknowledgment, never()).acknowledge();
+        assertEquals(exceptionMessage, capturedEvents().get(0).getExceptionMessage());
     }
 
     @Test
-    @DisplayName("Should throw exception when repository save fails for product DLQ")
-    void shouldThrowExceptionWhenRepositorySaveFailsForProductDlq() {
-        when(failedEventRepository.save(any(FailedEvent.class)))
-                .thenThrow(new RuntimeException("Database error"));
+    @DisplayName("Should throw exception and not acknowledge when batch insert fails")
+    void shouldThrowAndNotAcknowledgeWhenBatchInsertFails() {
+        doThrow(new RuntimeException("Database error")).when(failedEventJdbcRepository).batchInsert(anyList());
 
-        assertThrows(RuntimeException.class, () ->
-                deadLetterQueueConsumer.handleProductSyncDLQ(
-                        productJson, "key", exceptionMessage, stackTrace, 0, 100L, acknowledgment
-                )
-        );
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                deadLetterQueueConsumer.handleDlqBatch(
+                        List.of(dlqRecord("order.paid.dlq", "order-key", orderJson, exceptionMessage, stackTrace)),
+                        acknowledgment));
 
+        assertEquals("Failed to process DLQ batch", exception.getMessage());
         verify(acknowledgment, never()).acknowledge();
     }
 
     @Test
-    @DisplayName("Should not acknowledge when exception occurs in order DLQ")
-    void shouldNotAcknowledgeWhenExceptionOccursInOrderDlq() {
-        when(failedEventRepository.save(any(FailedEvent.class)))
-                .thenThrow(new RuntimeException("Error"));
-
-        assertThrows(RuntimeException.class, () ->
-                deadLetterQueueConsumer.handleOrderPaidDLQ(
-                        orderJson, "key", exceptionMessage, stackTrace, 0, 100L, acknowledgment
-                )
-        );
-
+    @DisplayName("Should report index of the record the database rejects after storing the ones before it")
+    void shouldReportIndexOfRejectedRecord() {
+        doThrow(new DataIntegrityViolationException("Data too long for column 'event_key'"))
+                .when(failedEventJdbcRepository).batchInsert(argThat(events -> events.size() == 3));
+        doNothing().doThrow(new DataIntegrityViolationException("Data too long for column 'event_key'"))
+                .when(failedEventJdbcRepository).batchInsert(argThat(events -> events.size() == 1));
+
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class, () ->
+                deadLetterQueueConsumer.handleDlqBatch(List.of(
+                        dlqRecord("order.paid.dlq", "order-key", orderJson, exceptionMessage, stackTrace),
+                        dlqRecord("order.paid.dlq", "x".repeat(300), orderJson, exceptionMessage, stackTrace),
+                        dlqRecord("product.sync.dlq", "product-key", productJson, exceptionMessage, stackTrace)),
+                        acknowledgment));
+
+        assertEquals(1, exception.getIndex());
+        verify(failedEventJdbcRepository, times(3)).batchInsert(anyList());
         verify(acknowledgment, never()).acknowledge();
     }
 
     @Test
-    @DisplayName("Should handle different partition and offset values")
-    void shouldHandleDifferentPartitionAndOffsetValues() {
-        deadLetterQueueConsumer.handleOrderPaidDLQ(
-                orderJson, "key", exceptionMessage, stackTrace, 5, 999L, acknowledgment
-        );
+    @DisplayName("Should ignore empty batch")
+    void shouldIgnoreEmptyBatch() {
+        deadLetterQueueConsumer.handleDlqBatch(List.of(), acknowledgment);
 
-        verify(failedEventRepository).save(any(FailedEvent.class));
-        verify(acknowledgment).acknowledge();
+        verifyNoInteractions(failedEventJdbcRepository, acknowledgment);
     }
 
     @Test
     @DisplayName("Should calculate next retry time when storing event")
     void shouldCalculateNextRetryTimeWhenStoringEvent() {
-        ArgumentCaptor<FailedEvent> failedEventCaptor = ArgumentCaptor.forClass(FailedEvent.class);
+        LocalDateTime before = LocalDateTime.now();
+
+        deadLetterQueueConsumer.handleDlqBatch(
+                List.of(dlqRecord("order.paid.dlq", "order-key", orderJson, exceptionMessage, stackTrace)),
+                acknowledgment);
 
-        deadLetterQueueConsumer.handleOrderPaidDLQ(
-                orderJson, "key", exceptionMessage, stackTrace, 0, 100L, acknowledgment
-        );
+        FailedEvent capturedEvent = capturedEvents().get(0);
+        assertTrue(capturedEvent.getNextRetryAt().isAfter(before));
+    }
 
-        verify(failedEventRepository).save(failedEventCaptor.capture());
+    @SuppressWarnings("unchecked")
+    private List<FailedEvent> capturedEvents() {
+        ArgumentCaptor<List<FailedEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(failedEventJdbcRepository).batchInsert(captor.capture());
+        return captor.getValue();
+    }
 
-        FailedEvent capturedEvent = failedEventCaptor.getValue();
-        assertNotNull(capturedEvent.getNextRetryAt());
+    private ConsumerRecord<String, String> dlqRecord(String topic, String key, String payload,
+            String exception, String trace) {
+        ConsumerRecord<String, String> record = new ConsumerRecord<>(topic, 0, 100L, key, payload);
+        if (exception != null) {
+            record.headers().add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, exception.getBytes(StandardCharsets.UTF_8));
+        }
+        if (trace != null) {
+            record.headers().add(KafkaHeaders.DLT_EXCEPTION_STACKTRACE, trace.getBytes(StandardCharsets.UTF_8));
+        }
+        return record;
     }
 }
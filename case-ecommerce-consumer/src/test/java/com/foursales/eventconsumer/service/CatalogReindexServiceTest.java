@@ -0,0 +1,174 @@
+package com.foursales.eventconsumer.service;
+
+import com.foursales.eventconsumer.dto.ReindexJobStatus;
+import com.foursales.eventconsumer.entity.Product;
+import com.foursales.eventconsumer.repository.jpa.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogReindexServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    private CatalogReindexService catalogReindexService;
+
+    @BeforeEach
+    void setUp() {
+        catalogReindexService = new CatalogReindexService(
+                productRepository, elasticsearchOperations, new SyncTaskExecutor(), 2, 2, true);
+        lenient().when(elasticsearchOperations.indexOps(any(IndexCoordinates.class))).thenReturn(indexOperations);
+    }
+
+    @Test
+    @DisplayName("Should split UUID space into contiguous slices covering all keys")
+    void shouldSplitUuidSpaceIntoContiguousSlices() {
+        List<CatalogReindexService.SliceBounds> bounds = CatalogReindexService.computeSliceBounds(4);
+
+        assertThat(bounds).hasSize(4);
+        assertThat(bounds.get(0).afterExclusive()).isEqualTo(new UUID(0L, 0L));
+        assertThat(bounds.get(3).upperInclusive()).isEqualTo(new UUID(-1L, -1L));
+        for (int i = 0; i < 3; i++) {
+            assertThat(bounds.get(i).upperInclusive()).isEqualTo(bounds.get(i + 1).afterExclusive());
+        }
+        assertThat(bounds.get(0).upperInclusive().toString()).startsWith("3fffffff");
+        assertThat(bounds.get(2).upperInclusive().toString()).startsWith("bfffffff");
+    }
+
+    @Test
+    @DisplayName("Should bulk load slices with keyset pagination and swap alias to new index")
+    void shouldBulkLoadSlicesAndSwapAlias() {
+        Product first = product(UUID.fromString("10000000-0000-0000-0000-000000000001"));
+        Product second = product(UUID.fromString("10000000-0000-0000-0000-000000000002"));
+        Product third = product(UUID.fromString("90000000-0000-0000-0000-000000000003"));
+
+        when(productRepository.count()).thenReturn(3L);
+        when(productRepository.findKeysetSlice(any(UUID.class), any(UUID.class), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    UUID after = invocation.getArgument(0);
+                    UUID upper = invocation.getArgument(1);
+                    if (after.equals(new UUID(0L, 0L))) {
+                        return List.of(first, second);
+                    }
+                    if (after.equals(second.getId())) {
+                        return List.of();
+                    }
+                    return upper.equals(new UUID(-1L, -1L)) ? List.of(third) : List.of();
+                });
+        when(productRepository.findKeysetSliceUpdatedSince(any(UUID.class), any(UUID.class),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of());
+        when(indexOperations.getAliases(CatalogReindexService.PRODUCTS_ALIAS))
+                .thenReturn(Map.of("products_v1", Set.of()));
+
+        ReindexJobStatus status = catalogReindexService.startReindex();
+
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        assertThat(status.getIndexedProducts()).isEqualTo(3L);
+        assertThat(status.getProgressPercent()).isEqualTo(100.0);
+        assertThat(status.getTargetIndex()).startsWith(CatalogReindexService.INDEX_PREFIX);
+
+        verify(productRepository).findKeysetSlice(eq(second.getId()), any(UUID.class), any(Pageable.class));
+        verify(elasticsearchOperations, times(2)).save(anyIterable(), eq(IndexCoordinates.of(status.getTargetIndex())));
+        verify(indexOperations).alias(any(AliasActions.class));
+        verify(indexOperations).delete();
+    }
+
+    @Test
+    @DisplayName("Should remove products deleted during the load from the new index")
+    void shouldRemoveProductsDeletedDuringLoad() {
+        Product deleted = product(UUID.fromString("10000000-0000-0000-0000-000000000001"));
+        when(productRepository.count()).thenReturn(1L);
+        when(productRepository.findKeysetSlice(any(UUID.class), any(UUID.class), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    if (!invocation.getArgument(0).equals(new UUID(0L, 0L))) {
+                        return List.of();
+                    }
+                    // DELETED event consumed while the slice is being loaded
+                    catalogReindexService.recordDeletion(deleted.getId());
+                    return List.of(deleted);
+                });
+        when(productRepository.findKeysetSliceUpdatedSince(any(UUID.class), any(UUID.class),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of());
+
+        ReindexJobStatus status = catalogReindexService.startReindex();
+
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        InOrder inOrder = inOrder(elasticsearchOperations, indexOperations);
+        inOrder.verify(elasticsearchOperations).delete(deleted.getId().toString(),
+                IndexCoordinates.of(status.getTargetIndex()));
+        inOrder.verify(indexOperations).alias(any(AliasActions.class));
+    }
+
+    @Test
+    @DisplayName("Should ignore deletions when no reindex is running")
+    void shouldIgnoreDeletionsWhenNoReindexIsRunning() {
+        catalogReindexService.recordDeletion(UUID.randomUUID());
+
+        verifyNoInteractions(elasticsearchOperations);
+    }
+
+    @Test
+    @DisplayName("Should mark job as failed and keep alias when bulk indexing fails")
+    void shouldMarkJobAsFailedWhenBulkIndexingFails() {
+        Product product = product(UUID.randomUUID());
+        when(productRepository.count()).thenReturn(1L);
+        when(productRepository.findKeysetSlice(any(UUID.class), any(UUID.class), any(Pageable.class)))
+                .thenReturn(List.of(product));
+        when(elasticsearchOperations.save(anyIterable(), any(IndexCoordinates.class)))
+                .thenThrow(new RuntimeException("Elasticsearch unavailable"));
+
+        ReindexJobStatus status = catalogReindexService.startReindex();
+
+        assertThat(status.getStatus()).isEqualTo("FAILED");
+        assertThat(status.getErrorMessage()).isEqualTo("Elasticsearch unavailable");
+        verify(indexOperations, never()).alias(any(AliasActions.class));
+    }
+
+    @Test
+    @DisplayName("Should return empty status when no reindex has run")
+    void shouldReturnEmptyStatusWhenNoReindexHasRun() {
+        assertThat(catalogReindexService.getCurrentStatus()).isEmpty();
+    }
+
+    private Product product(UUID id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setPrice(BigDecimal.TEN);
+        product.setCategory("Electronics");
+        product.setStockQuantity(5);
+        return product;
+    }
+}
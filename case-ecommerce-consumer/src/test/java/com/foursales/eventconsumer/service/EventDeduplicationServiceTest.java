@@ -0,0 +1,145 @@
+package com.foursales.eventconsumer.service;
+
+import com.foursales.eventconsumer.repository.jpa.ProcessedEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventDeduplicationServiceTest {
+
+    @Mock
+    private ProcessedEventRepository processedEventRepository;
+
+    private EventDeduplicationService eventDeduplicationService;
+
+    @BeforeEach
+    void setUp() {
+        eventDeduplicationService = new EventDeduplicationService(processedEventRepository, 100, 10000, 0.01, 12);
+    }
+
+    @Test
+    @DisplayName("Should query database before filter is warmed up")
+    void shouldQueryDatabaseBeforeWarmUp() {
+        when(processedEventRepository.existsByEventId("event-1")).thenReturn(false);
+
+        assertThat(eventDeduplicationService.isDuplicate("event-1", LocalDateTime.now())).isFalse();
+
+        verify(processedEventRepository).existsByEventId("event-1");
+    }
+
+    @Test
+    @DisplayName("Should skip database when Bloom filter says event was never seen")
+    void shouldSkipDatabaseOnFilterNegative() {
+        warmUpWith();
+
+        assertThat(eventDeduplicationService.isDuplicate("new-event", LocalDateTime.now())).isFalse();
+
+        verify(processedEventRepository, never()).existsByEventId(anyString());
+    }
+
+    @Test
+    @DisplayName("Should answer from recent ids without database after event is processed")
+    void shouldAnswerFromRecentIds() {
+        warmUpWith();
+        eventDeduplicationService.markProcessed("event-1");
+
+        assertThat(eventDeduplicationService.isDuplicate("event-1", LocalDateTime.now())).isTrue();
+
+        verify(processedEventRepository, never()).existsByEventId(anyString());
+    }
+
+    @Test
+    @DisplayName("Should confirm with database when warm-up ids make the filter say maybe seen")
+    void shouldConfirmWithDatabaseOnFilterPositive() {
+        warmUpWith("loaded-event");
+        when(processedEventRepository.existsByEventId("loaded-event")).thenReturn(true);
+
+        assertThat(eventDeduplicationService.isDuplicate("loaded-event", LocalDateTime.now())).isTrue();
+        assertThat(eventDeduplicationService.isDuplicate("loaded-event", LocalDateTime.now())).isTrue();
+
+        verify(processedEventRepository, times(1)).existsByEventId("loaded-event");
+    }
+
+    @Test
+    @DisplayName("Should query database for events older than filter coverage or without timestamp")
+    void shouldQueryDatabaseForUncoveredEvents() {
+        warmUpWith();
+        when(processedEventRepository.existsByEventId(anyString())).thenReturn(false);
+
+        eventDeduplicationService.isDuplicate("old-event", LocalDateTime.now().minusDays(3));
+        eventDeduplicationService.isDuplicate("untimed-event", null);
+
+        verify(processedEventRepository).existsByEventId("old-event");
+        verify(processedEventRepository).existsByEventId("untimed-event");
+    }
+
+    @Test
+    @DisplayName("Should keep false positive rate near configured target")
+    void shouldKeepFalsePositiveRateNearTarget() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(10000, 0.01, LocalDateTime.now());
+        IntStream.range(0, 10000).forEach(i -> filter.put("event-" + i));
+
+        assertThat(IntStream.range(0, 10000).allMatch(i -> filter.mightContain("event-" + i))).isTrue();
+        long falsePositives = IntStream.range(0, 10000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    @DisplayName("Should remember previous generation after rotation and forget it after the next one")
+    void shouldRememberOneGenerationBack() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(1000, 0.01, LocalDateTime.now());
+        filter.put("event-1");
+
+        filter.rotate();
+        assertThat(filter.mightContain("event-1")).isTrue();
+
+        filter.rotate();
+        assertThat(filter.mightContain("event-1")).isFalse();
+    }
+
+    private void warmUpWith(String... eventIds) {
+        List<ProcessedEventRepository.EventIdView> views = IntStream.range(0, eventIds.length)
+                .mapToObj(i -> view((long) i + 1, eventIds[i]))
+                .toList();
+        when(processedEventRepository.findEventIdsProcessedSince(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .thenReturn(views);
+        if (eventIds.length > 0) {
+            when(processedEventRepository.findEventIdsProcessedSince(any(LocalDateTime.class),
+                    eq((long) eventIds.length), any(Pageable.class)))
+                    .thenReturn(List.of());
+        }
+        eventDeduplicationService.warmUp();
+    }
+
+    private ProcessedEventRepository.EventIdView view(Long id, String eventId) {
+        return new ProcessedEventRepository.EventIdView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEventId() {
+                return eventId;
+            }
+        };
+    }
+}
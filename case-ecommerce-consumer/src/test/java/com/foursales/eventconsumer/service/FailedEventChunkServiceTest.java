@@ -0,0 +1,87 @@
+package com.foursales.eventconsumer.service;
+
+import com.foursales.eventconsumer.entity.FailedEvent;
+import com.foursales.eventconsumer.repository.jpa.FailedEventRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FailedEventChunkServiceTest {
+
+    @Mock
+    private FailedEventRepository failedEventRepository;
+
+    @InjectMocks
+    private FailedEventChunkService failedEventChunkService;
+
+    @Test
+    @DisplayName("Should claim chunk and mark it as RETRYING with a single bulk update")
+    void shouldClaimChunkAndMarkAsRetrying() {
+        LocalDateTime now = LocalDateTime.now();
+        FailedEvent first = pendingEvent();
+        FailedEvent second = pendingEvent();
+        when(failedEventRepository.claimEventsReadyForRetry(now, 50)).thenReturn(List.of(first, second));
+
+        List<FailedEvent> claimed = failedEventChunkService.claimChunk(now, 50);
+
+        assertThat(claimed).containsExactly(first, second);
+        assertThat(claimed).allMatch(e -> e.getStatus() == FailedEvent.FailedEventStatus.RETRYING);
+        verify(failedEventRepository).markAsRetrying(
+                List.of(first.getId().toString(), second.getId().toString()), now);
+    }
+
+    @Test
+    @DisplayName("Should not issue update when nothing is claimed")
+    void shouldNotIssueUpdateWhenNothingIsClaimed() {
+        LocalDateTime now = LocalDateTime.now();
+        when(failedEventRepository.claimEventsReadyForRetry(now, 10)).thenReturn(List.of());
+
+        assertThat(failedEventChunkService.claimChunk(now, 10)).isEmpty();
+
+        verify(failedEventRepository, never()).markAsRetrying(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should complete chunk with one bulk update per non-empty outcome")
+    void shouldCompleteChunkWithBulkUpdates() {
+        LocalDateTime now = LocalDateTime.now();
+        ChunkOutcome outcome = new ChunkOutcome();
+        outcome.processed.add("p1");
+        outcome.processed.add("p2");
+        outcome.retry.add("r1");
+        outcome.deferred.add("d1");
+
+        failedEventChunkService.completeChunk(outcome, now);
+
+        verify(failedEventRepository).markAsProcessed(List.of("p1", "p2"), now, FailedEventChunkService.REPROCESSED_NOTES);
+        verify(failedEventRepository).markForRetry(List.of("r1"), now);
+        verify(failedEventRepository).deferRetry(List.of("d1"), now.plusMinutes(1));
+        verify(failedEventRepository, never()).markAsProcessed(anyCollection(), any(LocalDateTime.class),
+                eq(FailedEventChunkService.SUPERSEDED_NOTES));
+        verify(failedEventRepository, never()).markAsFailed(anyCollection(), anyString());
+    }
+
+    private FailedEvent pendingEvent() {
+        FailedEvent event = new FailedEvent();
+        event.setId(UUID.randomUUID());
+        event.setOriginalTopic("order.paid.dlq");
+        event.setEventPayload("{}");
+        event.setStatus(FailedEvent.FailedEventStatus.PENDING);
+        return event;
+    }
+}
@@ -1,22 +1,28 @@
 package com.foursales.eventconsumer.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.foursales.eventconsumer.dto.ProductSyncEvent;
 import com.foursales.eventconsumer.entity.FailedEvent;
 import com.foursales.eventconsumer.repository.jpa.FailedEventRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.core.task.SyncTaskExecutor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -26,16 +32,19 @@ class FailedEventReprocessorTest {
     @Mock
     private FailedEventRepository failedEventRepository;
 
+    @Mock
+    private FailedEventChunkService failedEventChunkService;
+
     @Mock
     private StockUpdateService stockUpdateService;
 
     @Mock
     private ProductSyncService productSyncService;
 
-    @Mock
-    private ObjectMapper objectMapper;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
 
-    @InjectMocks
     private FailedEventReprocessor failedEventReprocessor;
 
     private FailedEvent failedEvent;
@@ -43,114 +52,194 @@ class FailedEventReprocessorTest {
 
     @BeforeEach
     void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        failedEventReprocessor = new FailedEventReprocessor(
+                failedEventRepository, failedEventChunkService, stockUpdateService, productSyncService,
+                objectMapper, circuitBreakerRegistry, new SyncTaskExecutor(),
+                10, 40, 1, 4, 0.2, 60000);
+
         now = LocalDateTime.now();
-        failedEvent = new FailedEvent();
-        failedEvent.setId(UUID.randomUUID());
-        failedEvent.setOriginalTopic("order.paid.dlq");
-        failedEvent.setEventPayload("{\"id\":\"" + UUID.randomUUID() + "\"}");
-        failedEvent.setStatus(FailedEvent.FailedEventStatus.PENDING);
-        failedEvent.setRetryCount(0);
+        failedEvent = orderPaidEvent();
     }
 
     @Test
     @DisplayName("Should skip reprocessing when no events ready")
     void shouldSkipReprocessingWhenNoEventsReady() {
-        when(failedEventRepository.findEventsReadyForRetry(any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(List.of());
+        when(failedEventChunkService.claimChunk(any(LocalDateTime.class), anyInt())).thenReturn(List.of());
 
         failedEventReprocessor.reprocessFailedEvents();
 
-        verify(failedEventRepository).findEventsReadyForRetry(any(LocalDateTime.class), any(PageRequest.class));
-        verify(failedEventRepository, never()).save(any(FailedEvent.class));
+        verify(failedEventChunkService).claimChunk(any(LocalDateTime.class), anyInt());
+        verify(failedEventChunkService, never()).completeChunk(any(ChunkOutcome.class), any(LocalDateTime.class));
     }
 
     @Test
     @DisplayName("Should find and process failed events")
     void shouldFindAndProcessFailedEvents() {
-        when(failedEventRepository.findEventsReadyForRetry(any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(List.of(failedEvent));
-        when(failedEventRepository.save(any(FailedEvent.class))).thenReturn(failedEvent);
+        when(failedEventChunkService.claimChunk(any(LocalDateTime.class), anyInt())).thenReturn(List.of(failedEvent));
 
         failedEventReprocessor.reprocessFailedEvents();
 
-        verify(failedEventRepository).findEventsReadyForRetry(any(LocalDateTime.class), any(PageRequest.class));
+        verify(stockUpdateService).updateProductStock(any(UUID.class));
+        assertThat(completedOutcome().processed).containsExactly(failedEvent.getId().toString());
     }
 
     @Test
-    @DisplayName("Should handle exception during event reprocessing")
-    void shouldHandleExceptionDuringEventReprocessing() {
-        when(failedEventRepository.findEventsReadyForRetry(any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(List.of(failedEvent));
-        when(failedEventRepository.save(any(FailedEvent.class)))
-                .thenThrow(new RuntimeException("Database error"));
+    @DisplayName("Should schedule retry when downstream call fails")
+    void shouldScheduleRetryWhenDownstreamCallFails() {
+        when(failedEventChunkService.claimChunk(any(LocalDateTime.class), anyInt())).thenReturn(List.of(failedEvent));
+        doThrow(new RuntimeException("Reprocessing error"))
+                .when(stockUpdateService).updateProductStock(any(UUID.class));
 
         failedEventReprocessor.reprocessFailedEvents();
 
-        verify(failedEventRepository).findEventsReadyForRetry(any(LocalDateTime.class), any(PageRequest.class));
+        ChunkOutcome outcome = completedOutcome();
+        assertThat(outcome.retry).containsExactly(failedEvent.getId().toString());
+        assertThat(outcome.processed).isEmpty();
     }
 
     @Test
-    @DisplayName("Should process multiple failed events in batch")
-    void shouldProcessMultipleFailedEventsInBatch() {
-        FailedEvent event1 = new FailedEvent();
-        event1.setId(UUID.randomUUID());
-        event1.setOriginalTopic("order.paid.dlq");
-        event1.setEventPayload("{\"id\":\"" + UUID.randomUUID() + "\"}");
-
-        FailedEvent event2 = new FailedEvent();
-        event2.setId(UUID.randomUUID());
-        event2.setOriginalTopic("product.sync.dlq");
-        event2.setEventPayload("{\"eventId\":\"123\"}");
-
-        when(failedEventRepository.findEventsReadyForRetry(any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(List.of(event1, event2));
-        when(failedEventRepository.save(any(FailedEvent.class))).thenReturn(event1, event2);
+    @DisplayName("Should schedule retry when payload is malformed")
+    void shouldScheduleRetryWhenPayloadIsMalformed() {
+        failedEvent.setEventPayload("{}");
+        when(failedEventChunkService.claimChunk(any(LocalDateTime.class), anyInt())).thenReturn(List.of(failedEvent));
 
         failedEventReprocessor.reprocessFailedEvents();
 
-        verify(failedEventRepository).findEventsReadyForRetry(any(LocalDateTime.class), any(PageRequest.class));
+        assertThat(completedOutcome().retry).containsExactly(failedEvent.getId().toString());
+        verify(stockUpdateService, never()).updateProductStock(any(UUID.class));
     }
 
     @Test
-    @DisplayName("Should process event in isolated transaction")
-    void shouldProcessEventInIsolatedTransaction() {
-        when(failedEventRepository.save(any(FailedEvent.class))).thenReturn(failedEvent);
+    @DisplayName("Should process multiple failed events in one chunk with a single completion")
+    void shouldProcessMultipleFailedEventsInOneChunk() throws Exception {
+        FailedEvent productEvent = productSyncEvent(UUID.randomUUID(), now);
+        when(failedEventChunkService.claimChunk(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(failedEvent, productEvent));
 
-        failedEventReprocessor.processEventInTransaction(failedEvent, now);
+        failedEventReprocessor.reprocessFailedEvents();
 
-        verify(failedEventRepository, atLeast(1)).save(failedEvent);
+        verify(stockUpdateService).updateProductStock(any(UUID.class));
+        verify(productSyncService).processProductSyncEvent(any(ProductSyncEvent.class));
+        assertThat(completedOutcome().processed)
+                .containsExactlyInAnyOrder(failedEvent.getId().toString(), productEvent.getId().toString());
     }
 
     @Test
-    @DisplayName("Should update event status to RETRYING")
-    void shouldUpdateEventStatusToRetrying() {
-        when(failedEventRepository.save(any(FailedEvent.class))).thenReturn(failedEvent);
+    @DisplayName("Should mark events from unknown topics as failed")
+    void shouldMarkEventsFromUnknownTopicsAsFailed() {
+        failedEvent.setOriginalTopic("unknown.topic");
+        when(failedEventChunkService.claimChunk(any(LocalDateTime.class), anyInt())).thenReturn(List.of(failedEvent));
 
-        failedEventReprocessor.processEventInTransaction(failedEvent, now);
+        failedEventReprocessor.reprocessFailedEvents();
 
-        verify(failedEventRepository, atLeast(1)).save(failedEvent);
+        assertThat(completedOutcome().failed).containsExactly(failedEvent.getId().toString());
     }
 
     @Test
-    @DisplayName("Should handle reprocessing failure gracefully")
-    void shouldHandleReprocessingFailureGracefully() {
-        lenient().when(failedEventRepository.save(any(FailedEvent.class))).thenReturn(failedEvent);
-        lenient().doThrow(new RuntimeException("Reprocessing error"))
-                .when(stockUpdateService).updateProductStock(any(UUID.class));
+    @DisplayName("Should limit batch size to configured limit")
+    void shouldLimitBatchSizeToConfiguredLimit() {
+        when(failedEventChunkService.claimChunk(any(LocalDateTime.class), eq(10))).thenReturn(List.of());
 
-        failedEventReprocessor.processEventInTransaction(failedEvent, now);
+        failedEventReprocessor.reprocessFailedEvents();
 
-        verify(failedEventRepository, atLeast(1)).save(failedEvent);
+        verify(failedEventChunkService).claimChunk(any(LocalDateTime.class), eq(10));
     }
 
     @Test
-    @DisplayName("Should limit batch size to configured limit")
-    void shouldLimitBatchSizeToConfiguredLimit() {
-        when(failedEventRepository.findEventsReadyForRetry(any(LocalDateTime.class), eq(PageRequest.of(0, 10))))
-                .thenReturn(List.of());
+    @DisplayName("Should grow batch size after a fully successful chunk")
+    void shouldGrowBatchSizeAfterSuccessfulChunk() {
+        List<FailedEvent> fullChunk = IntStream.range(0, 10)
+                .mapToObj(i -> orderPaidEvent())
+                .toList();
+        when(failedEventChunkService.claimChunk(any(LocalDateTime.class), eq(10))).thenReturn(fullChunk);
+        when(failedEventChunkService.claimChunk(any(LocalDateTime.class), eq(20))).thenReturn(List.of());
+
+        failedEventReprocessor.reprocessFailedEvents();
+
+        verify(stockUpdateService, times(10)).updateProductStock(any(UUID.class));
+        verify(failedEventChunkService).claimChunk(any(LocalDateTime.class), eq(20));
+        assertThat(completedOutcome().processed).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("Should back off without claiming events when circuit breaker is open")
+    void shouldBackOffWhenCircuitBreakerIsOpen() {
+        circuitBreakerRegistry.circuitBreaker("eventReprocessor").transitionToOpenState();
+
+        failedEventReprocessor.reprocessFailedEvents();
+
+        verify(failedEventChunkService, never()).claimChunk(any(LocalDateTime.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should defer claimed events without burning retries when circuit opens mid-chunk")
+    void shouldDeferClaimedEventsWhenCircuitOpensMidChunk() {
+        FailedEvent second = orderPaidEvent();
+        when(failedEventChunkService.claimChunk(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(failedEvent, second));
+        doAnswer(invocation -> {
+            circuitBreakerRegistry.circuitBreaker("eventReprocessor").transitionToOpenState();
+            return null;
+        }).when(stockUpdateService).updateProductStock(any(UUID.class));
 
         failedEventReprocessor.reprocessFailedEvents();
 
-        verify(failedEventRepository).findEventsReadyForRetry(any(LocalDateTime.class), eq(PageRequest.of(0, 10)));
+        ChunkOutcome outcome = completedOutcome();
+        assertThat(outcome.processed).containsExactly(failedEvent.getId().toString());
+        assertThat(outcome.deferred).containsExactly(second.getId().toString());
+        assertThat(outcome.retry).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should collapse product sync events for the same product into one downstream call")
+    void shouldCollapseProductSyncEventsForSameProduct() throws Exception {
+        UUID productId = UUID.randomUUID();
+        FailedEvent older = productSyncEvent(productId, now.minusMinutes(5));
+        FailedEvent newer = productSyncEvent(productId, now.minusMinutes(1));
+        when(failedEventChunkService.claimChunk(any(LocalDateTime.class), anyInt()))
+                .thenReturn(List.of(newer, older));
+
+        failedEventReprocessor.reprocessFailedEvents();
+
+        verify(productSyncService, times(1)).processProductSyncEvent(any(ProductSyncEvent.class));
+        ChunkOutcome outcome = completedOutcome();
+        assertThat(outcome.processed).containsExactly(newer.getId().toString());
+        assertThat(outcome.superseded).containsExactly(older.getId().toString());
+    }
+
+    private ChunkOutcome completedOutcome() {
+        ArgumentCaptor<ChunkOutcome> captor = ArgumentCaptor.forClass(ChunkOutcome.class);
+        verify(failedEventChunkService).completeChunk(captor.capture(), any(LocalDateTime.class));
+        return captor.getValue();
+    }
+
+    private FailedEvent orderPaidEvent() {
+        FailedEvent event = new FailedEvent();
+        event.setId(UUID.randomUUID());
+        event.setOriginalTopic("order.paid.dlq");
+        event.setEventPayload("{\"id\":\"" + UUID.randomUUID() + "\"}");
+        event.setStatus(FailedEvent.FailedEventStatus.RETRYING);
+        event.setRetryCount(0);
+        event.setMaxRetries(10);
+        return event;
+    }
+
+    private FailedEvent productSyncEvent(UUID productId, LocalDateTime createdAt) throws Exception {
+        ProductSyncEvent payload = ProductSyncEvent.builder()
+                .productId(productId)
+                .eventId(UUID.randomUUID().toString())
+                .eventType("UPDATED")
+                .build();
+
+        FailedEvent event = new FailedEvent();
+        event.setId(UUID.randomUUID());
+        event.setOriginalTopic("product.sync.dlq");
+        event.setEventPayload(objectMapper.writeValueAsString(payload));
+        event.setStatus(FailedEvent.FailedEventStatus.RETRYING);
+        event.setRetryCount(0);
+        event.setMaxRetries(10);
+        event.setCreatedAt(createdAt);
+        return event;
     }
 }
@@ -0,0 +1,103 @@
+package com.foursales.eventconsumer.service;
+
+import com.foursales.eventconsumer.repository.jdbc.ProductSalesJdbcRepository;
+import com.foursales.eventconsumer.repository.jdbc.ProductSalesJdbcRepository.ProductUnits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSalesSketchServiceTest {
+
+    private static final LocalDateTime PAID_AT = LocalDateTime.of(2025, 1, 15, 14, 35, 12);
+    private static final LocalDateTime HOUR = LocalDateTime.of(2025, 1, 15, 14, 0);
+
+    @Mock
+    private ProductSalesJdbcRepository productSalesRepository;
+
+    private ProductSalesSketchService productSalesSketchService;
+
+    @BeforeEach
+    void setUp() {
+        productSalesSketchService = new ProductSalesSketchService(productSalesRepository, 2, 31);
+    }
+
+    @Test
+    @DisplayName("Should flush exact counts per payment hour while under capacity")
+    void shouldFlushExactCountsPerHour() {
+        UUID notebook = UUID.randomUUID();
+        UUID mouse = UUID.randomUUID();
+        productSalesSketchService.record(PAID_AT, notebook, 2);
+        productSalesSketchService.record(PAID_AT.plusMinutes(10), mouse, 5);
+        productSalesSketchService.record(PAID_AT.plusMinutes(20), notebook, 1);
+        productSalesSketchService.record(PAID_AT.plusHours(1), mouse, 1);
+
+        productSalesSketchService.flush();
+
+        verify(productSalesRepository).addCounts(HOUR,
+                List.of(new ProductUnits(mouse, 5), new ProductUnits(notebook, 3)));
+        verify(productSalesRepository).addCounts(HOUR.plusHours(1), List.of(new ProductUnits(mouse, 1)));
+        assertThat(productSalesSketchService.pendingBuckets()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write a full hour out instead of replacing a counter, so no product is undercounted")
+    void shouldSpillFullHourInsteadOfEvicting() {
+        UUID notebook = UUID.randomUUID();
+        UUID mouse = UUID.randomUUID();
+        UUID keyboard = UUID.randomUUID();
+        productSalesSketchService.record(PAID_AT, notebook, 10);
+        productSalesSketchService.record(PAID_AT, mouse, 3);
+        productSalesSketchService.record(PAID_AT, keyboard, 1);
+
+        verify(productSalesRepository).addCounts(HOUR,
+                List.of(new ProductUnits(notebook, 10), new ProductUnits(mouse, 3)));
+
+        productSalesSketchService.record(PAID_AT, mouse, 2);
+        productSalesSketchService.flush();
+
+        verify(productSalesRepository).addCounts(HOUR,
+                List.of(new ProductUnits(mouse, 2), new ProductUnits(keyboard, 1)));
+        verifyNoMoreInteractions(productSalesRepository);
+    }
+
+    @Test
+    @DisplayName("Should retry counts on the next flush when the database write fails")
+    void shouldKeepCountsWhenFlushFails() {
+        UUID notebook = UUID.randomUUID();
+        productSalesSketchService.record(PAID_AT, notebook, 2);
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .doNothing()
+                .when(productSalesRepository).addCounts(any(), anyList());
+
+        productSalesSketchService.flush();
+        assertThat(productSalesSketchService.pendingBuckets()).isEqualTo(1);
+        productSalesSketchService.record(PAID_AT, notebook, 1);
+        productSalesSketchService.flush();
+
+        verify(productSalesRepository, times(2)).addCounts(HOUR, List.of(new ProductUnits(notebook, 2)));
+        verify(productSalesRepository).addCounts(HOUR, List.of(new ProductUnits(notebook, 1)));
+        assertThat(productSalesSketchService.pendingBuckets()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing was recorded")
+    void shouldNotFlushWhenEmpty() {
+        productSalesSketchService.flush();
+
+        verifyNoInteractions(productSalesRepository);
+    }
+}
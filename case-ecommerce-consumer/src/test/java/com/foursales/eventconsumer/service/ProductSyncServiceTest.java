@@ -38,12 +38,18 @@ class ProductSyncServiceTest {
     @Mock
     private ProcessedEventRepository processedEventRepository;
 
+    @Mock
+    private EventDeduplicationService eventDeduplicationService;
+
     @Mock
     private ElasticsearchOperations elasticsearchOperations;
 
     @Mock
     private IndexOperations indexOperations;
 
+    @Mock
+    private CatalogReindexService catalogReindexService;
+
     @InjectMocks
     private ProductSyncService productSyncService;
 
@@ -79,20 +85,23 @@ class ProductSyncServiceTest {
     @Test
     @DisplayName("Should process CREATED event successfully")
     void shouldProcessCreatedEventSuccessfully() {
-        when(processedEventRepository.existsByEventId(anyString())).thenReturn(false);
+        when(eventDeduplicationService.isDuplicate(anyString(), any())).thenReturn(false);
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
         when(productSearchRepository.save(any(Product.class))).thenReturn(product);
         when(elasticsearchOperations.indexOps(Product.class)).thenReturn(indexOperations);
         doNothing().when(indexOperations).refresh();
-        when(processedEventRepository.save(any(ProcessedEvent.class))).thenReturn(new ProcessedEvent());
+        when(processedEventRepository.insertSuccessIfAbsent(anyString(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(1);
 
         productSyncService.processProductSyncEvent(productSyncEvent);
 
-        verify(processedEventRepository).existsByEventId(anyString());
+        verify(eventDeduplicationService).isDuplicate(anyString(), any());
         verify(productRepository).findById(productId);
         verify(productSearchRepository).save(any(Product.class));
         verify(elasticsearchOperations).indexOps(Product.class);
-        verify(processedEventRepository, times(1)).save(any(ProcessedEvent.class));
+        verify(processedEventRepository, times(1))
+                .insertSuccessIfAbsent(anyString(), anyString(), anyString(), any(LocalDateTime.class));
+        verify(eventDeduplicationService).markProcessed(productSyncEvent.getEventId());
     }
 
     @Test
@@ -100,18 +109,21 @@ class ProductSyncServiceTest {
     void shouldProcessUpdatedEventSuccessfully() {
         productSyncEvent.setEventType("UPDATED");
 
-        when(processedEventRepository.existsByEventId(anyString())).thenReturn(false);
+        when(eventDeduplicationService.isDuplicate(anyString(), any())).thenReturn(false);
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
         when(productSearchRepository.save(any(Product.class))).thenReturn(product);
         when(elasticsearchOperations.indexOps(Product.class)).thenReturn(indexOperations);
         doNothing().when(indexOperations).refresh();
-        when(processedEventRepository.save(any(ProcessedEvent.class))).thenReturn(new ProcessedEvent());
+        when(processedEventRepository.insertSuccessIfAbsent(anyString(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(1);
 
         productSyncService.processProductSyncEvent(productSyncEvent);
 
         verify(productRepository).findById(productId);
         verify(productSearchRepository).save(any(Product.class));
-        verify(processedEventRepository, times(1)).save(any(ProcessedEvent.class));
+        verify(processedEventRepository, times(1))
+                .insertSuccessIfAbsent(anyString(), anyString(), anyString(), any(LocalDateTime.class));
+        verify(eventDeduplicationService).markProcessed(productSyncEvent.getEventId());
     }
 
     @Test
@@ -119,25 +131,29 @@ class ProductSyncServiceTest {
     void shouldProcessDeletedEventSuccessfully() {
         productSyncEvent.setEventType("DELETED");
 
-        when(processedEventRepository.existsByEventId(anyString())).thenReturn(false);
+        when(eventDeduplicationService.isDuplicate(anyString(), any())).thenReturn(false);
         doNothing().when(productSearchRepository).deleteById(productId);
-        when(processedEventRepository.save(any(ProcessedEvent.class))).thenReturn(new ProcessedEvent());
+        when(processedEventRepository.insertSuccessIfAbsent(anyString(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(1);
 
         productSyncService.processProductSyncEvent(productSyncEvent);
 
         verify(productSearchRepository).deleteById(productId);
-        verify(processedEventRepository, times(1)).save(any(ProcessedEvent.class));
+        verify(catalogReindexService).recordDeletion(productId);
+        verify(processedEventRepository, times(1))
+                .insertSuccessIfAbsent(anyString(), anyString(), anyString(), any(LocalDateTime.class));
+        verify(eventDeduplicationService).markProcessed(productSyncEvent.getEventId());
         verify(productRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Should skip processing when event already processed")
     void shouldSkipProcessingWhenEventAlreadyProcessed() {
-        when(processedEventRepository.existsByEventId(anyString())).thenReturn(true);
+        when(eventDeduplicationService.isDuplicate(anyString(), any())).thenReturn(true);
 
         productSyncService.processProductSyncEvent(productSyncEvent);
 
-        verify(processedEventRepository).existsByEventId(anyString());
+        verify(eventDeduplicationService).isDuplicate(anyString(), any());
         verify(productRepository, never()).findById(any());
         verify(productSearchRepository, never()).save(any());
         verify(processedEventRepository, never()).save(any());
@@ -146,7 +162,7 @@ class ProductSyncServiceTest {
     @Test
     @DisplayName("Should throw RuntimeException when product not found in MySQL")
     void shouldThrowRuntimeExceptionWhenProductNotFoundInMySQL() {
-        when(processedEventRepository.existsByEventId(anyString())).thenReturn(false);
+        when(eventDeduplicationService.isDuplicate(anyString(), any())).thenReturn(false);
         when(productRepository.findById(productId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> productSyncService.processProductSyncEvent(productSyncEvent))
@@ -160,7 +176,7 @@ class ProductSyncServiceTest {
     @Test
     @DisplayName("Should mark event as FAILED when exception occurs")
     void shouldMarkEventAsFailedWhenExceptionOccurs() {
-        when(processedEventRepository.existsByEventId(anyString())).thenReturn(false);
+        when(eventDeduplicationService.isDuplicate(anyString(), any())).thenReturn(false);
         when(productRepository.findById(productId)).thenThrow(new RuntimeException("Database error"));
         when(processedEventRepository.save(any(ProcessedEvent.class))).thenReturn(new ProcessedEvent());
 
@@ -176,7 +192,7 @@ class ProductSyncServiceTest {
     void shouldHandleUnknownEventType() {
         productSyncEvent.setEventType("UNKNOWN");
 
-        when(processedEventRepository.existsByEventId(anyString())).thenReturn(false);
+        when(eventDeduplicationService.isDuplicate(anyString(), any())).thenReturn(false);
 
         productSyncService.processProductSyncEvent(productSyncEvent);
 
@@ -190,13 +206,32 @@ class ProductSyncServiceTest {
     void shouldHandleDeletionOfNonExistentProductGracefully() {
         productSyncEvent.setEventType("DELETED");
 
-        when(processedEventRepository.existsByEventId(anyString())).thenReturn(false);
+        when(eventDeduplicationService.isDuplicate(anyString(), any())).thenReturn(false);
         doThrow(new RuntimeException("Product not found")).when(productSearchRepository).deleteById(productId);
-        when(processedEventRepository.save(any(ProcessedEvent.class))).thenReturn(new ProcessedEvent());
+        when(processedEventRepository.insertSuccessIfAbsent(anyString(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(1);
 
         productSyncService.processProductSyncEvent(productSyncEvent);
 
         verify(productSearchRepository).deleteById(productId);
-        verify(processedEventRepository, times(1)).save(any(ProcessedEvent.class));
+        verify(processedEventRepository, times(1))
+                .insertSuccessIfAbsent(anyString(), anyString(), anyString(), any(LocalDateTime.class));
+        verify(eventDeduplicationService).markProcessed(productSyncEvent.getEventId());
+    }
+
+    @Test
+    @DisplayName("Should not fail when event was recorded concurrently by another consumer")
+    void shouldNotFailWhenEventRecordedConcurrently() {
+        productSyncEvent.setEventType("DELETED");
+
+        when(eventDeduplicationService.isDuplicate(anyString(), any())).thenReturn(false);
+        when(processedEventRepository.insertSuccessIfAbsent(anyString(), anyString(), anyString(), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        assertThatCode(() -> productSyncService.processProductSyncEvent(productSyncEvent))
+                .doesNotThrowAnyException();
+
+        verify(processedEventRepository, never()).save(any(ProcessedEvent.class));
+        verify(eventDeduplicationService).markProcessed(productSyncEvent.getEventId());
     }
 }
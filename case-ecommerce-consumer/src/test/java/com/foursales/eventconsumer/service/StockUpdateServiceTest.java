@@ -42,6 +42,9 @@ class StockUpdateServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private ProductSalesSketchService productSalesSketchService;
+
     @InjectMocks
     private StockUpdateService stockUpdateService;
 
@@ -88,6 +91,7 @@ class StockUpdateServiceTest {
         verify(productRepository).save(any(Product.class));
         verify(orderRepository).save(order);
         verify(kafkaTemplate).send(eq("product.sync"), anyString(), anyString());
+        verify(productSalesSketchService).record(order.getPaymentDate(), product.getId(), 2L);
     }
 
     @Test
@@ -136,6 +140,7 @@ class StockUpdateServiceTest {
         verify(orderRepository).findById(orderId);
         verify(productRepository).findByIdForUpdate(any(UUID.class));
         verify(productRepository, never()).save(any());
+        verifyNoInteractions(productSalesSketchService);
     }
 
     @Test
@@ -0,0 +1,107 @@
+-- Revenue range benchmark on a seeded 10M-order table
+--
+-- Compares the old YEAR()/MONTH() revenue query, the half-open range query with and without
+-- idx_orders_status_payment_value (V14), and the daily_revenue rollup (V13).
+--
+-- Runs in a scratch schema cloned from the migrated database, so it never touches real data:
+--   docker exec -i ecommerce-mysql mysql -uroot -ppassword < docs/benchmarks/revenue-range-benchmark.sql
+--
+-- Seeding 10M rows takes a few minutes. Compare "actual time" and "rows" in the EXPLAIN ANALYZE
+-- output: the covering index should show "Covering index range scan" reading only the rows of the
+-- range, the YEAR()/MONTH() query a full scan of all 10M rows.
+
+DROP DATABASE IF EXISTS ecommerce_bench;
+CREATE DATABASE ecommerce_bench;
+USE ecommerce_bench;
+
+-- Same columns and indexes as the application schema (foreign keys are not copied)
+CREATE TABLE orders LIKE ecommerce_db.orders;
+CREATE TABLE daily_revenue LIKE ecommerce_db.daily_revenue;
+
+CREATE TABLE seq_digits (d TINYINT PRIMARY KEY);
+INSERT INTO seq_digits VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+-- ============================================================================
+-- SEED: 10M orders over two years, ~80% paid, payment a few minutes after creation
+-- ============================================================================
+SET SESSION unique_checks = 0;
+SET SESSION foreign_key_checks = 0;
+
+INSERT INTO orders (id, user_id, status, total_value, created_at, updated_at, payment_date, stock_updated)
+SELECT UUID_TO_BIN(UUID()),
+       UUID_TO_BIN(UUID()),
+       IF(n % 5 = 0, 'PENDENTE', 'PAGO'),
+       ROUND(10 + (n * 7919 % 99000) / 100, 2),
+       created_at,
+       created_at,
+       IF(n % 5 = 0, NULL, created_at + INTERVAL (n % 30) MINUTE),
+       FALSE
+FROM (
+    SELECT n, TIMESTAMP('2024-01-01') + INTERVAL (n * 6.3072) SECOND AS created_at
+    FROM (
+        SELECT a.d + b.d * 10 + c.d * 100 + e.d * 1000 + f.d * 10000 + g.d * 100000 + h.d * 1000000 AS n
+        FROM seq_digits a, seq_digits b, seq_digits c, seq_digits e, seq_digits f, seq_digits g, seq_digits h
+    ) numbers
+) seeded;
+
+SET SESSION unique_checks = 1;
+SET SESSION foreign_key_checks = 1;
+
+INSERT INTO daily_revenue (revenue_date, total_revenue, order_count)
+SELECT DATE(payment_date), SUM(total_value), COUNT(*)
+FROM orders
+WHERE status = 'PAGO' AND payment_date IS NOT NULL
+GROUP BY DATE(payment_date);
+
+ANALYZE TABLE orders, daily_revenue;
+
+-- ============================================================================
+-- 1. Old query: functions on payment_date, full scan
+-- ============================================================================
+EXPLAIN ANALYZE
+SELECT SUM(total_value), COUNT(*) FROM orders
+WHERE status = 'PAGO'
+  AND YEAR(payment_date) = 2025
+  AND MONTH(payment_date) = 6;
+
+-- ============================================================================
+-- 2. Half-open range without the covering index (status index + row lookups)
+-- ============================================================================
+EXPLAIN ANALYZE
+SELECT SUM(total_value), COUNT(*) FROM orders IGNORE INDEX (idx_orders_status_payment_value)
+WHERE status = 'PAGO'
+  AND payment_date >= '2025-06-01 00:00:00'
+  AND payment_date < '2025-07-01 00:00:00';
+
+-- ============================================================================
+-- 3. Half-open range on idx_orders_status_payment_value: index-only range scan
+-- ============================================================================
+EXPLAIN ANALYZE
+SELECT SUM(total_value), COUNT(*) FROM orders
+WHERE status = 'PAGO'
+  AND payment_date >= '2025-06-01 00:00:00'
+  AND payment_date < '2025-07-01 00:00:00';
+
+-- Partial day, as ReportService queries for range bounds with a time of day
+EXPLAIN ANALYZE
+SELECT SUM(total_value), COUNT(*) FROM orders
+WHERE status = 'PAGO'
+  AND payment_date >= '2025-06-15 18:00:00'
+  AND payment_date < '2025-06-16 00:00:00';
+
+-- ============================================================================
+-- 4. Rollup: 30 primary key rows
+-- ============================================================================
+EXPLAIN ANALYZE
+SELECT SUM(total_revenue), SUM(order_count) FROM daily_revenue
+WHERE revenue_date BETWEEN '2025-06-01' AND '2025-06-30';
+
+-- Sanity check: both paths must agree
+SELECT
+    (SELECT SUM(total_value) FROM orders
+     WHERE status = 'PAGO' AND payment_date >= '2025-06-01' AND payment_date < '2025-07-01') AS orders_total,
+    (SELECT SUM(total_revenue) FROM daily_revenue
+     WHERE revenue_date BETWEEN '2025-06-01' AND '2025-06-30') AS rollup_total;
+
+-- Cleanup
+-- DROP DATABASE ecommerce_bench;
@@ -0,0 +1,103 @@
+package com.foursales.ecommerce.benchmark;
+
+import com.foursales.ecommerce.entity.Order;
+import com.foursales.ecommerce.entity.OrderItem;
+import com.foursales.ecommerce.entity.Product;
+import com.foursales.ecommerce.entity.User;
+import com.foursales.ecommerce.util.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order building and report averages: BigDecimal (previous implementation, reproduced here)
+ * versus Money on long cents. Run with -prof gc (the profile default) and compare
+ * gc.alloc.rate.norm, i.e. bytes allocated per order.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="OrderTotalBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private BigDecimal[] prices;
+    private int[] quantities;
+    private Product product;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        prices = new BigDecimal[items];
+        quantities = new int[items];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < items; i++) {
+            prices[i] = BigDecimal.valueOf(random.nextLong(100, 1_000_000), 2);
+            quantities[i] = random.nextInt(1, 10);
+        }
+        product = new Product();
+        user = new User();
+    }
+
+    // Previous Order.addItem: re-sums every item with BigDecimal on each add, O(n^2)
+    @Benchmark
+    public BigDecimal buildOrderBigDecimal() {
+        List<OrderItem> orderItems = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < items; i++) {
+            orderItems.add(new OrderItem(null, product, quantities[i], prices[i]));
+            total = orderItems.stream()
+                    .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal buildOrderMoney() {
+        Order order = new Order(user);
+        for (int i = 0; i < items; i++) {
+            order.addItem(new OrderItem(order, product, quantities[i], prices[i]));
+        }
+        return order.getTotalValue();
+    }
+
+    @Benchmark
+    public BigDecimal averageBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < items; i++) {
+            total = total.add(prices[i]);
+        }
+        return total.divide(BigDecimal.valueOf(items), 2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal averageMoney() {
+        long cents = 0;
+        for (int i = 0; i < items; i++) {
+            cents += Money.toCents(prices[i]);
+        }
+        return Money.ofCents(cents).average(items).toBigDecimal();
+    }
+}
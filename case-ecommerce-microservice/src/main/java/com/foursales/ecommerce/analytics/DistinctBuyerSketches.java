@@ -0,0 +1,170 @@
+package com.foursales.ecommerce.analytics;
+
+import com.foursales.ecommerce.dashboard.OrderPaidEvent;
+import com.foursales.ecommerce.entity.BuyerSketch;
+import com.foursales.ecommerce.enums.BuyerSketchDimension;
+import com.foursales.ecommerce.repository.jpa.BuyerSketchRepository;
+import com.foursales.ecommerce.util.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Distinct paying users per day and per day and category, as HyperLogLog sketches
+ *
+ * - Payments add the buyer to in-memory sketches after commit; a flush merges each one into its
+ *   buyer_sketch row under a row lock and starts over. Merging is idempotent, so a failed flush
+ *   is simply retried and several instances can write the same day
+ * - A range estimate merges one row per day (plus this instance's pending sketches): the cost
+ *   depends on the number of days and categories, never on the number of orders
+ */
+@Component
+@Slf4j
+public class DistinctBuyerSketches {
+
+    static final String ALL_KEY = "";
+
+    private final BuyerSketchRepository buyerSketchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<BuyerSketch.Key, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    public DistinctBuyerSketches(BuyerSketchRepository buyerSketchRepository,
+            PlatformTransactionManager transactionManager) {
+        this.buyerSketchRepository = buyerSketchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderPaid(OrderPaidEvent event) {
+        LocalDate day = (event.paidAt() != null ? event.paidAt() : LocalDateTime.now()).toLocalDate();
+        add(new BuyerSketch.Key(day, BuyerSketchDimension.ALL, ALL_KEY), event);
+        event.lines().stream()
+                .map(OrderPaidEvent.Line::category)
+                .distinct()
+                .forEach(category -> add(new BuyerSketch.Key(day, BuyerSketchDimension.CATEGORY, category), event));
+    }
+
+    /**
+     * Buyers who paid between the two days (inclusive); category null means all categories
+     */
+    public HyperLogLog buyers(LocalDate startDate, LocalDate endDate, String category) {
+        BuyerSketchDimension dimension = category == null ? BuyerSketchDimension.ALL : BuyerSketchDimension.CATEGORY;
+        String dimensionKey = category == null ? ALL_KEY : category;
+        List<BuyerSketch> rows = category == null
+                ? buyerSketchRepository.findByRange(dimension, startDate, endDate)
+                : buyerSketchRepository.findByRangeAndKey(dimension, dimensionKey, startDate, endDate);
+
+        HyperLogLog buyers = new HyperLogLog();
+        rows.forEach(row -> buyers.merge(HyperLogLog.fromBytes(row.getRegisters())));
+        mergePending(startDate, endDate,
+                key -> key.getDimension() == dimension && key.getDimensionKey().equals(dimensionKey),
+                key -> buyers);
+        return buyers;
+    }
+
+    /**
+     * Buyers per category who paid between the two days (inclusive)
+     */
+    public Map<String, HyperLogLog> buyersByCategory(LocalDate startDate, LocalDate endDate) {
+        Map<String, HyperLogLog> byCategory = new HashMap<>();
+        for (BuyerSketch row : buyerSketchRepository.findByRange(BuyerSketchDimension.CATEGORY, startDate, endDate)) {
+            byCategory.computeIfAbsent(row.getDimensionKey(), c -> new HyperLogLog())
+                    .merge(HyperLogLog.fromBytes(row.getRegisters()));
+        }
+        mergePending(startDate, endDate,
+                key -> key.getDimension() == BuyerSketchDimension.CATEGORY,
+                key -> byCategory.computeIfAbsent(key.getDimensionKey(), c -> new HyperLogLog()));
+        return byCategory;
+    }
+
+    @Scheduled(fixedDelayString = "${app.distinct-buyers.flush-interval-ms:30000}")
+    public void flush() {
+        for (BuyerSketch.Key key : List.copyOf(pending.keySet())) {
+            HyperLogLog sketch = pending.remove(key);
+            if (sketch == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> mergeIntoRow(key, sketch));
+            } catch (DataAccessException e) {
+                // Idempotent merge: put it back and retry with the next flush
+                log.warn("Failed to flush distinct buyers for {} {} {}: {}",
+                        key.getSketchDate(), key.getDimension(), key.getDimensionKey(), e.getMessage());
+                pending.merge(key, sketch, (current, failed) -> {
+                    synchronized (current) {
+                        current.merge(failed);
+                    }
+                    return current;
+                });
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    int pendingSketches() {
+        return pending.size();
+    }
+
+    private void add(BuyerSketch.Key key, OrderPaidEvent event) {
+        // compute() is atomic per key, so no buyer lands on a sketch flush() already took
+        pending.compute(key, (k, sketch) -> {
+            HyperLogLog target = sketch != null ? sketch : new HyperLogLog();
+            synchronized (target) {
+                target.add(event.userId());
+            }
+            return target;
+        });
+    }
+
+    private void mergeIntoRow(BuyerSketch.Key key, HyperLogLog sketch) {
+        BuyerSketch row = buyerSketchRepository
+                .findForUpdate(key.getSketchDate(), key.getDimension(), key.getDimensionKey())
+                .orElse(null);
+        if (row == null) {
+            buyerSketchRepository.save(new BuyerSketch(key.getSketchDate(), key.getDimension(),
+                    key.getDimensionKey(), sketch.toBytes(), LocalDateTime.now()));
+            return;
+        }
+        HyperLogLog merged = HyperLogLog.fromBytes(row.getRegisters());
+        merged.merge(sketch);
+        row.setRegisters(merged.toBytes());
+        row.setUpdatedAt(LocalDateTime.now());
+    }
+
+    // Adds this instance's not yet flushed buyers to the rows read from the database
+    private void mergePending(LocalDate startDate, LocalDate endDate, Predicate<BuyerSketch.Key> matches,
+            Function<BuyerSketch.Key, HyperLogLog> target) {
+        pending.forEach((key, sketch) -> {
+            if (matches.test(key) && inRange(key, startDate, endDate)) {
+                HyperLogLog destination = target.apply(key);
+                synchronized (sketch) {
+                    destination.merge(sketch);
+                }
+            }
+        });
+    }
+
+    private static boolean inRange(BuyerSketch.Key key, LocalDate startDate, LocalDate endDate) {
+        return !key.getSketchDate().isBefore(startDate) && !key.getSketchDate().isAfter(endDate);
+    }
+}
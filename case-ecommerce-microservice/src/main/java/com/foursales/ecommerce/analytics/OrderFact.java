@@ -0,0 +1,19 @@
+package com.foursales.ecommerce.analytics;
+
+import com.foursales.ecommerce.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One order as the analytics store ingests it, from the DB bootstrap (JPQL constructor
+ * expression) or from an order.created / order.paid payload. paymentDate is null unless paid.
+ */
+public record OrderFact(UUID orderId, UUID userId, BigDecimal totalValue, LocalDateTime createdAt,
+        OrderStatus status, LocalDateTime paymentDate) {
+
+    public boolean isPaid() {
+        return status == OrderStatus.PAGO && paymentDate != null;
+    }
+}
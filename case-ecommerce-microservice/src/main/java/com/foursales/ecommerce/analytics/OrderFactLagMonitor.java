@@ -0,0 +1,98 @@
+package com.foursales.ecommerce.analytics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Decides whether OrderFactStore is close enough to the database to answer reports
+ *
+ * - Reads records-lag-max of the analytics consumer (largest lag over its order.created and
+ *   order.paid partitions) from the listener container metrics
+ * - Caught up while that lag is known and at most maxLagRecords; unknown (consumer not started,
+ *   stopped, or no fetch in the metrics window, e.g. broker down) counts as behind
+ * - Orders still waiting in the outbox are invisible to this check: like the read replica, the
+ *   store trails commits by at most the outbox publish interval when Kafka is healthy
+ * - Starts behind, the first scheduled check runs right after startup
+ */
+@Component
+@ConditionalOnProperty(name = "app.analytics.enabled", havingValue = "true")
+@Slf4j
+public class OrderFactLagMonitor {
+
+    static final String LAG_METRIC = "records-lag-max";
+    static final String LAG_METRIC_GROUP = "consumer-fetch-manager-metrics";
+
+    private final OrderFactStore orderFactStore;
+    private final KafkaListenerEndpointRegistry registry;
+    private final long maxLagRecords;
+
+    private volatile boolean caughtUp;
+    private volatile long lagRecords = -1;
+
+    public OrderFactLagMonitor(
+            OrderFactStore orderFactStore,
+            KafkaListenerEndpointRegistry registry,
+            MeterRegistry meterRegistry,
+            @Value("${app.analytics.max-lag-records:100}") long maxLagRecords) {
+        this.orderFactStore = orderFactStore;
+        this.registry = registry;
+        this.maxLagRecords = maxLagRecords;
+
+        Gauge.builder("analytics.orders.available", orderFactStore, store -> store.isAvailable() ? 1 : 0)
+                .description("1 while reports are answered from the in-memory order store")
+                .register(meterRegistry);
+        Gauge.builder("analytics.orders.lag", this, monitor -> monitor.lagRecords)
+                .description("Last consumer lag of the order store feed, -1 if unknown")
+                .baseUnit("records")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.lag-check-interval-ms:5000}")
+    public void check() {
+        Long lag = readLag();
+        boolean healthy = lag != null && lag <= maxLagRecords;
+
+        if (healthy != caughtUp) {
+            if (healthy) {
+                log.info("Order analytics store caught up (lag {} records), reports read it", lag);
+            } else {
+                log.warn("Order analytics store behind (lag {} records, max {}), reports read the database",
+                        lag, maxLagRecords);
+            }
+        }
+        lagRecords = lag != null ? lag : -1;
+        caughtUp = healthy;
+        orderFactStore.setCaughtUp(healthy);
+    }
+
+    private Long readLag() {
+        MessageListenerContainer container = registry.getListenerContainer(OrderFactListener.LISTENER_ID);
+        if (container == null || !container.isRunning()) {
+            return null;
+        }
+        Long lag = null;
+        for (Map<MetricName, ? extends Metric> clientMetrics : container.metrics().values()) {
+            for (Map.Entry<MetricName, ? extends Metric> metric : clientMetrics.entrySet()) {
+                MetricName name = metric.getKey();
+                // The client-level metric; per-topic and per-partition ones carry extra tags
+                if (LAG_METRIC.equals(name.name()) && LAG_METRIC_GROUP.equals(name.group())
+                        && !name.tags().containsKey("topic")
+                        && metric.getValue().metricValue() instanceof Double value && Double.isFinite(value)) {
+                    lag = Math.max(lag != null ? lag : 0, value.longValue());
+                }
+            }
+        }
+        return lag;
+    }
+}
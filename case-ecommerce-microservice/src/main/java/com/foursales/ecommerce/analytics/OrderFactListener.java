@@ -0,0 +1,119 @@
+package com.foursales.ecommerce.analytics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foursales.ecommerce.constant.AppConstants;
+import com.foursales.ecommerce.enums.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.event.ConsumerStoppedEvent;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Feeds OrderFactStore from order.created and order.paid (outbox payload: the Order as JSON)
+ *
+ * Both topics go through the same append: an order.created record adds the order row, an
+ * order.paid record adds it too if missing and the payment row, so arrival order does not matter.
+ * Every instance consumes in its own group (KafkaConfig.analyticsListenerContainerFactory).
+ * Positions come from the store, not from committed offsets: partitions in the snapshot resume
+ * right after it, the others replay from a timestamp and rely on order id deduplication.
+ * Started by OrderFactLoader once the store is loaded; a consumer that stops for any reason but
+ * shutdown marks the store stale instead of leaving it ready and frozen.
+ */
+@Component
+@ConditionalOnProperty(name = "app.analytics.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderFactListener implements ConsumerSeekAware {
+
+    public static final String LISTENER_ID = "order-analytics";
+
+    private final OrderFactStore orderFactStore;
+    private final ObjectMapper objectMapper;
+    private final KafkaListenerEndpointRegistry registry;
+
+    private volatile long replayFromMillis;
+
+    public void start(long replayFromMillis) {
+        this.replayFromMillis = replayFromMillis;
+        registry.getListenerContainer(LISTENER_ID).start();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        Map<TopicPartition, Long> nextOffsets = orderFactStore.nextOffsets();
+        List<TopicPartition> replay = new ArrayList<>();
+        for (TopicPartition partition : assignments.keySet()) {
+            Long next = nextOffsets.get(partition);
+            if (next != null) {
+                callback.seek(partition.topic(), partition.partition(), next);
+            } else {
+                replay.add(partition);
+            }
+        }
+        if (!replay.isEmpty()) {
+            callback.seekToTimestamp(replay, replayFromMillis);
+        }
+    }
+
+    // NORMAL is the shutdown stop; any other reason ends the feed while the application keeps running
+    @EventListener
+    public void onConsumerStopped(ConsumerStoppedEvent event) {
+        MessageListenerContainer container = event.getContainer(MessageListenerContainer.class);
+        if (LISTENER_ID.equals(container.getListenerId()) && event.getReason() != ConsumerStoppedEvent.Reason.NORMAL) {
+            orderFactStore.markStale("listener stopped: " + event.getReason());
+        }
+    }
+
+    @KafkaListener(id = LISTENER_ID, topics = {AppConstants.TOPIC_ORDER_CREATED, AppConstants.TOPIC_ORDER_PAID},
+            containerFactory = "analyticsListenerContainerFactory", autoStartup = "false")
+    public void onOrderEvent(ConsumerRecord<String, String> record) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        OrderFact fact = parse(record.value());
+        if (fact == null) {
+            log.warn("Skipping unreadable {} record at offset {}", partition, record.offset());
+            orderFactStore.skip(partition, record.offset());
+            return;
+        }
+        orderFactStore.append(partition, record.offset(), fact);
+    }
+
+    OrderFact parse(String payload) {
+        try {
+            JsonNode order = objectMapper.readTree(payload);
+            JsonNode userId = order.path("user").path("id");
+            JsonNode total = order.path("totalValue");
+            JsonNode createdAt = order.path("createdAt");
+            JsonNode status = order.path("status");
+            JsonNode paymentDate = order.path("paymentDate");
+            if (!order.path("id").isTextual() || !userId.isTextual() || !total.isNumber()
+                    || !createdAt.isTextual() || !status.isTextual()) {
+                return null;
+            }
+            return new OrderFact(
+                    UUID.fromString(order.path("id").asText()),
+                    UUID.fromString(userId.asText()),
+                    total.decimalValue(),
+                    LocalDateTime.parse(createdAt.asText()),
+                    OrderStatus.valueOf(status.asText()),
+                    paymentDate.isTextual() ? LocalDateTime.parse(paymentDate.asText()) : null);
+        } catch (Exception e) {
+            log.debug("Could not read order payload: {}", e.getMessage());
+            return null;
+        }
+    }
+}
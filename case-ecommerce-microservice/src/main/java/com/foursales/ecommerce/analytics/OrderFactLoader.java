@@ -0,0 +1,134 @@
+package com.foursales.ecommerce.analytics;
+
+import com.foursales.ecommerce.repository.jpa.OrderRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Loads OrderFactStore at startup and snapshots it periodically
+ *
+ * - Snapshot present: mapped back in, the listener resumes after the offsets it contains
+ * - Otherwise one streaming scan of the orders table (the only DB read of the store's lifetime);
+ *   the listener then replays order.created and order.paid from shortly before the scan started
+ * - Snapshot every snapshot-interval-ms when the store changed, and on shutdown
+ */
+@Component
+@ConditionalOnProperty(name = "app.analytics.enabled", havingValue = "true")
+@Slf4j
+public class OrderFactLoader {
+
+    private final OrderFactStore orderFactStore;
+    private final OrderFactListener orderFactListener;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path snapshotPath;
+    private final long replayMarginMs;
+
+    private volatile int snapshotSize = -1;
+
+    public OrderFactLoader(
+            OrderFactStore orderFactStore,
+            OrderFactListener orderFactListener,
+            OrderRepository orderRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.analytics.snapshot-path:./data/order-facts.snapshot}") String snapshotPath,
+            @Value("${app.analytics.replay-margin-ms:300000}") long replayMarginMs) {
+        this.orderFactStore = orderFactStore;
+        this.orderFactListener = orderFactListener;
+        this.orderRepository = orderRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.snapshotPath = Path.of(snapshotPath);
+        this.replayMarginMs = replayMarginMs;
+    }
+
+    // A failed load leaves the store not ready, startup goes on
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            long replayFrom = restoreSnapshot();
+            if (replayFrom < 0) {
+                replayFrom = System.currentTimeMillis() - replayMarginMs;
+                bootstrapFromDatabase();
+            }
+            orderFactStore.markReady();
+            orderFactListener.start(replayFrom);
+        } catch (RuntimeException e) {
+            log.error("Could not load the order analytics store, reports stay on the database", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.snapshot-interval-ms:300000}",
+            initialDelayString = "${app.analytics.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        if (!orderFactStore.isReady()) {
+            return;
+        }
+        OrderFactStore.Snapshot snapshot = orderFactStore.snapshot();
+        int size = snapshot.columns().orders().size() + snapshot.columns().payments().size();
+        if (size == snapshotSize) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            OrderFactSnapshots.write(snapshotPath, snapshot, System.currentTimeMillis());
+            snapshotSize = size;
+            log.info("Wrote order analytics snapshot ({} rows) in {} ms", snapshotSize,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            log.warn("Could not write order analytics snapshot to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    /**
+     * @return replay timestamp for partitions missing from the snapshot, -1 without a usable snapshot
+     */
+    private long restoreSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return -1;
+        }
+        try {
+            long start = System.nanoTime();
+            OrderFactSnapshots.Loaded loaded = OrderFactSnapshots.read(snapshotPath);
+            orderFactStore.restore(loaded.snapshot());
+            OrderFactStore.Columns columns = loaded.snapshot().columns();
+            snapshotSize = columns.orders().size() + columns.payments().size();
+            log.info("Restored order analytics snapshot ({} rows) in {} ms", snapshotSize,
+                    (System.nanoTime() - start) / 1_000_000);
+            return loaded.createdAtMillis() - replayMarginMs;
+        } catch (IOException e) {
+            log.warn("Ignoring order analytics snapshot, rebuilding from database: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private void bootstrapFromDatabase() {
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<OrderFact> facts = orderRepository.streamOrderFacts()) {
+                facts.forEach(orderFactStore::append);
+            }
+        });
+        log.info("Loaded {} orders ({} paid) into the analytics store in {} ms",
+                orderFactStore.orderCount(), orderFactStore.paymentCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,147 @@
+package com.foursales.ecommerce.analytics;
+
+import lombok.experimental.UtilityClass;
+import org.apache.kafka.common.TopicPartition;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Memory-mapped snapshot of OrderFactStore for restarts without a DB bootstrap
+ *
+ * Layout (big-endian): magic, version, createdAtMillis, orders size, payments size, userCount,
+ * partitionCount, then (topic, partition, nextOffset) entries, user ids, and each column of the
+ * orders then the payments table as one contiguous block. Columns are copied with bulk view
+ * transfers; written to a temp file and moved into place, so a crash mid-write leaves the
+ * previous snapshot intact. Other versions are rejected and the store is rebuilt from the database.
+ */
+@UtilityClass
+class OrderFactSnapshots {
+
+    private static final int MAGIC = 0x4F464331; // "OFC1"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES + Integer.BYTES * 4;
+    private static final int ROW_BYTES = Long.BYTES * 4 + Integer.BYTES;
+
+    static void write(Path path, OrderFactStore.Snapshot snapshot, long createdAtMillis) throws IOException {
+        OrderFactStore.Columns columns = snapshot.columns();
+        OrderFactStore.Table orders = columns.orders();
+        OrderFactStore.Table payments = columns.payments();
+        int userCount = columns.userCount();
+        Map<TopicPartition, Long> nextOffsets = snapshot.nextOffsets();
+
+        long length = HEADER_BYTES
+                + (long) userCount * Long.BYTES * 2
+                + ((long) orders.size() + payments.size()) * ROW_BYTES;
+        for (TopicPartition partition : nextOffsets.keySet()) {
+            length += Short.BYTES + partition.topic().getBytes(StandardCharsets.UTF_8).length
+                    + Integer.BYTES + Long.BYTES;
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Order analytics snapshot exceeds 2GB (" + orders.size() + " orders)");
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(createdAtMillis)
+                    .putInt(orders.size()).putInt(payments.size()).putInt(userCount).putInt(nextOffsets.size());
+            nextOffsets.forEach((partition, offset) -> {
+                byte[] topic = partition.topic().getBytes(StandardCharsets.UTF_8);
+                buffer.putShort((short) topic.length).put(topic).putInt(partition.partition()).putLong(offset);
+            });
+            for (int user = 0; user < userCount; user++) {
+                UUID userId = columns.userIds()[user];
+                buffer.putLong(userId.getMostSignificantBits()).putLong(userId.getLeastSignificantBits());
+            }
+            writeTable(buffer, orders);
+            writeTable(buffer, payments);
+            buffer.force();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Loaded read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not an order analytics snapshot (or unsupported version): " + path);
+            }
+            long createdAtMillis = buffer.getLong();
+            int ordersSize = buffer.getInt();
+            int paymentsSize = buffer.getInt();
+            int userCount = buffer.getInt();
+            int partitionCount = buffer.getInt();
+
+            Map<TopicPartition, Long> nextOffsets = new HashMap<>();
+            for (int i = 0; i < partitionCount; i++) {
+                byte[] topic = new byte[buffer.getShort()];
+                buffer.get(topic);
+                nextOffsets.put(new TopicPartition(new String(topic, StandardCharsets.UTF_8), buffer.getInt()),
+                        buffer.getLong());
+            }
+            UUID[] userIds = new UUID[userCount];
+            for (int user = 0; user < userCount; user++) {
+                userIds[user] = new UUID(buffer.getLong(), buffer.getLong());
+            }
+            OrderFactStore.Table orders = readTable(buffer, ordersSize);
+            OrderFactStore.Table payments = readTable(buffer, paymentsSize);
+
+            OrderFactStore.Columns columns = new OrderFactStore.Columns(orders, payments, userIds, userCount);
+            return new Loaded(new OrderFactStore.Snapshot(columns, nextOffsets), createdAtMillis);
+        } catch (RuntimeException e) {
+            // BufferUnderflowException and friends: truncated or corrupt file
+            throw new IOException("Corrupt order analytics snapshot: " + path, e);
+        }
+    }
+
+    private static void writeTable(MappedByteBuffer buffer, OrderFactStore.Table table) {
+        int size = table.size();
+        buffer.asLongBuffer().put(table.seconds(), 0, size);
+        buffer.position(buffer.position() + size * Long.BYTES);
+        buffer.asIntBuffer().put(table.users(), 0, size);
+        buffer.position(buffer.position() + size * Integer.BYTES);
+        buffer.asLongBuffer().put(table.cents(), 0, size);
+        buffer.position(buffer.position() + size * Long.BYTES);
+        buffer.asLongBuffer().put(table.orderMsb(), 0, size);
+        buffer.position(buffer.position() + size * Long.BYTES);
+        buffer.asLongBuffer().put(table.orderLsb(), 0, size);
+        buffer.position(buffer.position() + size * Long.BYTES);
+    }
+
+    private static OrderFactStore.Table readTable(MappedByteBuffer buffer, int size) {
+        long[] seconds = new long[size];
+        int[] users = new int[size];
+        long[] cents = new long[size];
+        long[] orderMsb = new long[size];
+        long[] orderLsb = new long[size];
+        buffer.asLongBuffer().get(seconds);
+        buffer.position(buffer.position() + size * Long.BYTES);
+        buffer.asIntBuffer().get(users);
+        buffer.position(buffer.position() + size * Integer.BYTES);
+        buffer.asLongBuffer().get(cents);
+        buffer.position(buffer.position() + size * Long.BYTES);
+        buffer.asLongBuffer().get(orderMsb);
+        buffer.position(buffer.position() + size * Long.BYTES);
+        buffer.asLongBuffer().get(orderLsb);
+        buffer.position(buffer.position() + size * Long.BYTES);
+        return new OrderFactStore.Table(size, seconds, users, cents, orderMsb, orderLsb);
+    }
+
+    record Loaded(OrderFactStore.Snapshot snapshot, long createdAtMillis) {
+    }
+}
@@ -0,0 +1,371 @@
+package com.foursales.ecommerce.analytics;
+
+import com.foursales.ecommerce.dto.DailyRevenueResponse;
+import com.foursales.ecommerce.util.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory columnar copy of the orders table, scanned as primitive arrays instead of MySQL
+ *
+ * - orders: one row per order of any status, at its creation time (what top users and average
+ *   ticket filter on); payments: one row per paid order, at its payment time (revenue)
+ * - Each row: time in epoch seconds (long), user index into a user id dictionary (int), total in
+ *   cents (long). Order ids are kept only to drop duplicate deliveries
+ * - Times are rounded to the second as MySQL stores them in the TIMESTAMP(0) created_at and
+ *   payment_date columns, so range bounds select the same rows as the SQL reports
+ * - Single writer (OrderFactLoader bootstrap, then OrderFactListener); every append publishes an
+ *   immutable Columns view. Rows below a view's size never change, so scans run without locks
+ * - Scans are counted loops over the arrays with no boxing or per-row allocation
+ * - Available to ReportService only while loaded, fed (OrderFactListener running) and caught up
+ *   (OrderFactLagMonitor); otherwise reports read the database
+ */
+@Component
+@Slf4j
+public class OrderFactStore {
+
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private volatile Columns columns = Columns.empty();
+    private volatile boolean ready;
+    private volatile boolean caughtUp;
+
+    // Writer state, guarded by this
+    private final Map<UUID, Integer> userIndex = new HashMap<>();
+    private final Map<TopicPartition, Long> nextOffsets = new HashMap<>();
+    private final RowIndex orderRows = new RowIndex();
+    private final RowIndex paymentRows = new RowIndex();
+
+    /**
+     * Bootstrap path (no stream position): the order row, plus the payment row once paid
+     *
+     * @return false if nothing was new
+     */
+    public synchronized boolean append(OrderFact fact) {
+        Columns current = columns;
+        UUID[] userIds = current.userIds();
+        int userCount = current.userCount();
+        Integer user = userIndex.get(fact.userId());
+        boolean newUser = user == null;
+        if (newUser) {
+            user = userCount++;
+            userIndex.put(fact.userId(), user);
+            if (user == userIds.length) {
+                userIds = Arrays.copyOf(userIds, Math.max(userIds.length * 2, INITIAL_CAPACITY));
+            }
+            // Past the published userCount: invisible to readers until the new view is published
+            userIds[user] = fact.userId();
+        }
+
+        long cents = Money.toCents(fact.totalValue());
+        Table orders = orderRows.append(current.orders(), fact.orderId(), storedSeconds(fact.createdAt()), user, cents);
+        Table payments = fact.isPaid()
+                ? paymentRows.append(current.payments(), fact.orderId(), storedSeconds(fact.paymentDate()), user, cents)
+                : current.payments();
+        if (orders == current.orders() && payments == current.payments()) {
+            if (newUser) {
+                userIndex.remove(fact.userId());
+            }
+            return false;
+        }
+        columns = new Columns(orders, payments, userIds, userCount);
+        return true;
+    }
+
+    /**
+     * Stream path: records before the next offset of their partition are redeliveries
+     */
+    public synchronized boolean append(TopicPartition partition, long offset, OrderFact fact) {
+        if (offset < nextOffsets.getOrDefault(partition, Long.MIN_VALUE)) {
+            return false;
+        }
+        nextOffsets.put(partition, offset + 1);
+        return append(fact);
+    }
+
+    /**
+     * Moves the partition position past a record that carries no fact (unreadable payload)
+     */
+    public synchronized void skip(TopicPartition partition, long offset) {
+        nextOffsets.merge(partition, offset + 1, Math::max);
+    }
+
+    public synchronized Map<TopicPartition, Long> nextOffsets() {
+        return new HashMap<>(nextOffsets);
+    }
+
+    public void markReady() {
+        ready = true;
+        Columns view = columns;
+        log.info("Order analytics store ready with {} orders and {} payments of {} users",
+                view.orders().size(), view.payments().size(), view.userCount());
+    }
+
+    // Whatever was applied stays consistent with nextOffsets, but nothing new arrives
+    public void markStale(String reason) {
+        if (ready) {
+            ready = false;
+            log.warn("Order analytics store no longer ready ({}), {} orders kept", reason, columns.orders().size());
+        }
+    }
+
+    public void setCaughtUp(boolean caughtUp) {
+        this.caughtUp = caughtUp;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether reports may be answered from the store instead of the database
+     */
+    public boolean isAvailable() {
+        return ready && caughtUp;
+    }
+
+    public int orderCount() {
+        return columns.orders().size();
+    }
+
+    public int paymentCount() {
+        return columns.payments().size();
+    }
+
+    /**
+     * Revenue per payment day of the paid orders with start <= paymentDate < endExclusive;
+     * only days with paid orders, ascending
+     */
+    public List<DailyRevenueResponse> revenueByDay(LocalDateTime start, LocalDateTime endExclusive) {
+        Table payments = columns.payments();
+        long from = ceilSeconds(start);
+        long to = ceilSeconds(endExclusive);
+        if (from >= to) {
+            return List.of();
+        }
+        long firstDay = Math.floorDiv(from, SECONDS_PER_DAY);
+        int span = Math.toIntExact(Math.floorDiv(to - 1, SECONDS_PER_DAY) - firstDay + 1);
+        long[] revenue = new long[span];
+        long[] orders = new long[span];
+
+        long[] seconds = payments.seconds();
+        long[] cents = payments.cents();
+        for (int i = 0, size = payments.size(); i < size; i++) {
+            long second = seconds[i];
+            if (second >= from && second < to) {
+                int day = (int) (Math.floorDiv(second, SECONDS_PER_DAY) - firstDay);
+                revenue[day] += cents[i];
+                orders[day]++;
+            }
+        }
+
+        List<DailyRevenueResponse> result = new ArrayList<>();
+        for (int day = 0; day < span; day++) {
+            if (orders[day] > 0) {
+                result.add(new DailyRevenueResponse(LocalDate.ofEpochDay(firstDay + day),
+                        Money.toBigDecimal(revenue[day]), orders[day]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Orders of any status and their total per user, created with start <= createdAt <= end
+     * (null bounds are open); users without orders left out. Ordered by order count desc, then
+     * user id in byte order (the BINARY(16) order of the SQL tiebreaker)
+     */
+    public List<UserTotals> totalsByUser(LocalDateTime start, LocalDateTime end, int limit) {
+        Columns view = columns;
+        Table orders = view.orders();
+        long from = start != null ? ceilSeconds(start) : Long.MIN_VALUE;
+        long to = end != null ? floorSeconds(end) : Long.MAX_VALUE;
+        int[] counts = new int[view.userCount()];
+        long[] totals = new long[view.userCount()];
+
+        long[] seconds = orders.seconds();
+        int[] users = orders.users();
+        long[] cents = orders.cents();
+        for (int i = 0, size = orders.size(); i < size; i++) {
+            long second = seconds[i];
+            if (second >= from && second <= to) {
+                counts[users[i]]++;
+                totals[users[i]] += cents[i];
+            }
+        }
+
+        UUID[] userIds = view.userIds();
+        List<Integer> matched = new ArrayList<>();
+        for (int user = 0; user < counts.length; user++) {
+            if (counts[user] > 0) {
+                matched.add(user);
+            }
+        }
+        matched.sort((a, b) -> counts[a] != counts[b]
+                ? Integer.compare(counts[b], counts[a])
+                : compareBytes(userIds[a], userIds[b]));
+
+        List<UserTotals> result = new ArrayList<>();
+        for (int user : matched.subList(0, Math.min(limit, matched.size()))) {
+            result.add(new UserTotals(userIds[user], counts[user], Money.toBigDecimal(totals[user])));
+        }
+        return result;
+    }
+
+    /**
+     * Consistent copy of the columns and the stream positions they include
+     */
+    synchronized Snapshot snapshot() {
+        return new Snapshot(columns, new HashMap<>(nextOffsets));
+    }
+
+    /**
+     * Replaces the content with a snapshot (before the listener starts)
+     */
+    synchronized void restore(Snapshot snapshot) {
+        Columns restored = snapshot.columns();
+        userIndex.clear();
+        for (int user = 0; user < restored.userCount(); user++) {
+            userIndex.put(restored.userIds()[user], user);
+        }
+        nextOffsets.clear();
+        nextOffsets.putAll(snapshot.nextOffsets());
+        orderRows.rebuild(restored.orders());
+        paymentRows.rebuild(restored.payments());
+        columns = restored;
+    }
+
+    // MySQL rounds fractional seconds on insert into a TIMESTAMP(0) column
+    static long storedSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) + (dateTime.getNano() >= 500_000_000 ? 1 : 0);
+    }
+
+    private static long ceilSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) + (dateTime.getNano() > 0 ? 1 : 0);
+    }
+
+    private static long floorSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static int compareBytes(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    public record UserTotals(UUID userId, long orders, BigDecimal total) {
+    }
+
+    record Snapshot(Columns columns, Map<TopicPartition, Long> nextOffsets) {
+    }
+
+    /**
+     * Published view of both tables and the user dictionary (entries past userCount not visible)
+     */
+    record Columns(Table orders, Table payments, UUID[] userIds, int userCount) {
+
+        static Columns empty() {
+            return new Columns(Table.empty(INITIAL_CAPACITY), Table.empty(INITIAL_CAPACITY),
+                    new UUID[INITIAL_CAPACITY], 0);
+        }
+    }
+
+    /**
+     * One fact table: arrays may be longer than size, rows past size are not visible
+     */
+    record Table(int size, long[] seconds, int[] users, long[] cents, long[] orderMsb, long[] orderLsb) {
+
+        static Table empty(int capacity) {
+            return new Table(0, new long[capacity], new int[capacity], new long[capacity], new long[capacity],
+                    new long[capacity]);
+        }
+
+        Table grow() {
+            int capacity = Math.max(seconds.length * 2, INITIAL_CAPACITY);
+            return new Table(size, Arrays.copyOf(seconds, capacity), Arrays.copyOf(users, capacity),
+                    Arrays.copyOf(cents, capacity), Arrays.copyOf(orderMsb, capacity),
+                    Arrays.copyOf(orderLsb, capacity));
+        }
+    }
+
+    /**
+     * Order id -> row of one table. Open addressing (row + 1, 0 = empty), kept at most half full
+     */
+    private static final class RowIndex {
+
+        private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+        /**
+         * @return the table with the row appended, or the same table if the order is already in it
+         */
+        Table append(Table table, UUID orderId, long seconds, int user, long cents) {
+            long msb = orderId.getMostSignificantBits();
+            long lsb = orderId.getLeastSignificantBits();
+            if (contains(table, msb, lsb)) {
+                return table;
+            }
+            Table target = table.size() == table.seconds().length ? table.grow() : table;
+            int row = target.size();
+            target.seconds()[row] = seconds;
+            target.users()[row] = user;
+            target.cents()[row] = cents;
+            target.orderMsb()[row] = msb;
+            target.orderLsb()[row] = lsb;
+            Table appended = new Table(row + 1, target.seconds(), target.users(), target.cents(),
+                    target.orderMsb(), target.orderLsb());
+
+            if ((row + 1) * 2 > slots.length) {
+                rebuild(appended);
+            } else {
+                insert(slots, appended, row);
+            }
+            return appended;
+        }
+
+        void rebuild(Table table) {
+            int capacity = Integer.highestOneBit(Math.max(INITIAL_CAPACITY * 2, table.size() * 4) - 1) << 1;
+            int[] rebuilt = new int[capacity];
+            for (int row = 0; row < table.size(); row++) {
+                insert(rebuilt, table, row);
+            }
+            slots = rebuilt;
+        }
+
+        private boolean contains(Table table, long msb, long lsb) {
+            int mask = slots.length - 1;
+            for (int slot = hash(msb, lsb) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+                int row = slots[slot] - 1;
+                if (table.orderMsb()[row] == msb && table.orderLsb()[row] == lsb) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static void insert(int[] slots, Table table, int row) {
+            int mask = slots.length - 1;
+            int slot = hash(table.orderMsb()[row], table.orderLsb()[row]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = row + 1;
+        }
+
+        private static int hash(long msb, long lsb) {
+            long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
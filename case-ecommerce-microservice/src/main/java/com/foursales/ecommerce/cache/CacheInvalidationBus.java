@@ -0,0 +1,163 @@
+package com.foursales.ecommerce.cache;
+
+import com.foursales.ecommerce.constant.AppConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache coherence across API instances
+ *
+ * Each node evicts its own entry first and then publishes "cacheName:key" to the short-retention
+ * cache.invalidation topic (value = origin instance id). Every node consumes the topic in its
+ * own consumer group and evicts the key from the matching InvalidatableCache; its own records
+ * are skipped. product.sync is routed to the product cache the same way, so catalogue changes
+ * from the outbox and from the consumer's stock updates need no extra publish.
+ *
+ * Delivery is best effort: a lost message is bounded by each cache's own TTL.
+ *
+ * Metrics:
+ * - cache.invalidation.lag (timer): producer timestamp to local eviction, per cache and topic
+ * - cache.invalidation.published / cache.invalidation.received (counters)
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    private static final String KEY_SEPARATOR = ":";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectProvider<InvalidatableCache> caches;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final String instanceId;
+
+    private final Map<String, Timer> lagTimers = new ConcurrentHashMap<>();
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+
+    private volatile Map<String, InvalidatableCache> cachesByName;
+
+    public CacheInvalidationBus(KafkaTemplate<String, Object> kafkaTemplate,
+            ObjectProvider<InvalidatableCache> caches,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+            @Value("${spring.application.name:case-ecommerce-microservice}") String applicationName) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.caches = caches;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.instanceId = applicationName + "-" + UUID.randomUUID();
+        this.publishedCounter = meterRegistry.counter("cache.invalidation.published");
+        this.receivedCounter = meterRegistry.counter("cache.invalidation.received");
+    }
+
+    /**
+     * Asks every other instance to evict the key. Inside a transaction the message is only
+     * sent after commit, so other nodes cannot reload the old value before it is replaced.
+     */
+    public void publish(String cacheName, String key) {
+        if (!enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(cacheName, key);
+                }
+            });
+        } else {
+            send(cacheName, key);
+        }
+    }
+
+    /**
+     * @param recordKey       "cacheName:key" record key
+     * @param originInstance  instance that published the record (null for product.sync)
+     * @param publishedAtMs   Kafka record timestamp, used for the lag metric
+     */
+    public void onRemoteInvalidation(String recordKey, String originInstance, long publishedAtMs, String topic) {
+        if (recordKey == null || instanceId.equals(originInstance)) {
+            return;
+        }
+
+        int separator = recordKey.indexOf(KEY_SEPARATOR);
+        if (separator <= 0) {
+            log.warn("Ignoring cache invalidation with malformed key: {}", recordKey);
+            return;
+        }
+
+        String cacheName = recordKey.substring(0, separator);
+        String key = recordKey.substring(separator + 1);
+        InvalidatableCache cache = cachesByName().get(cacheName);
+        if (cache == null) {
+            log.debug("No local cache named {} for invalidation of key {}", cacheName, key);
+            return;
+        }
+
+        cache.evictLocal(key);
+        receivedCounter.increment();
+        lagTimer(cacheName, topic).record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - publishedAtMs)));
+        log.debug("Evicted {} from cache {} (origin: {})", key, cacheName, originInstance);
+    }
+
+    public static String recordKey(String cacheName, String key) {
+        return cacheName + KEY_SEPARATOR + key;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private void send(String cacheName, String key) {
+        try {
+            kafkaTemplate.send(AppConstants.TOPIC_CACHE_INVALIDATION, recordKey(cacheName, key), instanceId)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.warn("Failed to publish invalidation of {} in cache {}: {}",
+                                    key, cacheName, ex.getMessage());
+                        }
+                    });
+            publishedCounter.increment();
+        } catch (Exception e) {
+            log.warn("Failed to publish invalidation of {} in cache {}: {}", key, cacheName, e.getMessage());
+        }
+    }
+
+    // Resolved lazily: caches depend on the bus, so they cannot be constructor-injected here
+    private Map<String, InvalidatableCache> cachesByName() {
+        Map<String, InvalidatableCache> resolved = cachesByName;
+        if (resolved == null) {
+            Map<String, InvalidatableCache> byName = new ConcurrentHashMap<>();
+            caches.orderedStream()
+                    .filter(cache -> cache.cacheName() != null)
+                    .forEach(cache -> byName.putIfAbsent(cache.cacheName(), cache));
+            cachesByName = resolved = byName;
+        }
+        return resolved;
+    }
+
+    private Timer lagTimer(String cacheName, String topic) {
+        return lagTimers.computeIfAbsent(cacheName + KEY_SEPARATOR + topic, ignored -> Timer
+                .builder("cache.invalidation.lag")
+                .description("Time between invalidation publish and local eviction")
+                .tag("cache", cacheName)
+                .tag("topic", topic)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+    }
+}
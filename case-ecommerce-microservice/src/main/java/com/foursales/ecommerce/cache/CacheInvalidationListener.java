@@ -0,0 +1,59 @@
+package com.foursales.ecommerce.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foursales.ecommerce.constant.AppConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds CacheInvalidationBus. Every instance consumes in its own consumer group
+ * (see KafkaConfig.cacheInvalidationListenerContainerFactory), so each node sees every record.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationListener {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = AppConstants.TOPIC_CACHE_INVALIDATION,
+            containerFactory = "cacheInvalidationListenerContainerFactory",
+            autoStartup = "${app.cache.invalidation.enabled:true}")
+    public void onCacheInvalidation(ConsumerRecord<String, String> record) {
+        cacheInvalidationBus.onRemoteInvalidation(record.key(), record.value(), record.timestamp(), record.topic());
+    }
+
+    // product.sync key is the product id (outbox partition key); the payload is only read for the category
+    @KafkaListener(topics = AppConstants.TOPIC_PRODUCT_SYNC,
+            containerFactory = "cacheInvalidationListenerContainerFactory",
+            autoStartup = "${app.cache.invalidation.enabled:true}")
+    public void onProductSync(ConsumerRecord<String, String> record) {
+        if (record.key() != null) {
+            cacheInvalidationBus.onRemoteInvalidation(
+                    CacheInvalidationBus.recordKey(ProductCache.CACHE_NAME, record.key()),
+                    null, record.timestamp(), record.topic());
+        }
+
+        cacheInvalidationBus.onRemoteInvalidation(
+                CacheInvalidationBus.recordKey(SearchResultCache.CACHE_NAME, category(record.value())),
+                null, record.timestamp(), record.topic());
+    }
+
+    // Unknown category (unparseable payload) clears every cached search
+    String category(String payload) {
+        try {
+            JsonNode category = payload != null ? objectMapper.readTree(payload).path("category") : null;
+            if (category != null && category.isTextual() && !category.asText().isBlank()) {
+                return category.asText();
+            }
+        } catch (Exception e) {
+            log.debug("Could not read category from product.sync payload: {}", e.getMessage());
+        }
+        return InvalidatableCache.ALL_ENTRIES;
+    }
+}
@@ -0,0 +1,23 @@
+package com.foursales.ecommerce.cache;
+
+/**
+ * Local (per-instance) cache whose entries can be evicted by key from any node
+ * through CacheInvalidationBus
+ */
+public interface InvalidatableCache {
+
+    /**
+     * Key used to evict every entry of the cache
+     */
+    String ALL_ENTRIES = "*";
+
+    /**
+     * Stable name shared by all instances, without ':' (used as record key prefix)
+     */
+    String cacheName();
+
+    /**
+     * Evicts locally only; must never publish back to the bus
+     */
+    void evictLocal(String key);
+}
@@ -0,0 +1,173 @@
+package com.foursales.ecommerce.cache;
+
+import com.foursales.ecommerce.dto.ProductResponse;
+import com.foursales.ecommerce.dto.ProductVersion;
+import com.foursales.ecommerce.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of ProductResponse in front of ProductRepository.findById
+ *
+ * Two layers with different freshness:
+ * - Product details (name, price, ...): size-weighted, long TTL, evicted on local writes
+ *   and through CacheInvalidationBus when other instances (or the consumer) change the product
+ * - Version overlay (stock + updatedAt): short TTL, reloaded with a PK lookup, because stock
+ *   also changes on order creation and in the consumer without going through this node.
+ *   A newer updatedAt than the cached details means they are stale and triggers a reload,
+ *   so a missed invalidation is bounded by the overlay TTL
+ */
+@Component
+@Slf4j
+public class ProductCache implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "products";
+
+    // Rough per-entry footprint of the fixed fields (UUID, BigDecimal, timestamps, object headers)
+    private static final int FIXED_ENTRY_WEIGHT = 256;
+
+    private final Cache<UUID, ProductResponse> products;
+    private final Cache<UUID, ProductVersion> versions;
+
+    public ProductCache(
+            @Value("${app.cache.product.max-weight-bytes:33554432}") long maxWeightBytes,
+            @Value("${app.cache.product.ttl-seconds:600}") long ttlSeconds,
+            @Value("${app.cache.product.stock-ttl-seconds:5}") long stockTtlSeconds) {
+        this.products = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((UUID id, ProductResponse product) -> weigh(product))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(stockTtlSeconds))
+                .build();
+    }
+
+    /**
+     * @param loader        loads the full product on a miss (throws ResourceNotFoundException if absent)
+     * @param versionLoader loads only stock + updatedAt when the overlay entry expired
+     */
+    public ProductResponse get(UUID id, Function<UUID, ProductResponse> loader,
+            Function<UUID, Optional<ProductVersion>> versionLoader) {
+        ProductResponse cached = products.getIfPresent(id);
+        if (cached == null) {
+            return load(id, loader);
+        }
+
+        ProductVersion version = getVersion(id, versionLoader)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+
+        if (isNewer(version.getUpdatedAt(), cached.getUpdatedAt())) {
+            products.invalidate(id);
+            return load(id, loader);
+        }
+
+        return Objects.equals(version.getStockQuantity(), cached.getStockQuantity())
+                ? cached
+                : cached.toBuilder().stockQuantity(version.getStockQuantity()).build();
+    }
+
+    /**
+     * Current version without touching the product details. Empty if the product does not exist
+     * (the overlay entry is dropped together with any cached details).
+     */
+    public Optional<ProductVersion> getVersion(UUID id, Function<UUID, Optional<ProductVersion>> versionLoader) {
+        ProductVersion version = versions.getIfPresent(id);
+        if (version != null) {
+            return Optional.of(version);
+        }
+
+        Optional<ProductVersion> current = versionLoader.apply(id);
+        if (current.isEmpty()) {
+            // Deleted on another node before its invalidation reached us
+            evictNow(id);
+            return Optional.empty();
+        }
+        versions.put(id, current.get());
+        return current;
+    }
+
+    /**
+     * Evicts immediately and, inside a transaction, once more after commit so a concurrent
+     * read between the write and the commit cannot leave the old version cached.
+     */
+    public void evict(UUID id) {
+        evictNow(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(id);
+                }
+            });
+        }
+    }
+
+    public void evictNow(UUID id) {
+        products.invalidate(id);
+        versions.invalidate(id);
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void evictLocal(String key) {
+        if (ALL_ENTRIES.equals(key)) {
+            products.invalidateAll();
+            versions.invalidateAll();
+            return;
+        }
+
+        try {
+            evictNow(UUID.fromString(key));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring product cache invalidation with non-UUID key: {}", key);
+        }
+    }
+
+    public long estimatedSize() {
+        return products.estimatedSize();
+    }
+
+    public double hitRate() {
+        return products.stats().hitRate();
+    }
+
+    private ProductResponse load(UUID id, Function<UUID, ProductResponse> loader) {
+        ProductResponse loaded = loader.apply(id);
+        products.put(id, loaded);
+        versions.put(id, new ProductVersion(loaded.getStockQuantity(), loaded.getUpdatedAt()));
+        return loaded;
+    }
+
+    private static boolean isNewer(LocalDateTime current, LocalDateTime cached) {
+        return current != null && (cached == null || current.isAfter(cached));
+    }
+
+    private static int weigh(ProductResponse product) {
+        return FIXED_ENTRY_WEIGHT
+                + 2 * (length(product.getName()) + length(product.getDescription()) + length(product.getCategory()));
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
@@ -0,0 +1,164 @@
+package com.foursales.ecommerce.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of Elasticsearch search results keyed by normalised search parameters
+ *
+ * - Size-capped, expire-after-write TTL; concurrent misses on the same key share one load
+ * - Probabilistic early refresh (XFetch): as an entry approaches expiry, a single request
+ *   recomputes it with probability growing with its load time, so hot keys never expire for
+ *   everybody at once
+ * - Invalidation by category (product.sync events carry it): evicts that category and every
+ *   unfiltered search. Eviction is repeated after a grace period because the consumer updates
+ *   the index from the same event, and a search in between would cache the old result again
+ */
+@Component
+@Slf4j
+public class SearchResultCache implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "search-results";
+
+    private final Cache<SearchKey, Entry> results;
+    private final long ttlNanos;
+    private final double earlyRefreshBeta;
+    private final long reindexGraceMs;
+
+    public SearchResultCache(
+            @Value("${app.cache.search.max-size:2000}") long maxSize,
+            @Value("${app.cache.search.ttl-seconds:30}") long ttlSeconds,
+            @Value("${app.cache.search.early-refresh-beta:1.0}") double earlyRefreshBeta,
+            @Value("${app.cache.search.reindex-grace-ms:2000}") long reindexGraceMs) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.reindexGraceMs = reindexGraceMs;
+    }
+
+    /**
+     * @param loader runs the search; exceptions propagate and nothing is cached
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(SearchKey key, Supplier<T> loader) {
+        Entry cached = results.getIfPresent(key);
+        if (cached != null && !shouldRefreshEarly(cached)) {
+            return (T) cached.value();
+        }
+
+        if (cached != null) {
+            try {
+                Entry refreshed = load(loader);
+                results.put(key, refreshed);
+                return (T) refreshed.value();
+            } catch (RuntimeException e) {
+                // Entry is still within its TTL, serve it rather than failing the request
+                log.debug("Early refresh of {} failed, serving cached result: {}", key, e.getMessage());
+                return (T) cached.value();
+            }
+        }
+
+        return (T) results.get(key, ignored -> load(loader)).value();
+    }
+
+    /**
+     * Evicts now and again after the reindex grace period (see class comment)
+     */
+    public void evictCategory(String category) {
+        evictCategoryNow(category);
+        if (reindexGraceMs > 0) {
+            CompletableFuture.delayedExecutor(reindexGraceMs, TimeUnit.MILLISECONDS)
+                    .execute(() -> evictCategoryNow(category));
+        }
+    }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void evictLocal(String key) {
+        if (key == null || ALL_ENTRIES.equals(key)) {
+            results.invalidateAll();
+            return;
+        }
+        evictCategory(key);
+    }
+
+    public long estimatedSize() {
+        return results.estimatedSize();
+    }
+
+    public double hitRate() {
+        return results.stats().hitRate();
+    }
+
+    private void evictCategoryNow(String category) {
+        String normalized = SearchKey.normalizeCategory(category);
+        results.asMap().keySet().removeIf(key -> key.category() == null || key.category().equals(normalized));
+    }
+
+    private <T> Entry load(Supplier<T> loader) {
+        long start = System.nanoTime();
+        T value = loader.get();
+        long end = System.nanoTime();
+        return new Entry(value, end, end - start);
+    }
+
+    // XFetch: refresh when now - delta * beta * ln(rand) >= expiry
+    private boolean shouldRefreshEarly(Entry entry) {
+        if (earlyRefreshBeta <= 0) {
+            return false;
+        }
+        double random = ThreadLocalRandom.current().nextDouble();
+        double gap = entry.loadNanos() * earlyRefreshBeta * -Math.log(random == 0 ? Double.MIN_VALUE : random);
+        return System.nanoTime() + gap >= entry.loadedAtNanos() + ttlNanos;
+    }
+
+    private record Entry(Object value, long loadedAtNanos, long loadNanos) {
+    }
+
+    /**
+     * Normalised search parameters. name is case/space-insensitive (match query); category is
+     * kept as typed because the term filter on the keyword field is exact.
+     */
+    public record SearchKey(String kind, String name, String category, String priceMin, String priceMax) {
+
+        public static SearchKey of(String kind, String name, String category, BigDecimal priceMin,
+                BigDecimal priceMax) {
+            return new SearchKey(kind, normalizeName(name), normalizeCategory(category),
+                    normalizePrice(priceMin), normalizePrice(priceMax));
+        }
+
+        static String normalizeName(String name) {
+            if (name == null || name.trim().isEmpty()) {
+                return null;
+            }
+            return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        }
+
+        static String normalizeCategory(String category) {
+            return category == null || category.trim().isEmpty() ? null : category;
+        }
+
+        static String normalizePrice(BigDecimal price) {
+            return price == null ? null : price.stripTrailingZeros().toPlainString();
+        }
+    }
+}
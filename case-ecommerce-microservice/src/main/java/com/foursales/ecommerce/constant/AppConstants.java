@@ -1,6 +1,7 @@
 package com.foursales.ecommerce.constant;
 
 import java.math.RoundingMode;
+import java.util.List;
 
 public final class AppConstants {
 
@@ -10,14 +11,21 @@ public final class AppConstants {
 
     // Kafka Topics
     public static final String TOPIC_ORDER_PAID = "order.paid";
+    public static final String TOPIC_ORDER_CREATED = "order.created";
     public static final String TOPIC_PRODUCT_SYNC = "product.sync";
+    public static final String TOPIC_CACHE_INVALIDATION = "cache.invalidation";
 
     // Report Constants
     public static final int TOP_USERS_LIMIT = 5;
     public static final RoundingMode DEFAULT_ROUNDING_MODE = RoundingMode.HALF_UP;
     public static final int DECIMAL_SCALE = 2;
+    public static final int MAX_REVENUE_REPORT_DAYS = 366;
 
     // Pagination
     public static final int DEFAULT_PAGE_SIZE = 20;
     public static final int MAX_PAGE_SIZE = 100;
+
+    // Search Facets
+    public static final int CATEGORY_FACET_SIZE = 20;
+    public static final List<Integer> PRICE_FACET_EDGES = List.of(50, 100, 250, 500, 1000);
 }
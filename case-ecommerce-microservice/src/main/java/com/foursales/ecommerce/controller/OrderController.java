@@ -6,6 +6,7 @@ import com.foursales.ecommerce.dto.OrderResponse;
 import com.foursales.ecommerce.dto.PaymentResponse;
 import com.foursales.ecommerce.entity.User;
 import com.foursales.ecommerce.service.IOrderService;
+import com.foursales.ecommerce.util.HttpCacheUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -16,12 +17,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -44,15 +49,26 @@ public class OrderController {
 
     @Operation(summary = "Get order by ID")
     @ApiResponse(responseCode = "200", description = "Order found", content = @Content(schema = @Schema(implementation = OrderResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Order not modified since the given ETag / date")
     @SwaggerResponses.NotFound
     @SwaggerResponses.InternalError
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getOrderById(
             @Parameter(description = "Order ID") @PathVariable UUID id,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal User user,
+            WebRequest webRequest) {
+
+        // CONDITIONAL GET: version lookup is scoped to the user, so other users' orders never yield 304
+        if (HttpCacheUtils.isConditional(webRequest)) {
+            Optional<LocalDateTime> version = orderService.getOrderVersionForUser(id, user);
+            if (version.isPresent() && HttpCacheUtils.checkNotModified(webRequest, id, version.get())) {
+                return null;
+            }
+        }
 
         OrderResponse order = orderService.getOrderByIdForUser(id, user);
-        return ResponseEntity.ok(order);
+        return HttpCacheUtils.okWithValidators(order, order.getId(), order.getUpdatedAt(),
+                CacheControl.noCache().cachePrivate());
     }
 
     @Operation(summary = "Create new order")
@@ -1,10 +1,20 @@
 package com.foursales.ecommerce.controller;
 
 import com.foursales.ecommerce.config.SwaggerResponses;
+import com.foursales.ecommerce.dto.CursorPagedResponse;
 import com.foursales.ecommerce.dto.PagedResponse;
 import com.foursales.ecommerce.dto.ProductRequest;
 import com.foursales.ecommerce.dto.ProductResponse;
+import com.foursales.ecommerce.dto.ProductSearchCriteria;
+import com.foursales.ecommerce.dto.ProductSearchResponse;
+import com.foursales.ecommerce.dto.ProductSuggestion;
+import com.foursales.ecommerce.enums.ExportFormat;
+import com.foursales.ecommerce.enums.ProductSearchSort;
+import com.foursales.ecommerce.exception.ExportCapacityExceededException;
 import com.foursales.ecommerce.service.IProductService;
+import com.foursales.ecommerce.service.ProductExportService;
+import com.foursales.ecommerce.service.ProductSuggestService;
+import com.foursales.ecommerce.util.HttpCacheUtils;
 import com.foursales.ecommerce.util.PageableUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,15 +27,32 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @RestController
@@ -34,29 +61,123 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ProductController {
 
+    private static final String EXPORT_INTERCEPTOR_KEY = ProductController.class.getName() + ".export";
+
     private final IProductService productService;
+    private final ProductExportService productExportService;
+    private final ProductSuggestService productSuggestService;
+
+    @Value("${app.export.timeout-ms:600000}")
+    private long exportTimeoutMs;
 
     @Operation(summary = "List all products - paginated")
     @ApiResponse(responseCode = "200", description = "Product page returned successfully")
     @SwaggerResponses.BadRequest
     @SwaggerResponses.InternalError
     @GetMapping
-    public ResponseEntity<PagedResponse<ProductResponse>> getAllProducts(Pageable pageable) {
+    public ResponseEntity<PagedResponse<ProductResponse>> getAllProducts(
+            Pageable pageable,
+            @Parameter(description = "Run the COUNT query for totalElements/totalPages (false returns -1 and skips it)")
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         pageable = PageableUtils.applyPaginationRules(pageable);
+        if (!includeTotal) {
+            Slice<ProductResponse> productsSlice = productService.getAllProductsSlice(pageable);
+            return ResponseEntity.ok(PagedResponse.ofSlice(productsSlice));
+        }
         Page<ProductResponse> productsPage = productService.getAllProductsPaginated(pageable);
         PagedResponse<ProductResponse> pagedData = PagedResponse.of(productsPage);
         return ResponseEntity.ok(pagedData);
     }
 
+    @Operation(summary = "List all products - cursor (keyset) pagination, newest first")
+    @ApiResponse(responseCode = "200", description = "Product page returned successfully")
+    @SwaggerResponses.BadRequest
+    @SwaggerResponses.InternalError
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPagedResponse<ProductResponse>> getProductsByCursor(
+            @Parameter(description = "nextCursor from the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(productService.getProductsByCursor(cursor, size));
+    }
+
+    @Operation(summary = "Export the whole catalogue as a stream (NDJSON or CSV)",
+            security = @SecurityRequirement(name = "Bearer Authentication"))
+    @ApiResponse(responseCode = "200", description = "Catalogue streamed successfully")
+    @ApiResponse(responseCode = "503", description = "Too many exports running, retry later")
+    @SwaggerResponses.BadRequest
+    @SwaggerResponses.Unauthorized
+    @SwaggerResponses.InternalError
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "Output format: ndjson (default) or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            NativeWebRequest webRequest) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+
+        if (!productExportService.tryAcquireSlot()) {
+            throw new ExportCapacityExceededException("Too many catalogue exports running, retry later");
+        }
+
+        // The slot goes back exactly once: after the body ran, or on completion if it never started
+        AtomicBoolean slotClaimed = new AtomicBoolean();
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(EXPORT_INTERCEPTOR_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                        // PER-ENDPOINT TIMEOUT: only this response outlives the default async timeout
+                        if (request instanceof AsyncWebRequest asyncRequest) {
+                            asyncRequest.setTimeout(exportTimeoutMs);
+                        }
+                    }
+
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        if (slotClaimed.compareAndSet(false, true)) {
+                            productExportService.releaseSlot();
+                        }
+                    }
+                });
+
+        // Rows are written from the async thread page by page, nothing is buffered here
+        StreamingResponseBody body = outputStream -> {
+            if (!slotClaimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                productExportService.exportCatalog(exportFormat, outputStream);
+            } finally {
+                productExportService.releaseSlot();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.parseMediaType(exportFormat.getContentType()), StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"catalog." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @Operation(summary = "Get product by ID")
     @ApiResponse(responseCode = "200", description = "Product encontrado")
+    @ApiResponse(responseCode = "304", description = "Product not modified since the given ETag / date")
     @SwaggerResponses.NotFound
     @SwaggerResponses.InternalError
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getProductById(
-            @Parameter(description = "ID do produto") @PathVariable UUID id) {
+            @Parameter(description = "ID do produto") @PathVariable UUID id,
+            WebRequest webRequest) {
+        // CONDITIONAL GET: version lookup only, 304 skips entity hydration and JSON serialisation
+        if (HttpCacheUtils.isConditional(webRequest)) {
+            Optional<LocalDateTime> version = productService.getProductVersion(id);
+            if (version.isPresent() && HttpCacheUtils.checkNotModified(webRequest, id, version.get())) {
+                return null;
+            }
+        }
+
         ProductResponse product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+        return HttpCacheUtils.okWithValidators(product, product.getId(), product.getUpdatedAt(),
+                CacheControl.noCache());
     }
 
     @Operation(summary = "Create product", security = @SecurityRequirement(name = "Bearer Authentication"))
@@ -112,4 +233,48 @@ public class ProductController {
         List<ProductResponse> products = productService.searchProducts(name, category, priceMin, priceMax);
         return ResponseEntity.ok(products);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Search products - paginated with search_after, sorted by relevance, price or recency, with optional facets")
+    @ApiResponse(responseCode = "200", description = "Search results page returned successfully")
+    @SwaggerResponses.BadRequest
+    @SwaggerResponses.InternalError
+    @GetMapping("/search/page")
+    public ResponseEntity<ProductSearchResponse> searchProductsPage(
+            @Parameter(description = "Product name (with error tolerance)") @RequestParam(required = false) String name,
+            @Parameter(description = "Product category") @RequestParam(required = false) String category,
+            @Parameter(description = "Minimum price") @RequestParam(required = false) BigDecimal priceMin,
+            @Parameter(description = "Maximum price") @RequestParam(required = false) BigDecimal priceMax,
+            @Parameter(description = "Sort: relevance (default), price_asc, price_desc or newest")
+            @RequestParam(defaultValue = "relevance") String sort,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "nextCursor from the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also return category and price range facets in the same request")
+            @RequestParam(defaultValue = "false") boolean facets) {
+
+        ProductSearchCriteria criteria = ProductSearchCriteria.builder()
+                .name(name)
+                .category(category)
+                .priceMin(priceMin)
+                .priceMax(priceMax)
+                .sort(ProductSearchSort.fromValue(sort))
+                .size(size)
+                .cursor(cursor)
+                .facets(facets)
+                .build();
+        return ResponseEntity.ok(productService.searchProductsPage(criteria));
+    }
+
+    @Operation(summary = "Autocomplete product names (search-as-you-type)")
+    @ApiResponse(responseCode = "200", description = "Suggestions returned successfully", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProductSuggestion.class))))
+    @SwaggerResponses.InternalError
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestion>> suggestProducts(
+            @Parameter(description = "What the user has typed so far") @RequestParam String prefix,
+            @Parameter(description = "Number of suggestions (max 10)") @RequestParam(defaultValue = "8") int size) {
+        // Same prefix is retyped constantly while editing: let the browser keep it briefly
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.SECONDS).cachePublic())
+                .body(productSuggestService.suggest(prefix, size));
+    }
+}
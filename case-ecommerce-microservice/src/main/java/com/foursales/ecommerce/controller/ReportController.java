@@ -1,9 +1,18 @@
 package com.foursales.ecommerce.controller;
 
 import com.foursales.ecommerce.config.SwaggerResponses;
+import com.foursales.ecommerce.dashboard.SalesDashboardService;
+import com.foursales.ecommerce.dto.DistinctBuyersResponse;
 import com.foursales.ecommerce.dto.MonthlyRevenueResponse;
+import com.foursales.ecommerce.dto.PagedResponse;
+import com.foursales.ecommerce.dto.RevenueReportResponse;
+import com.foursales.ecommerce.dto.SalesDashboardResponse;
+import com.foursales.ecommerce.dto.TopProductResponse;
 import com.foursales.ecommerce.dto.TopUserResponse;
 import com.foursales.ecommerce.dto.UserAverageTicketResponse;
+import com.foursales.ecommerce.dto.UserOrderStatsResponse;
+import com.foursales.ecommerce.enums.TopProductsWindow;
+import com.foursales.ecommerce.enums.UserStatsSort;
 import com.foursales.ecommerce.service.IReportService;
 import com.foursales.ecommerce.util.DateParseUtils;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,9 +24,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -30,8 +42,9 @@ import java.util.List;
 public class ReportController {
 
     private final IReportService reportService;
+    private final SalesDashboardService salesDashboardService;
 
-    @Operation(summary = "Top 5 buyer users", description = "Returns the top 5 users who made the most purchases. Supports date filtering with flexible formats: ISO DateTime (2025-10-01T00:00:00) or simple DATE (2025-10-01)")
+    @Operation(summary = "Top 5 buyer users", description = "Returns the top 5 users who made the most purchases. Without dates it reads the user_order_stats projection; with dates it aggregates orders in the range. Supports date filtering with flexible formats: ISO DateTime (2025-10-01T00:00:00) or simple DATE (2025-10-01)")
     @ApiResponse(responseCode = "200", description = "List of top users returned successfully", content = @Content(array = @ArraySchema(schema = @Schema(implementation = TopUserResponse.class))))
     @SwaggerResponses.Forbidden
     @SwaggerResponses.InternalError
@@ -48,7 +61,7 @@ public class ReportController {
         return reportService.getTopUsers(start, end);
     }
 
-    @Operation(summary = "Average ticket per user", description = "Returns the average order value per user. Supports date filtering with flexible formats: ISO DateTime (2025-10-01T00:00:00) or simple DATE (2025-10-01)")
+    @Operation(summary = "Average ticket per user", description = "Returns the average order value per user. Without dates it reads the user_order_stats projection; for large user bases prefer the paginated /user-stats. Supports date filtering with flexible formats: ISO DateTime (2025-10-01T00:00:00) or simple DATE (2025-10-01)")
     @ApiResponse(responseCode = "200", description = "List of average tickets returned successfully", content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserAverageTicketResponse.class))))
     @SwaggerResponses.Forbidden
     @SwaggerResponses.InternalError
@@ -65,6 +78,22 @@ public class ReportController {
         return reportService.getAverageTicketByUser(start, end);
     }
 
+    @Operation(summary = "User order statistics - paginated", description = "Order count, paid revenue, average ticket and last order per user, from the incrementally maintained user_order_stats projection. Sorted descending by the chosen metric")
+    @ApiResponse(responseCode = "200", description = "User statistics page returned successfully")
+    @SwaggerResponses.BadRequest
+    @SwaggerResponses.Forbidden
+    @SwaggerResponses.InternalError
+    @GetMapping("/user-stats")
+    public PagedResponse<UserOrderStatsResponse> getUserStats(
+            @Parameter(description = "Page number - zero-based", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort metric: order_count (default), revenue, average_ticket or last_order")
+            @RequestParam(defaultValue = "order_count") String sort) {
+        return reportService.getUserStats(page, size, UserStatsSort.fromValue(sort));
+    }
+
     @Operation(summary = "Current month revenue")
     @ApiResponse(responseCode = "200", description = "Revenue data returned successfully", content = @Content(schema = @Schema(implementation = MonthlyRevenueResponse.class)))
     @SwaggerResponses.Forbidden
@@ -73,4 +102,81 @@ public class ReportController {
     public MonthlyRevenueResponse getCurrentMonthRevenue() {
         return reportService.getCurrentMonthRevenue();
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Top-selling products", description = "Best sellers by units sold within a window ending now (hour, day, week or month; the start is rounded down to the hour). Summed from hourly counters maintained by the event consumer: unitsSold is exact, but orders appear only once their stock update is processed and the consumer has flushed its counters (every minute by default)")
+    @ApiResponse(responseCode = "200", description = "Top products returned successfully", content = @Content(array = @ArraySchema(schema = @Schema(implementation = TopProductResponse.class))))
+    @SwaggerResponses.BadRequest
+    @SwaggerResponses.Forbidden
+    @SwaggerResponses.InternalError
+    @GetMapping("/top-products")
+    public List<TopProductResponse> getTopProducts(
+            @Parameter(description = "Window: hour, day (default), week or month")
+            @RequestParam(defaultValue = "day") String window,
+            @Parameter(description = "Number of products (max 100)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        return reportService.getTopProducts(TopProductsWindow.fromValue(window), limit);
+    }
+
+    @Operation(summary = "Distinct buyers", description = "Estimated number of unique users who paid orders between two days (inclusive), optionally within one product category. Merged from per-day HyperLogLog sketches, so the cost does not grow with the number of orders; relative standard error ~1.6% (three errors ~4.9%). Defaults to the current month up to today; at most 366 days. Payments before the sketches were introduced are not counted")
+    @ApiResponse(responseCode = "200", description = "Estimate returned successfully", content = @Content(schema = @Schema(implementation = DistinctBuyersResponse.class)))
+    @SwaggerResponses.BadRequest
+    @SwaggerResponses.Forbidden
+    @SwaggerResponses.InternalError
+    @GetMapping("/distinct-buyers")
+    public DistinctBuyersResponse getDistinctBuyers(
+            @Parameter(description = "First payment day - accepts ISO DateTime (2025-10-01T00:00:00) or DATE (2025-10-01)", example = "2025-10-01")
+            @RequestParam(required = false) String startDate,
+            @Parameter(description = "Last payment day (inclusive) - accepts ISO DateTime or DATE", example = "2025-10-31")
+            @RequestParam(required = false) String endDate,
+            @Parameter(description = "Product category (exact match)", example = "Electronics")
+            @RequestParam(required = false) String category) {
+        return reportService.getDistinctBuyers(toDate(DateParseUtils.parseStartDate(startDate)),
+                toDate(DateParseUtils.parseEndDate(endDate)), category);
+    }
+
+    @Operation(summary = "Distinct buyers per category", description = "Estimated unique paying users per product category between two days (inclusive), highest first. Same HyperLogLog sketches and error bound as /distinct-buyers; a user who bought in several categories counts in each")
+    @ApiResponse(responseCode = "200", description = "Estimates returned successfully", content = @Content(array = @ArraySchema(schema = @Schema(implementation = DistinctBuyersResponse.class))))
+    @SwaggerResponses.BadRequest
+    @SwaggerResponses.Forbidden
+    @SwaggerResponses.InternalError
+    @GetMapping("/distinct-buyers/categories")
+    public List<DistinctBuyersResponse> getDistinctBuyersByCategory(
+            @Parameter(description = "First payment day - accepts ISO DateTime (2025-10-01T00:00:00) or DATE (2025-10-01)", example = "2025-10-01")
+            @RequestParam(required = false) String startDate,
+            @Parameter(description = "Last payment day (inclusive) - accepts ISO DateTime or DATE", example = "2025-10-31")
+            @RequestParam(required = false) String endDate) {
+        return reportService.getDistinctBuyersByCategory(toDate(DateParseUtils.parseStartDate(startDate)),
+                toDate(DateParseUtils.parseEndDate(endDate)));
+    }
+
+    @Operation(summary = "Real-time sales dashboard stream", description = "Server-sent events named 'sales', one per second: revenue and order count of the last second and of the sliding window, plus the best-selling products in the window. The first event also carries the per-second history of the window. Computed in memory from payments committed on the serving instance, without querying the database")
+    @ApiResponse(responseCode = "200", description = "Event stream opened", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = SalesDashboardResponse.class)))
+    @SwaggerResponses.Forbidden
+    @SwaggerResponses.InternalError
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSalesDashboard() {
+        return salesDashboardService.subscribe();
+    }
+
+    @Operation(summary = "Revenue by date range", description = "Returns total revenue, paid order count and daily breakdown for the half-open range [startDate, endDate), at most 366 days. A DATE endDate includes that whole day (2025-10-31 means up to 2025-11-01T00:00:00); an ISO DateTime endDate is exclusive. Defaults to the current month up to the end of today")
+    @ApiResponse(responseCode = "200", description = "Revenue data returned successfully", content = @Content(schema = @Schema(implementation = RevenueReportResponse.class)))
+    @SwaggerResponses.BadRequest
+    @SwaggerResponses.Forbidden
+    @SwaggerResponses.InternalError
+    @GetMapping("/revenue")
+    public RevenueReportResponse getRevenue(
+            @Parameter(description = "Start (inclusive) - accepts ISO DateTime (2025-10-01T00:00:00) or DATE (2025-10-01)", example = "2025-10-01")
+            @RequestParam(required = false) String startDate,
+            @Parameter(description = "End - DATE (2025-10-31) includes the whole day, ISO DateTime (2025-11-01T00:00:00) is exclusive", example = "2025-10-31")
+            @RequestParam(required = false) String endDate) {
+
+        LocalDateTime start = DateParseUtils.parseStartDate(startDate);
+        LocalDateTime endExclusive = DateParseUtils.parseEndDateExclusive(endDate);
+
+        return reportService.getRevenue(start, endExclusive);
+    }
+
+    private static LocalDate toDate(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toLocalDate() : null;
+    }
+}
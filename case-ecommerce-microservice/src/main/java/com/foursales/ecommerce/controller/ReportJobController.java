@@ -0,0 +1,97 @@
+package com.foursales.ecommerce.controller;
+
+import com.foursales.ecommerce.config.SwaggerResponses;
+import com.foursales.ecommerce.dto.ReportJobRequest;
+import com.foursales.ecommerce.dto.ReportJobStatus;
+import com.foursales.ecommerce.enums.ExportFormat;
+import com.foursales.ecommerce.enums.ReportType;
+import com.foursales.ecommerce.report.ReportJob;
+import com.foursales.ecommerce.report.ReportJobService;
+import com.foursales.ecommerce.util.DateParseUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/report-jobs")
+@Tag(name = "Report Jobs", description = "Asynchronous admin reports: submit, poll and download (API v1)")
+@SecurityRequirement(name = "Bearer Authentication")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @Operation(summary = "Submit a report job", description = "Runs the report in the background. An identical request (same type and dates) while a job is pending or its result is still cached returns that job instead of starting a new one")
+    @ApiResponse(responseCode = "202", description = "Job accepted, poll the Location header")
+    @ApiResponse(responseCode = "200", description = "Identical report already completed, result ready to download")
+    @ApiResponse(responseCode = "503", description = "Too many reports in progress")
+    @SwaggerResponses.BadRequest
+    @SwaggerResponses.Forbidden
+    @SwaggerResponses.InternalError
+    @PostMapping
+    public ResponseEntity<ReportJobStatus> submit(@Valid @RequestBody ReportJobRequest request) {
+        ReportType type = ReportType.fromValue(request.getType());
+        LocalDateTime start = DateParseUtils.parseStartDate(request.getStartDate());
+        // Same end semantics as the synchronous endpoints: revenue ranges are half-open
+        LocalDateTime end = type == ReportType.REVENUE
+                ? DateParseUtils.parseEndDateExclusive(request.getEndDate())
+                : DateParseUtils.parseEndDate(request.getEndDate());
+
+        ReportJob job = reportJobService.submit(type, start, end);
+
+        return ResponseEntity.status(job.isCompleted() ? HttpStatus.OK : HttpStatus.ACCEPTED)
+                .location(URI.create("/api/v1/report-jobs/" + job.getId()))
+                .body(job.toStatus());
+    }
+
+    @Operation(summary = "Report job status")
+    @ApiResponse(responseCode = "200", description = "Job status returned successfully")
+    @SwaggerResponses.NotFound
+    @SwaggerResponses.Forbidden
+    @SwaggerResponses.InternalError
+    @GetMapping("/{id}")
+    public ReportJobStatus getStatus(@PathVariable UUID id) {
+        return reportJobService.getJob(id).toStatus();
+    }
+
+    @Operation(summary = "Download a completed report (NDJSON or CSV stream)")
+    @ApiResponse(responseCode = "200", description = "Report streamed successfully")
+    @SwaggerResponses.BadRequest
+    @SwaggerResponses.NotFound
+    @SwaggerResponses.Forbidden
+    @SwaggerResponses.InternalError
+    @GetMapping("/{id}/download")
+    public ResponseEntity<StreamingResponseBody> download(
+            @PathVariable UUID id,
+            @Parameter(description = "Output format: ndjson (default) or csv")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        ReportJob job = reportJobService.getCompletedJob(id);
+
+        StreamingResponseBody body = outputStream -> reportJobService.writeResult(job, exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.parseMediaType(exportFormat.getContentType()), StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + job.getType().getValue() + "-" + job.getId() + "."
+                                + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,28 @@
+package com.foursales.ecommerce.dashboard;
+
+import com.foursales.ecommerce.entity.Order;
+import com.foursales.ecommerce.util.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-process notification of a payment, published by OrderService inside the payment transaction
+ * and consumed after commit. Lines are copied out of the entity so listeners never touch
+ * a lazy association outside the persistence context.
+ */
+public record OrderPaidEvent(UUID orderId, UUID userId, LocalDateTime paidAt, long totalCents, List<Line> lines) {
+
+    public static OrderPaidEvent of(Order order) {
+        List<Line> lines = order.getItems().stream()
+                .map(item -> new Line(item.getProduct().getId(), item.getProduct().getName(),
+                        item.getProduct().getCategory(), item.getQuantity(), item.subtotal().cents()))
+                .toList();
+        return new OrderPaidEvent(order.getId(), order.getUser().getId(), order.getPaymentDate(),
+                Money.toCents(order.getTotalValue()), lines);
+    }
+
+    public record Line(UUID productId, String productName, String category, int quantity, long subtotalCents) {
+    }
+}
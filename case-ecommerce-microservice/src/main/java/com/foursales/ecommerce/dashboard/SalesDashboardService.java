@@ -0,0 +1,240 @@
+package com.foursales.ecommerce.dashboard;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foursales.ecommerce.dto.SalesDashboardResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Real-time sales dashboard over server-sent events
+ *
+ * - Payments committed on this instance feed one SalesWindow; viewers never query MySQL
+ * - Once per second a single snapshot is built and serialised, then handed to every open
+ *   stream, so the cost per viewer is one write whatever the number of viewers
+ * - The window is per instance: behind a load balancer each node reports the payments it
+ *   processed
+ * - The broadcast thread never writes to a socket: each viewer holds only its latest frame, and
+ *   a small writer pool sends it. A viewer that cannot keep up skips to the newest snapshot, and
+ *   one whose write has been blocked longer than write-timeout-ms is dropped, so a slow client
+ *   neither delays other viewers nor queues frames
+ */
+@Service
+@Slf4j
+public class SalesDashboardService {
+
+    static final String EVENT_NAME = "sales";
+
+    private final SalesWindow window;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final int topProducts;
+    private final long streamTimeoutMs;
+    private final long writeTimeoutNanos;
+    private final List<Viewer> viewers = new CopyOnWriteArrayList<>();
+    private final ExecutorService writers;
+    private ScheduledExecutorService broadcaster;
+
+    @Autowired
+    public SalesDashboardService(
+            ObjectMapper objectMapper,
+            @Value("${app.dashboard.window-seconds:300}") int windowSeconds,
+            @Value("${app.dashboard.top-products:10}") int topProducts,
+            @Value("${app.dashboard.stream-timeout-ms:1800000}") long streamTimeoutMs,
+            @Value("${app.dashboard.writer-threads:4}") int writerThreads,
+            @Value("${app.dashboard.write-timeout-ms:5000}") long writeTimeoutMs) {
+        this(objectMapper, Clock.systemUTC(), windowSeconds, topProducts, streamTimeoutMs, writerThreads,
+                writeTimeoutMs);
+    }
+
+    SalesDashboardService(ObjectMapper objectMapper, Clock clock, int windowSeconds, int topProducts,
+            long streamTimeoutMs, int writerThreads, long writeTimeoutMs) {
+        this.window = new SalesWindow(windowSeconds);
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.topProducts = topProducts;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        AtomicInteger writerIndex = new AtomicInteger();
+        // At most one pending task per viewer, so the unbounded queue is bounded by the viewer count
+        this.writers = Executors.newFixedThreadPool(Math.max(1, writerThreads), runnable -> {
+            Thread thread = new Thread(runnable, "sales-dashboard-writer-" + writerIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        broadcaster = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sales-dashboard");
+            thread.setDaemon(true);
+            return thread;
+        });
+        broadcaster.scheduleAtFixedRate(this::broadcast, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (broadcaster != null) {
+            broadcaster.shutdownNow();
+        }
+        writers.shutdownNow();
+        viewers.forEach(viewer -> viewer.emitter.complete());
+        viewers.clear();
+    }
+
+    // AFTER COMMIT: A rolled-back payment never reaches the dashboard
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderPaid(OrderPaidEvent event) {
+        window.record(currentSecond(), event);
+    }
+
+    /**
+     * Opens a stream whose first event carries the per-second history of the whole window
+     */
+    public SseEmitter subscribe() {
+        return register(new SseEmitter(streamTimeoutMs));
+    }
+
+    // The history is written on the subscribing request thread; later frames go through the writer pool
+    SseEmitter register(SseEmitter emitter) {
+        Viewer viewer = new Viewer(emitter);
+        emitter.onCompletion(() -> viewers.remove(viewer));
+        emitter.onTimeout(() -> viewers.remove(viewer));
+        emitter.onError(error -> viewers.remove(viewer));
+
+        if (send(emitter, serialize(window.snapshot(currentSecond(), topProducts, true)))) {
+            viewers.add(viewer);
+        }
+        return emitter;
+    }
+
+    public int viewerCount() {
+        return viewers.size();
+    }
+
+    void broadcast() {
+        // Never let an exception escape: it would cancel the fixed-rate schedule
+        try {
+            if (viewers.isEmpty()) {
+                return;
+            }
+            String payload = serialize(window.snapshot(currentSecond(), topProducts, false));
+            long now = System.nanoTime();
+            for (Viewer viewer : viewers) {
+                if (viewer.stalledSince(now)) {
+                    // Completing here would wait on the emitter lock the blocked write holds;
+                    // the writer completes it once the container gives up on the socket
+                    log.debug("Dropping sales dashboard viewer blocked for more than {} ms",
+                            TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos));
+                    viewer.dropped = true;
+                    viewers.remove(viewer);
+                } else {
+                    viewer.offer(payload);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Sales dashboard broadcast failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean send(SseEmitter emitter, String payload) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(payload, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            log.debug("Dropping sales dashboard viewer: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private String serialize(SalesDashboardResponse snapshot) {
+        try {
+            return objectMapper.writeValueAsString(snapshot);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize sales dashboard snapshot", e);
+        }
+    }
+
+    private long currentSecond() {
+        return clock.instant().getEpochSecond();
+    }
+
+    /**
+     * One stream with a single-frame slot: a newer snapshot replaces one not yet written, and at
+     * most one writer task per viewer is queued or running
+     */
+    private final class Viewer {
+
+        private final SseEmitter emitter;
+        private final AtomicReference<String> nextFrame = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean writing;
+        private volatile long writeStartedNanos;
+        private volatile boolean dropped;
+
+        private Viewer(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(String payload) {
+            nextFrame.set(payload);
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+
+        boolean stalledSince(long now) {
+            return writing && now - writeStartedNanos > writeTimeoutNanos;
+        }
+
+        private void drain() {
+            while (true) {
+                String payload = nextFrame.getAndSet(null);
+                if (payload == null) {
+                    draining.set(false);
+                    // A frame offered after getAndSet saw the flag still set and scheduled nothing
+                    if (nextFrame.get() == null || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+
+                writeStartedNanos = System.nanoTime();
+                writing = true;
+                boolean sent = send(emitter, payload);
+                writing = false;
+                if (!sent || dropped) {
+                    // draining stays set: nothing is scheduled for this viewer again
+                    viewers.remove(this);
+                    if (sent) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.foursales.ecommerce.dashboard;
+
+import com.foursales.ecommerce.dto.SalesDashboardResponse;
+import com.foursales.ecommerce.dto.SalesDashboardResponse.ProductSales;
+import com.foursales.ecommerce.dto.SalesDashboardResponse.SecondSales;
+import com.foursales.ecommerce.util.Money;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Sliding window of paid orders: a ring buffer of one-second buckets plus running window totals
+ *
+ * - A payment touches one bucket and the running totals: O(1) per order (O(lines) for products)
+ * - Moving the window expires the buckets it passes over by subtracting them from the totals,
+ *   so reading the window never sums the buckets
+ * - Product counts are kept per bucket and for the whole window; only the window map is ranked
+ */
+class SalesWindow {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final int size;
+    private final long[] revenueCents;
+    private final long[] orders;
+    private final List<Map<UUID, ProductTally>> products;
+
+    private final Map<UUID, ProductTally> windowProducts = new HashMap<>();
+    private long windowRevenueCents;
+    private long windowOrders;
+    private long head = EMPTY;
+
+    SalesWindow(int size) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Window must hold at least 2 seconds");
+        }
+        this.size = size;
+        this.revenueCents = new long[size];
+        this.orders = new long[size];
+        this.products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(new HashMap<>());
+        }
+    }
+
+    synchronized void record(long second, OrderPaidEvent event) {
+        advance(second);
+        if (second <= head - size) {
+            // Clock stepped back past the window
+            return;
+        }
+
+        int slot = slot(second);
+        revenueCents[slot] += event.totalCents();
+        orders[slot]++;
+        windowRevenueCents += event.totalCents();
+        windowOrders++;
+
+        Map<UUID, ProductTally> bucket = products.get(slot);
+        for (OrderPaidEvent.Line line : event.lines()) {
+            bucket.computeIfAbsent(line.productId(), id -> new ProductTally(line.productName())).add(line);
+            windowProducts.computeIfAbsent(line.productId(), id -> new ProductTally(line.productName())).add(line);
+        }
+    }
+
+    /**
+     * @param now        current epoch second; the last completed second is now - 1
+     * @param withSeries include the per-second history (first event of a stream)
+     */
+    synchronized SalesDashboardResponse snapshot(long now, int topProducts, boolean withSeries) {
+        advance(now);
+        int last = slot(now - 1);
+
+        return SalesDashboardResponse.builder()
+                .timestamp(Instant.ofEpochSecond(now - 1))
+                .windowSeconds(size)
+                .lastSecondRevenue(Money.toBigDecimal(revenueCents[last]))
+                .lastSecondOrders(orders[last])
+                .windowRevenue(Money.toBigDecimal(windowRevenueCents))
+                .windowOrders(windowOrders)
+                .topProducts(topProducts(topProducts))
+                .series(withSeries ? series(now) : null)
+                .build();
+    }
+
+    private List<ProductSales> topProducts(int limit) {
+        Comparator<Map.Entry<UUID, ProductTally>> byUnits = Comparator
+                .comparingLong((Map.Entry<UUID, ProductTally> entry) -> entry.getValue().units)
+                .thenComparingLong(entry -> entry.getValue().cents);
+
+        // Min-heap of the best `limit` entries: O(products * log limit)
+        PriorityQueue<Map.Entry<UUID, ProductTally>> best = new PriorityQueue<>(limit + 1, byUnits);
+        for (Map.Entry<UUID, ProductTally> entry : windowProducts.entrySet()) {
+            best.offer(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Map.Entry<UUID, ProductTally>> ranked = new ArrayList<>(best);
+        ranked.sort(byUnits.reversed());
+        return ranked.stream()
+                .map(entry -> new ProductSales(entry.getKey(), entry.getValue().name, entry.getValue().units,
+                        Money.toBigDecimal(entry.getValue().cents)))
+                .toList();
+    }
+
+    private List<SecondSales> series(long now) {
+        List<SecondSales> series = new ArrayList<>(size - 1);
+        for (long second = now - size + 1; second < now; second++) {
+            int slot = slot(second);
+            series.add(new SecondSales(Instant.ofEpochSecond(second), Money.toBigDecimal(revenueCents[slot]),
+                    orders[slot]));
+        }
+        return series;
+    }
+
+    // Moves the newest second to `second`, expiring every bucket that falls out of the window
+    private void advance(long second) {
+        if (head != EMPTY && second <= head) {
+            return;
+        }
+        long from = head == EMPTY ? second - size + 1 : Math.max(head + 1, second - size + 1);
+        for (long s = from; s <= second; s++) {
+            expire(slot(s));
+        }
+        head = second;
+    }
+
+    private void expire(int slot) {
+        if (orders[slot] > 0) {
+            windowRevenueCents -= revenueCents[slot];
+            windowOrders -= orders[slot];
+            Map<UUID, ProductTally> bucket = products.get(slot);
+            for (Map.Entry<UUID, ProductTally> entry : bucket.entrySet()) {
+                ProductTally total = windowProducts.get(entry.getKey());
+                total.units -= entry.getValue().units;
+                total.cents -= entry.getValue().cents;
+                if (total.units <= 0) {
+                    windowProducts.remove(entry.getKey());
+                }
+            }
+            bucket.clear();
+        }
+        revenueCents[slot] = 0;
+        orders[slot] = 0;
+    }
+
+    private int slot(long second) {
+        return (int) Math.floorMod(second, (long) size);
+    }
+
+    private static final class ProductTally {
+        private final String name;
+        private long units;
+        private long cents;
+
+        private ProductTally(String name) {
+            this.name = name;
+        }
+
+        private void add(OrderPaidEvent.Line line) {
+            units += line.quantity();
+            cents += line.subtotalCents();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.foursales.ecommerce.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica while ReplicaLagMonitor reports it healthy,
+ * everything else (writes, non-transactional access, Flyway) to the primary
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager borrows the connection
+ * before the read-only flag is bound to the thread, so the target is only chosen at the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagMonitor.isAvailable()
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+
+    // Replica went down between two lag checks: serve this transaction from the primary
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object route = determineCurrentLookupKey();
+        try {
+            return determineTargetDataSource().getConnection();
+        } catch (SQLException e) {
+            if (route != Route.REPLICA) {
+                throw e;
+            }
+            lagMonitor.markUnavailable(e);
+            return primary.getConnection();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.foursales.ecommerce.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Decides whether the read replica may serve read-only transactions
+ *
+ * - Polls the replica with lagQuery: reads the Seconds_Behind_Source column when present
+ *   (SHOW REPLICA STATUS), otherwise the first column, so a second standalone instance can use "SELECT 0"
+ * - Unavailable when the check fails, replication is stopped (NULL or no row) or lag exceeds
+ *   maxLagSeconds; read-only transactions go to the primary until a later check passes
+ * - Starts unavailable, the first scheduled check runs right after startup
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String LAG_COLUMN = "Seconds_Behind_Source";
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+
+    private volatile boolean available;
+    private volatile long lagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+
+        Gauge.builder("datasource.replica.available", this, monitor -> monitor.available ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Last replication lag reported by the replica, -1 if unknown")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        Long lag = readLag();
+        boolean healthy = lag != null && lag <= maxLagSeconds;
+
+        if (healthy != available) {
+            if (healthy) {
+                log.info("Read replica available (lag {}s), routing read-only transactions to it", lag);
+            } else {
+                log.warn("Read replica unavailable (lag {}s, max {}s), read-only transactions fall back to primary",
+                        lag, maxLagSeconds);
+            }
+        }
+        lagSeconds = lag != null ? lag : -1;
+        available = healthy;
+    }
+
+    /**
+     * Called when borrowing a replica connection failed between two checks
+     */
+    public void markUnavailable(Exception cause) {
+        if (available) {
+            log.warn("Read replica connection failed, falling back to primary: {}", cause.getMessage());
+        }
+        available = false;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    private Long readLag() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    // SHOW REPLICA STATUS returns no row when replication is not configured
+                    return null;
+                }
+                Object value = hasColumn(resultSet.getMetaData(), LAG_COLUMN)
+                        ? resultSet.getObject(LAG_COLUMN)
+                        : resultSet.getObject(1);
+                return value instanceof Number number ? number.longValue() : null;
+            }
+        } catch (SQLException e) {
+            log.debug("Replica lag check failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean hasColumn(ResultSetMetaData metaData, String column) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (column.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+package com.foursales.ecommerce.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated response: no page numbers and no total count, only a cursor to the next page
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cursor-paginated response. Pass nextCursor back to get the following page")
+public class CursorPagedResponse<T> {
+
+    @Schema(description = "List of items in the current page", required = true)
+    private List<T> content;
+
+    @Schema(description = "Number of items requested per page", example = "20", required = true)
+    private int size;
+
+    @Schema(description = "Opaque cursor for the next page (null on the last page)", example = "MjAyNS0wMS0xNVQxMDowMHwxMjNlNDU2Nw")
+    private String nextCursor;
+
+    @Schema(description = "Indicates if there is a next page", example = "true", required = true)
+    private boolean hasNext;
+}
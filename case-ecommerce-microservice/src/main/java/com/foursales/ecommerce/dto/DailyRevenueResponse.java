@@ -0,0 +1,25 @@
+package com.foursales.ecommerce.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Revenue of paid orders on a single day")
+public class DailyRevenueResponse {
+
+    @Schema(description = "Payment day", example = "2025-01-15")
+    private LocalDate date;
+
+    @Schema(description = "Total revenue of the day", example = "1250.00")
+    private BigDecimal totalRevenue;
+
+    @Schema(description = "Number of orders paid on the day", example = "4")
+    private Long totalOrders;
+}
@@ -0,0 +1,30 @@
+package com.foursales.ecommerce.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estimated number of distinct users who paid orders in a date range")
+public class DistinctBuyersResponse {
+
+    @Schema(description = "First payment day (inclusive)", example = "2025-10-01")
+    private LocalDate startDate;
+
+    @Schema(description = "Last payment day (inclusive)", example = "2025-10-31")
+    private LocalDate endDate;
+
+    @Schema(description = "Product category, absent for all categories", example = "Electronics")
+    private String category;
+
+    @Schema(description = "Estimated distinct buyers (HyperLogLog)", example = "1532")
+    private Long distinctBuyers;
+
+    @Schema(description = "Relative standard error of the estimate: ~68% of estimates are within one error of the true count, ~99.7% within three", example = "0.0163")
+    private Double relativeStandardError;
+}
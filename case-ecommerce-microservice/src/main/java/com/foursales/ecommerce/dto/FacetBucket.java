@@ -0,0 +1,33 @@
+package com.foursales.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Facet value with the number of matching in-stock products")
+public class FacetBucket {
+
+    @Schema(description = "Category name or price range key", example = "Electronics")
+    private String key;
+
+    @Schema(description = "Lower bound of a price range (inclusive)", example = "100")
+    private BigDecimal from;
+
+    @Schema(description = "Upper bound of a price range (exclusive)", example = "250")
+    private BigDecimal to;
+
+    @Schema(description = "Number of matching products", example = "42")
+    private long count;
+
+    public static FacetBucket of(String key, long count) {
+        return new FacetBucket(key, null, null, count);
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -29,10 +30,10 @@ public class PagedResponse<T> {
     @Schema(description = "Number of items per page", example = "20", required = true)
     private int size;
 
-    @Schema(description = "Total number of elements across all pages", example = "150", required = true)
+    @Schema(description = "Total number of elements across all pages (-1 when includeTotal=false)", example = "150", required = true)
     private long totalElements;
 
-    @Schema(description = "Total number of available pages", example = "8", required = true)
+    @Schema(description = "Total number of available pages (-1 when includeTotal=false)", example = "8", required = true)
     private int totalPages;
 
     @Schema(description = "Indicates if this is the first page", example = "true", required = true)
@@ -62,4 +63,20 @@ public class PagedResponse<T> {
                 page.getNumberOfElements(),
                 page.isEmpty());
     }
+
+    /**
+     * Factory method for a Slice (no count query): totals are reported as -1
+     */
+    public static <T> PagedResponse<T> ofSlice(Slice<T> slice) {
+        return new PagedResponse<>(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                -1,
+                -1,
+                slice.isFirst(),
+                slice.isLast(),
+                slice.getNumberOfElements(),
+                slice.isEmpty());
+    }
 }
@@ -16,7 +16,7 @@ import java.util.UUID;
  * - Null-safe: Can omit optional fields
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @Schema(description = "Response containing product data")
 public class ProductResponse {
 
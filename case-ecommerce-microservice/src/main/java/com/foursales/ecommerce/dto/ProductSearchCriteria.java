@@ -0,0 +1,31 @@
+package com.foursales.ecommerce.dto;
+
+import com.foursales.ecommerce.enums.ProductSearchSort;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters, sort and page position of a paginated product search
+ */
+@Getter
+@Builder
+public class ProductSearchCriteria {
+
+    private final String name;
+    private final String category;
+    private final BigDecimal priceMin;
+    private final BigDecimal priceMax;
+
+    @Builder.Default
+    private final ProductSearchSort sort = ProductSearchSort.RELEVANCE;
+
+    private final int size;
+
+    // nextCursor of the previous page (search_after values), null for the first page
+    private final String cursor;
+
+    // Adds category and price range aggregations to the same request
+    private final boolean facets;
+}
@@ -0,0 +1,26 @@
+package com.foursales.ecommerce.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Facet counts computed in the same Elasticsearch request as the hits.
+ * Each facet ignores its own filter (but applies the others) so the storefront can offer
+ * alternatives to the value that is currently selected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Category and price range facets for the current search")
+public class ProductSearchFacets {
+
+    @Schema(description = "Top categories by number of matching products")
+    private List<FacetBucket> categories;
+
+    @Schema(description = "Fixed price ranges with the number of matching products")
+    private List<FacetBucket> priceRanges;
+}
@@ -0,0 +1,37 @@
+package com.foursales.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Page of search results paginated with search_after: no total count, only a cursor to the next page
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Search results page. Pass nextCursor back (with the same sort) to get the following page")
+public class ProductSearchResponse {
+
+    @Schema(description = "Products in the current page", required = true)
+    private List<ProductResponse> content;
+
+    @Schema(description = "Number of items requested per page", example = "20", required = true)
+    private int size;
+
+    @Schema(description = "Opaque cursor for the next page (null on the last page)")
+    private String nextCursor;
+
+    @Schema(description = "Indicates if there is a next page", example = "true", required = true)
+    private boolean hasNext;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Category and price facets (only when requested with facets=true)")
+    private ProductSearchFacets facets;
+}
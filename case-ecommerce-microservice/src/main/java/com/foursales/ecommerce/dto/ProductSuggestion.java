@@ -0,0 +1,21 @@
+package com.foursales.ecommerce.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Autocomplete suggestion")
+public class ProductSuggestion {
+
+    @Schema(description = "Product ID", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID id;
+
+    @Schema(description = "Product name", example = "Dell Inspiron 15 Notebook")
+    private String name;
+}
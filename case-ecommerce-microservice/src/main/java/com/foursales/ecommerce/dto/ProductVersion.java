@@ -0,0 +1,18 @@
+package com.foursales.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fast-changing part of a product, read without hydrating the entity
+ * (stock overlay of ProductCache and ETag version lookups)
+ */
+@Getter
+@AllArgsConstructor
+public class ProductVersion {
+
+    private final Integer stockQuantity;
+    private final LocalDateTime updatedAt;
+}
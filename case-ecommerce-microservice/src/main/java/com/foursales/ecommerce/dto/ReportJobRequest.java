@@ -0,0 +1,24 @@
+package com.foursales.ecommerce.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Asynchronous report request")
+public class ReportJobRequest {
+
+    @NotBlank(message = "type is required")
+    @Schema(description = "Report type: top_users, average_ticket or revenue", example = "average_ticket", required = true)
+    private String type;
+
+    @Schema(description = "Start date - accepts ISO DateTime (2025-10-01T00:00:00) or DATE (2025-10-01)", example = "2025-10-01")
+    private String startDate;
+
+    @Schema(description = "End date - same formats and semantics as the synchronous report endpoint", example = "2025-10-31")
+    private String endDate;
+}
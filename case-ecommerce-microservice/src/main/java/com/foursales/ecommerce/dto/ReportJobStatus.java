@@ -0,0 +1,53 @@
+package com.foursales.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Snapshot of an asynchronous report job, returned by the report job endpoints for polling
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Asynchronous report job status")
+public class ReportJobStatus {
+
+    @Schema(description = "Job ID", example = "a1b2c3d4-e5f6-7890-abcd-ef1234567890")
+    private UUID jobId;
+
+    @Schema(description = "Report type", example = "average_ticket")
+    private String type;
+
+    @Schema(description = "QUEUED, RUNNING, COMPLETED or FAILED", example = "COMPLETED")
+    private String status;
+
+    @Schema(description = "Start of the reported period", example = "2025-10-01T00:00:00")
+    private LocalDateTime startDate;
+
+    @Schema(description = "End of the reported period", example = "2025-10-31T23:59:59")
+    private LocalDateTime endDate;
+
+    @Schema(description = "Number of result rows (once completed)", example = "1250")
+    private Integer rowCount;
+
+    @Schema(description = "When the job was accepted", example = "2025-01-15T10:23:45")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "When the job started running", example = "2025-01-15T10:23:45")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "When the job finished", example = "2025-01-15T10:24:02")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Failure reason (status FAILED)")
+    private String errorMessage;
+}
@@ -0,0 +1,35 @@
+package com.foursales.ecommerce.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Revenue of paid orders over a date range, with daily breakdown")
+public class RevenueReportResponse {
+
+    @Schema(description = "Period start (inclusive)", example = "2025-01-01T00:00:00")
+    private LocalDateTime periodStart;
+
+    @Schema(description = "Period end (exclusive)", example = "2025-02-01T00:00:00")
+    private LocalDateTime periodEnd;
+
+    @Schema(description = "Total revenue in the range", example = "15750.00")
+    private BigDecimal totalRevenue;
+
+    @Schema(description = "Total number of paid orders in the range", example = "42")
+    private Long totalOrders;
+
+    @Schema(description = "Average order value in the range", example = "375.00")
+    private BigDecimal averageOrderValue;
+
+    @Schema(description = "Days with at least one paid order, in ascending order (first and last day may be partial)")
+    private List<DailyRevenueResponse> days;
+}
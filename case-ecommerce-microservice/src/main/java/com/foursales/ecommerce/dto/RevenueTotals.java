@@ -0,0 +1,20 @@
+package com.foursales.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Revenue and paid order count of a period, straight from an aggregate query
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueTotals {
+
+    private BigDecimal totalRevenue;
+
+    private Long totalOrders;
+}
@@ -0,0 +1,79 @@
+package com.foursales.ecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Real-time sales over a sliding window, pushed once per second")
+public class SalesDashboardResponse {
+
+    @Schema(description = "Start of the last completed second", example = "2025-01-15T14:30:05Z")
+    private Instant timestamp;
+
+    @Schema(description = "Sliding window length in seconds", example = "300")
+    private Integer windowSeconds;
+
+    @Schema(description = "Revenue paid in the last completed second", example = "450.00")
+    private BigDecimal lastSecondRevenue;
+
+    @Schema(description = "Orders paid in the last completed second", example = "2")
+    private Long lastSecondOrders;
+
+    @Schema(description = "Revenue paid within the window", example = "18250.00")
+    private BigDecimal windowRevenue;
+
+    @Schema(description = "Orders paid within the window", example = "61")
+    private Long windowOrders;
+
+    @Schema(description = "Best-selling products within the window, by units sold")
+    private List<ProductSales> topProducts;
+
+    @Schema(description = "Per-second history of the whole window, oldest first. Only in the first event of a stream")
+    private List<SecondSales> series;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProductSales {
+
+        @Schema(description = "Product ID")
+        private UUID productId;
+
+        @Schema(description = "Product name", example = "Notebook Dell")
+        private String name;
+
+        @Schema(description = "Units sold within the window", example = "12")
+        private Long unitsSold;
+
+        @Schema(description = "Revenue of those units", example = "3600.00")
+        private BigDecimal revenue;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SecondSales {
+
+        @Schema(description = "Start of the second", example = "2025-01-15T14:30:05Z")
+        private Instant second;
+
+        @Schema(description = "Revenue paid in that second", example = "450.00")
+        private BigDecimal revenue;
+
+        @Schema(description = "Orders paid in that second", example = "2")
+        private Long orders;
+    }
+}
@@ -0,0 +1,24 @@
+package com.foursales.ecommerce.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Best-selling product within a time window")
+public class TopProductResponse {
+
+    @Schema(description = "Product ID", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID productId;
+
+    @Schema(description = "Product name", example = "Notebook Dell")
+    private String name;
+
+    @Schema(description = "Units sold in the window, from orders whose stock update was processed", example = "128")
+    private Long unitsSold;
+}
@@ -0,0 +1,41 @@
+package com.foursales.ecommerce.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Order statistics of a user")
+public class UserOrderStatsResponse {
+
+    @Schema(description = "User ID", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID id;
+
+    @Schema(description = "User name", example = "Maria Souza")
+    private String name;
+
+    @Schema(description = "User email", example = "maria.souza@email.com")
+    private String email;
+
+    @Schema(description = "Number of orders placed (any status)", example = "15")
+    private Long orderCount;
+
+    @Schema(description = "Number of paid orders", example = "12")
+    private Long paidOrderCount;
+
+    @Schema(description = "Revenue of paid orders", example = "5409.00")
+    private BigDecimal paidRevenue;
+
+    @Schema(description = "Average value of user orders (any status)", example = "450.75")
+    private BigDecimal averageTicket;
+
+    @Schema(description = "Date and time of the last order", example = "2025-01-15T10:23:45")
+    private LocalDateTime lastOrderAt;
+}
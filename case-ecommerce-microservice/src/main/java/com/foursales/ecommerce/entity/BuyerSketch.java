@@ -0,0 +1,65 @@
+package com.foursales.ecommerce.entity;
+
+import com.foursales.ecommerce.enums.BuyerSketchDimension;
+import com.foursales.ecommerce.util.HyperLogLog;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * HyperLogLog registers of the buyers who paid on one day, overall or within one category
+ *
+ * Written by DistinctBuyerSketches, which merges pending sketches under a row lock; merging is
+ * a register-wise maximum, so concurrent instances and retried flushes cannot corrupt a row.
+ */
+@Entity
+@Table(name = "buyer_sketch")
+@IdClass(BuyerSketch.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuyerSketch {
+
+    @Id
+    @Column(name = "sketch_date")
+    private LocalDate sketchDate;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 16)
+    private BuyerSketchDimension dimension;
+
+    @Id
+    @Column(name = "dimension_key", length = 50)
+    private String dimensionKey;
+
+    @Column(name = "registers", nullable = false, length = HyperLogLog.REGISTER_COUNT)
+    private byte[] registers;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate sketchDate;
+        private BuyerSketchDimension dimension;
+        private String dimensionKey;
+    }
+}
@@ -0,0 +1,40 @@
+package com.foursales.ecommerce.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Revenue of paid orders aggregated per payment day
+ *
+ * Rows are only written through DailyRevenueRepository.addPaidOrder (atomic upsert inside the
+ * payment transaction), never through the entity, so concurrent payments cannot lose updates.
+ */
+@Entity
+@Table(name = "daily_revenue")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenue {
+
+    @Id
+    @Column(name = "revenue_date")
+    private LocalDate revenueDate;
+
+    @Column(name = "total_revenue", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalRevenue;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
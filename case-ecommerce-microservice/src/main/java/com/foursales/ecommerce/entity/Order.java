@@ -3,6 +3,7 @@ package com.foursales.ecommerce.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.foursales.ecommerce.enums.OrderStatus;
+import com.foursales.ecommerce.util.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -106,22 +107,30 @@ public class Order {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // O(1) per item: the running total is adjusted instead of re-summing every item
     public void addItem(OrderItem item) {
         items.add(item);
         item.setOrder(this);
-        recalculateTotal();
+        this.totalValue = currentTotal().plus(item.subtotal()).toBigDecimal();
     }
 
     public void removeItem(OrderItem item) {
-        items.remove(item);
+        if (items.remove(item)) {
+            this.totalValue = currentTotal().minus(item.subtotal()).toBigDecimal();
+        }
         item.setOrder(null);
-        recalculateTotal();
     }
 
     public void recalculateTotal() {
-        this.totalValue = items.stream()
-                .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long cents = 0;
+        for (OrderItem item : items) {
+            cents = Math.addExact(cents, item.subtotal().cents());
+        }
+        this.totalValue = Money.toBigDecimal(cents);
+    }
+
+    private Money currentTotal() {
+        return totalValue != null ? Money.of(totalValue) : Money.ZERO;
     }
 
     public void markAsPaid() {
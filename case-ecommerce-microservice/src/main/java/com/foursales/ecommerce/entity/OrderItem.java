@@ -1,7 +1,7 @@
 package com.foursales.ecommerce.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.foursales.ecommerce.constant.AppConstants;
+import com.foursales.ecommerce.util.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -53,8 +53,10 @@ public class OrderItem {
     }
 
     public BigDecimal getSubtotal() {
-        return unitPrice
-            .multiply(BigDecimal.valueOf(quantity))
-            .setScale(AppConstants.DECIMAL_SCALE, AppConstants.DEFAULT_ROUNDING_MODE);
+        return subtotal().toBigDecimal();
+    }
+
+    public Money subtotal() {
+        return Money.of(unitPrice).times(quantity);
     }
 }
\ No newline at end of file
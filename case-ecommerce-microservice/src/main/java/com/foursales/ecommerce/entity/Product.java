@@ -14,6 +14,8 @@ import org.springframework.data.elasticsearch.annotations.DateFormat;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -32,6 +34,7 @@ public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     @org.springframework.data.annotation.Id
+    @Field(type = FieldType.Keyword)
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     @Schema(description = "Unique product identifier", example = "123e4567-e89b-12d3-a456-426614174000", accessMode = Schema.AccessMode.READ_ONLY)
     private UUID id;
@@ -39,7 +42,9 @@ public class Product {
     @NotBlank(message = "Product name is required")
     @Size(min = 2, max = 100)
     @Column(name = "name", nullable = false)
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = "suggest", type = FieldType.Search_As_You_Type))
     @Schema(description = "Product name", example = "Dell Inspiron 15 Notebook", minLength = 2, maxLength = 100, requiredMode = Schema.RequiredMode.REQUIRED)
     private String name;
 
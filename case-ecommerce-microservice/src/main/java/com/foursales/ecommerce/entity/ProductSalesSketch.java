@@ -0,0 +1,49 @@
+package com.foursales.ecommerce.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Units sold per product and payment hour
+ *
+ * Written only by the consumer, which adds its bounded per-hour counters on every flush (and
+ * early, when an hour's counters are full); read-only here
+ */
+@Entity
+@Table(name = "product_sales_sketch")
+@IdClass(ProductSalesSketch.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesSketch {
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "product_id")
+    private UUID productId;
+
+    @Column(name = "units", nullable = false)
+    private Long units;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDateTime bucketStart;
+        private UUID productId;
+    }
+}
@@ -0,0 +1,54 @@
+package com.foursales.ecommerce.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Per-user order statistics, maintained by UserOrderStatsRepository upserts when an order is
+ * created or paid (same transaction). Read-only through JPA.
+ *
+ * order_count / total_order_value / average_ticket cover every order, as the original
+ * top-users and average-ticket reports did; paid_* only orders with status PAGO.
+ */
+@Entity
+@Table(name = "user_order_stats")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserOrderStats {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(name = "total_order_value", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalOrderValue;
+
+    @Column(name = "paid_order_count", nullable = false)
+    private Long paidOrderCount;
+
+    @Column(name = "paid_revenue", nullable = false, precision = 15, scale = 2)
+    private BigDecimal paidRevenue;
+
+    // Stored generated column (total_order_value / order_count), indexed for sorting
+    @Column(name = "average_ticket", precision = 15, scale = 2, insertable = false, updatable = false)
+    private BigDecimal averageTicket;
+
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,9 @@
+package com.foursales.ecommerce.enums;
+
+/**
+ * Grouping of a distinct-buyer sketch row: the whole day (empty key) or one product category
+ */
+public enum BuyerSketchDimension {
+    ALL,
+    CATEGORY
+}
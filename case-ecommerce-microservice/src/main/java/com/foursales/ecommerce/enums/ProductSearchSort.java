@@ -0,0 +1,30 @@
+package com.foursales.ecommerce.enums;
+
+import com.foursales.ecommerce.exception.BusinessException;
+
+public enum ProductSearchSort {
+    RELEVANCE("relevance"),
+    PRICE_ASC("price_asc"),
+    PRICE_DESC("price_desc"),
+    NEWEST("newest");
+
+    private final String value;
+
+    ProductSearchSort(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static ProductSearchSort fromValue(String value) {
+        for (ProductSearchSort sort : values()) {
+            if (sort.value.equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new BusinessException("Unsupported search sort: " + value
+                + " (use relevance, price_asc, price_desc or newest)");
+    }
+}
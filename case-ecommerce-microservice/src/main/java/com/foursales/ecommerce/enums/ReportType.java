@@ -0,0 +1,29 @@
+package com.foursales.ecommerce.enums;
+
+import com.foursales.ecommerce.exception.BusinessException;
+
+public enum ReportType {
+    TOP_USERS("top_users"),
+    AVERAGE_TICKET("average_ticket"),
+    REVENUE("revenue");
+
+    private final String value;
+
+    ReportType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static ReportType fromValue(String value) {
+        for (ReportType type : values()) {
+            if (type.value.equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new BusinessException("Unsupported report type: " + value
+                + " (use top_users, average_ticket or revenue)");
+    }
+}
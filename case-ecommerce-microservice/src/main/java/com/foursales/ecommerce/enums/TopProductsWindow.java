@@ -0,0 +1,38 @@
+package com.foursales.ecommerce.enums;
+
+import com.foursales.ecommerce.exception.BusinessException;
+
+import java.time.Duration;
+
+public enum TopProductsWindow {
+    HOUR("hour", Duration.ofHours(1)),
+    DAY("day", Duration.ofDays(1)),
+    WEEK("week", Duration.ofDays(7)),
+    MONTH("month", Duration.ofDays(30));
+
+    private final String value;
+    private final Duration length;
+
+    TopProductsWindow(String value, Duration length) {
+        this.value = value;
+        this.length = length;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public static TopProductsWindow fromValue(String value) {
+        for (TopProductsWindow window : values()) {
+            if (window.value.equalsIgnoreCase(value)) {
+                return window;
+            }
+        }
+        throw new BusinessException("Unsupported top products window: " + value
+                + " (use hour, day, week or month)");
+    }
+}
@@ -0,0 +1,39 @@
+package com.foursales.ecommerce.enums;
+
+import com.foursales.ecommerce.exception.BusinessException;
+
+public enum UserStatsSort {
+    ORDER_COUNT("order_count", "orderCount"),
+    REVENUE("revenue", "paidRevenue"),
+    AVERAGE_TICKET("average_ticket", "averageTicket"),
+    LAST_ORDER("last_order", "lastOrderAt");
+
+    private final String value;
+    private final String property;
+
+    UserStatsSort(String value, String property) {
+        this.value = value;
+        this.property = property;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * UserOrderStats property backing this sort (each one has an index with user_id)
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    public static UserStatsSort fromValue(String value) {
+        for (UserStatsSort sort : values()) {
+            if (sort.value.equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new BusinessException("Unsupported user stats sort: " + value
+                + " (use order_count, revenue, average_ticket or last_order)");
+    }
+}
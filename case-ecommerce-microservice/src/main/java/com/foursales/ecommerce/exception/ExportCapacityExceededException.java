@@ -0,0 +1,12 @@
+package com.foursales.ecommerce.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ExportCapacityExceededException extends RuntimeException {
+
+    public ExportCapacityExceededException(String message) {
+        super(message);
+    }
+}
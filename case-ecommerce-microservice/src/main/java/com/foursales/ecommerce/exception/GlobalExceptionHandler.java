@@ -64,6 +64,38 @@ public class GlobalExceptionHandler {
                 return ResponseEntity.status(HttpStatus.LOCKED).body(error);
         }
 
+        @ExceptionHandler(ReportQueueFullException.class)
+        public ResponseEntity<ApiErrorResponse> handleReportQueueFullException(
+                        ReportQueueFullException ex,
+                        HttpServletRequest request) {
+
+                ApiErrorResponse error = errorResponseBuilder.buildErrorResponse(
+                                ex,
+                                HttpStatus.SERVICE_UNAVAILABLE,
+                                "Report queue full",
+                                request.getRequestURI());
+
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header("Retry-After", "30")
+                                .body(error);
+        }
+
+        @ExceptionHandler(ExportCapacityExceededException.class)
+        public ResponseEntity<ApiErrorResponse> handleExportCapacityExceededException(
+                        ExportCapacityExceededException ex,
+                        HttpServletRequest request) {
+
+                ApiErrorResponse error = errorResponseBuilder.buildErrorResponse(
+                                ex,
+                                HttpStatus.SERVICE_UNAVAILABLE,
+                                "Too many exports",
+                                request.getRequestURI());
+
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header("Retry-After", "60")
+                                .body(error);
+        }
+
         @ExceptionHandler(MethodArgumentNotValidException.class)
         public ResponseEntity<ApiErrorResponse> handleValidationException(
                         MethodArgumentNotValidException ex,
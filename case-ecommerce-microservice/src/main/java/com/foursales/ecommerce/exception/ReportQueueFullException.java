@@ -0,0 +1,16 @@
+package com.foursales.ecommerce.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ReportQueueFullException extends RuntimeException {
+
+    public ReportQueueFullException(String message) {
+        super(message);
+    }
+
+    public ReportQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -106,9 +106,12 @@ public class OutboxService {
      * Gets unpublished events ready for publishing
      * Limited to 100 events per batch to avoid overwhelming Kafka
      *
+     * Not read-only on purpose: it must run on the primary, a lagging replica would return
+     * events already marked as published and they would be sent twice
+     *
      * @return List of unpublished events
      */
-    @Transactional(readOnly = true)
+    @Transactional
     public List<OutboxEvent> getUnpublishedEvents() {
         return outboxEventRepository.findTop100ByPublishedFalseOrderByCreatedAtAsc();
     }
@@ -68,7 +68,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
     private String resolveClientKey(HttpServletRequest request, RateLimitType rateLimitType) {
         return switch (rateLimitType) {
             case AUTH, PUBLIC, SEARCH -> keyResolver.resolveIpKey(request);
-            case USER, ADMIN, REPORT -> {
+            case USER, ADMIN, REPORT, EXPORT -> {
                 String userKey = keyResolver.resolveUserKey(request);
                 yield userKey != null ? userKey : keyResolver.resolveIpKey(request);
             }
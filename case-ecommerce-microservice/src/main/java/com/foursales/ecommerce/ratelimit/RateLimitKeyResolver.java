@@ -108,6 +108,11 @@ public class RateLimitKeyResolver {
             return RateLimitType.AUTH;
         } else if (requestPath.startsWith("/api/v1/reports/")) {
             return RateLimitType.REPORT;
+        } else if (requestPath.startsWith("/api/v1/report-jobs")) {
+            // Polling and downloads of async reports: cheap, deduplicated, bounded by the job executor
+            return RateLimitType.ADMIN;
+        } else if (requestPath.startsWith("/api/v1/products/export")) {
+            return RateLimitType.EXPORT;
         } else if (requestPath.contains("/search")) {
             return RateLimitType.SEARCH;
         } else if (requestPath.startsWith("/api/v1/products") && isAdminOperation(requestPath)) {
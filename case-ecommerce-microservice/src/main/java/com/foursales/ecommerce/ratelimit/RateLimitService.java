@@ -1,5 +1,7 @@
 package com.foursales.ecommerce.ratelimit;
 
+import com.foursales.ecommerce.cache.CacheInvalidationBus;
+import com.foursales.ecommerce.cache.InvalidatableCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import io.github.bucket4j.Bucket;
@@ -11,14 +13,19 @@ import java.time.Duration;
 /**
  * Service responsible for managing rate limit buckets
  * Uses Caffeine cache to store buckets per client key
+ * Buckets are per node; admin resets are propagated to every node through CacheInvalidationBus
  */
 @Service
 @Slf4j
-public class RateLimitService {
+public class RateLimitService implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "rate-limit-buckets";
 
     private final LoadingCache<String, Bucket> buckets;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
-    public RateLimitService() {
+    public RateLimitService(CacheInvalidationBus cacheInvalidationBus) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
         this.buckets = Caffeine.newBuilder()
                 .maximumSize(100_000) // Max 100k concurrent clients
                 .expireAfterAccess(Duration.ofMinutes(10)) // Remove inactive buckets after 10 minutes
@@ -87,6 +94,7 @@ public class RateLimitService {
      */
     public void clearAllBuckets() {
         buckets.invalidateAll();
+        cacheInvalidationBus.publish(CACHE_NAME, ALL_ENTRIES);
         log.info("All rate limit buckets cleared");
     }
 
@@ -109,6 +117,7 @@ public class RateLimitService {
      */
     public void clearBucket(String key) {
         buckets.invalidate(key);
+        cacheInvalidationBus.publish(CACHE_NAME, key);
         log.info("Rate limit bucket cleared for key: {}", key);
     }
 
@@ -126,4 +135,18 @@ public class RateLimitService {
                 "key", key,
                 "availableTokens", bucket.getAvailableTokens());
     }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void evictLocal(String key) {
+        if (ALL_ENTRIES.equals(key)) {
+            buckets.invalidateAll();
+        } else {
+            buckets.invalidate(key);
+        }
+    }
 }
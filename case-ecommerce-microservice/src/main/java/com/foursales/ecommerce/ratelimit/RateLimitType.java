@@ -43,7 +43,13 @@ public enum RateLimitType {
      * Report endpoints (database-intensive queries)
      * Limit: 10 requests per minute per user
      */
-    REPORT(10, Duration.ofMinutes(1));
+    REPORT(10, Duration.ofMinutes(1)),
+
+    /**
+     * Catalogue export (whole catalogue per request)
+     * Limit: 3 requests per 10 minutes per user
+     */
+    EXPORT(3, Duration.ofMinutes(10));
 
     private final int capacity;
     private final Duration refillDuration;
@@ -0,0 +1,75 @@
+package com.foursales.ecommerce.report;
+
+import com.foursales.ecommerce.dto.ReportJobStatus;
+import com.foursales.ecommerce.enums.ReportType;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * State of one asynchronous report run. Written only by the executor thread running it,
+ * read by request threads, hence the volatile fields.
+ */
+@Getter
+public class ReportJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final ReportType type;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile List<?> rows;
+    private volatile String errorMessage;
+
+    public ReportJob(ReportType type, LocalDateTime startDate, LocalDateTime endDate) {
+        this.type = type;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    void markRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = Status.RUNNING;
+    }
+
+    void complete(List<?> result) {
+        this.rows = List.copyOf(result);
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        this.errorMessage = message;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+
+    public ReportJobStatus toStatus() {
+        return ReportJobStatus.builder()
+                .jobId(id)
+                .type(type.getValue())
+                .status(status.name())
+                .startDate(startDate)
+                .endDate(endDate)
+                .rowCount(rows != null ? rows.size() : null)
+                .createdAt(createdAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .errorMessage(errorMessage)
+                .build();
+    }
+}
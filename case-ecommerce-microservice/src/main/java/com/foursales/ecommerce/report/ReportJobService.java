@@ -0,0 +1,203 @@
+package com.foursales.ecommerce.report;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foursales.ecommerce.enums.ExportFormat;
+import com.foursales.ecommerce.enums.ReportType;
+import com.foursales.ecommerce.exception.BusinessException;
+import com.foursales.ecommerce.exception.ReportQueueFullException;
+import com.foursales.ecommerce.exception.ResourceNotFoundException;
+import com.foursales.ecommerce.service.IReportService;
+import com.foursales.ecommerce.util.CsvUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Asynchronous admin reports
+ *
+ * - Jobs run on the bounded reportJobExecutor inside a read-only transaction, off the request threads
+ * - Jobs are keyed by (type, startDate, endDate): a submission while an identical job is queued,
+ *   running or completed (within the result TTL) returns that job instead of running the query again
+ * - Results are kept in memory, bounded by total row count, and streamed as NDJSON or CSV on download.
+ *   Jobs (and their rows) live only in the weighed cache; the id index holds just the key, so an
+ *   evicted result is really released and its id answers 404
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> ROW_TYPE = new TypeReference<>() {
+    };
+
+    private final IReportService reportService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor reportJobExecutor;
+    private final Cache<JobKey, ReportJob> jobsByKey;
+    private final Cache<UUID, JobKey> keysById;
+
+    public ReportJobService(
+            IReportService reportService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("reportJobExecutor") TaskExecutor reportJobExecutor,
+            @Value("${app.reports.jobs.result-ttl-seconds:600}") long resultTtlSeconds,
+            @Value("${app.reports.jobs.max-cached-rows:500000}") long maxCachedRows) {
+        this.reportService = reportService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.reportJobExecutor = reportJobExecutor;
+        // Weighed by rows so a few huge results cannot exhaust the heap; +1 so pending jobs count too
+        this.jobsByKey = Caffeine.newBuilder()
+                .maximumWeight(maxCachedRows)
+                .weigher((JobKey key, ReportJob job) -> 1 + (job.getRows() != null ? job.getRows().size() : 0))
+                .expireAfterWrite(Duration.ofSeconds(resultTtlSeconds))
+                .build();
+        this.keysById = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(resultTtlSeconds))
+                .build();
+    }
+
+    public ReportJob submit(ReportType type, LocalDateTime startDate, LocalDateTime endDate) {
+        JobKey key = new JobKey(type, startDate, endDate);
+        ReportJob[] created = new ReportJob[1];
+
+        ReportJob job = jobsByKey.asMap().compute(key, (k, existing) -> {
+            if (existing != null && existing.getStatus() != ReportJob.Status.FAILED) {
+                return existing;
+            }
+            created[0] = new ReportJob(type, startDate, endDate);
+            return created[0];
+        });
+
+        if (created[0] == null) {
+            log.debug("Report job {} reused for {}", job.getId(), key);
+            return job;
+        }
+
+        keysById.put(job.getId(), key);
+        try {
+            reportJobExecutor.execute(() -> run(key, job));
+        } catch (TaskRejectedException e) {
+            jobsByKey.asMap().remove(key, job);
+            keysById.invalidate(job.getId());
+            throw new ReportQueueFullException("Too many reports in progress, retry later", e);
+        }
+        log.info("Report job {} queued for {}", job.getId(), key);
+        return job;
+    }
+
+    public ReportJob getJob(UUID jobId) {
+        JobKey key = keysById.getIfPresent(jobId);
+        ReportJob job = key != null ? jobsByKey.getIfPresent(key) : null;
+        // A resubmitted failed job replaced this one under the same key
+        if (job == null || !job.getId().equals(jobId)) {
+            throw new ResourceNotFoundException("ReportJob", "id", jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Checked before the response starts streaming, so a job that is not ready gets a proper error
+     */
+    public ReportJob getCompletedJob(UUID jobId) {
+        ReportJob job = getJob(jobId);
+        if (!job.isCompleted()) {
+            throw new BusinessException("Report job " + jobId + " is not completed (status " + job.getStatus() + ")");
+        }
+        return job;
+    }
+
+    public void writeResult(ReportJob job, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        List<?> rows = job.getRows();
+
+        if (format == ExportFormat.CSV) {
+            writeCsv(writer, rows);
+        } else {
+            for (Object row : rows) {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private void run(JobKey key, ReportJob job) {
+        job.markRunning();
+        long start = System.nanoTime();
+        try {
+            List<?> rows = readOnlyTransaction.execute(status -> query(job));
+            job.complete(rows != null ? rows : List.of());
+            // Re-weigh with the final row count and restart the result TTL
+            jobsByKey.asMap().replace(key, job, job);
+            keysById.put(job.getId(), key);
+            log.info("Report job {} completed: {} rows in {} ms", job.getId(), job.getRows().size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Report job {} failed: {}", job.getId(), e.getMessage(), e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    // Runs pending evictions now; Caffeine otherwise does it asynchronously
+    void cleanUp() {
+        jobsByKey.cleanUp();
+        keysById.cleanUp();
+    }
+
+    private List<?> query(ReportJob job) {
+        return switch (job.getType()) {
+            case TOP_USERS -> reportService.getTopUsers(job.getStartDate(), job.getEndDate());
+            case AVERAGE_TICKET -> reportService.getAverageTicketByUser(job.getStartDate(), job.getEndDate());
+            case REVENUE -> reportService.getRevenue(job.getStartDate(), job.getEndDate()).getDays();
+        };
+    }
+
+    private void writeCsv(Writer writer, List<?> rows) throws IOException {
+        boolean header = true;
+        for (Object row : rows) {
+            Map<String, Object> fields = objectMapper.convertValue(row, ROW_TYPE);
+            if (header) {
+                writer.write(String.join(",", fields.keySet().stream().map(CsvUtils::escape).toList()));
+                writer.write('\n');
+                header = false;
+            }
+            boolean first = true;
+            for (Object value : fields.values()) {
+                if (!first) {
+                    writer.write(',');
+                }
+                writer.write(CsvUtils.escape(value));
+                first = false;
+            }
+            writer.write('\n');
+        }
+    }
+
+    private record JobKey(ReportType type, LocalDateTime startDate, LocalDateTime endDate) {
+    }
+}
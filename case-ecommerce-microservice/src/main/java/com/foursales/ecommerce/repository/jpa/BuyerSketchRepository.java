@@ -0,0 +1,42 @@
+package com.foursales.ecommerce.repository.jpa;
+
+import com.foursales.ecommerce.entity.BuyerSketch;
+import com.foursales.ecommerce.enums.BuyerSketchDimension;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BuyerSketchRepository extends JpaRepository<BuyerSketch, BuyerSketch.Key> {
+
+    /**
+     * Row lock for the read-merge-write of a flush
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BuyerSketch s " +
+            "WHERE s.sketchDate = :date AND s.dimension = :dimension AND s.dimensionKey = :key")
+    Optional<BuyerSketch> findForUpdate(@Param("date") LocalDate date,
+            @Param("dimension") BuyerSketchDimension dimension, @Param("key") String key);
+
+    /**
+     * Primary key range scan (dimension, sketch_date): one row per day and key in the range,
+     * days without payments are absent
+     */
+    @Query("SELECT s FROM BuyerSketch s " +
+            "WHERE s.dimension = :dimension AND s.sketchDate BETWEEN :startDate AND :endDate")
+    List<BuyerSketch> findByRange(@Param("dimension") BuyerSketchDimension dimension,
+            @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT s FROM BuyerSketch s " +
+            "WHERE s.dimension = :dimension AND s.dimensionKey = :key " +
+            "AND s.sketchDate BETWEEN :startDate AND :endDate")
+    List<BuyerSketch> findByRangeAndKey(@Param("dimension") BuyerSketchDimension dimension,
+            @Param("key") String key, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,36 @@
+package com.foursales.ecommerce.repository.jpa;
+
+import com.foursales.ecommerce.entity.DailyRevenue;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, LocalDate> {
+
+    /**
+     * Adds one paid order to its day. Single-statement upsert: the row lock is taken by
+     * INSERT ... ON DUPLICATE KEY UPDATE itself, no read-modify-write in the application.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue (revenue_date, total_revenue, order_count, updated_at) " +
+            "VALUES (:revenueDate, :amount, 1, CURRENT_TIMESTAMP(6)) " +
+            "ON DUPLICATE KEY UPDATE total_revenue = total_revenue + :amount, " +
+            "order_count = order_count + 1, updated_at = CURRENT_TIMESTAMP(6)",
+            nativeQuery = true)
+    int addPaidOrder(@Param("revenueDate") LocalDate revenueDate, @Param("amount") BigDecimal amount);
+
+    /**
+     * Primary key range scan: at most one row per day in the range, days without sales are absent
+     */
+    @Query("SELECT d FROM DailyRevenue d " +
+            "WHERE d.revenueDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY d.revenueDate")
+    List<DailyRevenue> findByRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
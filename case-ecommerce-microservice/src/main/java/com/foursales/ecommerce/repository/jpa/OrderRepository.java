@@ -1,17 +1,23 @@
 package com.foursales.ecommerce.repository.jpa;
 
+import com.foursales.ecommerce.analytics.OrderFact;
 import com.foursales.ecommerce.entity.Order;
+import com.foursales.ecommerce.dto.RevenueTotals;
 import com.foursales.ecommerce.entity.User;
+import com.foursales.ecommerce.enums.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
@@ -31,17 +37,37 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
             "WHERE o.id = :id")
     Optional<Order> findByIdWithUser(@Param("id") UUID id);
 
-    @Query("SELECT SUM(o.totalValue) FROM Order o " +
-            "WHERE o.status = 'PAGO' " +
-            "AND YEAR(o.paymentDate) = YEAR(CURRENT_DATE) " +
-            "AND MONTH(o.paymentDate) = MONTH(CURRENT_DATE)")
-    BigDecimal findTotalRevenueCurrentMonth();
+    /**
+     * Version lookup for conditional GET: no join fetch, no entity hydration
+     */
+    @Query("SELECT o.updatedAt FROM Order o WHERE o.id = :id AND o.user = :user")
+    Optional<LocalDateTime> findUpdatedAtByIdAndUser(@Param("id") UUID id, @Param("user") User user);
 
-    @Query("SELECT COUNT(o) FROM Order o " +
-            "WHERE o.status = 'PAGO' " +
-            "AND YEAR(o.paymentDate) = YEAR(CURRENT_DATE) " +
-            "AND MONTH(o.paymentDate) = MONTH(CURRENT_DATE)")
-    Long countOrdersCurrentMonth();
+    /**
+     * Half-open range [start, endExclusive) on the raw column, so it is a range scan on
+     * idx_orders_status_payment_value (status, payment_date, total_value) that never reads the rows
+     */
+    @Query("SELECT new com.foursales.ecommerce.dto.RevenueTotals(COALESCE(SUM(o.totalValue), 0), COUNT(o)) " +
+            "FROM Order o " +
+            "WHERE o.status = :status " +
+            "AND o.paymentDate >= :start " +
+            "AND o.paymentDate < :endExclusive")
+    RevenueTotals summarizeRevenue(@Param("status") OrderStatus status,
+            @Param("start") LocalDateTime start,
+            @Param("endExclusive") LocalDateTime endExclusive);
+
+    /**
+     * Analytics store bootstrap: streamed (MySQL cursor) as scalar tuples, no entity hydration.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.foursales.ecommerce.analytics.OrderFact(" +
+            "o.id, o.user.id, o.totalValue, o.createdAt, o.status, o.paymentDate) FROM Order o")
+    Stream<OrderFact> streamOrderFacts();
 
     @Query("""
             SELECT new com.foursales.ecommerce.dto.UserAverageTicketResponse(
@@ -1,13 +1,18 @@
 package com.foursales.ecommerce.repository.jpa;
 
+import com.foursales.ecommerce.dto.ProductVersion;
 import com.foursales.ecommerce.entity.Product;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,12 +20,75 @@ import java.util.UUID;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, UUID> {
 
-    List<Product> findByCategory(String category);
+    /**
+     * DEGRADED SEARCH (Elasticsearch circuit open): FULLTEXT relevance search combined with the
+     * category / price / stock filters, capped by limit
+     *
+     * @param query boolean-mode expression, see FullTextQueryUtils
+     */
+    @Query(value = """
+            SELECT * FROM products p
+            WHERE MATCH(p.name, p.description) AGAINST (:query IN BOOLEAN MODE)
+              AND (:category IS NULL OR p.category = :category)
+              AND (:priceMin IS NULL OR p.price >= :priceMin)
+              AND (:priceMax IS NULL OR p.price <= :priceMax)
+              AND p.stock_quantity > 0
+            ORDER BY MATCH(p.name, p.description) AGAINST (:query IN BOOLEAN MODE) DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Product> searchFullTextFallback(@Param("query") String query, @Param("category") String category,
+            @Param("priceMin") BigDecimal priceMin, @Param("priceMax") BigDecimal priceMax,
+            @Param("limit") int limit);
 
-    @Query("SELECT p FROM Product p WHERE p.stockQuantity > 0")
-    List<Product> findAllInStock();
+    /**
+     * DEGRADED SEARCH without text: served by idx_products_category_price_stock /
+     * idx_products_price_stock, newest first, capped by limit
+     */
+    @Query(value = """
+            SELECT * FROM products p
+            WHERE (:category IS NULL OR p.category = :category)
+              AND (:priceMin IS NULL OR p.price >= :priceMin)
+              AND (:priceMax IS NULL OR p.price <= :priceMax)
+              AND p.stock_quantity > 0
+            ORDER BY p.created_at DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Product> searchFilteredFallback(@Param("category") String category,
+            @Param("priceMin") BigDecimal priceMin, @Param("priceMax") BigDecimal priceMax,
+            @Param("limit") int limit);
 
-    List<Product> findByNameContainingIgnoreCase(String name);
+    /**
+     * Offset listing without the COUNT(*) query: fetches size + 1 rows to know if there is a next page
+     */
+    Slice<Product> findAllBy(Pageable pageable);
+
+    /**
+     * KEYSET PAGINATION: ORDER BY created_at DESC, id ASC follows idx_products_created_at
+     * (created_at DESC + the PK InnoDB appends to every secondary index), so a page is a
+     * range read of size + 1 index entries regardless of depth. Pageable only carries the limit.
+     */
+    @Query("SELECT p FROM Product p ORDER BY p.createdAt DESC, p.id ASC")
+    List<Product> findFirstKeysetPage(Pageable pageable);
+
+    @Query("SELECT p FROM Product p " +
+            "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id > :id) " +
+            "ORDER BY p.createdAt DESC, p.id ASC")
+    List<Product> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id,
+            Pageable pageable);
+
+    /**
+     * EXPORT PAGES: keyset seek on the PK, so every page costs the same however deep the export is
+     * and each one can run in its own short transaction
+     */
+    @Query("SELECT p FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Product> findExportPageAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * PK lookup of stock + updatedAt only, used to refresh the short-lived overlay of ProductCache
+     */
+    @Query("SELECT new com.foursales.ecommerce.dto.ProductVersion(p.stockQuantity, p.updatedAt) " +
+            "FROM Product p WHERE p.id = :id")
+    Optional<ProductVersion> findVersionById(@Param("id") UUID id);
 
     /**
      * PESSIMISTIC LOCKING: Prevents race condition in stock reduction
@@ -0,0 +1,31 @@
+package com.foursales.ecommerce.repository.jpa;
+
+import com.foursales.ecommerce.dto.TopProductResponse;
+import com.foursales.ecommerce.entity.ProductSalesSketch;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductSalesSketchRepository extends JpaRepository<ProductSalesSketch, ProductSalesSketch.Key> {
+
+    /**
+     * Primary key range scan over the hourly rows since `since`: one row per product sold in each
+     * hour, instead of a GROUP BY over order_items
+     */
+    @Query("""
+            SELECT new com.foursales.ecommerce.dto.TopProductResponse(
+                s.productId, p.name, SUM(s.units))
+            FROM ProductSalesSketch s
+            JOIN Product p ON p.id = s.productId
+            WHERE s.bucketStart >= :since
+            GROUP BY s.productId, p.name
+            ORDER BY SUM(s.units) DESC
+            """)
+    List<TopProductResponse> findTopProductsSince(@Param("since") LocalDateTime since, Pageable pageable);
+}
@@ -0,0 +1,81 @@
+package com.foursales.ecommerce.repository.jpa;
+
+import com.foursales.ecommerce.dto.TopUserResponse;
+import com.foursales.ecommerce.dto.UserAverageTicketResponse;
+import com.foursales.ecommerce.dto.UserOrderStatsResponse;
+import com.foursales.ecommerce.entity.UserOrderStats;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserOrderStatsRepository extends JpaRepository<UserOrderStats, UUID> {
+
+    /**
+     * Single-statement upsert (no read-modify-write): counts a new order of any status
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_order_stats (user_id, order_count, total_order_value, paid_order_count, " +
+            "paid_revenue, last_order_at, updated_at) " +
+            "VALUES (:userId, 1, :amount, 0, 0, :createdAt, CURRENT_TIMESTAMP(6)) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + 1, " +
+            "total_order_value = total_order_value + :amount, " +
+            "last_order_at = GREATEST(COALESCE(last_order_at, :createdAt), :createdAt), " +
+            "updated_at = CURRENT_TIMESTAMP(6)",
+            nativeQuery = true)
+    int recordOrder(@Param("userId") UUID userId, @Param("amount") BigDecimal amount,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_order_stats (user_id, order_count, total_order_value, paid_order_count, " +
+            "paid_revenue, updated_at) " +
+            "VALUES (:userId, 0, 0, 1, :amount, CURRENT_TIMESTAMP(6)) " +
+            "ON DUPLICATE KEY UPDATE paid_order_count = paid_order_count + 1, " +
+            "paid_revenue = paid_revenue + :amount, " +
+            "updated_at = CURRENT_TIMESTAMP(6)",
+            nativeQuery = true)
+    int recordPayment(@Param("userId") UUID userId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Sort comes from the Pageable (UserStatsSort property + userId tiebreaker)
+     */
+    @Query(value = """
+            SELECT new com.foursales.ecommerce.dto.UserOrderStatsResponse(
+                       u.id, u.name, u.email, s.orderCount, s.paidOrderCount, s.paidRevenue,
+                       s.averageTicket, s.lastOrderAt
+                   )
+                   FROM UserOrderStats s JOIN User u ON u.id = s.userId
+                   """,
+            countQuery = "SELECT COUNT(s) FROM UserOrderStats s")
+    Page<UserOrderStatsResponse> findStats(Pageable pageable);
+
+    @Query("""
+            SELECT new com.foursales.ecommerce.dto.TopUserResponse(
+                       u.id, u.name, u.email, CAST(s.orderCount AS integer)
+                   )
+                   FROM UserOrderStats s JOIN User u ON u.id = s.userId
+                   WHERE s.orderCount > 0
+                   ORDER BY s.orderCount DESC, s.userId
+                   """)
+    List<TopUserResponse> findTopUsersByOrderCount(Pageable pageable);
+
+    /**
+     * All users, as the original report: users without orders have no stats row and get 0
+     */
+    @Query("""
+            SELECT new com.foursales.ecommerce.dto.UserAverageTicketResponse(
+                       u.id, u.name, u.email, COALESCE(s.averageTicket, 0)
+                   )
+                   FROM User u LEFT JOIN UserOrderStats s ON s.userId = u.id
+                   """)
+    List<UserAverageTicketResponse> findAverageTicketByAllUsers();
+}
@@ -28,7 +28,7 @@ public interface UserRepository extends JpaRepository<User, UUID> {
             WHERE (:startDate IS NULL OR o.createdAt >= :startDate)
             AND (:endDate IS NULL OR o.createdAt <= :endDate)
             GROUP BY u.id, u.name, u.email
-            ORDER BY COUNT(o) DESC
+            ORDER BY COUNT(o) DESC, u.id
             """)
     List<TopUserResponse> findTopUsersByOrderCountOptimized(
             @Param("startDate") LocalDateTime startDate,
@@ -5,7 +5,9 @@ import com.foursales.ecommerce.dto.OrderResponse;
 import com.foursales.ecommerce.dto.PaymentResponse;
 import com.foursales.ecommerce.entity.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface IOrderService {
@@ -14,6 +16,8 @@ public interface IOrderService {
 
     OrderResponse getOrderByIdForUser(UUID id, User user);
 
+    Optional<LocalDateTime> getOrderVersionForUser(UUID id, User user);
+
     List<OrderResponse> getOrdersByUser(User user);
 
     OrderResponse createOrder(User user, CreateOrderRequest request);
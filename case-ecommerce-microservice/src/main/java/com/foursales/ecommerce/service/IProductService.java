@@ -1,21 +1,33 @@
 package com.foursales.ecommerce.service;
 
+import com.foursales.ecommerce.dto.CursorPagedResponse;
 import com.foursales.ecommerce.dto.ProductRequest;
 import com.foursales.ecommerce.dto.ProductResponse;
+import com.foursales.ecommerce.dto.ProductSearchCriteria;
+import com.foursales.ecommerce.dto.ProductSearchResponse;
 import com.foursales.ecommerce.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface IProductService {
 
     Page<ProductResponse> getAllProductsPaginated(Pageable pageable);
 
+    Slice<ProductResponse> getAllProductsSlice(Pageable pageable);
+
+    CursorPagedResponse<ProductResponse> getProductsByCursor(String cursor, int size);
+
     ProductResponse getProductById(UUID id);
 
+    Optional<LocalDateTime> getProductVersion(UUID id);
+
     ProductResponse createProduct(ProductRequest request);
 
     ProductResponse updateProduct(UUID id, ProductRequest request);
@@ -24,5 +36,7 @@ public interface IProductService {
 
     List<ProductResponse> searchProducts(String name, String category, BigDecimal priceMin, BigDecimal priceMax);
 
+    ProductSearchResponse searchProductsPage(ProductSearchCriteria criteria);
+
     void syncProductToElasticsearch(Product product);
 }
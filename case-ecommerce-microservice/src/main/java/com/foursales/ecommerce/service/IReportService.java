@@ -1,9 +1,17 @@
 package com.foursales.ecommerce.service;
 
+import com.foursales.ecommerce.dto.DistinctBuyersResponse;
 import com.foursales.ecommerce.dto.MonthlyRevenueResponse;
+import com.foursales.ecommerce.dto.PagedResponse;
+import com.foursales.ecommerce.dto.RevenueReportResponse;
+import com.foursales.ecommerce.dto.TopProductResponse;
 import com.foursales.ecommerce.dto.TopUserResponse;
 import com.foursales.ecommerce.dto.UserAverageTicketResponse;
+import com.foursales.ecommerce.dto.UserOrderStatsResponse;
+import com.foursales.ecommerce.enums.TopProductsWindow;
+import com.foursales.ecommerce.enums.UserStatsSort;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -13,5 +21,15 @@ public interface IReportService {
 
     List<UserAverageTicketResponse> getAverageTicketByUser(LocalDateTime startDate, LocalDateTime endDate);
 
+    PagedResponse<UserOrderStatsResponse> getUserStats(int page, int size, UserStatsSort sort);
+
     MonthlyRevenueResponse getCurrentMonthRevenue();
+
+    RevenueReportResponse getRevenue(LocalDateTime start, LocalDateTime endExclusive);
+
+    List<TopProductResponse> getTopProducts(TopProductsWindow window, int limit);
+
+    DistinctBuyersResponse getDistinctBuyers(LocalDate startDate, LocalDate endDate, String category);
+
+    List<DistinctBuyersResponse> getDistinctBuyersByCategory(LocalDate startDate, LocalDate endDate);
 }
@@ -1,10 +1,19 @@
 package com.foursales.ecommerce.service;
 
+import com.foursales.ecommerce.cache.CacheInvalidationBus;
+import com.foursales.ecommerce.cache.InvalidatableCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -18,19 +27,41 @@ import java.util.concurrent.TimeUnit;
  * - Automatic unlock after timeout
  * - In-memory cache (Caffeine) for performance
  *
- * Note: For production with multiple instances, consider Redis for distributed
- * tracking
+ * Multiple instances: a successful login on a node that counted failures clears the counter
+ * on every node through CacheInvalidationBus. Failed attempts are still counted per node; for
+ * a shared counter consider Redis
+ *
+ * Counters are keyed by an HMAC-SHA256 of the login key under app.security.login-attempts.key-secret,
+ * and only that keyed hash is published: a plain digest of an email is reversed by hashing known
+ * addresses. Without a configured secret each node uses a random one and nothing is published,
+ * since other nodes could not match the key anyway
  */
 @Service
 @Slf4j
-public class LoginAttemptService {
+public class LoginAttemptService implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "login-attempts";
 
     private static final int MAX_ATTEMPTS = 5;
     private static final int LOCKOUT_DURATION_MINUTES = 30;
 
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
     private final Cache<String, Integer> attemptsCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final SecretKeySpec keySecret;
+    private final boolean sharedSecret;
 
-    public LoginAttemptService() {
+    public LoginAttemptService(
+            CacheInvalidationBus cacheInvalidationBus,
+            @Value("${app.security.login-attempts.key-secret:}") String keySecret) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.sharedSecret = !keySecret.isBlank();
+        byte[] secret = sharedSecret ? keySecret.getBytes(StandardCharsets.UTF_8) : randomSecret();
+        this.keySecret = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        if (!sharedSecret) {
+            log.warn("app.security.login-attempts.key-secret not set: login attempt resets stay on this instance");
+        }
         this.attemptsCache = Caffeine.newBuilder()
                 .expireAfterWrite(LOCKOUT_DURATION_MINUTES, TimeUnit.MINUTES)
                 .maximumSize(10000)
@@ -41,16 +72,22 @@ public class LoginAttemptService {
      * Called after successful login - clears failed attempts
      */
     public void loginSucceeded(String key) {
-        attemptsCache.invalidate(key);
-        log.debug(" Login succeeded for {}. Failed attempts cleared.", key);
+        String hashedKey = hashKey(key);
+        // Only logins that had failures here are published, not one record per login. Failures
+        // counted on other nodes alone expire there after the lockout duration
+        if (attemptsCache.asMap().remove(hashedKey) != null) {
+            if (sharedSecret) {
+                cacheInvalidationBus.publish(CACHE_NAME, hashedKey);
+            }
+            log.debug(" Login succeeded after failed attempts. Failed attempts cleared.");
+        }
     }
 
     /**
      * Called after failed login - increments failed attempts counter
      */
     public void loginFailed(String key) {
-        int attempts = attemptsCache.asMap().getOrDefault(key, 0) + 1;
-        attemptsCache.put(key, attempts);
+        int attempts = attemptsCache.asMap().merge(hashKey(key), 1, Integer::sum);
 
         log.warn(" Failed login attempt {} for {}", attempts, key);
 
@@ -65,14 +102,14 @@ public class LoginAttemptService {
      * Checks if account is currently locked due to too many failed attempts
      */
     public boolean isBlocked(String key) {
-        return attemptsCache.asMap().getOrDefault(key, 0) >= MAX_ATTEMPTS;
+        return getAttempts(key) >= MAX_ATTEMPTS;
     }
 
     /**
      * Returns number of failed attempts for given key
      */
     public int getAttempts(String key) {
-        return attemptsCache.asMap().getOrDefault(key, 0);
+        return attemptsCache.asMap().getOrDefault(hashKey(key), 0);
     }
 
     /**
@@ -89,4 +126,38 @@ public class LoginAttemptService {
     public int getLockoutDurationMinutes() {
         return LOCKOUT_DURATION_MINUTES;
     }
+
+    @Override
+    public String cacheName() {
+        return CACHE_NAME;
+    }
+
+    /**
+     * @param key hashed key published by loginSucceeded on another node, or ALL_ENTRIES
+     */
+    @Override
+    public void evictLocal(String key) {
+        if (ALL_ENTRIES.equals(key)) {
+            attemptsCache.invalidateAll();
+        } else {
+            attemptsCache.invalidate(key);
+        }
+    }
+
+    String hashKey(String key) {
+        try {
+            // Mac instances are not thread-safe and cheap to create
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(keySecret);
+            return HexFormat.of().formatHex(mac.doFinal(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " not available", e);
+        }
+    }
+
+    private static byte[] randomSecret() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
 }
@@ -1,6 +1,7 @@
 package com.foursales.ecommerce.service;
 
 import com.foursales.ecommerce.constant.AppConstants;
+import com.foursales.ecommerce.dashboard.OrderPaidEvent;
 import com.foursales.ecommerce.dto.CreateOrderRequest;
 import com.foursales.ecommerce.dto.OrderItemRequest;
 import com.foursales.ecommerce.dto.OrderResponse;
@@ -14,14 +15,18 @@ import com.foursales.ecommerce.exception.BusinessException;
 import com.foursales.ecommerce.exception.ResourceNotFoundException;
 import com.foursales.ecommerce.mapper.OrderMapper;
 import com.foursales.ecommerce.outbox.OutboxService;
+import com.foursales.ecommerce.repository.jpa.DailyRevenueRepository;
 import com.foursales.ecommerce.repository.jpa.OrderRepository;
 import com.foursales.ecommerce.repository.jpa.ProductRepository;
+import com.foursales.ecommerce.repository.jpa.UserOrderStatsRepository;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -36,6 +41,9 @@ public class OrderService implements IOrderService {
     private final ProductRepository productRepository;
     private final OrderMapper orderMapper;
     private final OutboxService outboxService;
+    private final DailyRevenueRepository dailyRevenueRepository;
+    private final UserOrderStatsRepository userOrderStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @CircuitBreaker(name = "mysql")
@@ -58,6 +66,12 @@ public class OrderService implements IOrderService {
         return orderMapper.toResponse(order);
     }
 
+    @Override
+    @CircuitBreaker(name = "mysql")
+    public Optional<LocalDateTime> getOrderVersionForUser(UUID id, User user) {
+        return orderRepository.findUpdatedAtByIdAndUser(id, user);
+    }
+
     @Override
     @CircuitBreaker(name = "mysql")
     public List<OrderResponse> getOrdersByUser(User user) {
@@ -112,6 +126,17 @@ public class OrderService implements IOrderService {
 
         Order savedOrder = orderRepository.save(order);
 
+        // USER STATS: every created order counts (cancelled included), same transaction as the insert
+        userOrderStatsRepository.recordOrder(user.getId(), savedOrder.getTotalValue(), savedOrder.getCreatedAt());
+
+        // OUTBOX PATTERN: feeds the analytics order store (top users / average ticket count every order)
+        outboxService.saveEvent(
+                "ORDER",
+                savedOrder.getId().toString(),
+                "ORDER_CREATED",
+                savedOrder,
+                AppConstants.TOPIC_ORDER_CREATED);
+
         if (request.getIdempotencyKey() != null) {
             log.info("Order created with idempotency key: {}", request.getIdempotencyKey());
         }
@@ -135,6 +160,9 @@ public class OrderService implements IOrderService {
         order.markAsPaid();
         Order paidOrder = orderRepository.save(order);
 
+        // ROLLUPS: Same transaction as the status change, so reports never count an unpaid order
+        userOrderStatsRepository.recordPayment(user.getId(), paidOrder.getTotalValue());
+
         // OUTBOX PATTERN: Ensures event delivery even if Kafka is down
         outboxService.saveEvent(
                 "ORDER",
@@ -143,6 +171,15 @@ public class OrderService implements IOrderService {
                 paidOrder,
                 AppConstants.TOPIC_ORDER_PAID);
 
+        // HOT SPOT: Every payment of the day updates the same daily_revenue row, and its lock is held
+        // until commit. Pending writes are flushed first so the upsert is the last statement and the
+        // row stays locked for as short a time as possible
+        orderRepository.flush();
+        dailyRevenueRepository.addPaidOrder(paidOrder.getPaymentDate().toLocalDate(), paidOrder.getTotalValue());
+
+        // DASHBOARD: Delivered to the sales window only after commit
+        eventPublisher.publishEvent(OrderPaidEvent.of(paidOrder));
+
         return new PaymentResponse(
                 paidOrder.getId(),
                 paidOrder.getStatus(),
@@ -0,0 +1,136 @@
+package com.foursales.ecommerce.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foursales.ecommerce.dto.ProductResponse;
+import com.foursales.ecommerce.enums.ExportFormat;
+import com.foursales.ecommerce.mapper.ProductMapper;
+import com.foursales.ecommerce.repository.jpa.ProductRepository;
+import com.foursales.ecommerce.util.CsvUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Catalogue export with constant memory
+ *
+ * - Rows are read in keyset pages on the PK, each page in its own short read-only transaction
+ *   (served by the replica when enabled), and written to the response before the next one is
+ *   read: no connection is held while the client downloads, whatever the catalogue size
+ * - At most app.export.max-concurrent exports run at once per instance; callers take a slot
+ *   with tryAcquireSlot() before streaming and give it back with releaseSlot()
+ */
+@Service
+@Slf4j
+public class ProductExportService {
+
+    private static final String CSV_HEADER = "id,name,description,price,category,stockQuantity,createdAt,updatedAt";
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore exportSlots;
+    private final int pageSize;
+
+    public ProductExportService(ProductRepository productRepository,
+            ProductMapper productMapper,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.export.max-concurrent:2}") int maxConcurrent,
+            @Value("${app.export.page-size:1000}") int pageSize) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.exportSlots = new Semaphore(Math.max(1, maxConcurrent));
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /**
+     * @return false when app.export.max-concurrent exports are already running
+     */
+    public boolean tryAcquireSlot() {
+        return exportSlots.tryAcquire();
+    }
+
+    public void releaseSlot() {
+        exportSlots.release();
+    }
+
+    /**
+     * Called from the StreamingResponseBody thread, outside any transaction
+     */
+    public long exportCatalog(ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        long count = 0;
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        PageRequest page = PageRequest.of(0, pageSize);
+        UUID cursor = MIN_UUID;
+        while (true) {
+            UUID afterId = cursor;
+            // Mapped inside the transaction: entities never outlive their page
+            List<ProductResponse> products = readOnlyTransaction.execute(status ->
+                    productRepository.findExportPageAfter(afterId, page).stream()
+                            .map(productMapper::toResponse)
+                            .toList());
+
+            for (ProductResponse product : products) {
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, product);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(product));
+                    writer.write('\n');
+                }
+            }
+            count += products.size();
+
+            if (products.size() < pageSize) {
+                break;
+            }
+            cursor = products.get(products.size() - 1).getId();
+        }
+
+        writer.flush();
+        log.info("Exported {} products as {}", count, format);
+        return count;
+    }
+
+    private void writeCsvLine(Writer writer, ProductResponse product) throws IOException {
+        writer.write(CsvUtils.escape(product.getId()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(product.getName()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(product.getDescription()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(product.getPrice() != null ? product.getPrice().toPlainString() : null));
+        writer.write(',');
+        writer.write(CsvUtils.escape(product.getCategory()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(product.getStockQuantity()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(product.getCreatedAt()));
+        writer.write(',');
+        writer.write(CsvUtils.escape(product.getUpdatedAt()));
+        writer.write('\n');
+    }
+}
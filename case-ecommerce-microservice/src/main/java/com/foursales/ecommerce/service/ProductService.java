@@ -1,29 +1,63 @@
 package com.foursales.ecommerce.service;
 
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.AggregationRange;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.json.JsonData;
+import com.foursales.ecommerce.cache.CacheInvalidationBus;
+import com.foursales.ecommerce.cache.ProductCache;
+import com.foursales.ecommerce.cache.SearchResultCache;
+import com.foursales.ecommerce.cache.SearchResultCache.SearchKey;
 import com.foursales.ecommerce.constant.AppConstants;
+import com.foursales.ecommerce.dto.CursorPagedResponse;
+import com.foursales.ecommerce.dto.FacetBucket;
 import com.foursales.ecommerce.dto.ProductRequest;
 import com.foursales.ecommerce.dto.ProductResponse;
+import com.foursales.ecommerce.dto.ProductSearchCriteria;
+import com.foursales.ecommerce.dto.ProductSearchFacets;
+import com.foursales.ecommerce.dto.ProductSearchResponse;
 import com.foursales.ecommerce.dto.ProductSyncEvent;
+import com.foursales.ecommerce.dto.ProductVersion;
 import com.foursales.ecommerce.entity.Product;
+import com.foursales.ecommerce.enums.ProductSearchSort;
+import com.foursales.ecommerce.exception.BusinessException;
 import com.foursales.ecommerce.exception.ResourceNotFoundException;
 import com.foursales.ecommerce.mapper.ProductMapper;
 import com.foursales.ecommerce.outbox.OutboxService;
 import com.foursales.ecommerce.repository.search.ProductElasticsearchRepository;
 import com.foursales.ecommerce.repository.jpa.ProductRepository;
+import com.foursales.ecommerce.util.FullTextQueryUtils;
+import com.foursales.ecommerce.util.KeysetCursor;
+import com.foursales.ecommerce.util.SearchAfterCursor;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.data.elasticsearch.core.query.SourceFilter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -32,11 +66,24 @@ import java.util.UUID;
 @Slf4j
 public class ProductService implements IProductService {
 
+    // _source filtering: only the fields mapped into ProductResponse (drops _class and anything added later)
+    private static final SourceFilter RESPONSE_SOURCE_FILTER = new FetchSourceFilter(
+            new String[] { "id", "name", "description", "price", "category", "stockQuantity", "createdAt",
+                    "updatedAt" },
+            null);
+
+    private static final String FACET_CATEGORIES = "categories";
+    private static final String FACET_PRICE_RANGES = "price_ranges";
+    private static final String FACET_VALUES = "values";
+
     private final ProductRepository productRepository;
     private final ProductElasticsearchRepository productSearchRepository;
     private final ProductMapper productMapper;
     private final OutboxService outboxService;
     private final ElasticsearchOperations elasticsearchOperations;
+    private final ProductCache productCache;
+    private final SearchResultCache searchResultCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     @Override
     public Page<ProductResponse> getAllProductsPaginated(Pageable pageable) {
@@ -45,10 +92,47 @@ public class ProductService implements IProductService {
     }
 
     @Override
+    public Slice<ProductResponse> getAllProductsSlice(Pageable pageable) {
+        return productRepository.findAllBy(pageable).map(productMapper::toResponse);
+    }
+
+    // KEYSET PAGINATION: cost independent of depth, no COUNT(*); size + 1 rows tell if there is a next page
+    @Override
+    public CursorPagedResponse<ProductResponse> getProductsByCursor(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Product> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = productRepository.findFirstKeysetPage(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = productRepository.findKeysetPageAfter(after.getCreatedAt(), after.getId(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Product> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Product last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new CursorPagedResponse<>(productMapper.toResponseList(page), pageSize, nextCursor, hasNext);
+    }
+
+    // READ-THROUGH CACHE: no surrounding transaction, so a cache hit never borrows a connection
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ProductResponse getProductById(UUID id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
-        return productMapper.toResponse(product);
+        return productCache.get(id, this::loadProduct, productRepository::findVersionById);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<LocalDateTime> getProductVersion(UUID id) {
+        return productCache.getVersion(id, productRepository::findVersionById)
+                .map(ProductVersion::getUpdatedAt);
     }
 
     @Override
@@ -64,8 +148,15 @@ public class ProductService implements IProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
 
+        String previousCategory = product.getCategory();
         productMapper.updateEntity(request, product);
         Product updatedProduct = productRepository.save(product);
+        productCache.evict(id);
+        if (!Objects.equals(previousCategory, updatedProduct.getCategory())) {
+            // product.sync only carries the new category; the old one is invalidated here
+            searchResultCache.evictCategory(previousCategory);
+            cacheInvalidationBus.publish(SearchResultCache.CACHE_NAME, previousCategory);
+        }
         saveProductSyncEventToOutbox(updatedProduct, "UPDATED");
         return productMapper.toResponse(updatedProduct);
     }
@@ -75,6 +166,7 @@ public class ProductService implements IProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
         productRepository.delete(product);
+        productCache.evict(id);
         saveProductSyncEventToOutbox(product, "DELETED");
     }
 
@@ -82,67 +174,108 @@ public class ProductService implements IProductService {
     @CircuitBreaker(name = "elasticsearch", fallbackMethod = "searchProductsFallback")
     public List<ProductResponse> searchProducts(String name, String category, BigDecimal priceMin,
             BigDecimal priceMax) {
-        NativeQuery query = NativeQuery.builder()
-                .withQuery(q -> q.bool(b -> {
-                    if (name != null && !name.trim().isEmpty()) {
-                        b.must(m -> m.match(match -> match
-                                .field("name")
-                                .query(name)
-                                .fuzziness("AUTO")));
-                    }
-
-                    if (category != null && !category.trim().isEmpty()) {
-                        b.filter(f -> f.term(t -> t
-                                .field("category")
-                                .value(category)));
-                    }
-
-                    if (priceMin != null && priceMax != null) {
-                        b.filter(f -> f.range(r -> r
-                                .field("price")
-                                .gte(co.elastic.clients.json.JsonData.of(priceMin))
-                                .lte(co.elastic.clients.json.JsonData.of(priceMax))));
-                    }
-
-                    b.filter(f -> f.range(r -> r
-                            .field("stockQuantity")
-                            .gt(co.elastic.clients.json.JsonData.of(0))));
-
-                    return b;
-                }))
-                .build();
+        return searchResultCache.get(SearchKey.of("list", name, category, priceMin, priceMax), () -> {
+            // Bounded: an unpaged NativeQuery asks Elasticsearch for up to 10k documents
+            NativeQuery query = NativeQuery.builder()
+                    .withQuery(buildSearchQuery(name, category, priceMin, priceMax))
+                    .withPageable(PageRequest.of(0, AppConstants.MAX_PAGE_SIZE))
+                    .withSourceFilter(RESPONSE_SOURCE_FILTER)
+                    .withTrackTotalHits(false)
+                    .build();
 
-        SearchHits<Product> searchHits = elasticsearchOperations.search(query, Product.class);
-        List<Product> products = searchHits.getSearchHits().stream()
-                .map(org.springframework.data.elasticsearch.core.SearchHit::getContent)
-                .toList();
+            SearchHits<Product> searchHits = elasticsearchOperations.search(query, Product.class);
+            List<Product> products = searchHits.getSearchHits().stream()
+                    .map(SearchHit::getContent)
+                    .toList();
 
-        return productMapper.toResponseList(products);
+            return productMapper.toResponseList(products);
+        });
     }
 
-    // MySQL fallback: Priority-based filtering (cannot combine filters like
-    // Elasticsearch)
+    /**
+     * SEARCH_AFTER PAGINATION: deep pages cost the same as the first one (no from + size window).
+     * Every sort ends with the id tiebreaker so the cursor is a unique position; one extra hit is
+     * fetched to know whether there is a next page without tracking total hits.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @CircuitBreaker(name = "elasticsearch", fallbackMethod = "searchProductsPageFallback")
+    public ProductSearchResponse searchProductsPage(ProductSearchCriteria criteria) {
+        if (criteria.getCursor() != null && !criteria.getCursor().isBlank()) {
+            return searchPage(criteria);
+        }
+
+        // Only first pages are cached: they take nearly all the traffic, deep pages would just churn the cache
+        int pageSize = Math.max(1, Math.min(criteria.getSize(), AppConstants.MAX_PAGE_SIZE));
+        String kind = "page:" + criteria.getSort() + ":" + pageSize + ":" + criteria.isFacets();
+        return searchResultCache.get(SearchKey.of(kind, criteria.getName(), criteria.getCategory(),
+                criteria.getPriceMin(), criteria.getPriceMax()), () -> searchPage(criteria));
+    }
+
+    private ProductSearchResponse searchPage(ProductSearchCriteria criteria) {
+        int pageSize = Math.max(1, Math.min(criteria.getSize(), AppConstants.MAX_PAGE_SIZE));
+        ProductSearchSort sort = criteria.getSort();
+
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withSort(searchSort(sort))
+                .withPageable(PageRequest.of(0, pageSize + 1))
+                .withSourceFilter(RESPONSE_SOURCE_FILTER)
+                .withTrackScores(sort == ProductSearchSort.RELEVANCE)
+                .withTrackTotalHits(false);
+
+        if (criteria.isFacets()) {
+            // Facet filters move to post_filter so each aggregation can leave its own filter out
+            Optional<Query> categoryFilter = categoryFilter(criteria.getCategory());
+            Optional<Query> priceFilter = priceFilter(criteria.getPriceMin(), criteria.getPriceMax());
+            builder.withQuery(buildSearchQuery(criteria.getName(), null, null, null))
+                    .withFilter(allOf(categoryFilter, priceFilter))
+                    .withAggregation(FACET_CATEGORIES, categoryFacet(priceFilter))
+                    .withAggregation(FACET_PRICE_RANGES, priceRangeFacet(categoryFilter));
+        } else {
+            builder.withQuery(buildSearchQuery(criteria.getName(), criteria.getCategory(),
+                    criteria.getPriceMin(), criteria.getPriceMax()));
+        }
+
+        if (criteria.getCursor() != null && !criteria.getCursor().isBlank()) {
+            builder.withSearchAfter(SearchAfterCursor.decode(criteria.getCursor(), sort));
+        }
+
+        SearchHits<Product> searchHits = elasticsearchOperations.search(builder.build(), Product.class);
+        List<SearchHit<Product>> hits = searchHits.getSearchHits();
+
+        boolean hasNext = hits.size() > pageSize;
+        List<SearchHit<Product>> page = hasNext ? hits.subList(0, pageSize) : hits;
+        String nextCursor = hasNext
+                ? SearchAfterCursor.encode(sort, page.get(page.size() - 1).getSortValues())
+                : null;
+
+        List<ProductResponse> content = productMapper.toResponseList(
+                page.stream().map(SearchHit::getContent).toList());
+        ProductSearchFacets facets = criteria.isFacets() ? readFacets(searchHits) : null;
+        return new ProductSearchResponse(content, pageSize, nextCursor, hasNext, facets);
+    }
+
+    // MySQL fallback: same filters as Elasticsearch, FULLTEXT instead of fuzzy match, hard row limit
     public List<ProductResponse> searchProductsFallback(String name, String category,
             BigDecimal priceMin, BigDecimal priceMax,
             Throwable throwable) {
         log.warn("Elasticsearch failed, using degraded MySQL fallback. Error: {}", throwable.getMessage());
+        return productMapper.toResponseList(
+                fallbackSearch(name, category, priceMin, priceMax, AppConstants.MAX_PAGE_SIZE));
+    }
 
-        List<Product> products;
-
-        if (name != null && !name.trim().isEmpty()) {
-            products = productRepository.findByNameContainingIgnoreCase(name);
-            log.warn("MySQL fallback: Using name filter only (category and price filters ignored)");
-        } else if (category != null && !category.trim().isEmpty()) {
-            products = productRepository.findByCategory(category);
-            log.warn("MySQL fallback: Using category filter only (price filter ignored)");
-        } else {
-            if (priceMin != null && priceMax != null) {
-                log.warn("MySQL fallback: Price range filter not supported, returning all in-stock products");
-            }
-            products = productRepository.findAllInStock();
+    // MySQL fallback for the paginated search: first page only (relevance or newest first), no cursor
+    public ProductSearchResponse searchProductsPageFallback(ProductSearchCriteria criteria, Throwable throwable) {
+        if (throwable instanceof BusinessException businessException) {
+            // Invalid cursor is a client error, not an Elasticsearch failure
+            throw businessException;
         }
-
-        return productMapper.toResponseList(products);
+        int pageSize = Math.max(1, Math.min(criteria.getSize(), AppConstants.MAX_PAGE_SIZE));
+        log.warn("Elasticsearch failed, using degraded MySQL fallback. Error: {}", throwable.getMessage());
+        List<ProductResponse> page = productMapper.toResponseList(fallbackSearch(criteria.getName(),
+                criteria.getCategory(), criteria.getPriceMin(), criteria.getPriceMax(), pageSize));
+        ProductSearchFacets facets = criteria.isFacets() ? new ProductSearchFacets(List.of(), List.of()) : null;
+        return new ProductSearchResponse(page, pageSize, null, false, facets);
     }
 
     @Override
@@ -150,6 +283,155 @@ public class ProductService implements IProductService {
         productSearchRepository.save(product);
     }
 
+    private List<Product> fallbackSearch(String name, String category, BigDecimal priceMin, BigDecimal priceMax,
+            int limit) {
+        String normalizedCategory = category != null && !category.trim().isEmpty() ? category : null;
+        // Same semantics as the Elasticsearch query: the price range only applies with both bounds
+        BigDecimal min = priceMin != null && priceMax != null ? priceMin : null;
+        BigDecimal max = priceMin != null && priceMax != null ? priceMax : null;
+
+        String fullTextQuery = FullTextQueryUtils.toPrefixBooleanQuery(name);
+        if (fullTextQuery != null) {
+            return productRepository.searchFullTextFallback(fullTextQuery, normalizedCategory, min, max, limit);
+        }
+        return productRepository.searchFilteredFallback(normalizedCategory, min, max, limit);
+    }
+
+    private static Query buildSearchQuery(String name, String category, BigDecimal priceMin, BigDecimal priceMax) {
+        return Query.of(q -> q.bool(b -> {
+            if (name != null && !name.trim().isEmpty()) {
+                b.must(m -> m.match(match -> match
+                        .field("name")
+                        .query(name)
+                        .fuzziness("AUTO")));
+            }
+
+            categoryFilter(category).ifPresent(b::filter);
+            priceFilter(priceMin, priceMax).ifPresent(b::filter);
+
+            b.filter(f -> f.range(r -> r
+                    .field("stockQuantity")
+                    .gt(JsonData.of(0))));
+
+            return b;
+        }));
+    }
+
+    private static Optional<Query> categoryFilter(String category) {
+        if (category == null || category.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(Query.of(f -> f.term(t -> t
+                .field("category")
+                .value(category))));
+    }
+
+    private static Optional<Query> priceFilter(BigDecimal priceMin, BigDecimal priceMax) {
+        if (priceMin == null || priceMax == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Query.of(f -> f.range(r -> r
+                .field("price")
+                .gte(JsonData.of(priceMin))
+                .lte(JsonData.of(priceMax)))));
+    }
+
+    private static Query allOf(Optional<Query> first, Optional<Query> second) {
+        return Query.of(q -> q.bool(b -> {
+            first.ifPresent(b::filter);
+            second.ifPresent(b::filter);
+            return b;
+        }));
+    }
+
+    private static Aggregation categoryFacet(Optional<Query> priceFilter) {
+        return Aggregation.of(a -> a
+                .filter(priceFilter.orElseGet(() -> Query.of(q -> q.matchAll(m -> m))))
+                .aggregations(FACET_VALUES, Aggregation.of(t -> t.terms(terms -> terms
+                        .field("category")
+                        .size(AppConstants.CATEGORY_FACET_SIZE)))));
+    }
+
+    private static Aggregation priceRangeFacet(Optional<Query> categoryFilter) {
+        List<AggregationRange> ranges = new ArrayList<>();
+        Integer from = null;
+        for (Integer to : AppConstants.PRICE_FACET_EDGES) {
+            ranges.add(priceRange(from, to));
+            from = to;
+        }
+        ranges.add(priceRange(from, null));
+
+        return Aggregation.of(a -> a
+                .filter(categoryFilter.orElseGet(() -> Query.of(q -> q.matchAll(m -> m))))
+                .aggregations(FACET_VALUES, Aggregation.of(r -> r.range(range -> range
+                        .field("price")
+                        .ranges(ranges)))));
+    }
+
+    private static AggregationRange priceRange(Integer from, Integer to) {
+        return AggregationRange.of(r -> {
+            r.key((from != null ? from.toString() : "*") + "-" + (to != null ? to.toString() : "*"));
+            if (from != null) {
+                r.from(from.toString());
+            }
+            if (to != null) {
+                r.to(to.toString());
+            }
+            return r;
+        });
+    }
+
+    private static ProductSearchFacets readFacets(SearchHits<Product> searchHits) {
+        if (!(searchHits.getAggregations() instanceof ElasticsearchAggregations aggregations)) {
+            return new ProductSearchFacets(List.of(), List.of());
+        }
+
+        List<FacetBucket> categories = facetValues(aggregations, FACET_CATEGORIES)
+                .map(values -> values.sterms().buckets().array().stream()
+                        .map(bucket -> FacetBucket.of(bucket.key().stringValue(), bucket.docCount()))
+                        .toList())
+                .orElse(List.of());
+
+        List<FacetBucket> priceRanges = facetValues(aggregations, FACET_PRICE_RANGES)
+                .map(values -> values.range().buckets().array().stream()
+                        .map(bucket -> new FacetBucket(bucket.key(),
+                                bucket.from() != null ? BigDecimal.valueOf(bucket.from()) : null,
+                                bucket.to() != null ? BigDecimal.valueOf(bucket.to()) : null,
+                                bucket.docCount()))
+                        .toList())
+                .orElse(List.of());
+
+        return new ProductSearchFacets(categories, priceRanges);
+    }
+
+    private static Optional<Aggregate> facetValues(ElasticsearchAggregations aggregations, String name) {
+        ElasticsearchAggregation aggregation = aggregations.get(name);
+        if (aggregation == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(aggregation.aggregation().getAggregate().filter().aggregations().get(FACET_VALUES));
+    }
+
+    private static List<SortOptions> searchSort(ProductSearchSort sort) {
+        SortOptions primary = switch (sort) {
+            case RELEVANCE -> SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc)));
+            case PRICE_ASC -> fieldSort("price", SortOrder.Asc);
+            case PRICE_DESC -> fieldSort("price", SortOrder.Desc);
+            case NEWEST -> fieldSort("createdAt", SortOrder.Desc);
+        };
+        return List.of(primary, fieldSort("id", SortOrder.Asc));
+    }
+
+    private static SortOptions fieldSort(String field, SortOrder order) {
+        return SortOptions.of(s -> s.field(f -> f.field(field).order(order)));
+    }
+
+    private ProductResponse loadProduct(UUID id) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        return productMapper.toResponse(product);
+    }
+
     private void saveProductSyncEventToOutbox(Product product, String eventType) {
         ProductSyncEvent event = ProductSyncEvent.builder()
                 .productId(product.getId())
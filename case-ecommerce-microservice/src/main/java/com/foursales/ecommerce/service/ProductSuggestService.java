@@ -0,0 +1,105 @@
+package com.foursales.ecommerce.service;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import co.elastic.clients.json.JsonData;
+import com.foursales.ecommerce.dto.ProductSuggestion;
+import com.foursales.ecommerce.entity.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search-as-you-type suggestions
+ *
+ * Queries the name.suggest search_as_you_type sub-field with a bool_prefix multi_match (edge
+ * n-grams indexed at write time, no fuzziness), returns only id + name and caches results per
+ * normalised prefix. Caffeine's frequency-based admission keeps the popular short prefixes,
+ * which are the ones every user types first.
+ */
+@Service
+@Slf4j
+public class ProductSuggestService {
+
+    public static final int DEFAULT_SUGGEST_SIZE = 8;
+    public static final int MAX_SUGGEST_SIZE = 10;
+    public static final int MAX_PREFIX_LENGTH = 50;
+
+    private static final String[] SUGGEST_FIELDS = { "name.suggest", "name.suggest._2gram", "name.suggest._3gram" };
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final Cache<String, List<ProductSuggestion>> prefixCache;
+
+    public ProductSuggestService(ElasticsearchOperations elasticsearchOperations,
+            @Value("${app.cache.suggest.max-size:10000}") long maxSize,
+            @Value("${app.cache.suggest.ttl-seconds:60}") long ttlSeconds) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.prefixCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    @CircuitBreaker(name = "elasticsearch", fallbackMethod = "suggestFallback")
+    public List<ProductSuggestion> suggest(String prefix, int size) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SUGGEST_SIZE));
+
+        return prefixCache.get(limit + ":" + normalized, key -> query(normalized, limit));
+    }
+
+    // Autocomplete is optional UI sugar: no MySQL LIKE scan when Elasticsearch is down
+    public List<ProductSuggestion> suggestFallback(String prefix, int size, Throwable throwable) {
+        log.warn("Elasticsearch failed, returning no suggestions. Error: {}", throwable.getMessage());
+        return List.of();
+    }
+
+    public double hitRate() {
+        return prefixCache.stats().hitRate();
+    }
+
+    private List<ProductSuggestion> query(String prefix, int limit) {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(Query.of(q -> q.bool(b -> b
+                        .must(m -> m.multiMatch(mm -> mm
+                                .query(prefix)
+                                .type(TextQueryType.BoolPrefix)
+                                .fields(List.of(SUGGEST_FIELDS))))
+                        .filter(f -> f.range(r -> r
+                                .field("stockQuantity")
+                                .gt(JsonData.of(0)))))))
+                .withPageable(PageRequest.of(0, limit))
+                .withSourceFilter(new FetchSourceFilter(new String[] { "id", "name" }, null))
+                .withTrackTotalHits(false)
+                .build();
+
+        return elasticsearchOperations.search(query, Product.class).getSearchHits().stream()
+                .map(SearchHit::getContent)
+                .map(product -> new ProductSuggestion(product.getId(), product.getName()))
+                .toList();
+    }
+
+    static String normalize(String prefix) {
+        if (prefix == null) {
+            return "";
+        }
+        String normalized = prefix.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_PREFIX_LENGTH ? normalized.substring(0, MAX_PREFIX_LENGTH) : normalized;
+    }
+}
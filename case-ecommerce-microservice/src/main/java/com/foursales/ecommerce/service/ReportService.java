@@ -1,28 +1,79 @@
 package com.foursales.ecommerce.service;
 
+import com.foursales.ecommerce.analytics.DistinctBuyerSketches;
+import com.foursales.ecommerce.analytics.OrderFactStore;
 import com.foursales.ecommerce.constant.AppConstants;
+import com.foursales.ecommerce.dto.DailyRevenueResponse;
+import com.foursales.ecommerce.dto.DistinctBuyersResponse;
 import com.foursales.ecommerce.dto.MonthlyRevenueResponse;
+import com.foursales.ecommerce.dto.PagedResponse;
+import com.foursales.ecommerce.dto.RevenueReportResponse;
+import com.foursales.ecommerce.dto.RevenueTotals;
+import com.foursales.ecommerce.dto.TopProductResponse;
 import com.foursales.ecommerce.dto.TopUserResponse;
 import com.foursales.ecommerce.dto.UserAverageTicketResponse;
+import com.foursales.ecommerce.dto.UserOrderStatsResponse;
+import com.foursales.ecommerce.entity.User;
+import com.foursales.ecommerce.enums.OrderStatus;
+import com.foursales.ecommerce.enums.TopProductsWindow;
+import com.foursales.ecommerce.enums.UserStatsSort;
+import com.foursales.ecommerce.exception.BusinessException;
+import com.foursales.ecommerce.repository.jpa.DailyRevenueRepository;
 import com.foursales.ecommerce.repository.jpa.OrderRepository;
+import com.foursales.ecommerce.repository.jpa.ProductSalesSketchRepository;
+import com.foursales.ecommerce.repository.jpa.UserOrderStatsRepository;
 import com.foursales.ecommerce.repository.jpa.UserRepository;
+import com.foursales.ecommerce.util.HyperLogLog;
+import com.foursales.ecommerce.util.Money;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+// READ-ONLY: one snapshot per report, and routed to the read replica when it is enabled
+// ANALYTICS STORE: while OrderFactStore is available (app.analytics.enabled, loaded and caught up), date-filtered
+// top users / average ticket and revenue are scans of it with the same columns, status filters and bounds as
+// the SQL below; otherwise the database. The connection is lazy, so a report answered from memory borrows none
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ReportService implements IReportService {
 
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final DailyRevenueRepository dailyRevenueRepository;
+    private final UserOrderStatsRepository userOrderStatsRepository;
+    private final ProductSalesSketchRepository productSalesSketchRepository;
+    private final DistinctBuyerSketches distinctBuyerSketches;
+    private final OrderFactStore orderFactStore;
 
+    /**
+     * All-time ranking comes from user_order_stats; a date filter needs the orders, from the
+     * analytics store when available
+     */
     @Override
     public List<TopUserResponse> getTopUsers(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate == null && endDate == null) {
+            return userOrderStatsRepository.findTopUsersByOrderCount(PageRequest.of(0, AppConstants.TOP_USERS_LIMIT));
+        }
+        if (orderFactStore.isAvailable()) {
+            return topUsersFromStore(startDate, endDate);
+        }
         return userRepository.findTopUsersByOrderCountOptimized(
                 startDate,
                 endDate,
@@ -31,35 +82,228 @@ public class ReportService implements IReportService {
 
     @Override
     public List<UserAverageTicketResponse> getAverageTicketByUser(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate == null && endDate == null) {
+            return userOrderStatsRepository.findAverageTicketByAllUsers();
+        }
+        if (orderFactStore.isAvailable()) {
+            return averageTicketFromStore(startDate, endDate);
+        }
         return orderRepository.findAverageTicketByAllUsers(startDate, endDate);
     }
 
+    @Override
+    public PagedResponse<UserOrderStatsResponse> getUserStats(int page, int size, UserStatsSort sort) {
+        PageRequest pageRequest = PageRequest.of(
+                Math.max(page, 0),
+                Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE)),
+                Sort.by(Sort.Order.desc(sort.getProperty()), Sort.Order.asc("userId")));
+        return PagedResponse.of(userOrderStatsRepository.findStats(pageRequest));
+    }
+
     @Override
     public MonthlyRevenueResponse getCurrentMonthRevenue() {
-        BigDecimal revenue = orderRepository.findTotalRevenueCurrentMonth();
         LocalDateTime now = LocalDateTime.now();
-        Long orderCount = orderRepository.countOrdersCurrentMonth();
+        LocalDate today = now.toLocalDate();
+        List<DailyRevenueResponse> days = orderFactStore.isAvailable()
+                ? orderFactStore.revenueByDay(today.withDayOfMonth(1).atStartOfDay(), today.plusDays(1).atStartOfDay())
+                : wholeDays(today.withDayOfMonth(1), today.plusDays(1));
+        BigDecimal revenue = sumRevenue(days);
+        Long orderCount = sumOrders(days);
         BigDecimal averageOrderValue = calculateAverage(revenue, orderCount);
 
         return new MonthlyRevenueResponse(
                 now.getMonth().toString(),
                 now.getYear(),
-                revenue != null ? revenue : BigDecimal.ZERO,
+                revenue,
                 orderCount,
                 averageOrderValue,
                 now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0),
                 now);
     }
 
+    /**
+     * Whole days come from the daily rollup; a partial first or last day (range bounds with a
+     * time of day) is summed from orders on the covering index, so the result is exact for
+     * any half-open range while reading at most two small index ranges besides the rollup.
+     * The analytics store, when available, answers the whole range from its payment rows.
+     */
+    @Override
+    public RevenueReportResponse getRevenue(LocalDateTime start, LocalDateTime endExclusive) {
+        LocalDateTime end = endExclusive != null ? endExclusive : LocalDate.now().plusDays(1).atStartOfDay();
+        LocalDateTime begin = start != null ? start : end.minusNanos(1).toLocalDate().withDayOfMonth(1).atStartOfDay();
+
+        if (!begin.isBefore(end)) {
+            throw new BusinessException("startDate must be before endDate");
+        }
+        if (Duration.between(begin, end).toDays() > AppConstants.MAX_REVENUE_REPORT_DAYS) {
+            throw new BusinessException(
+                    "Date range must not exceed " + AppConstants.MAX_REVENUE_REPORT_DAYS + " days");
+        }
+
+        List<DailyRevenueResponse> days = orderFactStore.isAvailable()
+                ? orderFactStore.revenueByDay(begin, end)
+                : revenueByDayFromDatabase(begin, end);
+
+        BigDecimal revenue = sumRevenue(days);
+        Long orderCount = sumOrders(days);
+
+        return new RevenueReportResponse(
+                begin,
+                end,
+                revenue,
+                orderCount,
+                calculateAverage(revenue, orderCount),
+                days);
+    }
+
+    private List<DailyRevenueResponse> revenueByDayFromDatabase(LocalDateTime begin, LocalDateTime end) {
+        LocalDate firstFullDay = isMidnight(begin) ? begin.toLocalDate() : begin.toLocalDate().plusDays(1);
+        LocalDate endDay = end.toLocalDate();
+        List<DailyRevenueResponse> days = new ArrayList<>();
+
+        if (!isMidnight(begin)) {
+            LocalDateTime headEnd = min(firstFullDay.atStartOfDay(), end);
+            addPartialDay(days, begin, headEnd);
+        }
+        if (firstFullDay.isBefore(endDay)) {
+            days.addAll(wholeDays(firstFullDay, endDay));
+        }
+        if (!isMidnight(end) && endDay.atStartOfDay().isAfter(begin)) {
+            addPartialDay(days, endDay.atStartOfDay(), end);
+        }
+        return days;
+    }
+
+    /**
+     * Best sellers from the hourly counters the consumer maintains as paid orders
+     * update stock. The window start is rounded down to the hour (an "hour" window spans one to
+     * two clock hours), and orders whose stock is still pending in the consumer are not counted yet
+     */
+    @Override
+    public List<TopProductResponse> getTopProducts(TopProductsWindow window, int limit) {
+        LocalDateTime since = LocalDateTime.now().minus(window.getLength()).truncatedTo(ChronoUnit.HOURS);
+        return productSalesSketchRepository.findTopProductsSince(
+                since,
+                PageRequest.of(0, Math.max(1, Math.min(limit, AppConstants.MAX_PAGE_SIZE))));
+    }
+
+    /**
+     * Unique paying users from the per-day HyperLogLog sketches: one merge per day in the range,
+     * whatever the number of orders. Estimates carry HyperLogLog.RELATIVE_STANDARD_ERROR
+     */
+    @Override
+    public DistinctBuyersResponse getDistinctBuyers(LocalDate startDate, LocalDate endDate, String category) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.withDayOfMonth(1);
+        validateSketchRange(start, end);
+
+        String normalizedCategory = category == null || category.isBlank() ? null : category.trim();
+        HyperLogLog buyers = distinctBuyerSketches.buyers(start, end, normalizedCategory);
+        return new DistinctBuyersResponse(start, end, normalizedCategory, buyers.estimate(),
+                HyperLogLog.RELATIVE_STANDARD_ERROR);
+    }
+
+    @Override
+    public List<DistinctBuyersResponse> getDistinctBuyersByCategory(LocalDate startDate, LocalDate endDate) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.withDayOfMonth(1);
+        validateSketchRange(start, end);
+
+        return distinctBuyerSketches.buyersByCategory(start, end).entrySet().stream()
+                .map(entry -> new DistinctBuyersResponse(start, end, entry.getKey(), entry.getValue().estimate(),
+                        HyperLogLog.RELATIVE_STANDARD_ERROR))
+                .sorted(Comparator.comparing(DistinctBuyersResponse::getDistinctBuyers).reversed()
+                        .thenComparing(DistinctBuyersResponse::getCategory))
+                .toList();
+    }
+
+    private void validateSketchRange(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            throw new BusinessException("startDate must not be after endDate");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= AppConstants.MAX_REVENUE_REPORT_DAYS) {
+            throw new BusinessException(
+                    "Date range must not exceed " + AppConstants.MAX_REVENUE_REPORT_DAYS + " days");
+        }
+    }
+
+    /**
+     * Days in [from, toExclusive) with paid orders, from the daily rollup written with each payment
+     */
+    private List<DailyRevenueResponse> wholeDays(LocalDate from, LocalDate toExclusive) {
+        return dailyRevenueRepository.findByRange(from, toExclusive.minusDays(1)).stream()
+                .map(day -> new DailyRevenueResponse(day.getRevenueDate(), day.getTotalRevenue(), day.getOrderCount()))
+                .toList();
+    }
+
+    // Names of the ranked users only, in the store's order
+    private List<TopUserResponse> topUsersFromStore(LocalDateTime startDate, LocalDateTime endDate) {
+        List<OrderFactStore.UserTotals> totals = orderFactStore.totalsByUser(startDate, endDate,
+                AppConstants.TOP_USERS_LIMIT);
+        List<UUID> userIds = totals.stream().map(OrderFactStore.UserTotals::userId).toList();
+        Map<UUID, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return totals.stream()
+                .filter(total -> users.containsKey(total.userId()))
+                .map(total -> {
+                    User user = users.get(total.userId());
+                    return new TopUserResponse(user.getId(), user.getName(), user.getEmail(),
+                            Math.toIntExact(total.orders()));
+                })
+                .toList();
+    }
+
+    // Every user, as the SQL LEFT JOIN: users without orders in the period get 0
+    private List<UserAverageTicketResponse> averageTicketFromStore(LocalDateTime startDate, LocalDateTime endDate) {
+        Map<UUID, OrderFactStore.UserTotals> totals = orderFactStore.totalsByUser(startDate, endDate, Integer.MAX_VALUE)
+                .stream()
+                .collect(Collectors.toMap(OrderFactStore.UserTotals::userId, Function.identity()));
+
+        return userRepository.findAll().stream()
+                .map(user -> {
+                    OrderFactStore.UserTotals total = totals.get(user.getId());
+                    BigDecimal averageTicket = total != null
+                            ? calculateAverage(total.total(), total.orders())
+                            : BigDecimal.ZERO;
+                    return new UserAverageTicketResponse(user.getId(), user.getName(), user.getEmail(), averageTicket);
+                })
+                .toList();
+    }
+
+    private void addPartialDay(List<DailyRevenueResponse> days, LocalDateTime start, LocalDateTime endExclusive) {
+        RevenueTotals totals = orderRepository.summarizeRevenue(OrderStatus.PAGO, start, endExclusive);
+        if (totals != null && totals.getTotalOrders() != null && totals.getTotalOrders() > 0) {
+            days.add(new DailyRevenueResponse(start.toLocalDate(), totals.getTotalRevenue(), totals.getTotalOrders()));
+        }
+    }
+
+    private static boolean isMidnight(LocalDateTime dateTime) {
+        return dateTime.toLocalTime().equals(LocalTime.MIDNIGHT);
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private BigDecimal sumRevenue(List<DailyRevenueResponse> days) {
+        long cents = 0;
+        for (DailyRevenueResponse day : days) {
+            cents = Math.addExact(cents, Money.toCents(day.getTotalRevenue()));
+        }
+        return Money.toBigDecimal(cents);
+    }
+
+    private Long sumOrders(List<DailyRevenueResponse> days) {
+        return days.stream()
+                .mapToLong(DailyRevenueResponse::getTotalOrders)
+                .sum();
+    }
+
     private BigDecimal calculateAverage(BigDecimal total, Long count) {
-        if (count == null || count == 0) {
+        if (count == null || count == 0 || total == null) {
             return BigDecimal.ZERO;
         }
-
-        BigDecimal safeTotal = total != null ? total : BigDecimal.ZERO;
-        return safeTotal.divide(
-                BigDecimal.valueOf(count),
-                AppConstants.DECIMAL_SCALE,
-                AppConstants.DEFAULT_ROUNDING_MODE);
+        return Money.of(total).average(count).toBigDecimal();
     }
 }
\ No newline at end of file
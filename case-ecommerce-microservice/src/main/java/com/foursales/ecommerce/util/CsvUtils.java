@@ -0,0 +1,21 @@
+package com.foursales.ecommerce.util;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class CsvUtils {
+
+    /**
+     * RFC 4180: quotes fields containing separator, quote or line breaks; doubles embedded quotes
+     */
+    public static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+}
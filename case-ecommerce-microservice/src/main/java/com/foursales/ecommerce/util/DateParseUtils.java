@@ -61,4 +61,13 @@ public class DateParseUtils {
     public static LocalDateTime parseEndDate(String dateStr) {
         return parseFlexibleDate(dateStr, false);
     }
+
+    /**
+     * Upper bound of a half-open range: a DATE means the whole day (next midnight),
+     * an ISO DateTime is used as is.
+     */
+    public static LocalDateTime parseEndDateExclusive(String dateStr) {
+        LocalDateTime end = parseEndDate(dateStr);
+        return end != null && end.toLocalTime().equals(LocalTime.MAX) ? end.plusNanos(1) : end;
+    }
 }
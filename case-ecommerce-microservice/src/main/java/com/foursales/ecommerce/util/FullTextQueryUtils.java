@@ -0,0 +1,36 @@
+package com.foursales.ecommerce.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Builds MySQL FULLTEXT boolean-mode expressions from free user input
+ */
+@UtilityClass
+public class FullTextQueryUtils {
+
+    private static final int MAX_TERMS = 8;
+
+    /**
+     * "Note Book+" -> "note* book*": boolean-mode operators are stripped so user input cannot
+     * change the query semantics, and every term becomes a prefix match (closest MySQL gets to
+     * the fuzzy match of Elasticsearch). Terms are OR-ed and ranked by relevance.
+     *
+     * @return null when nothing searchable is left
+     */
+    public static String toPrefixBooleanQuery(String input) {
+        if (input == null) {
+            return null;
+        }
+
+        String query = Arrays.stream(input.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_TERMS)
+                .map(term -> term + "*")
+                .collect(Collectors.joining(" "));
+        return query.isEmpty() ? null : query;
+    }
+}
@@ -0,0 +1,60 @@
+package com.foursales.ecommerce.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * HTTP conditional GET helpers (ETag / Last-Modified)
+ *
+ * The strong ETag is derived from id + updatedAt (microsecond precision, see V11 migration),
+ * so it can be recomputed from a cheap version lookup without hydrating the entity.
+ */
+@UtilityClass
+public class HttpCacheUtils {
+
+    public static String strongETag(UUID id, LocalDateTime updatedAt) {
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updatedAt.getNano() / 1_000;
+        return "\"" + id + "-" + Long.toHexString(micros) + "\"";
+    }
+
+    public static long lastModifiedMillis(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Evaluates If-None-Match (or If-Modified-Since when absent). When true the response
+     * is already a 304 with ETag/Last-Modified and the handler should return null.
+     */
+    public static boolean checkNotModified(WebRequest request, UUID id, LocalDateTime updatedAt) {
+        return request.checkNotModified(strongETag(id, updatedAt), lastModifiedMillis(updatedAt));
+    }
+
+    /**
+     * 200 with validators; clients must revalidate (no-cache) before reusing the body
+     */
+    public static <T> ResponseEntity<T> okWithValidators(T body, UUID id, LocalDateTime updatedAt,
+            CacheControl cacheControl) {
+        if (id == null || updatedAt == null) {
+            return ResponseEntity.ok(body);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(strongETag(id, updatedAt))
+                .lastModified(lastModifiedMillis(updatedAt))
+                .cacheControl(cacheControl)
+                .body(body);
+    }
+}
@@ -0,0 +1,77 @@
+package com.foursales.ecommerce.util;
+
+import com.foursales.ecommerce.constant.AppConstants;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount in cents (minor units) for hot arithmetic: order totals, report sums and averages
+ *
+ * - BigDecimal only at the boundaries (entities, DTOs, DB columns, all DECIMAL(_, 2))
+ * - Arithmetic is exact and throws on overflow; only conversion from a BigDecimal with more
+ *   than two decimals and division round, both HALF_UP as AppConstants.DEFAULT_ROUNDING_MODE
+ * - A record so short-lived values in loops are scalar-replaced by the JIT
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    public static Money of(BigDecimal value) {
+        return new Money(toCents(value));
+    }
+
+    public static Money ofCents(long cents) {
+        return new Money(cents);
+    }
+
+    public static long toCents(BigDecimal value) {
+        return value.setScale(AppConstants.DECIMAL_SCALE, AppConstants.DEFAULT_ROUNDING_MODE)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, AppConstants.DECIMAL_SCALE);
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(long quantity) {
+        return new Money(Math.multiplyExact(cents, quantity));
+    }
+
+    /**
+     * Average over count, rounded HALF_UP to the cent; zero when count is zero
+     */
+    public Money average(long count) {
+        if (count == 0) {
+            return ZERO;
+        }
+        long quotient = cents / count;
+        long remainder = Math.abs(cents % count);
+        if (remainder * 2 >= Math.abs(count)) {
+            quotient += Long.signum(cents) * Long.signum(count);
+        }
+        return new Money(quotient);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(cents);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,47 @@
+package com.foursales.ecommerce.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foursales.ecommerce.enums.ProductSearchSort;
+import com.foursales.ecommerce.exception.BusinessException;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque cursor for Elasticsearch search_after pagination
+ * Encoded as base64url of a JSON array [sort, value1, value2, ...] where the values are the sort
+ * values of the last hit. The sort is kept so a cursor cannot be replayed with another ordering.
+ */
+@UtilityClass
+public class SearchAfterCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static String encode(ProductSearchSort sort, List<Object> sortValues) {
+        List<Object> raw = new ArrayList<>(sortValues.size() + 1);
+        raw.add(sort.name());
+        raw.addAll(sortValues);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(raw));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode search cursor", e);
+        }
+    }
+
+    public static List<Object> decode(String cursor, ProductSearchSort expectedSort) {
+        List<?> raw;
+        try {
+            raw = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), List.class);
+        } catch (Exception e) {
+            throw new BusinessException("Invalid search cursor");
+        }
+
+        if (raw.size() < 2 || !expectedSort.name().equals(raw.get(0))) {
+            throw new BusinessException("Search cursor does not match the requested sort");
+        }
+        return new ArrayList<>(raw.subList(1, raw.size()));
+    }
+}
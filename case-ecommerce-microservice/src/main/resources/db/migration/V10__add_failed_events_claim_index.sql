@@ -0,0 +1,5 @@
+-- Composite index for DLQ chunk claiming (consumer FailedEventReprocessor)
+-- Matches: WHERE status = 'PENDING' AND next_retry_at <= ? ORDER BY next_retry_at LIMIT ? FOR UPDATE SKIP LOCKED
+-- Keeps the locked range to the claimed rows, so concurrent instances do not contend on unrelated rows
+
+CREATE INDEX idx_failed_events_status_next_retry ON failed_events (status, next_retry_at);
@@ -0,0 +1,14 @@
+-- Degraded search (ProductService fallback while the Elasticsearch circuit is open)
+-- Replaces LIKE '%name%' full scans and the unpaged "all in stock" listing
+
+-- Relevance-ranked text search on name + description
+-- Matches: WHERE MATCH(name, description) AGAINST (? IN BOOLEAN MODE)
+ALTER TABLE products ADD FULLTEXT INDEX ft_products_name_description (name, description);
+
+-- Composite filter: category equality, price range, stock checked inside the index
+-- Matches: WHERE category = ? AND price BETWEEN ? AND ? AND stock_quantity > 0
+CREATE INDEX idx_products_category_price_stock ON products (category, price, stock_quantity);
+
+-- Same filter without a category
+-- Matches: WHERE price BETWEEN ? AND ? AND stock_quantity > 0
+CREATE INDEX idx_products_price_stock ON products (price, stock_quantity);
@@ -0,0 +1,7 @@
+-- Flyway Migration V18: Exact best-seller counters
+-- The consumer writes an hour out when its counters are full instead of replacing the smallest
+-- one, so units are exact and there is no overcount left to bound
+
+ALTER TABLE product_sales_sketch DROP COLUMN max_error;
+
+ALTER TABLE product_sales_sketch COMMENT = 'Units sold per product and payment hour, added by the consumer on every flush';
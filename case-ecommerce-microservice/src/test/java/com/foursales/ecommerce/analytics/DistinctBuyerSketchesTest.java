@@ -0,0 +1,129 @@
+package com.foursales.ecommerce.analytics;
+
+import com.foursales.ecommerce.dashboard.OrderPaidEvent;
+import com.foursales.ecommerce.entity.BuyerSketch;
+import com.foursales.ecommerce.enums.BuyerSketchDimension;
+import com.foursales.ecommerce.repository.jpa.BuyerSketchRepository;
+import com.foursales.ecommerce.util.HyperLogLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DistinctBuyerSketchesTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 15);
+
+    @Mock
+    private BuyerSketchRepository buyerSketchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DistinctBuyerSketches distinctBuyerSketches;
+
+    @BeforeEach
+    void setUp() {
+        distinctBuyerSketches = new DistinctBuyerSketches(buyerSketchRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should count pending buyers overall and per category before flushing")
+    void shouldCountPendingBuyers() {
+        UUID alice = UUID.randomUUID();
+        distinctBuyerSketches.onOrderPaid(paid(alice, DAY, "Electronics", "Books"));
+        distinctBuyerSketches.onOrderPaid(paid(alice, DAY.plusDays(1), "Electronics"));
+        distinctBuyerSketches.onOrderPaid(paid(UUID.randomUUID(), DAY, "Books"));
+        when(buyerSketchRepository.findByRange(any(), any(), any())).thenReturn(List.of());
+
+        Map<String, HyperLogLog> byCategory = distinctBuyerSketches.buyersByCategory(DAY, DAY.plusDays(1));
+
+        assertThat(distinctBuyerSketches.buyers(DAY, DAY.plusDays(1), null).estimate()).isEqualTo(2);
+        assertThat(distinctBuyerSketches.buyers(DAY.plusDays(1), DAY.plusDays(1), null).estimate()).isEqualTo(1);
+        assertThat(byCategory.get("Electronics").estimate()).isEqualTo(1);
+        assertThat(byCategory.get("Books").estimate()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should merge flushed rows with pending buyers for a category")
+    void shouldMergeRowsWithPendingBuyers() {
+        UUID alice = UUID.randomUUID();
+        HyperLogLog stored = new HyperLogLog();
+        stored.add(alice);
+        stored.add(UUID.randomUUID());
+        when(buyerSketchRepository.findByRangeAndKey(BuyerSketchDimension.CATEGORY, "Books", DAY, DAY))
+                .thenReturn(List.of(row(BuyerSketchDimension.CATEGORY, "Books", stored)));
+        distinctBuyerSketches.onOrderPaid(paid(alice, DAY, "Books"));
+        distinctBuyerSketches.onOrderPaid(paid(UUID.randomUUID(), DAY, "Books"));
+
+        assertThat(distinctBuyerSketches.buyers(DAY, DAY, "Books").estimate()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should merge pending buyers into the existing row on flush")
+    void shouldMergeIntoExistingRowOnFlush() {
+        HyperLogLog stored = new HyperLogLog();
+        stored.add(UUID.randomUUID());
+        BuyerSketch existing = row(BuyerSketchDimension.ALL, DistinctBuyerSketches.ALL_KEY, stored);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(buyerSketchRepository.findForUpdate(DAY, BuyerSketchDimension.ALL, DistinctBuyerSketches.ALL_KEY))
+                .thenReturn(Optional.of(existing));
+        when(buyerSketchRepository.findForUpdate(DAY, BuyerSketchDimension.CATEGORY, "Books"))
+                .thenReturn(Optional.empty());
+        distinctBuyerSketches.onOrderPaid(paid(UUID.randomUUID(), DAY, "Books"));
+
+        distinctBuyerSketches.flush();
+
+        assertThat(HyperLogLog.fromBytes(existing.getRegisters()).estimate()).isEqualTo(2);
+        ArgumentCaptor<BuyerSketch> created = ArgumentCaptor.forClass(BuyerSketch.class);
+        verify(buyerSketchRepository).save(created.capture());
+        assertThat(created.getValue().getDimensionKey()).isEqualTo("Books");
+        assertThat(HyperLogLog.fromBytes(created.getValue().getRegisters()).estimate()).isEqualTo(1);
+        assertThat(distinctBuyerSketches.pendingSketches()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep pending buyers for the next flush when the database write fails")
+    void shouldKeepPendingBuyersWhenFlushFails() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(buyerSketchRepository.findForUpdate(eq(DAY), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        distinctBuyerSketches.onOrderPaid(paid(UUID.randomUUID(), DAY, "Books"));
+
+        distinctBuyerSketches.flush();
+
+        assertThat(distinctBuyerSketches.pendingSketches()).isEqualTo(2);
+        verify(buyerSketchRepository, never()).save(any());
+    }
+
+    private static OrderPaidEvent paid(UUID userId, LocalDate day, String... categories) {
+        List<OrderPaidEvent.Line> lines = Arrays.stream(categories)
+                .map(category -> new OrderPaidEvent.Line(UUID.randomUUID(), "Product", category, 1, 10_00))
+                .toList();
+        return new OrderPaidEvent(UUID.randomUUID(), userId, day.atTime(10, 0), 10_00L * categories.length, lines);
+    }
+
+    private static BuyerSketch row(BuyerSketchDimension dimension, String key, HyperLogLog sketch) {
+        return new BuyerSketch(DAY, dimension, key, sketch.toBytes(), LocalDateTime.now());
+    }
+}
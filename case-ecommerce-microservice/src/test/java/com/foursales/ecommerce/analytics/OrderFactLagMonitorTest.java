@@ -0,0 +1,101 @@
+package com.foursales.ecommerce.analytics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderFactLagMonitorTest {
+
+    private OrderFactStore store;
+    private MessageListenerContainer container;
+    private OrderFactLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        store = new OrderFactStore();
+        store.markReady();
+        container = mock(MessageListenerContainer.class);
+        KafkaListenerEndpointRegistry registry = mock(KafkaListenerEndpointRegistry.class);
+        when(registry.getListenerContainer(OrderFactListener.LISTENER_ID)).thenReturn(container);
+        monitor = new OrderFactLagMonitor(store, registry, new SimpleMeterRegistry(), 100);
+    }
+
+    @Test
+    @DisplayName("Should make the store available while the consumer lag is within the limit")
+    void shouldMarkCaughtUpWithinLimit() {
+        givenLag(Map.of("client-id", "analytics-0"), 42.0);
+
+        monitor.check();
+
+        assertThat(store.isAvailable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database when the lag is above the limit")
+    void shouldMarkBehindAboveLimit() {
+        givenLag(Map.of("client-id", "analytics-0"), 5.0);
+        monitor.check();
+        givenLag(Map.of("client-id", "analytics-0"), 101.0);
+
+        monitor.check();
+
+        assertThat(store.isAvailable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should treat an unknown lag (no fetch in the window, consumer stopped) as behind")
+    void shouldMarkBehindWhenLagUnknown() {
+        givenLag(Map.of("client-id", "analytics-0"), Double.NaN);
+        monitor.check();
+        assertThat(store.isAvailable()).isFalse();
+
+        when(container.isRunning()).thenReturn(false);
+        monitor.check();
+        assertThat(store.isAvailable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should read the client-level lag, not a single partition")
+    void shouldIgnorePartitionLevelLag() {
+        Map<MetricName, Metric> metrics = new HashMap<>();
+        metrics.put(lagName(Map.of("client-id", "analytics-0")), metric(3.0));
+        metrics.put(lagName(Map.of("client-id", "analytics-0", "topic", "order.paid", "partition", "0")),
+                metric(999.0));
+        givenMetrics(metrics);
+
+        monitor.check();
+
+        assertThat(store.isAvailable()).isTrue();
+    }
+
+    private void givenLag(Map<String, String> tags, double lag) {
+        givenMetrics(Map.of(lagName(tags), metric(lag)));
+    }
+
+    private void givenMetrics(Map<MetricName, Metric> metrics) {
+        when(container.isRunning()).thenReturn(true);
+        when(container.metrics()).thenReturn(Map.<String, Map<MetricName, ? extends Metric>>of("analytics-0", metrics));
+    }
+
+    private static MetricName lagName(Map<String, String> tags) {
+        return new MetricName(OrderFactLagMonitor.LAG_METRIC, OrderFactLagMonitor.LAG_METRIC_GROUP, "", tags);
+    }
+
+    private static Metric metric(double value) {
+        Metric metric = mock(Metric.class);
+        when(metric.metricValue()).thenReturn(value);
+        return metric;
+    }
+}
@@ -0,0 +1,84 @@
+package com.foursales.ecommerce.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.event.ConsumerStoppedEvent;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderFactListenerTest {
+
+    private OrderFactStore store;
+    private OrderFactListener listener;
+
+    @BeforeEach
+    void setUp() {
+        store = new OrderFactStore();
+        store.markReady();
+        listener = new OrderFactListener(store, new ObjectMapper(), mock(KafkaListenerEndpointRegistry.class));
+    }
+
+    @Test
+    @DisplayName("Should mark the store stale when the analytics consumer stops on an error")
+    void shouldMarkStoreStaleWhenConsumerFails() {
+        listener.onConsumerStopped(stopped(OrderFactListener.LISTENER_ID, ConsumerStoppedEvent.Reason.ERROR));
+
+        assertThat(store.isReady()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep the store ready on shutdown and on other listeners stopping")
+    void shouldIgnoreShutdownAndOtherListeners() {
+        listener.onConsumerStopped(stopped(OrderFactListener.LISTENER_ID, ConsumerStoppedEvent.Reason.NORMAL));
+        listener.onConsumerStopped(stopped("cache-invalidation", ConsumerStoppedEvent.Reason.ERROR));
+
+        assertThat(store.isReady()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should store the order from order.created and its payment from order.paid")
+    void shouldApplyCreatedAndPaidRecords() {
+        UUID orderId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        listener.onOrderEvent(record("order.created", 3,
+                payload(orderId, userId, "PENDENTE", null)));
+        listener.onOrderEvent(record("order.paid", 7,
+                payload(orderId, userId, "PAGO", "\"2025-03-10T09:05:00\"")));
+        listener.onOrderEvent(record("order.paid", 8, "not json"));
+
+        assertThat(store.orderCount()).isEqualTo(1);
+        assertThat(store.paymentCount()).isEqualTo(1);
+        assertThat(store.nextOffsets()).isEqualTo(Map.of(
+                new TopicPartition("order.created", 0), 4L,
+                new TopicPartition("order.paid", 0), 9L));
+    }
+
+    private static ConsumerRecord<String, String> record(String topic, long offset, String value) {
+        return new ConsumerRecord<>(topic, 0, offset, null, value);
+    }
+
+    private static String payload(UUID orderId, UUID userId, String status, String paymentDate) {
+        return """
+                {"id":"%s","user":{"id":"%s"},"totalValue":25.00,"status":"%s",
+                 "createdAt":"2025-03-10T09:00:00.123","paymentDate":%s}
+                """.formatted(orderId, userId, status, paymentDate);
+    }
+
+    private static ConsumerStoppedEvent stopped(String listenerId, ConsumerStoppedEvent.Reason reason) {
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        when(container.getListenerId()).thenReturn(listenerId);
+        return new ConsumerStoppedEvent(container, container, reason);
+    }
+}
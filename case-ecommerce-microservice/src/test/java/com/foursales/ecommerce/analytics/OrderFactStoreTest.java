@@ -0,0 +1,185 @@
+package com.foursales.ecommerce.analytics;
+
+import com.foursales.ecommerce.dto.DailyRevenueResponse;
+import com.foursales.ecommerce.enums.OrderStatus;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderFactStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+    private static final TopicPartition CREATED = new TopicPartition("order.created", 0);
+    private static final TopicPartition PAID = new TopicPartition("order.paid", 0);
+
+    private OrderFactStore store;
+    private UUID alice;
+    private UUID bob;
+
+    @BeforeEach
+    void setUp() {
+        store = new OrderFactStore();
+        alice = UUID.randomUUID();
+        bob = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should sum revenue of paid orders per payment day in a half-open range, partial days included")
+    void shouldSumRevenuePerPaymentDay() {
+        store.append(paid(alice, "100.10", DAY.atTime(9, 0)));
+        store.append(paid(bob, "50.05", DAY.atTime(23, 59, 59)));
+        store.append(paid(alice, "10.00", DAY.plusDays(2).atStartOfDay()));
+        store.append(paid(bob, "999.99", DAY.plusDays(3).atTime(12, 0)));
+        store.append(created(bob, "77.00", DAY.atTime(10, 0), OrderStatus.PENDENTE));
+
+        List<DailyRevenueResponse> days = store.revenueByDay(DAY.atTime(8, 0), DAY.plusDays(3).atTime(12, 0));
+
+        assertThat(days).extracting(DailyRevenueResponse::getDate).containsExactly(DAY, DAY.plusDays(2));
+        assertThat(days.get(0).getTotalRevenue()).isEqualByComparingTo("150.15");
+        assertThat(days.get(0).getTotalOrders()).isEqualTo(2);
+        assertThat(days.get(1).getTotalRevenue()).isEqualByComparingTo("10.00");
+        assertThat(store.revenueByDay(DAY.atTime(9, 0, 0, 1), DAY.atTime(23, 0))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank users by orders of any status created within inclusive bounds, ties by user id")
+    void shouldRankUsersByCreatedOrders() {
+        UUID low = new UUID(0x1000_0000_0000_0000L, 0);
+        UUID high = new UUID(0x8000_0000_0000_0000L, 0);
+        store.append(created(high, "10.00", DAY.atStartOfDay(), OrderStatus.CANCELADO));
+        store.append(created(low, "20.00", DAY.plusDays(1).atStartOfDay(), OrderStatus.PENDENTE));
+        store.append(created(alice, "30.00", DAY.plusDays(1).atStartOfDay(), OrderStatus.PENDENTE));
+        store.append(created(alice, "40.00", DAY.plusDays(1).atTime(12, 0), OrderStatus.PENDENTE));
+        store.append(created(bob, "40.00", DAY.minusDays(1).atStartOfDay(), OrderStatus.PENDENTE));
+
+        List<OrderFactStore.UserTotals> totals = store.totalsByUser(
+                DAY.atStartOfDay(), DAY.plusDays(1).atTime(12, 0), 10);
+
+        // 0x80.. sorts after 0x10.. as unsigned bytes, although it is negative as a long
+        assertThat(totals).extracting(OrderFactStore.UserTotals::userId).containsExactly(alice, low, high);
+        assertThat(totals.get(0).orders()).isEqualTo(2);
+        assertThat(totals.get(0).total()).isEqualByComparingTo("70.00");
+        assertThat(store.totalsByUser(null, null, 1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should round stored times to the second as MySQL does")
+    void shouldRoundTimesLikeMysql() {
+        store.append(created(alice, "10.00", DAY.atTime(9, 0, 0, 600_000_000), OrderStatus.PENDENTE));
+
+        assertThat(store.totalsByUser(null, DAY.atTime(9, 0), 10)).isEmpty();
+        assertThat(store.totalsByUser(DAY.atTime(9, 0, 0, 1), DAY.atTime(9, 0, 1), 10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should add the payment of an order already stored, in any arrival order")
+    void shouldMergeCreatedAndPaidRecords() {
+        OrderFact pending = created(alice, "25.00", DAY.atTime(9, 0), OrderStatus.PENDENTE);
+        OrderFact paid = new OrderFact(pending.orderId(), alice, pending.totalValue(), pending.createdAt(),
+                OrderStatus.PAGO, DAY.atTime(9, 5));
+
+        assertThat(store.append(PAID, 0, paid)).isTrue();
+        assertThat(store.append(CREATED, 0, pending)).isFalse();
+
+        assertThat(store.orderCount()).isEqualTo(1);
+        assertThat(store.paymentCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop duplicate orders and redelivered stream records")
+    void shouldDropDuplicates() {
+        OrderFact order = created(alice, "10.00", DAY.atStartOfDay(), OrderStatus.PENDENTE);
+
+        assertThat(store.append(order)).isTrue();
+        assertThat(store.append(order)).isFalse();
+        assertThat(store.append(CREATED, 5, created(bob, "20.00", DAY.atStartOfDay(), OrderStatus.PENDENTE))).isTrue();
+        assertThat(store.append(CREATED, 5, created(bob, "20.00", DAY.atStartOfDay(), OrderStatus.PENDENTE))).isFalse();
+        assertThat(store.append(PAID, 0, order)).isFalse();
+
+        assertThat(store.orderCount()).isEqualTo(2);
+        assertThat(store.nextOffsets()).isEqualTo(Map.of(CREATED, 6L, PAID, 1L));
+    }
+
+    @Test
+    @DisplayName("Should keep all rows and deduplication across column growth")
+    void shouldGrowColumns() {
+        for (int i = 0; i < 10_000; i++) {
+            store.append(paid(i % 2 == 0 ? alice : bob, "1.00", DAY.atStartOfDay()));
+        }
+
+        assertThat(store.orderCount()).isEqualTo(10_000);
+        assertThat(store.paymentCount()).isEqualTo(10_000);
+        assertThat(store.revenueByDay(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()).get(0).getTotalRevenue())
+                .isEqualByComparingTo("10000.00");
+    }
+
+    @Test
+    @DisplayName("Should answer reports only while ready and caught up")
+    void shouldBeAvailableOnlyWhenReadyAndCaughtUp() {
+        store.markReady();
+        assertThat(store.isAvailable()).isFalse();
+
+        store.setCaughtUp(true);
+        assertThat(store.isAvailable()).isTrue();
+
+        store.markStale("test");
+        assertThat(store.isAvailable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should restore both tables, users, offsets and order ids from a memory-mapped snapshot")
+    void shouldRoundTripSnapshot(@TempDir Path dir) throws IOException {
+        OrderFact order = paid(alice, "12.34", DAY.atStartOfDay());
+        store.append(PAID, 41, order);
+        store.append(created(bob, "0.01", DAY.plusDays(1).atStartOfDay(), OrderStatus.CANCELADO));
+        Path file = dir.resolve("facts.snapshot");
+
+        OrderFactSnapshots.write(file, store.snapshot(), 1234L);
+        OrderFactSnapshots.Loaded loaded = OrderFactSnapshots.read(file);
+        OrderFactStore restored = new OrderFactStore();
+        restored.restore(loaded.snapshot());
+
+        assertThat(loaded.createdAtMillis()).isEqualTo(1234L);
+        assertThat(restored.orderCount()).isEqualTo(2);
+        assertThat(restored.paymentCount()).isEqualTo(1);
+        assertThat(restored.nextOffsets()).isEqualTo(Map.of(PAID, 42L));
+        assertThat(restored.append(order)).isFalse();
+        assertThat(restored.append(paid(alice, "1.00", DAY.atStartOfDay()))).isTrue();
+        assertThat(restored.totalsByUser(null, null, 10).get(0))
+                .isEqualTo(new OrderFactStore.UserTotals(alice, 2, new BigDecimal("13.34")));
+        assertThat(restored.revenueByDay(DAY.atStartOfDay(), DAY.plusDays(2).atStartOfDay()).get(0).getTotalOrders())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is not a snapshot")
+    void shouldRejectCorruptSnapshot(@TempDir Path dir) throws IOException {
+        Path file = Files.write(dir.resolve("garbage.snapshot"), new byte[] {1, 2, 3});
+
+        assertThatThrownBy(() -> OrderFactSnapshots.read(file)).isInstanceOf(IOException.class);
+    }
+
+    private static OrderFact created(UUID userId, String total, LocalDateTime createdAt, OrderStatus status) {
+        return new OrderFact(UUID.randomUUID(), userId, new BigDecimal(total), createdAt, status, null);
+    }
+
+    private static OrderFact paid(UUID userId, String total, LocalDateTime paymentDate) {
+        return new OrderFact(UUID.randomUUID(), userId, new BigDecimal(total), paymentDate.minusMinutes(5),
+                OrderStatus.PAGO, paymentDate);
+    }
+}
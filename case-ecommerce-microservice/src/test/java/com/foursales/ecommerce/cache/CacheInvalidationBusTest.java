@@ -0,0 +1,104 @@
+package com.foursales.ecommerce.cache;
+
+import com.foursales.ecommerce.constant.AppConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private ObjectProvider<InvalidatableCache> caches;
+
+    @Mock
+    private InvalidatableCache loginAttempts;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheInvalidationBus = new CacheInvalidationBus(kafkaTemplate, caches, meterRegistry, true, "test-app");
+    }
+
+    @Test
+    @DisplayName("Should publish cache name and key with origin instance id")
+    void shouldPublishCacheNameAndKey() {
+        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(future);
+
+        cacheInvalidationBus.publish("login-attempts", "user@test.com");
+
+        verify(kafkaTemplate).send(AppConstants.TOPIC_CACHE_INVALIDATION, "login-attempts:user@test.com",
+                cacheInvalidationBus.getInstanceId());
+        assertThat(meterRegistry.counter("cache.invalidation.published").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not publish when disabled")
+    void shouldNotPublishWhenDisabled() {
+        CacheInvalidationBus disabled = new CacheInvalidationBus(kafkaTemplate, caches, meterRegistry, false, "test-app");
+
+        disabled.publish("login-attempts", "user@test.com");
+
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("Should evict key from matching local cache and record lag")
+    void shouldEvictFromMatchingCacheAndRecordLag() {
+        when(loginAttempts.cacheName()).thenReturn("login-attempts");
+        when(caches.orderedStream()).thenReturn(Stream.of(loginAttempts));
+
+        cacheInvalidationBus.onRemoteInvalidation("login-attempts:user:with:colons", "other-node",
+                System.currentTimeMillis() - 50, AppConstants.TOPIC_CACHE_INVALIDATION);
+
+        verify(loginAttempts).evictLocal("user:with:colons");
+        assertThat(meterRegistry.counter("cache.invalidation.received").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.invalidation.lag").tag("cache", "login-attempts").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip records published by this instance")
+    void shouldSkipOwnRecords() {
+        cacheInvalidationBus.onRemoteInvalidation("login-attempts:user@test.com",
+                cacheInvalidationBus.getInstanceId(), System.currentTimeMillis(),
+                AppConstants.TOPIC_CACHE_INVALIDATION);
+
+        verifyNoInteractions(caches, loginAttempts);
+    }
+
+    @Test
+    @DisplayName("Should ignore malformed keys and unknown caches")
+    void shouldIgnoreMalformedKeysAndUnknownCaches() {
+        when(loginAttempts.cacheName()).thenReturn("login-attempts");
+        when(caches.orderedStream()).thenReturn(Stream.of(loginAttempts));
+
+        cacheInvalidationBus.onRemoteInvalidation("no-separator", "other-node", 0L, AppConstants.TOPIC_PRODUCT_SYNC);
+        cacheInvalidationBus.onRemoteInvalidation("unknown:key", "other-node", 0L, AppConstants.TOPIC_PRODUCT_SYNC);
+
+        verify(loginAttempts, never()).evictLocal(anyString());
+        assertThat(meterRegistry.counter("cache.invalidation.received").count()).isZero();
+    }
+}
@@ -0,0 +1,145 @@
+package com.foursales.ecommerce.cache;
+
+import com.foursales.ecommerce.dto.ProductResponse;
+import com.foursales.ecommerce.dto.ProductVersion;
+import com.foursales.ecommerce.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductCacheTest {
+
+    private UUID productId;
+    private LocalDateTime updatedAt;
+    private ProductResponse productResponse;
+    private AtomicInteger loads;
+    private AtomicInteger versionLoads;
+
+    @BeforeEach
+    void setUp() {
+        productId = UUID.randomUUID();
+        updatedAt = LocalDateTime.of(2025, 1, 15, 10, 0);
+        productResponse = ProductResponse.builder()
+                .id(productId)
+                .name("Test Product")
+                .description("Description")
+                .price(new BigDecimal("100.00"))
+                .category("Electronics")
+                .stockQuantity(10)
+                .updatedAt(updatedAt)
+                .build();
+        loads = new AtomicInteger();
+        versionLoads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should load once and serve subsequent reads from cache")
+    void shouldLoadOnceAndServeFromCache() {
+        ProductCache cache = new ProductCache(1_000_000, 600, 600);
+
+        cache.get(productId, loader(), versionLoader(Optional.of(new ProductVersion(10, updatedAt))));
+        ProductResponse result = cache.get(productId, loader(), versionLoader(Optional.of(new ProductVersion(10, updatedAt))));
+
+        assertThat(result).isSameAs(productResponse);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(versionLoads.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refresh only stock when the stock entry expired")
+    void shouldRefreshOnlyStockWhenExpired() {
+        ProductCache cache = new ProductCache(1_000_000, 600, 0);
+
+        cache.get(productId, loader(), versionLoader(Optional.of(new ProductVersion(3, updatedAt))));
+        ProductResponse result = cache.get(productId, loader(), versionLoader(Optional.of(new ProductVersion(3, updatedAt))));
+
+        assertThat(result.getStockQuantity()).isEqualTo(3);
+        assertThat(result.getName()).isEqualTo("Test Product");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(versionLoads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload details when overlay shows a newer version")
+    void shouldReloadDetailsWhenVersionIsNewer() {
+        ProductCache cache = new ProductCache(1_000_000, 600, 0);
+        cache.get(productId, loader(), versionLoader(Optional.of(new ProductVersion(10, updatedAt))));
+
+        cache.get(productId, loader(), versionLoader(Optional.of(new ProductVersion(10, updatedAt.plusNanos(1_000)))));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should answer version lookups from overlay without loading details")
+    void shouldAnswerVersionFromOverlay() {
+        ProductCache cache = new ProductCache(1_000_000, 600, 600);
+        cache.get(productId, loader(), versionLoader(Optional.of(new ProductVersion(10, updatedAt))));
+
+        Optional<ProductVersion> version = cache.getVersion(productId, versionLoader(Optional.empty()));
+
+        assertThat(version).map(ProductVersion::getUpdatedAt).contains(updatedAt);
+        assertThat(versionLoads.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict and report not found when product disappeared on version refresh")
+    void shouldEvictWhenProductDeletedElsewhere() {
+        ProductCache cache = new ProductCache(1_000_000, 600, 0);
+        cache.get(productId, loader(), versionLoader(Optional.of(new ProductVersion(10, updatedAt))));
+
+        assertThatThrownBy(() -> cache.get(productId, loader(), versionLoader(Optional.empty())))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load again after eviction")
+    void shouldLoadAgainAfterEviction() {
+        ProductCache cache = new ProductCache(1_000_000, 600, 600);
+
+        cache.get(productId, loader(), versionLoader(Optional.of(new ProductVersion(10, updatedAt))));
+        cache.evict(productId);
+        cache.get(productId, loader(), versionLoader(Optional.of(new ProductVersion(10, updatedAt))));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache anything when loader throws")
+    void shouldNotCacheWhenLoaderThrows() {
+        ProductCache cache = new ProductCache(1_000_000, 600, 600);
+
+        assertThatThrownBy(() -> cache.get(productId,
+                id -> {
+                    throw new ResourceNotFoundException("Product", "id", id);
+                },
+                versionLoader(Optional.empty())))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    private Function<UUID, ProductResponse> loader() {
+        return id -> {
+            loads.incrementAndGet();
+            return productResponse;
+        };
+    }
+
+    private Function<UUID, Optional<ProductVersion>> versionLoader(Optional<ProductVersion> version) {
+        return id -> {
+            versionLoads.incrementAndGet();
+            return version;
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.foursales.ecommerce.cache;
+
+import com.foursales.ecommerce.cache.SearchResultCache.SearchKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchResultCacheTest {
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should normalise name and price so equivalent searches share an entry")
+    void shouldNormaliseEquivalentSearches() {
+        SearchResultCache cache = new SearchResultCache(100, 30, 0, 0);
+
+        cache.get(SearchKey.of("list", "Note  Book ", "Electronics", new BigDecimal("10.00"), null), this::load);
+        String result = cache.get(SearchKey.of("list", "note book", "Electronics", new BigDecimal("10"), null),
+                this::load);
+
+        assertThat(result).isEqualTo("result-1");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep category case because the term filter is exact")
+    void shouldKeepCategoryCase() {
+        SearchResultCache cache = new SearchResultCache(100, 30, 0, 0);
+
+        cache.get(SearchKey.of("list", null, "Electronics", null, null), this::load);
+        cache.get(SearchKey.of("list", null, "electronics", null, null), this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evict the category and unfiltered searches only")
+    void shouldEvictCategoryAndUnfilteredSearches() {
+        SearchResultCache cache = new SearchResultCache(100, 30, 0, 0);
+        SearchKey electronics = SearchKey.of("list", "phone", "Electronics", null, null);
+        SearchKey books = SearchKey.of("list", null, "Books", null, null);
+        SearchKey unfiltered = SearchKey.of("list", "phone", null, null, null);
+        cache.get(electronics, this::load);
+        cache.get(books, this::load);
+        cache.get(unfiltered, this::load);
+
+        cache.evictLocal("Electronics");
+        cache.get(electronics, this::load);
+        cache.get(books, this::load);
+        cache.get(unfiltered, this::load);
+
+        assertThat(loads.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should evict everything on ALL_ENTRIES")
+    void shouldEvictEverything() {
+        SearchResultCache cache = new SearchResultCache(100, 30, 0, 0);
+        cache.get(SearchKey.of("list", null, "Books", null, null), this::load);
+
+        cache.evictLocal(InvalidatableCache.ALL_ENTRIES);
+
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refresh early when the load cost dominates the remaining TTL")
+    void shouldRefreshEarly() {
+        SearchResultCache cache = new SearchResultCache(100, 30, 1e12, 0);
+        SearchKey key = SearchKey.of("list", null, "Books", null, null);
+
+        cache.get(key, this::load);
+        String result = cache.get(key, this::load);
+
+        assertThat(result).isEqualTo("result-2");
+    }
+
+    @Test
+    @DisplayName("Should serve the cached result when an early refresh fails")
+    void shouldServeCachedWhenEarlyRefreshFails() {
+        SearchResultCache cache = new SearchResultCache(100, 30, 1e12, 0);
+        SearchKey key = SearchKey.of("list", null, "Books", null, null);
+        cache.get(key, this::load);
+
+        String result = cache.get(key, () -> {
+            throw new IllegalStateException("Elasticsearch down");
+        });
+
+        assertThat(result).isEqualTo("result-1");
+    }
+
+    @Test
+    @DisplayName("Should not cache anything when the search fails")
+    void shouldNotCacheFailures() {
+        SearchResultCache cache = new SearchResultCache(100, 30, 0, 0);
+        SearchKey key = SearchKey.of("list", null, "Books", null, null);
+
+        assertThatThrownBy(() -> cache.get(key, () -> {
+            throw new IllegalStateException("Elasticsearch down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    private String load() {
+        return "result-" + loads.incrementAndGet();
+    }
+}
@@ -14,6 +14,7 @@ import com.foursales.ecommerce.exception.ResourceNotFoundException;
 import com.foursales.ecommerce.repository.jpa.UserRepository;
 import com.foursales.ecommerce.security.JwtTokenProvider;
 import com.foursales.ecommerce.service.IOrderService;
+import com.foursales.ecommerce.util.HttpCacheUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,6 +32,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -138,6 +140,33 @@ class OrderControllerTest {
         verify(orderService).getOrderByIdForUser(any(UUID.class), any(User.class));
     }
 
+    @Test
+    @DisplayName("Should return 304 without loading order when ETag matches current version")
+    void shouldReturn304WhenOrderETagMatches() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 15, 10, 0);
+        when(orderService.getOrderVersionForUser(any(UUID.class), any(User.class))).thenReturn(Optional.of(updatedAt));
+
+        mockMvc.perform(get("/api/v1/orders/{id}", orderId)
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("If-None-Match", HttpCacheUtils.strongETag(orderId, updatedAt)))
+                .andExpect(status().isNotModified());
+
+        verify(orderService, never()).getOrderByIdForUser(any(UUID.class), any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should load order when conditional request has no visible version")
+    void shouldLoadOrderWhenVersionNotFound() throws Exception {
+        when(orderService.getOrderVersionForUser(any(UUID.class), any(User.class))).thenReturn(Optional.empty());
+        when(orderService.getOrderByIdForUser(any(UUID.class), any(User.class)))
+                .thenThrow(new BusinessException("Order does not belong to user"));
+
+        mockMvc.perform(get("/api/v1/orders/{id}", orderId)
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("If-None-Match", "\"stale\""))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should return 404 when order not found")
     void shouldReturn404WhenOrderNotFound() throws Exception {
@@ -2,13 +2,24 @@ package com.foursales.ecommerce.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foursales.ecommerce.config.TestConfig;
+import com.foursales.ecommerce.dto.CursorPagedResponse;
+import com.foursales.ecommerce.dto.FacetBucket;
 import com.foursales.ecommerce.dto.ProductRequest;
 import com.foursales.ecommerce.dto.ProductResponse;
+import com.foursales.ecommerce.dto.ProductSearchCriteria;
+import com.foursales.ecommerce.dto.ProductSearchFacets;
+import com.foursales.ecommerce.dto.ProductSearchResponse;
+import com.foursales.ecommerce.dto.ProductSuggestion;
 import com.foursales.ecommerce.entity.User;
+import com.foursales.ecommerce.enums.ExportFormat;
+import com.foursales.ecommerce.enums.ProductSearchSort;
 import com.foursales.ecommerce.enums.UserRole;
 import com.foursales.ecommerce.exception.ResourceNotFoundException;
 import com.foursales.ecommerce.repository.jpa.UserRepository;
 import com.foursales.ecommerce.service.IProductService;
+import com.foursales.ecommerce.service.ProductExportService;
+import com.foursales.ecommerce.service.ProductSuggestService;
+import com.foursales.ecommerce.util.HttpCacheUtils;
 import com.foursales.ecommerce.security.JwtTokenProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,17 +31,26 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -57,6 +77,12 @@ class ProductControllerTest {
     @MockBean
     private IProductService productService;
 
+    @MockBean
+    private ProductExportService productExportService;
+
+    @MockBean
+    private ProductSuggestService productSuggestService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -110,6 +136,34 @@ class ProductControllerTest {
         verify(productService).getAllProductsPaginated(any());
     }
 
+    @Test
+    @DisplayName("Should list products without count when includeTotal is false")
+    void shouldListProductsWithoutCount() throws Exception {
+        when(productService.getAllProductsSlice(any()))
+                .thenReturn(new SliceImpl<>(List.of(productResponse), PageRequest.of(0, 20), true));
+
+        mockMvc.perform(get("/api/v1/products").param("includeTotal", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Test Product"))
+                .andExpect(jsonPath("$.totalElements").value(-1))
+                .andExpect(jsonPath("$.last").value(false));
+
+        verify(productService, never()).getAllProductsPaginated(any());
+    }
+
+    @Test
+    @DisplayName("Should list products by cursor")
+    void shouldListProductsByCursor() throws Exception {
+        when(productService.getProductsByCursor("abc", 10))
+                .thenReturn(new CursorPagedResponse<>(List.of(productResponse), 10, "next", true));
+
+        mockMvc.perform(get("/api/v1/products/cursor").param("cursor", "abc").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Test Product"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
     @Test
     @DisplayName("Should get product by id")
     void shouldGetProductById() throws Exception {
@@ -123,6 +177,46 @@ class ProductControllerTest {
         verify(productService).getProductById(productId);
     }
 
+    @Test
+    @DisplayName("Should return ETag and Last-Modified with product")
+    void shouldReturnValidatorsWithProduct() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 15, 10, 0);
+        when(productService.getProductById(productId))
+                .thenReturn(ProductResponse.builder().id(productId).name("Test Product").updatedAt(updatedAt).build());
+
+        mockMvc.perform(get("/api/v1/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", HttpCacheUtils.strongETag(productId, updatedAt)))
+                .andExpect(header().exists("Last-Modified"));
+    }
+
+    @Test
+    @DisplayName("Should return 304 without loading product when ETag matches current version")
+    void shouldReturn304WhenETagMatches() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 15, 10, 0);
+        when(productService.getProductVersion(productId)).thenReturn(Optional.of(updatedAt));
+
+        mockMvc.perform(get("/api/v1/products/{id}", productId)
+                        .header("If-None-Match", HttpCacheUtils.strongETag(productId, updatedAt)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", HttpCacheUtils.strongETag(productId, updatedAt)));
+
+        verify(productService, never()).getProductById(any());
+    }
+
+    @Test
+    @DisplayName("Should return full product when ETag is outdated")
+    void shouldReturnProductWhenETagIsOutdated() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 15, 10, 0);
+        when(productService.getProductVersion(productId)).thenReturn(Optional.of(updatedAt.plusSeconds(1)));
+        when(productService.getProductById(productId)).thenReturn(productResponse);
+
+        mockMvc.perform(get("/api/v1/products/{id}", productId)
+                        .header("If-None-Match", HttpCacheUtils.strongETag(productId, updatedAt)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Test Product"));
+    }
+
     @Test
     @DisplayName("Should return 404 when product not found")
     void shouldReturn404WhenProductNotFound() throws Exception {
@@ -152,6 +246,67 @@ class ProductControllerTest {
         verify(productService).searchProducts(eq("Test"), eq("Electronics"), any(), any());
     }
 
+    @Test
+    @DisplayName("Should search products page with sort and cursor")
+    void shouldSearchProductsPage() throws Exception {
+        when(productService.searchProductsPage(any()))
+                .thenReturn(new ProductSearchResponse(List.of(productResponse), 10, "next", true, null));
+
+        mockMvc.perform(get("/api/v1/products/search/page")
+                        .param("category", "Electronics")
+                        .param("sort", "price_desc")
+                        .param("size", "10")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Test Product"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(productService).searchProductsPage(argThat(c -> c.getSort() == ProductSearchSort.PRICE_DESC
+                && c.getSize() == 10 && "abc".equals(c.getCursor()) && "Electronics".equals(c.getCategory())));
+    }
+
+    @Test
+    @DisplayName("Should return facets with search page when requested")
+    void shouldReturnFacetsWithSearchPage() throws Exception {
+        ProductSearchFacets facets = new ProductSearchFacets(
+                List.of(FacetBucket.of("Electronics", 3)),
+                List.of(new FacetBucket("50-100", new BigDecimal("50.0"), new BigDecimal("100.0"), 2)));
+        when(productService.searchProductsPage(any()))
+                .thenReturn(new ProductSearchResponse(List.of(productResponse), 20, null, false, facets));
+
+        mockMvc.perform(get("/api/v1/products/search/page").param("facets", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.facets.categories[0].key").value("Electronics"))
+                .andExpect(jsonPath("$.facets.categories[0].count").value(3))
+                .andExpect(jsonPath("$.facets.categories[0].from").doesNotExist())
+                .andExpect(jsonPath("$.facets.priceRanges[0].key").value("50-100"));
+
+        verify(productService).searchProductsPage(argThat(ProductSearchCriteria::isFacets));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for unsupported search sort")
+    void shouldReturn400ForUnsupportedSearchSort() throws Exception {
+        mockMvc.perform(get("/api/v1/products/search/page").param("sort", "popularity"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).searchProductsPage(any());
+    }
+
+    @Test
+    @DisplayName("Should return autocomplete suggestions with short browser cache")
+    void shouldReturnSuggestions() throws Exception {
+        when(productSuggestService.suggest("tes", 8))
+                .thenReturn(List.of(new ProductSuggestion(productId, "Test Product")));
+
+        mockMvc.perform(get("/api/v1/products/suggest").param("prefix", "tes"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30, public"))
+                .andExpect(jsonPath("$[0].name").value("Test Product"))
+                .andExpect(jsonPath("$[0].id").value(productId.toString()));
+    }
+
     @Test
     @DisplayName("Should search products without filters")
     void shouldSearchProductsWithoutFilters() throws Exception {
@@ -254,4 +409,64 @@ class ProductControllerTest {
 
         verify(productService, never()).deleteProduct(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should stream catalogue export as CSV attachment")
+    void shouldStreamCatalogueExportAsCsv() throws Exception {
+        when(productExportService.tryAcquireSlot()).thenReturn(true);
+        // Holds the async writer until the first dispatch has finished printing the response
+        CountDownLatch dispatched = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            dispatched.await(5, TimeUnit.SECONDS);
+            OutputStream out = invocation.getArgument(1);
+            out.write("id,name\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        }).when(productExportService).exportCatalog(eq(ExportFormat.CSV), any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/products/export").param("format", "csv")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        dispatched.countDown();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"catalog.csv\""))
+                .andExpect(content().string("id,name\n"));
+        verify(productExportService).releaseSlot();
+    }
+
+    @Test
+    @DisplayName("Should return 400 for unsupported export format")
+    void shouldReturn400ForUnsupportedExportFormat() throws Exception {
+        mockMvc.perform(get("/api/v1/products/export").param("format", "xml")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productExportService);
+    }
+
+    @Test
+    @DisplayName("Should return 401 when exporting catalogue without authentication")
+    void shouldReturn401WhenExportingWithoutAuthentication() throws Exception {
+        mockMvc.perform(get("/api/v1/products/export"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(productExportService);
+    }
+
+    @Test
+    @DisplayName("Should return 503 when too many exports are running")
+    void shouldReturn503WhenExportSlotsAreTaken() throws Exception {
+        when(productExportService.tryAcquireSlot()).thenReturn(false);
+
+        mockMvc.perform(get("/api/v1/products/export")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "60"));
+
+        verify(productExportService, never()).exportCatalog(any(), any());
+        verify(productExportService, never()).releaseSlot();
+    }
+}
@@ -1,11 +1,18 @@
 package com.foursales.ecommerce.controller;
 
+import com.foursales.ecommerce.dto.DistinctBuyersResponse;
 import com.foursales.ecommerce.dto.MonthlyRevenueResponse;
+import com.foursales.ecommerce.dto.PagedResponse;
+import com.foursales.ecommerce.dto.RevenueReportResponse;
+import com.foursales.ecommerce.dto.TopProductResponse;
 import com.foursales.ecommerce.dto.TopUserResponse;
 import com.foursales.ecommerce.dto.UserAverageTicketResponse;
+import com.foursales.ecommerce.dto.UserOrderStatsResponse;
 import com.foursales.ecommerce.entity.User;
 import com.foursales.ecommerce.config.TestConfig;
 import com.foursales.ecommerce.enums.UserRole;
+import com.foursales.ecommerce.enums.TopProductsWindow;
+import com.foursales.ecommerce.enums.UserStatsSort;
 import com.foursales.ecommerce.repository.jpa.UserRepository;
 import com.foursales.ecommerce.security.JwtTokenProvider;
 import com.foursales.ecommerce.service.IReportService;
@@ -17,17 +24,23 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -206,6 +219,134 @@ class ReportControllerTest {
         verify(reportService, never()).getCurrentMonthRevenue();
     }
 
+    @Test
+    @DisplayName("Should get revenue by date range as admin")
+    void shouldGetRevenueByDateRangeAsAdmin() throws Exception {
+        RevenueReportResponse revenueReport = new RevenueReportResponse(
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0),
+                new BigDecimal("600.00"), 3L, new BigDecimal("200.00"), List.of());
+        when(reportService.getRevenue(any(), any())).thenReturn(revenueReport);
+
+        mockMvc.perform(get("/api/v1/reports/revenue")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("startDate", "2025-01-01")
+                        .param("endDate", "2025-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRevenue").value(600.00))
+                .andExpect(jsonPath("$.totalOrders").value(3));
+
+        verify(reportService).getRevenue(LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should get paged user stats as admin")
+    void shouldGetUserStatsAsAdmin() throws Exception {
+        UserOrderStatsResponse stats = new UserOrderStatsResponse(UUID.randomUUID(), "Test User", "test@test.com",
+                3L, 2L, new BigDecimal("300.00"), new BigDecimal("120.00"), LocalDateTime.now());
+        when(reportService.getUserStats(anyInt(), anyInt(), any()))
+                .thenReturn(PagedResponse.of(new PageImpl<>(List.of(stats), PageRequest.of(1, 10), 11)));
+
+        mockMvc.perform(get("/api/v1/reports/user-stats")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("page", "1")
+                        .param("size", "10")
+                        .param("sort", "average_ticket"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").value("test@test.com"))
+                .andExpect(jsonPath("$.content[0].averageTicket").value(120.00))
+                .andExpect(jsonPath("$.totalElements").value(11));
+
+        verify(reportService).getUserStats(1, 10, UserStatsSort.AVERAGE_TICKET);
+    }
+
+    @Test
+    @DisplayName("Should return 400 for unsupported user stats sort")
+    void shouldReturn400ForUnsupportedUserStatsSort() throws Exception {
+        mockMvc.perform(get("/api/v1/reports/user-stats")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("sort", "name"))
+                .andExpect(status().isBadRequest());
+
+        verify(reportService, never()).getUserStats(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should get top products for the requested window")
+    void shouldGetTopProductsForWindow() throws Exception {
+        when(reportService.getTopProducts(TopProductsWindow.HOUR, 5))
+                .thenReturn(List.of(new TopProductResponse(UUID.randomUUID(), "Notebook", 12L)));
+
+        mockMvc.perform(get("/api/v1/reports/top-products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("window", "hour")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].name").value("Notebook"))
+                .andExpect(jsonPath("$.[0].unitsSold").value(12));
+
+        verify(reportService).getTopProducts(TopProductsWindow.HOUR, 5);
+    }
+
+    @Test
+    @DisplayName("Should return 400 for unsupported top products window")
+    void shouldReturn400ForUnsupportedTopProductsWindow() throws Exception {
+        mockMvc.perform(get("/api/v1/reports/top-products")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("window", "year"))
+                .andExpect(status().isBadRequest());
+
+        verify(reportService, never()).getTopProducts(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should get distinct buyers for a date range and category")
+    void shouldGetDistinctBuyers() throws Exception {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        when(reportService.getDistinctBuyers(start, end, "Electronics"))
+                .thenReturn(new DistinctBuyersResponse(start, end, "Electronics", 1532L, 0.0163));
+
+        mockMvc.perform(get("/api/v1/reports/distinct-buyers")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("startDate", "2025-01-01")
+                        .param("endDate", "2025-01-31")
+                        .param("category", "Electronics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.distinctBuyers").value(1532))
+                .andExpect(jsonPath("$.relativeStandardError").value(0.0163));
+
+        verify(reportService).getDistinctBuyers(start, end, "Electronics");
+    }
+
+    @Test
+    @DisplayName("Should return 403 when non-admin gets distinct buyers per category")
+    void shouldReturn403WhenNonAdminGetsDistinctBuyersPerCategory() throws Exception {
+        mockMvc.perform(get("/api/v1/reports/distinct-buyers/categories")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+
+        verify(reportService, never()).getDistinctBuyersByCategory(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should open sales dashboard stream as admin")
+    void shouldOpenSalesDashboardStreamAsAdmin() throws Exception {
+        mockMvc.perform(get("/api/v1/reports/dashboard/stream")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(content().string(containsString("event:sales")));
+    }
+
+    @Test
+    @DisplayName("Should return 403 when non-admin opens sales dashboard stream")
+    void shouldReturn403WhenNonAdminOpensSalesDashboardStream() throws Exception {
+        mockMvc.perform(get("/api/v1/reports/dashboard/stream")
+                        .header("Authorization", "Bearer " + userToken)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("Should return 401 when accessing reports without authentication")
     void shouldReturn401WhenAccessingReportsWithoutAuthentication() throws Exception {
@@ -0,0 +1,159 @@
+package com.foursales.ecommerce.controller;
+
+import com.foursales.ecommerce.config.TestConfig;
+import com.foursales.ecommerce.entity.User;
+import com.foursales.ecommerce.enums.ReportType;
+import com.foursales.ecommerce.enums.UserRole;
+import com.foursales.ecommerce.exception.BusinessException;
+import com.foursales.ecommerce.exception.ReportQueueFullException;
+import com.foursales.ecommerce.exception.ResourceNotFoundException;
+import com.foursales.ecommerce.report.ReportJob;
+import com.foursales.ecommerce.report.ReportJobService;
+import com.foursales.ecommerce.repository.jpa.UserRepository;
+import com.foursales.ecommerce.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "spring.elasticsearch.uris=",
+    "spring.data.elasticsearch.repositories.enabled=false",
+    "management.health.elasticsearch.enabled=false"
+})
+@Import(TestConfig.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class ReportJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        User adminUser = userRepository.save(
+                new User("Admin User", "admin@test.com", passwordEncoder.encode("password"), UserRole.ADMIN));
+        adminToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(adminUser, null, adminUser.getAuthorities()));
+
+        User regularUser = userRepository.save(
+                new User("Regular User", "user@test.com", passwordEncoder.encode("password"), UserRole.USER));
+        userToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(regularUser, null, regularUser.getAuthorities()));
+    }
+
+    @Test
+    @DisplayName("Should accept report job and point to its status")
+    void shouldAcceptReportJob() throws Exception {
+        ReportJob job = new ReportJob(ReportType.REVENUE, LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0));
+        when(reportJobService.submit(any(), any(), any())).thenReturn(job);
+
+        mockMvc.perform(post("/api/v1/report-jobs")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"revenue\",\"startDate\":\"2025-01-01\",\"endDate\":\"2025-01-31\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/report-jobs/" + job.getId()))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.type").value("revenue"));
+
+        // Revenue end date is exclusive, as in the synchronous endpoint
+        verify(reportJobService).submit(ReportType.REVENUE,
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for unknown report type")
+    void shouldReturn400ForUnknownReportType() throws Exception {
+        mockMvc.perform(post("/api/v1/report-jobs")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"everything\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(reportJobService, never()).submit(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return 503 when the report queue is full")
+    void shouldReturn503WhenQueueIsFull() throws Exception {
+        when(reportJobService.submit(any(), any(), any())).thenThrow(new ReportQueueFullException("full"));
+
+        mockMvc.perform(post("/api/v1/report-jobs")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"top_users\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for unknown or expired job")
+    void shouldReturn404ForUnknownJob() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        when(reportJobService.getJob(jobId)).thenThrow(new ResourceNotFoundException("ReportJob", "id", jobId));
+
+        mockMvc.perform(get("/api/v1/report-jobs/" + jobId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 400 when downloading a job that is not completed")
+    void shouldReturn400WhenDownloadingPendingJob() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        when(reportJobService.getCompletedJob(jobId)).thenThrow(new BusinessException("not completed"));
+
+        mockMvc.perform(get("/api/v1/report-jobs/" + jobId + "/download")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("format", "csv"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 403 when non-admin submits a report job")
+    void shouldReturn403WhenNonAdminSubmits() throws Exception {
+        mockMvc.perform(post("/api/v1/report-jobs")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"top_users\"}"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(reportJobService);
+    }
+}
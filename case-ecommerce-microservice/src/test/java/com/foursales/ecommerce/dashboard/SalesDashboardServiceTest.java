@@ -0,0 +1,133 @@
+package com.foursales.ecommerce.dashboard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesDashboardServiceTest {
+
+    private static final long WRITE_TIMEOUT_MS = 100;
+
+    private SalesDashboardService salesDashboardService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.ofEpochSecond(1_736_000_000L), ZoneOffset.UTC);
+        salesDashboardService = new SalesDashboardService(new ObjectMapper().findAndRegisterModules(), clock,
+                60, 10, 60_000, 2, WRITE_TIMEOUT_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        salesDashboardService.stop();
+    }
+
+    @Test
+    @DisplayName("Should register viewer on subscribe")
+    void shouldRegisterViewerOnSubscribe() {
+        SseEmitter emitter = salesDashboardService.subscribe();
+
+        assertThat(emitter.getTimeout()).isEqualTo(60_000L);
+        assertThat(salesDashboardService.viewerCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop viewers whose stream already completed on broadcast")
+    void shouldDropCompletedViewersOnBroadcast() throws InterruptedException {
+        SseEmitter closed = salesDashboardService.subscribe();
+        salesDashboardService.subscribe();
+        closed.complete();
+
+        salesDashboardService.broadcast();
+
+        awaitViewerCount(1);
+        assertThat(salesDashboardService.viewerCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep streaming to other viewers while one write is blocked, then drop the blocked viewer")
+    void shouldNotLetBlockedViewerStallOthers() throws Exception {
+        BlockingEmitter slow = new BlockingEmitter();
+        CountingEmitter fast = new CountingEmitter();
+        salesDashboardService.register(slow);
+        salesDashboardService.register(fast);
+        assertThat(fast.awaitSends(1)).isTrue();
+        slow.blockNextSends();
+
+        salesDashboardService.broadcast();
+        assertThat(slow.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fast.awaitSends(1)).isTrue();
+
+        // The slow viewer still holds a writer thread; the fast one keeps getting every frame
+        salesDashboardService.broadcast();
+        assertThat(fast.awaitSends(1)).isTrue();
+
+        Thread.sleep(WRITE_TIMEOUT_MS * 2);
+        salesDashboardService.broadcast();
+
+        assertThat(salesDashboardService.viewerCount()).isEqualTo(1);
+        slow.release();
+    }
+
+    private void awaitViewerCount(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (salesDashboardService.viewerCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private volatile boolean blocking;
+
+        void blockNextSends() {
+            blocking = true;
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (blocking) {
+                // A client with a full TCP window: the servlet write does not return
+                blocked.countDown();
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private static final class CountingEmitter extends SseEmitter {
+
+        private final Semaphore sent = new Semaphore(0);
+
+        boolean awaitSends(int count) throws InterruptedException {
+            return sent.tryAcquire(count, 5, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.release();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.foursales.ecommerce.dashboard;
+
+import com.foursales.ecommerce.dto.SalesDashboardResponse;
+import com.foursales.ecommerce.dto.SalesDashboardResponse.ProductSales;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesWindowTest {
+
+    private static final long NOW = 1_736_000_000L;
+
+    private final UUID notebook = UUID.randomUUID();
+    private final UUID mouse = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should report last second and window totals")
+    void shouldReportLastSecondAndWindowTotals() {
+        SalesWindow window = new SalesWindow(60);
+        window.record(NOW - 10, paid(150_00, line(notebook, 1, 150_00)));
+        window.record(NOW - 1, paid(20_00, line(mouse, 2, 20_00)));
+        window.record(NOW - 1, paid(30_00, line(mouse, 3, 30_00)));
+
+        SalesDashboardResponse snapshot = window.snapshot(NOW, 10, false);
+
+        assertThat(snapshot.getLastSecondOrders()).isEqualTo(2);
+        assertThat(snapshot.getLastSecondRevenue()).isEqualByComparingTo("50.00");
+        assertThat(snapshot.getWindowOrders()).isEqualTo(3);
+        assertThat(snapshot.getWindowRevenue()).isEqualByComparingTo("200.00");
+        assertThat(snapshot.getSeries()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should expire buckets that fall out of the window")
+    void shouldExpireBucketsOutOfWindow() {
+        SalesWindow window = new SalesWindow(60);
+        window.record(NOW, paid(150_00, line(notebook, 1, 150_00)));
+        window.record(NOW + 30, paid(20_00, line(mouse, 2, 20_00)));
+
+        SalesDashboardResponse snapshot = window.snapshot(NOW + 60, 10, false);
+
+        assertThat(snapshot.getWindowOrders()).isEqualTo(1);
+        assertThat(snapshot.getWindowRevenue()).isEqualByComparingTo("20.00");
+        assertThat(snapshot.getTopProducts()).extracting(ProductSales::getProductId).containsExactly(mouse);
+
+        SalesDashboardResponse later = window.snapshot(NOW + 1_000, 10, false);
+
+        assertThat(later.getWindowOrders()).isZero();
+        assertThat(later.getWindowRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(later.getTopProducts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank top products by units sold within the limit")
+    void shouldRankTopProductsByUnits() {
+        SalesWindow window = new SalesWindow(60);
+        UUID keyboard = UUID.randomUUID();
+        window.record(NOW - 5, paid(300_00, line(notebook, 2, 300_00)));
+        window.record(NOW - 4, paid(50_00, line(mouse, 5, 50_00), line(keyboard, 1, 80_00)));
+        window.record(NOW - 3, paid(10_00, line(mouse, 1, 10_00)));
+
+        List<ProductSales> top = window.snapshot(NOW, 2, false).getTopProducts();
+
+        assertThat(top).extracting(ProductSales::getProductId).containsExactly(mouse, notebook);
+        assertThat(top.get(0).getUnitsSold()).isEqualTo(6);
+        assertThat(top.get(0).getRevenue()).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    @DisplayName("Should return per-second history oldest first")
+    void shouldReturnSeriesOldestFirst() {
+        SalesWindow window = new SalesWindow(5);
+        window.record(NOW - 4, paid(10_00));
+        window.record(NOW - 1, paid(25_00));
+
+        SalesDashboardResponse snapshot = window.snapshot(NOW, 10, true);
+
+        assertThat(snapshot.getSeries()).hasSize(4);
+        assertThat(snapshot.getSeries().get(0).getSecond().getEpochSecond()).isEqualTo(NOW - 4);
+        assertThat(snapshot.getSeries().get(0).getRevenue()).isEqualByComparingTo("10.00");
+        assertThat(snapshot.getSeries().get(3).getOrders()).isEqualTo(1);
+        assertThat(snapshot.getSeries().get(1).getOrders()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore payments older than the window")
+    void shouldIgnorePaymentsOlderThanWindow() {
+        SalesWindow window = new SalesWindow(60);
+        window.record(NOW, paid(10_00));
+        window.record(NOW - 60, paid(99_00));
+
+        assertThat(window.snapshot(NOW, 10, false).getWindowOrders()).isEqualTo(1);
+    }
+
+    private static OrderPaidEvent paid(long totalCents, OrderPaidEvent.Line... lines) {
+        return new OrderPaidEvent(UUID.randomUUID(), UUID.randomUUID(), LocalDateTime.now(), totalCents, List.of(lines));
+    }
+
+    private static OrderPaidEvent.Line line(UUID productId, int quantity, long subtotalCents) {
+        return new OrderPaidEvent.Line(productId, "Product " + productId, "Electronics", quantity, subtotalCents);
+    }
+}
@@ -0,0 +1,105 @@
+package com.foursales.ecommerce.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two in-memory H2 instances stand in for primary and replica; each holds a marker row
+ * naming the instance, so a query shows where the transaction was routed.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = instance("primary");
+        replica = instance("replica");
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to the replica when it is available")
+    void shouldRouteReadOnlyToReplica() {
+        ReplicaLagMonitor monitor = monitor(replica, "SELECT 0");
+        monitor.check();
+
+        assertThat(queryInTransaction(routing(monitor), true)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should route read-write transactions and non-transactional access to the primary")
+    void shouldRouteWritesToPrimary() {
+        ReplicaLagMonitor monitor = monitor(replica, "SELECT 0");
+        monitor.check();
+        DataSource routing = routing(monitor);
+
+        assertThat(queryInTransaction(routing, false)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(routing).queryForObject("SELECT name FROM marker", String.class))
+                .isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when replica lag exceeds the limit")
+    void shouldFallBackWhenLagging() {
+        ReplicaLagMonitor monitor = monitor(replica, "SELECT 60");
+        monitor.check();
+
+        assertThat(queryInTransaction(routing(monitor), true)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary and mark the replica down when its connection fails")
+    void shouldFallBackWhenReplicaConnectionFails() throws SQLException {
+        DataSource down = mock(DataSource.class);
+        SQLException failure = new SQLException("Connection refused");
+        when(down.getConnection()).thenThrow(failure);
+        ReplicaLagMonitor monitor = mock(ReplicaLagMonitor.class);
+        when(monitor.isAvailable()).thenReturn(true);
+
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, down, monitor));
+
+        assertThat(queryInTransaction(routing, true)).isEqualTo("primary");
+        verify(monitor).markUnavailable(failure);
+    }
+
+    private String queryInTransaction(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private DataSource routing(ReplicaLagMonitor monitor) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, monitor));
+    }
+
+    private static ReplicaLagMonitor monitor(DataSource replica, String lagQuery) {
+        return new ReplicaLagMonitor(replica, lagQuery, 5, new SimpleMeterRegistry());
+    }
+
+    private static DataSource instance(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+}
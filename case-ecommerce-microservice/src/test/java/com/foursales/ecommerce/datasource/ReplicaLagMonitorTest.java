@@ -0,0 +1,94 @@
+package com.foursales.ecommerce.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaLagMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should start unavailable until the first check")
+    void shouldStartUnavailable() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(h2("lag-initial"), "SELECT 0", 5, meterRegistry);
+
+        assertThat(monitor.isAvailable()).isFalse();
+        assertThat(meterRegistry.get("datasource.replica.available").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should become available when lag is within the limit")
+    void shouldBeAvailableWhenLagWithinLimit() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(h2("lag-ok"), "SELECT 3", 5, meterRegistry);
+
+        monitor.check();
+
+        assertThat(monitor.isAvailable()).isTrue();
+        assertThat(monitor.getLagSeconds()).isEqualTo(3);
+        assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should read Seconds_Behind_Source by name and fall back when it exceeds the limit")
+    void shouldReadLagColumnByName() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(h2("lag-column"),
+                "SELECT 'Yes' AS Replica_IO_Running, 30 AS Seconds_Behind_Source", 5, meterRegistry);
+
+        monitor.check();
+
+        assertThat(monitor.isAvailable()).isFalse();
+        assertThat(monitor.getLagSeconds()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should be unavailable when replication is stopped (NULL lag)")
+    void shouldBeUnavailableWhenLagIsNull() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(h2("lag-null"),
+                "SELECT CAST(NULL AS INT) AS Seconds_Behind_Source", 5, meterRegistry);
+
+        monitor.check();
+
+        assertThat(monitor.isAvailable()).isFalse();
+        assertThat(monitor.getLagSeconds()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should become unavailable when the replica cannot be reached")
+    void shouldBeUnavailableWhenReplicaDown() throws SQLException {
+        DataSource down = mock(DataSource.class);
+        when(down.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(down, "SELECT 0", 5, meterRegistry);
+
+        monitor.check();
+
+        assertThat(monitor.isAvailable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stay unavailable after a connection failure until the next successful check")
+    void shouldRecoverOnNextCheck() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(h2("lag-recover"), "SELECT 0", 5, meterRegistry);
+        monitor.check();
+
+        monitor.markUnavailable(new SQLException("Connection reset"));
+        assertThat(monitor.isAvailable()).isFalse();
+
+        monitor.check();
+        assertThat(monitor.isAvailable()).isTrue();
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,37 @@
+package com.foursales.ecommerce.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderTest {
+
+    @Test
+    @DisplayName("Should keep the running total in sync when items are added and removed")
+    void shouldKeepRunningTotal() {
+        Order order = new Order(new User());
+        OrderItem first = new OrderItem(order, new Product(), 3, new BigDecimal("19.99"));
+        OrderItem second = new OrderItem(order, new Product(), 1, new BigDecimal("0.03"));
+
+        order.addItem(first);
+        order.addItem(second);
+        assertThat(order.getTotalValue()).isEqualTo(new BigDecimal("60.00"));
+
+        order.removeItem(first);
+        assertThat(order.getTotalValue()).isEqualTo(new BigDecimal("0.03"));
+
+        order.recalculateTotal();
+        assertThat(order.getTotalValue()).isEqualTo(new BigDecimal("0.03"));
+    }
+
+    @Test
+    @DisplayName("Should compute item subtotal as unit price times quantity")
+    void shouldComputeSubtotal() {
+        OrderItem item = new OrderItem(null, new Product(), 4, new BigDecimal("2.50"));
+
+        assertThat(item.getSubtotal()).isEqualTo(new BigDecimal("10.00"));
+    }
+}
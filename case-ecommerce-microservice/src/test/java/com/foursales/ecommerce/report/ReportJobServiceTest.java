@@ -0,0 +1,209 @@
+package com.foursales.ecommerce.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.foursales.ecommerce.dto.UserAverageTicketResponse;
+import com.foursales.ecommerce.enums.ExportFormat;
+import com.foursales.ecommerce.enums.ReportType;
+import com.foursales.ecommerce.exception.BusinessException;
+import com.foursales.ecommerce.exception.ReportQueueFullException;
+import com.foursales.ecommerce.exception.ResourceNotFoundException;
+import com.foursales.ecommerce.service.IReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    @Mock
+    private IReportService reportService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private List<Runnable> queued;
+    private ReportJobService reportJobService;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        queued = new ArrayList<>();
+        reportJobService = new ReportJobService(reportService, objectMapper, transactionManager, queued::add, 600, 1000);
+        start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        end = LocalDateTime.of(2025, 1, 31, 23, 59);
+    }
+
+    @Test
+    @DisplayName("Should reuse the pending and then the completed job for identical requests")
+    void shouldDeduplicateIdenticalRequests() {
+        when(reportService.getAverageTicketByUser(start, end)).thenReturn(List.of(averageTicket("Maria")));
+
+        ReportJob first = reportJobService.submit(ReportType.AVERAGE_TICKET, start, end);
+        ReportJob concurrent = reportJobService.submit(ReportType.AVERAGE_TICKET, start, end);
+        runQueued();
+        ReportJob afterCompletion = reportJobService.submit(ReportType.AVERAGE_TICKET, start, end);
+
+        assertThat(concurrent).isSameAs(first);
+        assertThat(afterCompletion).isSameAs(first);
+        assertThat(first.isCompleted()).isTrue();
+        assertThat(first.toStatus().getRowCount()).isEqualTo(1);
+        verify(reportService, times(1)).getAverageTicketByUser(start, end);
+    }
+
+    @Test
+    @DisplayName("Should run separate jobs for different parameters")
+    void shouldRunSeparateJobsForDifferentParameters() {
+        ReportJob averageTicket = reportJobService.submit(ReportType.AVERAGE_TICKET, start, end);
+        ReportJob topUsers = reportJobService.submit(ReportType.TOP_USERS, start, end);
+        ReportJob otherRange = reportJobService.submit(ReportType.AVERAGE_TICKET, start, null);
+
+        assertThat(List.of(averageTicket.getId(), topUsers.getId(), otherRange.getId())).doesNotHaveDuplicates();
+        assertThat(queued).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should record failure and run again on resubmission")
+    void shouldRetryFailedJobOnResubmission() {
+        when(reportService.getTopUsers(start, end))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(List.of());
+
+        ReportJob failed = reportJobService.submit(ReportType.TOP_USERS, start, end);
+        runQueued();
+        ReportJob retried = reportJobService.submit(ReportType.TOP_USERS, start, end);
+        runQueued();
+
+        assertThat(failed.getStatus()).isEqualTo(ReportJob.Status.FAILED);
+        assertThat(failed.getErrorMessage()).isEqualTo("connection reset");
+        assertThat(retried).isNotSameAs(failed);
+        assertThat(retried.isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject submission when the executor queue is full")
+    void shouldRejectWhenQueueIsFull() {
+        ReportJobService saturated = new ReportJobService(reportService, new ObjectMapper(), transactionManager,
+                task -> {
+                    throw new TaskRejectedException("queue full");
+                }, 600, 1000);
+
+        assertThatThrownBy(() -> saturated.submit(ReportType.TOP_USERS, start, end))
+                .isInstanceOf(ReportQueueFullException.class);
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    @DisplayName("Should release a result heavier than the row budget and stop serving its id")
+    void shouldReleaseResultHeavierThanRowBudget() {
+        List<UserAverageTicketResponse> rows = new ArrayList<>();
+        for (int i = 0; i < 1_500; i++) {
+            rows.add(averageTicket("User " + i));
+        }
+        when(reportService.getAverageTicketByUser(start, end)).thenReturn(rows);
+
+        ReportJob job = reportJobService.submit(ReportType.AVERAGE_TICKET, start, end);
+        runQueued();
+        reportJobService.cleanUp();
+
+        assertThat(job.isCompleted()).isTrue();
+        assertThatThrownBy(() -> reportJobService.getJob(job.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should stop serving a failed job once it was resubmitted")
+    void shouldStopServingFailedJobAfterResubmission() {
+        when(reportService.getTopUsers(start, end))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(List.of());
+
+        ReportJob failed = reportJobService.submit(ReportType.TOP_USERS, start, end);
+        runQueued();
+        assertThat(reportJobService.getJob(failed.getId())).isSameAs(failed);
+
+        ReportJob retried = reportJobService.submit(ReportType.TOP_USERS, start, end);
+
+        assertThat(reportJobService.getJob(retried.getId())).isSameAs(retried);
+        assertThatThrownBy(() -> reportJobService.getJob(failed.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should refuse download until the job is completed")
+    void shouldRefuseDownloadOfPendingJob() {
+        ReportJob job = reportJobService.submit(ReportType.TOP_USERS, start, end);
+
+        assertThatThrownBy(() -> reportJobService.getCompletedJob(job.getId()))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> reportJobService.getJob(UUID.randomUUID()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should stream completed result as CSV with header and quoting")
+    void shouldWriteCsvResult() throws Exception {
+        when(reportService.getAverageTicketByUser(any(), any()))
+                .thenReturn(List.of(averageTicket("Silva, Maria"), averageTicket("João")));
+        ReportJob job = reportJobService.submit(ReportType.AVERAGE_TICKET, start, end);
+        runQueued();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        reportJobService.writeResult(reportJobService.getCompletedJob(job.getId()), ExportFormat.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("id,name,email,averageTicket");
+        assertThat(lines[1]).contains("\"Silva, Maria\"").endsWith(",150.00");
+        assertThat(lines[2]).contains("João");
+    }
+
+    @Test
+    @DisplayName("Should stream completed result as NDJSON")
+    void shouldWriteNdjsonResult() throws Exception {
+        when(reportService.getAverageTicketByUser(any(), any())).thenReturn(List.of(averageTicket("Maria")));
+        ReportJob job = reportJobService.submit(ReportType.AVERAGE_TICKET, start, end);
+        runQueued();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        reportJobService.writeResult(job, ExportFormat.NDJSON, output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8))
+                .startsWith("{\"id\":")
+                .contains("\"name\":\"Maria\"")
+                .endsWith("}\n");
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private UserAverageTicketResponse averageTicket(String name) {
+        return new UserAverageTicketResponse(UUID.randomUUID(), name, "user@test.com", new BigDecimal("150.00"));
+    }
+}
@@ -1,19 +1,32 @@
 package com.foursales.ecommerce.service;
 
+import com.foursales.ecommerce.cache.CacheInvalidationBus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 class LoginAttemptServiceTest {
 
     private LoginAttemptService loginAttemptService;
+    private CacheInvalidationBus cacheInvalidationBus;
     private static final String TEST_KEY = "test@test.com";
+    private static final String KEY_SECRET = "login-attempts-test-secret";
 
     @BeforeEach
     void setUp() {
-        loginAttemptService = new LoginAttemptService();
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        loginAttemptService = new LoginAttemptService(cacheInvalidationBus, KEY_SECRET);
     }
 
     @Test
@@ -158,4 +171,60 @@ class LoginAttemptServiceTest {
 
         assertThat(attempts).isEqualTo(0);
     }
+
+    @Test
+    @DisplayName("Should broadcast attempts reset to other instances on successful login after failures")
+    void shouldBroadcastResetOnSuccessfulLogin() {
+        loginAttemptService.loginFailed(TEST_KEY);
+
+        loginAttemptService.loginSucceeded(TEST_KEY);
+
+        verify(cacheInvalidationBus).publish(LoginAttemptService.CACHE_NAME, loginAttemptService.hashKey(TEST_KEY));
+    }
+
+    @Test
+    @DisplayName("Should publish a keyed hash, never the login key or its plain digest")
+    void shouldPublishKeyedHashInsteadOfLoginKey() throws Exception {
+        loginAttemptService.loginFailed(TEST_KEY);
+
+        loginAttemptService.loginSucceeded(TEST_KEY);
+
+        String plainDigest = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(TEST_KEY.getBytes(StandardCharsets.UTF_8)));
+        verify(cacheInvalidationBus).publish(eq(LoginAttemptService.CACHE_NAME),
+                argThat(key -> key.matches("[0-9a-f]{64}") && !key.contains(TEST_KEY) && !key.equals(plainDigest)));
+        assertThat(new LoginAttemptService(cacheInvalidationBus, "another-secret").hashKey(TEST_KEY))
+                .isNotEqualTo(loginAttemptService.hashKey(TEST_KEY));
+    }
+
+    @Test
+    @DisplayName("Should not publish anything for a login without counted failures")
+    void shouldNotPublishWithoutCountedAttempts() {
+        loginAttemptService.loginSucceeded(TEST_KEY);
+
+        verifyNoInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    @DisplayName("Should keep resets local when no key secret is configured")
+    void shouldNotPublishWithoutKeySecret() {
+        LoginAttemptService localOnly = new LoginAttemptService(cacheInvalidationBus, "");
+        localOnly.loginFailed(TEST_KEY);
+
+        localOnly.loginSucceeded(TEST_KEY);
+
+        assertThat(localOnly.getAttempts(TEST_KEY)).isZero();
+        verifyNoInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    @DisplayName("Should clear attempts when invalidated by another instance")
+    void shouldClearAttemptsOnRemoteInvalidation() {
+        loginAttemptService.loginFailed(TEST_KEY);
+        loginAttemptService.loginFailed(TEST_KEY);
+
+        loginAttemptService.evictLocal(loginAttemptService.hashKey(TEST_KEY));
+
+        assertThat(loginAttemptService.getAttempts(TEST_KEY)).isZero();
+    }
 }
@@ -1,5 +1,7 @@
 package com.foursales.ecommerce.service;
 
+import com.foursales.ecommerce.constant.AppConstants;
+import com.foursales.ecommerce.dashboard.OrderPaidEvent;
 import com.foursales.ecommerce.dto.CreateOrderRequest;
 import com.foursales.ecommerce.dto.OrderItemRequest;
 import com.foursales.ecommerce.dto.OrderResponse;
@@ -13,15 +15,19 @@ import com.foursales.ecommerce.exception.BusinessException;
 import com.foursales.ecommerce.exception.ResourceNotFoundException;
 import com.foursales.ecommerce.mapper.OrderMapper;
 import com.foursales.ecommerce.outbox.OutboxService;
+import com.foursales.ecommerce.repository.jpa.DailyRevenueRepository;
 import com.foursales.ecommerce.repository.jpa.OrderRepository;
 import com.foursales.ecommerce.repository.jpa.ProductRepository;
+import com.foursales.ecommerce.repository.jpa.UserOrderStatsRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -47,6 +53,15 @@ class OrderServiceTest {
     @Mock
     private OutboxService outboxService;
 
+    @Mock
+    private DailyRevenueRepository dailyRevenueRepository;
+
+    @Mock
+    private UserOrderStatsRepository userOrderStatsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -167,6 +182,9 @@ class OrderServiceTest {
 
         verify(productRepository).findByIdForUpdate(productId);
         verify(orderRepository).save(any(Order.class));
+        verify(userOrderStatsRepository).recordOrder(user.getId(), order.getTotalValue(), order.getCreatedAt());
+        verify(outboxService).saveEvent("ORDER", order.getId().toString(), "ORDER_CREATED", order,
+                AppConstants.TOPIC_ORDER_CREATED);
     }
 
     @Test
@@ -231,7 +249,15 @@ class OrderServiceTest {
 
         verify(orderRepository).findByIdWithUser(orderId);
         verify(orderRepository).save(order);
-        // OutboxService is called but Mockito verification has issues with the complex object parameter
+        verify(userOrderStatsRepository).recordPayment(user.getId(), order.getTotalValue());
+        verify(eventPublisher).publishEvent(any(OrderPaidEvent.class));
+        // Hot daily_revenue row is locked last, after the other writes are flushed
+        InOrder writes = inOrder(orderRepository, userOrderStatsRepository, outboxService, dailyRevenueRepository);
+        writes.verify(orderRepository).save(order);
+        writes.verify(userOrderStatsRepository).recordPayment(user.getId(), order.getTotalValue());
+        writes.verify(outboxService).saveEvent(anyString(), anyString(), anyString(), any(Object.class), anyString());
+        writes.verify(orderRepository).flush();
+        writes.verify(dailyRevenueRepository).addPaidOrder(order.getPaymentDate().toLocalDate(), order.getTotalValue());
     }
 
     @Test
@@ -0,0 +1,105 @@
+package com.foursales.ecommerce.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.foursales.ecommerce.entity.Product;
+import com.foursales.ecommerce.enums.ExportFormat;
+import com.foursales.ecommerce.mapper.ProductMapper;
+import com.foursales.ecommerce.repository.jpa.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductExportService productExportService;
+    private Product product;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        productExportService = new ProductExportService(productRepository, new ProductMapper(), objectMapper,
+                transactionManager, 1, 2);
+
+        productId = UUID.fromString("10000000-0000-0000-0000-000000000001");
+        product = new Product("Mouse, \"Pro\"", "Line one\nline two", new BigDecimal("99.90"), "Electronics", 7);
+        product.setId(productId);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line, reading keyset pages after the last id")
+    void shouldWriteNdjsonFromKeysetPages() throws Exception {
+        Product second = new Product("Keyboard", "Mechanical", new BigDecimal("250.00"), "Electronics", 3);
+        second.setId(UUID.fromString("20000000-0000-0000-0000-000000000002"));
+        Product third = new Product("Monitor", "27 inches", new BigDecimal("1500.00"), "Electronics", 1);
+        third.setId(UUID.fromString("30000000-0000-0000-0000-000000000003"));
+        when(productRepository.findExportPageAfter(eq(new UUID(0L, 0L)), any(Pageable.class)))
+                .thenReturn(List.of(product, second));
+        when(productRepository.findExportPageAfter(eq(second.getId()), any(Pageable.class)))
+                .thenReturn(List.of(third));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = productExportService.exportCatalog(ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{").contains("\"id\":\"" + productId + "\"");
+        assertThat(lines[2]).contains("\"name\":\"Monitor\"");
+        // One short read-only transaction per page
+        verify(transactionManager, times(2)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should write CSV header and quote fields with separators, quotes and line breaks")
+    void shouldWriteCsvWithEscaping() throws Exception {
+        when(productRepository.findExportPageAfter(any(UUID.class), any(Pageable.class)))
+                .thenReturn(List.of(product));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        productExportService.exportCatalog(ExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,name,description,price,category,stockQuantity,createdAt,updatedAt\n"
+                        + productId + ",\"Mouse, \"\"Pro\"\"\",\"Line one\nline two\",99.90,Electronics,7,,\n");
+    }
+
+    @Test
+    @DisplayName("Should hand out at most max-concurrent export slots")
+    void shouldLimitConcurrentExports() {
+        assertThat(productExportService.tryAcquireSlot()).isTrue();
+        assertThat(productExportService.tryAcquireSlot()).isFalse();
+
+        productExportService.releaseSlot();
+
+        assertThat(productExportService.tryAcquireSlot()).isTrue();
+    }
+}
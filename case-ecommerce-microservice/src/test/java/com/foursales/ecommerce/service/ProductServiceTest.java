@@ -1,28 +1,53 @@
 package com.foursales.ecommerce.service;
 
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.RangeBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import com.foursales.ecommerce.cache.CacheInvalidationBus;
+import com.foursales.ecommerce.cache.ProductCache;
+import com.foursales.ecommerce.cache.SearchResultCache;
+import com.foursales.ecommerce.constant.AppConstants;
+import com.foursales.ecommerce.dto.CursorPagedResponse;
+import com.foursales.ecommerce.dto.FacetBucket;
 import com.foursales.ecommerce.dto.ProductRequest;
 import com.foursales.ecommerce.dto.ProductResponse;
+import com.foursales.ecommerce.dto.ProductSearchCriteria;
+import com.foursales.ecommerce.dto.ProductSearchResponse;
 import com.foursales.ecommerce.entity.Product;
+import com.foursales.ecommerce.enums.ProductSearchSort;
+import com.foursales.ecommerce.exception.BusinessException;
 import com.foursales.ecommerce.exception.ResourceNotFoundException;
 import com.foursales.ecommerce.mapper.ProductMapper;
 import com.foursales.ecommerce.outbox.OutboxService;
 import com.foursales.ecommerce.repository.jpa.ProductRepository;
 import com.foursales.ecommerce.repository.search.ProductElasticsearchRepository;
+import com.foursales.ecommerce.util.KeysetCursor;
+import com.foursales.ecommerce.util.SearchAfterCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -48,6 +73,15 @@ class ProductServiceTest {
     @Mock
     private ElasticsearchOperations elasticsearchOperations;
 
+    @Spy
+    private ProductCache productCache = new ProductCache(1_000_000, 600, 5);
+
+    @Spy
+    private SearchResultCache searchResultCache = new SearchResultCache(100, 30, 0, 0);
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @InjectMocks
     private ProductService productService;
 
@@ -89,6 +123,60 @@ class ProductServiceTest {
         verify(productRepository).findAll(pageable);
     }
 
+    @Test
+    @DisplayName("Should get products slice without count query")
+    void shouldGetProductsSlice() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(productRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(product), pageable, true));
+        when(productMapper.toResponse(product)).thenReturn(productResponse);
+
+        Slice<ProductResponse> result = productService.getAllProductsSlice(pageable);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.hasNext()).isTrue();
+        verify(productRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should return first keyset page with cursor pointing at its last row")
+    void shouldReturnFirstKeysetPageWithCursor() {
+        Product second = keysetProduct(LocalDateTime.of(2025, 1, 14, 10, 0));
+        Product third = keysetProduct(LocalDateTime.of(2025, 1, 13, 10, 0));
+        when(productRepository.findFirstKeysetPage(PageRequest.of(0, 3))).thenReturn(List.of(product, second, third));
+        when(productMapper.toResponseList(List.of(product, second))).thenReturn(List.of(productResponse, productResponse));
+
+        CursorPagedResponse<ProductResponse> result = productService.getProductsByCursor(null, 2);
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.isHasNext()).isTrue();
+        KeysetCursor cursor = KeysetCursor.decode(result.getNextCursor());
+        assertThat(cursor.getId()).isEqualTo(second.getId());
+        assertThat(cursor.getCreatedAt()).isEqualTo(second.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should seek after cursor and report last page")
+    void shouldSeekAfterCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 14, 10, 0);
+        UUID lastId = UUID.randomUUID();
+        String cursor = new KeysetCursor(createdAt, lastId).encode();
+        when(productRepository.findKeysetPageAfter(createdAt, lastId, PageRequest.of(0, 21))).thenReturn(List.of(product));
+        when(productMapper.toResponseList(List.of(product))).thenReturn(List.of(productResponse));
+
+        CursorPagedResponse<ProductResponse> result = productService.getProductsByCursor(cursor, 20);
+
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        verify(productRepository, never()).findFirstKeysetPage(any());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursor")
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> productService.getProductsByCursor("not-a-cursor", 20))
+                .isInstanceOf(BusinessException.class);
+    }
+
     @Test
     @DisplayName("Should get product by id")
     void shouldGetProductById() {
@@ -103,6 +191,34 @@ class ProductServiceTest {
         verify(productRepository).findById(productId);
     }
 
+    @Test
+    @DisplayName("Should serve repeated reads from cache without loading the product again")
+    void shouldServeRepeatedReadsFromCache() {
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productMapper.toResponse(product)).thenReturn(productResponse);
+
+        productService.getProductById(productId);
+        ProductResponse result = productService.getProductById(productId);
+
+        assertThat(result.getName()).isEqualTo("Test Product");
+        verify(productRepository, times(1)).findById(productId);
+    }
+
+    @Test
+    @DisplayName("Should load product again after update evicts it from cache")
+    void shouldReloadProductAfterUpdate() {
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productRepository.save(product)).thenReturn(product);
+        when(productMapper.toResponse(product)).thenReturn(productResponse);
+
+        productService.getProductById(productId);
+        productService.updateProduct(productId, productRequest);
+        productService.getProductById(productId);
+
+        verify(productCache).evict(productId);
+        verify(productRepository, times(3)).findById(productId);
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFoundException when product not found")
     void shouldThrowResourceNotFoundExceptionWhenProductNotFound() {
@@ -149,6 +265,23 @@ class ProductServiceTest {
         // OutboxService is called but Mockito verification has issues with the complex object parameter
     }
 
+    @Test
+    @DisplayName("Should invalidate cached searches of the previous category when category changes")
+    void shouldInvalidatePreviousCategoryOnCategoryChange() {
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        doAnswer(invocation -> {
+            product.setCategory("Books");
+            return null;
+        }).when(productMapper).updateEntity(productRequest, product);
+        when(productRepository.save(product)).thenReturn(product);
+        when(productMapper.toResponse(product)).thenReturn(productResponse);
+
+        productService.updateProduct(productId, productRequest);
+
+        verify(searchResultCache).evictCategory("Electronics");
+        verify(cacheInvalidationBus).publish(SearchResultCache.CACHE_NAME, "Electronics");
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFoundException when updating non-existent product")
     void shouldThrowResourceNotFoundExceptionWhenUpdatingNonExistentProduct() {
@@ -192,7 +325,7 @@ class ProductServiceTest {
     @DisplayName("Should search products and fallback to MySQL on Elasticsearch failure")
     void shouldFallbackToMySQLOnElasticsearchFailure() {
         List<Product> products = List.of(product);
-        when(productRepository.findByNameContainingIgnoreCase(anyString())).thenReturn(products);
+        when(productRepository.searchFullTextFallback(anyString(), any(), any(), any(), anyInt())).thenReturn(products);
         when(productMapper.toResponseList(products)).thenReturn(List.of(productResponse));
 
         List<ProductResponse> result = productService.searchProductsFallback(
@@ -202,7 +335,182 @@ class ProductServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("Test Product");
 
-        verify(productRepository).findByNameContainingIgnoreCase("Test");
+        verify(productRepository).searchFullTextFallback("test*", null, null, null, AppConstants.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should combine category and price filters in MySQL fallback without text")
+    void shouldCombineFiltersInMySQLFallback() {
+        when(productRepository.searchFilteredFallback(any(), any(), any(), anyInt())).thenReturn(List.of(product));
+        when(productMapper.toResponseList(List.of(product))).thenReturn(List.of(productResponse));
+
+        productService.searchProductsFallback("  ", "Electronics", new BigDecimal("10"), new BigDecimal("200"),
+                new RuntimeException("ES down"));
+
+        verify(productRepository).searchFilteredFallback("Electronics", new BigDecimal("10"), new BigDecimal("200"),
+                AppConstants.MAX_PAGE_SIZE);
+        verify(productRepository, never()).searchFullTextFallback(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should page search results with search_after, id tiebreaker and source filtering")
+    @SuppressWarnings("unchecked")
+    void shouldPageSearchResultsWithSearchAfter() {
+        Product second = new Product("Second", "Description", new BigDecimal("120.00"), "Electronics", 5);
+        second.setId(UUID.randomUUID());
+        SearchHit<Product> firstHit = mock(SearchHit.class);
+        SearchHit<Product> secondHit = mock(SearchHit.class);
+        when(firstHit.getContent()).thenReturn(product);
+        when(firstHit.getSortValues()).thenReturn(List.of(100.0, productId.toString()));
+        SearchHits<Product> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(List.of(firstHit, secondHit));
+        when(elasticsearchOperations.search(any(NativeQuery.class), eq(Product.class))).thenReturn(searchHits);
+        when(productMapper.toResponseList(List.of(product))).thenReturn(List.of(productResponse));
+
+        ProductSearchResponse result = productService.searchProductsPage(ProductSearchCriteria.builder()
+                .category("Electronics")
+                .sort(ProductSearchSort.PRICE_ASC)
+                .size(1)
+                .build());
+
+        assertThat(result.getContent()).containsExactly(productResponse);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(SearchAfterCursor.decode(result.getNextCursor(), ProductSearchSort.PRICE_ASC))
+                .containsExactly(100.0, productId.toString());
+
+        ArgumentCaptor<NativeQuery> captor = ArgumentCaptor.forClass(NativeQuery.class);
+        verify(elasticsearchOperations).search(captor.capture(), eq(Product.class));
+        NativeQuery query = captor.getValue();
+        assertThat(query.getPageable().getPageSize()).isEqualTo(2);
+        assertThat(query.getSortOptions()).extracting(o -> o.field().field()).containsExactly("price", "id");
+        assertThat(query.getSourceFilter().getIncludes()).contains("name", "price").doesNotContain("_class");
+        assertThat(query.getSearchAfter()).isNull();
+        assertThat(query.getTrackTotalHits()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should pass decoded cursor as search_after and report last page")
+    @SuppressWarnings("unchecked")
+    void shouldPassCursorAsSearchAfter() {
+        SearchHit<Product> hit = mock(SearchHit.class);
+        when(hit.getContent()).thenReturn(product);
+        SearchHits<Product> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(List.of(hit));
+        when(elasticsearchOperations.search(any(NativeQuery.class), eq(Product.class))).thenReturn(searchHits);
+        when(productMapper.toResponseList(List.of(product))).thenReturn(List.of(productResponse));
+        String cursor = SearchAfterCursor.encode(ProductSearchSort.NEWEST, List.of(1736935200000L, "abc"));
+
+        ProductSearchResponse result = productService.searchProductsPage(ProductSearchCriteria.builder()
+                .sort(ProductSearchSort.NEWEST)
+                .size(20)
+                .cursor(cursor)
+                .build());
+
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        ArgumentCaptor<NativeQuery> captor = ArgumentCaptor.forClass(NativeQuery.class);
+        verify(elasticsearchOperations).search(captor.capture(), eq(Product.class));
+        assertThat(captor.getValue().getSearchAfter()).containsExactly(1736935200000L, "abc");
+    }
+
+    @Test
+    @DisplayName("Should request facets in the same round trip with filters moved to post_filter")
+    @SuppressWarnings("unchecked")
+    void shouldReturnFacetsInSameRoundTrip() {
+        SearchHits<Product> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(List.of());
+        doReturn(new ElasticsearchAggregations(Map.of(
+                "categories", Aggregate.of(a -> a.filter(f -> f.docCount(5).aggregations(Map.of("values",
+                        Aggregate.of(v -> v.sterms(t -> t.sumOtherDocCount(0L).buckets(b -> b.array(List.of(
+                                StringTermsBucket.of(sb -> sb.key("Electronics").docCount(5))))))))))),
+                "price_ranges", Aggregate.of(a -> a.filter(f -> f.docCount(2).aggregations(Map.of("values",
+                        Aggregate.of(v -> v.range(r -> r.buckets(b -> b.array(List.of(
+                                RangeBucket.of(rb -> rb.key("50-100").from(50.0).to(100.0).docCount(2)))))))))))
+        ))).when(searchHits).getAggregations();
+        when(elasticsearchOperations.search(any(NativeQuery.class), eq(Product.class))).thenReturn(searchHits);
+        when(productMapper.toResponseList(List.of())).thenReturn(List.of());
+
+        ProductSearchResponse result = productService.searchProductsPage(ProductSearchCriteria.builder()
+                .category("Electronics")
+                .priceMin(new BigDecimal("50"))
+                .priceMax(new BigDecimal("100"))
+                .size(20)
+                .facets(true)
+                .build());
+
+        assertThat(result.getFacets().getCategories())
+                .containsExactly(FacetBucket.of("Electronics", 5));
+        assertThat(result.getFacets().getPriceRanges())
+                .containsExactly(new FacetBucket("50-100", BigDecimal.valueOf(50.0), BigDecimal.valueOf(100.0), 2));
+
+        ArgumentCaptor<NativeQuery> captor = ArgumentCaptor.forClass(NativeQuery.class);
+        verify(elasticsearchOperations).search(captor.capture(), eq(Product.class));
+        NativeQuery query = captor.getValue();
+        assertThat(query.getAggregations()).containsOnlyKeys("categories", "price_ranges");
+        assertThat(query.getFilter().bool().filter()).hasSize(2);
+        assertThat(query.getQuery().bool().filter()).hasSize(1);
+        assertThat(query.getAggregations().get("categories").filter().isRange()).isTrue();
+        assertThat(query.getAggregations().get("price_ranges").filter().isTerm()).isTrue();
+        assertThat(query.getAggregations().get("price_ranges").aggregations().get("values").range().ranges())
+                .hasSize(AppConstants.PRICE_FACET_EDGES.size() + 1);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated first-page searches from the result cache")
+    @SuppressWarnings("unchecked")
+    void shouldServeRepeatedSearchFromCache() {
+        SearchHits<Product> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(List.of());
+        when(elasticsearchOperations.search(any(NativeQuery.class), eq(Product.class))).thenReturn(searchHits);
+        when(productMapper.toResponseList(List.of())).thenReturn(List.of());
+
+        productService.searchProductsPage(ProductSearchCriteria.builder().name("Note Book").size(20).build());
+        productService.searchProductsPage(ProductSearchCriteria.builder().name(" note  book").size(20).build());
+
+        verify(elasticsearchOperations, times(1)).search(any(NativeQuery.class), eq(Product.class));
+    }
+
+    @Test
+    @DisplayName("Should keep invalid cursor as client error in the circuit breaker fallback")
+    void shouldRethrowBusinessExceptionInPageFallback() {
+        BusinessException invalidCursor = new BusinessException("Invalid search cursor");
+
+        assertThatThrownBy(() -> productService.searchProductsPageFallback(
+                ProductSearchCriteria.builder().size(20).build(), invalidCursor))
+                .isSameAs(invalidCursor);
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject cursor issued for another sort")
+    void shouldRejectCursorFromAnotherSort() {
+        String cursor = SearchAfterCursor.encode(ProductSearchSort.PRICE_DESC, List.of(10.0, "abc"));
+
+        assertThatThrownBy(() -> productService.searchProductsPage(ProductSearchCriteria.builder()
+                .sort(ProductSearchSort.RELEVANCE)
+                .size(20)
+                .cursor(cursor)
+                .build()))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(elasticsearchOperations);
+    }
+
+    @Test
+    @DisplayName("Should fall back to a single bounded MySQL page for paginated search")
+    void shouldFallbackToSingleMySQLPage() {
+        List<Product> products = List.of(product);
+        when(productRepository.searchFilteredFallback(null, null, null, 1)).thenReturn(products);
+        when(productMapper.toResponseList(products)).thenReturn(List.of(productResponse));
+
+        ProductSearchResponse result = productService.searchProductsPageFallback(
+                ProductSearchCriteria.builder().size(1).priceMin(new BigDecimal("10")).build(),
+                new RuntimeException("ES down"));
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
     }
 
     @Test
@@ -214,4 +522,11 @@ class ProductServiceTest {
 
         verify(productSearchRepository).save(product);
     }
+
+    private Product keysetProduct(LocalDateTime createdAt) {
+        Product p = new Product("Other", "Description", new BigDecimal("10.00"), "Electronics", 1);
+        p.setId(UUID.randomUUID());
+        p.setCreatedAt(createdAt);
+        return p;
+    }
 }
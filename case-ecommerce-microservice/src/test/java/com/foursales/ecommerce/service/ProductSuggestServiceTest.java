@@ -0,0 +1,103 @@
+package com.foursales.ecommerce.service;
+
+import com.foursales.ecommerce.dto.ProductSuggestion;
+import com.foursales.ecommerce.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestServiceTest {
+
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+
+    private ProductSuggestService productSuggestService;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        productSuggestService = new ProductSuggestService(elasticsearchOperations, 100, 60);
+        product = new Product("Notebook Dell", "Description", new BigDecimal("3500.00"), "Electronics", 10);
+        product.setId(UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should query search_as_you_type fields with bool_prefix and return id and name only")
+    @SuppressWarnings("unchecked")
+    void shouldQuerySuggestFields() {
+        stubSearch();
+
+        List<ProductSuggestion> result = productSuggestService.suggest("note", 5);
+
+        assertThat(result).containsExactly(new ProductSuggestion(product.getId(), "Notebook Dell"));
+        ArgumentCaptor<NativeQuery> captor = ArgumentCaptor.forClass(NativeQuery.class);
+        verify(elasticsearchOperations).search(captor.capture(), eq(Product.class));
+        NativeQuery query = captor.getValue();
+        assertThat(query.getQuery().bool().must().get(0).multiMatch().fields())
+                .containsExactly("name.suggest", "name.suggest._2gram", "name.suggest._3gram");
+        assertThat(query.getQuery().bool().must().get(0).multiMatch().fuzziness()).isNull();
+        assertThat(query.getPageable().getPageSize()).isEqualTo(5);
+        assertThat(query.getSourceFilter().getIncludes()).containsExactly("id", "name");
+    }
+
+    @Test
+    @DisplayName("Should serve repeated prefixes from cache after normalisation")
+    void shouldServeRepeatedPrefixesFromCache() {
+        stubSearch();
+
+        productSuggestService.suggest("Note  Book", 5);
+        List<ProductSuggestion> cached = productSuggestService.suggest("  note book ", 5);
+
+        assertThat(cached).hasSize(1);
+        verify(elasticsearchOperations, times(1)).search(any(NativeQuery.class), eq(Product.class));
+    }
+
+    @Test
+    @DisplayName("Should return empty list for blank prefix without querying")
+    void shouldReturnEmptyForBlankPrefix() {
+        assertThat(productSuggestService.suggest("   ", 5)).isEmpty();
+
+        verifyNoInteractions(elasticsearchOperations);
+    }
+
+    @Test
+    @DisplayName("Should clamp size and prefix length")
+    void shouldClampSizeAndPrefixLength() {
+        stubSearch();
+
+        productSuggestService.suggest("a".repeat(200), 500);
+
+        ArgumentCaptor<NativeQuery> captor = ArgumentCaptor.forClass(NativeQuery.class);
+        verify(elasticsearchOperations).search(captor.capture(), eq(Product.class));
+        assertThat(captor.getValue().getPageable().getPageSize()).isEqualTo(ProductSuggestService.MAX_SUGGEST_SIZE);
+        assertThat(captor.getValue().getQuery().bool().must().get(0).multiMatch().query())
+                .hasSize(ProductSuggestService.MAX_PREFIX_LENGTH);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubSearch() {
+        SearchHit<Product> hit = mock(SearchHit.class);
+        when(hit.getContent()).thenReturn(product);
+        SearchHits<Product> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(List.of(hit));
+        when(elasticsearchOperations.search(any(NativeQuery.class), eq(Product.class))).thenReturn(searchHits);
+    }
+}
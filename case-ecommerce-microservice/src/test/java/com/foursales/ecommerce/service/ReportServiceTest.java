@@ -1,22 +1,46 @@
 package com.foursales.ecommerce.service;
 
+import com.foursales.ecommerce.analytics.DistinctBuyerSketches;
+import com.foursales.ecommerce.analytics.OrderFactStore;
+import com.foursales.ecommerce.dto.DailyRevenueResponse;
+import com.foursales.ecommerce.dto.DistinctBuyersResponse;
 import com.foursales.ecommerce.dto.MonthlyRevenueResponse;
+import com.foursales.ecommerce.dto.PagedResponse;
+import com.foursales.ecommerce.dto.RevenueReportResponse;
+import com.foursales.ecommerce.dto.RevenueTotals;
+import com.foursales.ecommerce.dto.TopProductResponse;
 import com.foursales.ecommerce.dto.TopUserResponse;
 import com.foursales.ecommerce.dto.UserAverageTicketResponse;
+import com.foursales.ecommerce.dto.UserOrderStatsResponse;
+import com.foursales.ecommerce.entity.DailyRevenue;
+import com.foursales.ecommerce.entity.User;
+import com.foursales.ecommerce.enums.OrderStatus;
+import com.foursales.ecommerce.enums.TopProductsWindow;
+import com.foursales.ecommerce.enums.UserStatsSort;
+import com.foursales.ecommerce.exception.BusinessException;
+import com.foursales.ecommerce.repository.jpa.DailyRevenueRepository;
 import com.foursales.ecommerce.repository.jpa.OrderRepository;
+import com.foursales.ecommerce.repository.jpa.ProductSalesSketchRepository;
+import com.foursales.ecommerce.repository.jpa.UserOrderStatsRepository;
 import com.foursales.ecommerce.repository.jpa.UserRepository;
+import com.foursales.ecommerce.util.HyperLogLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
@@ -32,6 +56,21 @@ class ReportServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private DailyRevenueRepository dailyRevenueRepository;
+
+    @Mock
+    private UserOrderStatsRepository userOrderStatsRepository;
+
+    @Mock
+    private ProductSalesSketchRepository productSalesSketchRepository;
+
+    @Mock
+    private DistinctBuyerSketches distinctBuyerSketches;
+
+    @Mock
+    private OrderFactStore orderFactStore;
+
     @InjectMocks
     private ReportService reportService;
 
@@ -62,10 +101,10 @@ class ReportServiceTest {
     }
 
     @Test
-    @DisplayName("Should get top users without date filter")
+    @DisplayName("Should get top users from user stats projection without date filter")
     void shouldGetTopUsersWithoutDateFilter() {
         TopUserResponse topUser = new TopUserResponse(UUID.randomUUID(), "Test User", "user@test.com", 10);
-        when(userRepository.findTopUsersByOrderCountOptimized(any(), any(), any(PageRequest.class)))
+        when(userOrderStatsRepository.findTopUsersByOrderCount(any(PageRequest.class)))
                 .thenReturn(List.of(topUser));
 
         List<TopUserResponse> result = reportService.getTopUsers(null, null);
@@ -73,7 +112,8 @@ class ReportServiceTest {
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
 
-        verify(userRepository).findTopUsersByOrderCountOptimized(isNull(), isNull(), any(PageRequest.class));
+        verify(userOrderStatsRepository).findTopUsersByOrderCount(PageRequest.of(0, 5));
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -108,18 +148,58 @@ class ReportServiceTest {
     }
 
     @Test
-    @DisplayName("Should get average ticket by user without date filter")
+    @DisplayName("Should get average ticket from user stats projection without date filter")
     void shouldGetAverageTicketByUserWithoutDateFilter() {
         UserAverageTicketResponse avgTicket = new UserAverageTicketResponse(UUID.randomUUID(), "Test User", "user@test.com", new BigDecimal("150.00"));
-        when(orderRepository.findAverageTicketByAllUsers(any(), any()))
-                .thenReturn(List.of(avgTicket));
+        when(userOrderStatsRepository.findAverageTicketByAllUsers()).thenReturn(List.of(avgTicket));
 
         List<UserAverageTicketResponse> result = reportService.getAverageTicketByUser(null, null);
 
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
 
-        verify(orderRepository).findAverageTicketByAllUsers(isNull(), isNull());
+        verify(userOrderStatsRepository).findAverageTicketByAllUsers();
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should page user stats sorted by metric with user id tiebreaker and capped size")
+    void shouldPageUserStatsSortedByMetric() {
+        UserOrderStatsResponse stats = new UserOrderStatsResponse(UUID.randomUUID(), "Test User", "user@test.com",
+                3L, 2L, new BigDecimal("300.00"), new BigDecimal("120.00"), LocalDateTime.now());
+        when(userOrderStatsRepository.findStats(any(PageRequest.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(stats), invocation.getArgument(0), 1));
+
+        PagedResponse<UserOrderStatsResponse> result = reportService.getUserStats(0, 500, UserStatsSort.REVENUE);
+
+        assertThat(result.getContent()).containsExactly(stats);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+
+        ArgumentCaptor<PageRequest> captor = ArgumentCaptor.forClass(PageRequest.class);
+        verify(userOrderStatsRepository).findStats(captor.capture());
+        assertThat(captor.getValue().getPageSize()).isEqualTo(100);
+        assertThat(captor.getValue().getSort())
+                .containsExactly(Sort.Order.desc("paidRevenue"), Sort.Order.asc("userId"));
+    }
+
+    @Test
+    @DisplayName("Should read top products since the window start rounded down to the hour")
+    void shouldReadTopProductsSinceWindowStart() {
+        TopProductResponse top = new TopProductResponse(UUID.randomUUID(), "Notebook", 12L);
+        when(productSalesSketchRepository.findTopProductsSince(any(LocalDateTime.class), any(PageRequest.class)))
+                .thenReturn(List.of(top));
+        LocalDateTime before = LocalDateTime.now();
+
+        List<TopProductResponse> result = reportService.getTopProducts(TopProductsWindow.DAY, 500);
+
+        assertThat(result).containsExactly(top);
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<PageRequest> page = ArgumentCaptor.forClass(PageRequest.class);
+        verify(productSalesSketchRepository).findTopProductsSince(since.capture(), page.capture());
+        assertThat(since.getValue().getMinute()).isZero();
+        assertThat(since.getValue()).isBeforeOrEqualTo(before.minusDays(1))
+                .isAfter(before.minusDays(1).minusHours(1));
+        assertThat(page.getValue().getPageSize()).isEqualTo(100);
     }
 
     @Test
@@ -137,10 +217,12 @@ class ReportServiceTest {
     }
 
     @Test
-    @DisplayName("Should get current month revenue")
+    @DisplayName("Should get current month revenue from daily rollup")
     void shouldGetCurrentMonthRevenue() {
-        when(orderRepository.findTotalRevenueCurrentMonth()).thenReturn(new BigDecimal("5000.00"));
-        when(orderRepository.countOrdersCurrentMonth()).thenReturn(10L);
+        LocalDate today = LocalDate.now();
+        when(dailyRevenueRepository.findByRange(today.withDayOfMonth(1), today)).thenReturn(List.of(
+                dailyRevenue(today, "3000.00", 6L),
+                dailyRevenue(today, "2000.00", 4L)));
 
         MonthlyRevenueResponse result = reportService.getCurrentMonthRevenue();
 
@@ -149,15 +231,14 @@ class ReportServiceTest {
         assertThat(result.getTotalOrders()).isEqualTo(10L);
         assertThat(result.getAverageOrderValue()).isEqualByComparingTo(new BigDecimal("500.00"));
 
-        verify(orderRepository).findTotalRevenueCurrentMonth();
-        verify(orderRepository).countOrdersCurrentMonth();
+        verify(dailyRevenueRepository).findByRange(today.withDayOfMonth(1), today);
+        verifyNoInteractions(orderRepository);
     }
 
     @Test
     @DisplayName("Should return zero revenue when no orders in current month")
     void shouldReturnZeroRevenueWhenNoOrdersInCurrentMonth() {
-        when(orderRepository.findTotalRevenueCurrentMonth()).thenReturn(null);
-        when(orderRepository.countOrdersCurrentMonth()).thenReturn(0L);
+        when(dailyRevenueRepository.findByRange(any(), any())).thenReturn(List.of());
 
         MonthlyRevenueResponse result = reportService.getCurrentMonthRevenue();
 
@@ -165,24 +246,211 @@ class ReportServiceTest {
         assertThat(result.getTotalRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
         assertThat(result.getTotalOrders()).isEqualTo(0L);
         assertThat(result.getAverageOrderValue()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
 
-        verify(orderRepository).findTotalRevenueCurrentMonth();
-        verify(orderRepository).countOrdersCurrentMonth();
+    @Test
+    @DisplayName("Should get revenue for whole days from the rollup only")
+    void shouldGetRevenueForWholeDaysFromRollup() {
+        when(dailyRevenueRepository.findByRange(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31))).thenReturn(List.of(
+                dailyRevenue(LocalDate.of(2025, 1, 3), "100.00", 1L),
+                dailyRevenue(LocalDate.of(2025, 1, 20), "500.00", 2L)));
+
+        RevenueReportResponse result = reportService.getRevenue(
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0));
+
+        assertThat(result.getTotalRevenue()).isEqualByComparingTo(new BigDecimal("600.00"));
+        assertThat(result.getTotalOrders()).isEqualTo(3L);
+        assertThat(result.getAverageOrderValue()).isEqualByComparingTo(new BigDecimal("200.00"));
+        assertThat(result.getDays()).hasSize(2);
+        assertThat(result.getDays().get(1).getDate()).isEqualTo(LocalDate.of(2025, 1, 20));
+        verify(orderRepository, never()).summarizeRevenue(any(), any(), any());
     }
 
     @Test
-    @DisplayName("Should handle null revenue gracefully")
-    void shouldHandleNullRevenueGracefully() {
-        when(orderRepository.findTotalRevenueCurrentMonth()).thenReturn(null);
-        when(orderRepository.countOrdersCurrentMonth()).thenReturn(5L);
+    @DisplayName("Should sum partial first and last days from orders and whole days from the rollup")
+    void shouldCombinePartialDaysWithRollup() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 18, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 4, 9, 30);
+        when(orderRepository.summarizeRevenue(OrderStatus.PAGO, start, LocalDateTime.of(2025, 1, 2, 0, 0)))
+                .thenReturn(new RevenueTotals(new BigDecimal("50.00"), 1L));
+        when(orderRepository.summarizeRevenue(OrderStatus.PAGO, LocalDateTime.of(2025, 1, 4, 0, 0), end))
+                .thenReturn(new RevenueTotals(BigDecimal.ZERO, 0L));
+        when(dailyRevenueRepository.findByRange(LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 3)))
+                .thenReturn(List.of(dailyRevenue(LocalDate.of(2025, 1, 2), "150.00", 3L)));
+
+        RevenueReportResponse result = reportService.getRevenue(start, end);
+
+        assertThat(result.getTotalRevenue()).isEqualByComparingTo(new BigDecimal("200.00"));
+        assertThat(result.getTotalOrders()).isEqualTo(4L);
+        assertThat(result.getDays()).extracting(DailyRevenueResponse::getDate)
+                .containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 2));
+    }
 
-        MonthlyRevenueResponse result = reportService.getCurrentMonthRevenue();
+    @Test
+    @DisplayName("Should query orders only once for a range within a single day")
+    void shouldQueryOrdersOnceForRangeWithinSingleDay() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 1, 12, 0);
+        when(orderRepository.summarizeRevenue(OrderStatus.PAGO, start, end))
+                .thenReturn(new RevenueTotals(new BigDecimal("80.00"), 2L));
+
+        RevenueReportResponse result = reportService.getRevenue(start, end);
+
+        assertThat(result.getTotalRevenue()).isEqualByComparingTo(new BigDecimal("80.00"));
+        verify(orderRepository, times(1)).summarizeRevenue(any(), any(), any());
+        verifyNoInteractions(dailyRevenueRepository);
+    }
 
-        assertThat(result).isNotNull();
-        assertThat(result.getTotalRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
-        assertThat(result.getAverageOrderValue()).isEqualByComparingTo(BigDecimal.ZERO);
+    @Test
+    @DisplayName("Should default revenue range to the current month")
+    void shouldDefaultRevenueRangeToCurrentMonth() {
+        LocalDate today = LocalDate.now();
+        when(dailyRevenueRepository.findByRange(any(), any())).thenReturn(List.of());
+
+        RevenueReportResponse result = reportService.getRevenue(null, null);
+
+        assertThat(result.getPeriodStart()).isEqualTo(today.withDayOfMonth(1).atStartOfDay());
+        assertThat(result.getPeriodEnd()).isEqualTo(today.plusDays(1).atStartOfDay());
+        assertThat(result.getTotalOrders()).isZero();
+        assertThat(result.getDays()).isEmpty();
+        verify(dailyRevenueRepository).findByRange(today.withDayOfMonth(1), today);
+    }
+
+    @Test
+    @DisplayName("Should reject empty, inverted or too long revenue ranges")
+    void shouldRejectInvalidRevenueRanges() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        assertThatThrownBy(() -> reportService.getRevenue(start, start))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> reportService.getRevenue(start, start.minusDays(1)))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> reportService.getRevenue(start, start.plusDays(367)))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(dailyRevenueRepository);
+    }
+
+    @Test
+    @DisplayName("Should estimate distinct buyers of a category with the error bound")
+    void shouldEstimateDistinctBuyersOfCategory() {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        when(distinctBuyerSketches.buyers(start, end, "Electronics")).thenReturn(buyers(3));
+
+        DistinctBuyersResponse result = reportService.getDistinctBuyers(start, end, " Electronics ");
+
+        assertThat(result.getDistinctBuyers()).isEqualTo(3);
+        assertThat(result.getCategory()).isEqualTo("Electronics");
+        assertThat(result.getRelativeStandardError()).isEqualTo(HyperLogLog.RELATIVE_STANDARD_ERROR);
+    }
+
+    @Test
+    @DisplayName("Should rank distinct buyers per category highest first")
+    void shouldRankDistinctBuyersPerCategory() {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 1, 31);
+        when(distinctBuyerSketches.buyersByCategory(start, end))
+                .thenReturn(Map.of("Books", buyers(1), "Electronics", buyers(4)));
+
+        List<DistinctBuyersResponse> result = reportService.getDistinctBuyersByCategory(start, end);
+
+        assertThat(result).extracting(DistinctBuyersResponse::getCategory).containsExactly("Electronics", "Books");
+        assertThat(result).extracting(DistinctBuyersResponse::getDistinctBuyers).containsExactly(4L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should reject distinct buyers range longer than the limit")
+    void shouldRejectDistinctBuyersRangeTooLong() {
+        assertThatThrownBy(() -> reportService.getDistinctBuyers(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2025, 6, 1), null))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(distinctBuyerSketches);
+    }
+
+    @Test
+    @DisplayName("Should rank date-filtered top users from the analytics store and resolve only their names")
+    void shouldGetTopUsersFromAnalyticsStore() {
+        User user = user("Store User", "store@test.com");
+        when(orderFactStore.isAvailable()).thenReturn(true);
+        when(orderFactStore.totalsByUser(startDate, endDate, 5))
+                .thenReturn(List.of(new OrderFactStore.UserTotals(user.getId(), 7, new BigDecimal("70.00"))));
+        when(userRepository.findAllById(List.of(user.getId()))).thenReturn(List.of(user));
+
+        List<TopUserResponse> result = reportService.getTopUsers(startDate, endDate);
+
+        assertThat(result).containsExactly(new TopUserResponse(user.getId(), "Store User", "store@test.com", 7));
+        verify(userRepository, never()).findTopUsersByOrderCountOptimized(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should list every user with the average ticket from the analytics store")
+    void shouldGetAverageTicketFromAnalyticsStore() {
+        User buyer = user("Buyer", "buyer@test.com");
+        User idle = user("Idle", "idle@test.com");
+        when(orderFactStore.isAvailable()).thenReturn(true);
+        when(orderFactStore.totalsByUser(startDate, endDate, Integer.MAX_VALUE))
+                .thenReturn(List.of(new OrderFactStore.UserTotals(buyer.getId(), 3, new BigDecimal("100.00"))));
+        when(userRepository.findAll()).thenReturn(List.of(buyer, idle));
+
+        List<UserAverageTicketResponse> result = reportService.getAverageTicketByUser(startDate, endDate);
+
+        assertThat(result).extracting(UserAverageTicketResponse::getAverageTicket)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("33.33"), BigDecimal.ZERO);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should answer a revenue range with partial days from the analytics store without the database")
+    void shouldGetRevenueFromAnalyticsStore() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 12, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 20, 6, 30);
+        when(orderFactStore.isAvailable()).thenReturn(true);
+        when(orderFactStore.revenueByDay(start, end)).thenReturn(List.of(
+                new DailyRevenueResponse(LocalDate.of(2025, 1, 1), new BigDecimal("100.00"), 1L),
+                new DailyRevenueResponse(LocalDate.of(2025, 1, 20), new BigDecimal("500.00"), 3L)));
+
+        RevenueReportResponse result = reportService.getRevenue(start, end);
+
+        assertThat(result.getTotalRevenue()).isEqualByComparingTo(new BigDecimal("600.00"));
+        assertThat(result.getTotalOrders()).isEqualTo(4L);
+        assertThat(result.getAverageOrderValue()).isEqualByComparingTo(new BigDecimal("150.00"));
+        verifyNoInteractions(dailyRevenueRepository, orderRepository);
+    }
+
+    @Test
+    @DisplayName("Should read the database while the analytics store is not available")
+    void shouldFallBackToDatabaseWhenStoreUnavailable() {
+        when(orderFactStore.isAvailable()).thenReturn(false);
+        when(userRepository.findTopUsersByOrderCountOptimized(any(), any(), any(PageRequest.class)))
+                .thenReturn(List.of());
+        when(dailyRevenueRepository.findByRange(any(), any())).thenReturn(List.of());
+
+        reportService.getTopUsers(startDate, endDate);
+        reportService.getCurrentMonthRevenue();
+
+        verify(orderFactStore, never()).totalsByUser(any(), any(), anyInt());
+        verify(orderFactStore, never()).revenueByDay(any(), any());
+    }
+
+    private User user(String name, String email) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
+
+    private HyperLogLog buyers(int count) {
+        HyperLogLog buyers = new HyperLogLog();
+        for (int i = 0; i < count; i++) {
+            buyers.add(UUID.randomUUID());
+        }
+        return buyers;
+    }
 
-        verify(orderRepository).findTotalRevenueCurrentMonth();
-        verify(orderRepository).countOrdersCurrentMonth();
+    private DailyRevenue dailyRevenue(LocalDate date, String revenue, Long orders) {
+        return new DailyRevenue(date, new BigDecimal(revenue), orders, LocalDateTime.now());
     }
 }
@@ -107,4 +107,11 @@ class DateParseUtilsTest {
         assertEquals(59, result.getSecond());
         assertEquals(999999999, result.getNano());
     }
+
+    @Test
+    void testParseEndDateExclusive() {
+        assertEquals(LocalDateTime.of(2025, 11, 1, 0, 0), DateParseUtils.parseEndDateExclusive("2025-10-31"));
+        assertEquals(LocalDateTime.of(2025, 10, 31, 12, 30), DateParseUtils.parseEndDateExclusive("2025-10-31T12:30:00"));
+        assertNull(DateParseUtils.parseEndDateExclusive(null));
+    }
 }
@@ -0,0 +1,41 @@
+package com.foursales.ecommerce.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FullTextQueryUtilsTest {
+
+    @Test
+    @DisplayName("Should turn each term into a lower-case prefix match")
+    void shouldBuildPrefixTerms() {
+        assertThat(FullTextQueryUtils.toPrefixBooleanQuery("Note  Book")).isEqualTo("note* book*");
+    }
+
+    @Test
+    @DisplayName("Should strip boolean-mode operators from user input")
+    void shouldStripOperators() {
+        assertThat(FullTextQueryUtils.toPrefixBooleanQuery("+dell -\"mac\" (i7)~ @2"))
+                .isEqualTo("dell* mac* i7* 2*");
+    }
+
+    @Test
+    @DisplayName("Should keep accented letters")
+    void shouldKeepAccentedLetters() {
+        assertThat(FullTextQueryUtils.toPrefixBooleanQuery("Cafeteira Elétrica")).isEqualTo("cafeteira* elétrica*");
+    }
+
+    @Test
+    @DisplayName("Should return null when nothing searchable is left")
+    void shouldReturnNullForEmptyInput() {
+        assertThat(FullTextQueryUtils.toPrefixBooleanQuery(null)).isNull();
+        assertThat(FullTextQueryUtils.toPrefixBooleanQuery(" +-*\"() ")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should cap the number of terms")
+    void shouldCapTerms() {
+        assertThat(FullTextQueryUtils.toPrefixBooleanQuery("a b c d e f g h i j").split(" ")).hasSize(8);
+    }
+}
@@ -0,0 +1,52 @@
+package com.foursales.ecommerce.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpCacheUtilsTest {
+
+    private final UUID id = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private final LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 15, 10, 0, 0, 123_456_000);
+
+    @Test
+    @DisplayName("Should build quoted strong ETag from id and updatedAt")
+    void shouldBuildStrongETag() {
+        String eTag = HttpCacheUtils.strongETag(id, updatedAt);
+
+        assertThat(eTag).startsWith("\"" + id + "-").endsWith("\"").doesNotStartWith("W/");
+        assertThat(eTag).isEqualTo(HttpCacheUtils.strongETag(id, updatedAt));
+    }
+
+    @Test
+    @DisplayName("Should change ETag for updates within the same second")
+    void shouldChangeETagWithinSameSecond() {
+        assertThat(HttpCacheUtils.strongETag(id, updatedAt))
+                .isNotEqualTo(HttpCacheUtils.strongETag(id, updatedAt.plusNanos(1_000)));
+    }
+
+    @Test
+    @DisplayName("Should omit validators when updatedAt is unknown")
+    void shouldOmitValidatorsWhenUpdatedAtUnknown() {
+        ResponseEntity<String> response = HttpCacheUtils.okWithValidators("body", id, null, CacheControl.noCache());
+
+        assertThat(response.getHeaders().getETag()).isNull();
+        assertThat(response.getBody()).isEqualTo("body");
+    }
+
+    @Test
+    @DisplayName("Should add ETag, Last-Modified and Cache-Control when updatedAt is known")
+    void shouldAddValidators() {
+        ResponseEntity<String> response = HttpCacheUtils.okWithValidators("body", id, updatedAt, CacheControl.noCache());
+
+        assertThat(response.getHeaders().getETag()).isEqualTo(HttpCacheUtils.strongETag(id, updatedAt));
+        assertThat(response.getHeaders().getLastModified()).isPositive();
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache");
+    }
+}
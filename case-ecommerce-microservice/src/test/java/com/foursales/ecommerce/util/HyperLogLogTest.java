@@ -0,0 +1,73 @@
+package com.foursales.ecommerce.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("Should estimate large cardinalities within three standard errors")
+    void shouldEstimateLargeCardinalityWithinBound() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add(UUID.randomUUID());
+        }
+
+        assertThat((double) sketch.estimate())
+                .isCloseTo(100_000, within(100_000 * 3 * HyperLogLog.RELATIVE_STANDARD_ERROR));
+    }
+
+    @Test
+    @DisplayName("Should count small sets and ignore duplicates")
+    void shouldCountSmallSetsIgnoringDuplicates() {
+        HyperLogLog sketch = new HyperLogLog();
+        UUID buyer = UUID.randomUUID();
+        sketch.add(buyer);
+        sketch.add(buyer);
+        sketch.add(UUID.randomUUID());
+
+        assertThat(new HyperLogLog().isEmpty()).isTrue();
+        assertThat(new HyperLogLog().estimate()).isZero();
+        assertThat(sketch.estimate()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should merge overlapping sketches as a union and idempotently")
+    void shouldMergeAsUnion() {
+        HyperLogLog monday = new HyperLogLog();
+        HyperLogLog tuesday = new HyperLogLog();
+        for (int i = 0; i < 10_000; i++) {
+            UUID buyer = UUID.randomUUID();
+            monday.add(buyer);
+            if (i % 2 == 0) {
+                tuesday.add(buyer);
+            }
+        }
+        for (int i = 0; i < 5_000; i++) {
+            tuesday.add(UUID.randomUUID());
+        }
+
+        HyperLogLog week = HyperLogLog.fromBytes(monday.toBytes());
+        week.merge(tuesday);
+        long once = week.estimate();
+        week.merge(tuesday);
+
+        assertThat(week.estimate()).isEqualTo(once);
+        assertThat((double) once).isCloseTo(15_000, within(15_000 * 3 * HyperLogLog.RELATIVE_STANDARD_ERROR));
+    }
+
+    @Test
+    @DisplayName("Should reject serialised registers of the wrong size")
+    void shouldRejectWrongRegisterSize() {
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[16]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,46 @@
+package com.foursales.ecommerce.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    @DisplayName("Should convert to and from BigDecimal with two decimals")
+    void shouldConvertBigDecimal() {
+        assertThat(Money.of(new BigDecimal("1234.56")).cents()).isEqualTo(123456);
+        assertThat(Money.of(new BigDecimal("7")).cents()).isEqualTo(700);
+        assertThat(Money.of(new BigDecimal("0.005")).cents()).isEqualTo(1);
+        assertThat(Money.ofCents(-5).toBigDecimal()).isEqualTo(new BigDecimal("-0.05"));
+    }
+
+    @Test
+    @DisplayName("Should add, subtract and multiply exactly")
+    void shouldDoExactArithmetic() {
+        Money price = Money.of(new BigDecimal("19.99"));
+
+        assertThat(price.times(3).plus(Money.ofCents(3)).toBigDecimal()).isEqualTo(new BigDecimal("60.00"));
+        assertThat(price.minus(price)).isEqualTo(Money.ZERO);
+        assertThatThrownBy(() -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Should average like BigDecimal division with scale 2 and HALF_UP")
+    void shouldAverageLikeBigDecimal() {
+        long[][] cases = {{100_00, 3}, {1, 2}, {5, 2}, {-5, 2}, {-1, 3}, {999_99, 7}, {0, 4}, {2, 3}};
+
+        for (long[] c : cases) {
+            BigDecimal expected = Money.toBigDecimal(c[0])
+                    .divide(BigDecimal.valueOf(c[1]), 2, RoundingMode.HALF_UP);
+            assertThat(Money.ofCents(c[0]).average(c[1]).toBigDecimal()).isEqualTo(expected);
+        }
+        assertThat(Money.ofCents(100).average(0)).isEqualTo(Money.ZERO);
+    }
+}